@@ -0,0 +1,172 @@
+package com.securebank.loadtest;
+
+import com.securebank.BankingAdminApplication;
+import com.securebank.config.CapturingStatementInspector;
+import com.securebank.dto.AccountDto;
+import com.securebank.dto.AccountPage;
+import com.securebank.dto.AccountQuery;
+import com.securebank.entity.Account;
+import com.securebank.service.AccountService;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Query plan check for GET /api/accounts/query.
+ *
+ * Boots the application on the embedded H2 database with synthetic data,
+ * runs the main filter combinations through AccountService.queryAccounts
+ * with Criteria values inlined, EXPLAINs the SQL Hibernate generated and
+ * fails (exit code 1) when any of them scans the accounts table instead
+ * of using an index. It also pages through every account sorted by
+ * accountType (both directions) and fails when a row is lost or repeated.
+ *
+ * Usage (from backend/):
+ *   mvn -Ploadtest compile exec:java -Dloadtest.main=com.securebank.loadtest.AccountQueryPlanCheck
+ */
+public class AccountQueryPlanCheck {
+
+    private static final int PAGE_SIZE = 50;
+
+    public static void main(String[] args) {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(BankingAdminApplication.class)
+                .profiles("datagen", "loadtest")
+                .properties("server.port=0", "spring.devtools.restart.enabled=false",
+                        "spring.jpa.properties.hibernate.criteria.value_handling_mode=inline")
+                .run(args);
+
+        int failures;
+        try {
+            AccountService accountService = context.getBean(AccountService.class);
+            JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+            jdbcTemplate.execute("ANALYZE");
+
+            AccountPage sample = accountService.queryAccounts(query(q -> q.setSize(1)));
+            Long customerId = sample.getItems().isEmpty() ? 1L : sample.getItems().get(0).getCustomerId();
+            LocalDate today = LocalDate.now();
+
+            List<Case> cases = new ArrayList<>();
+            cases.add(new Case("type, sorted by balance", query(q -> {
+                q.setAccountType(Account.AccountType.SAVINGS);
+                q.setSort(List.of("accountBalance,desc"));
+            })));
+            cases.add(new Case("type + balance range", query(q -> {
+                q.setAccountType(Account.AccountType.CURRENT);
+                q.setMinBalance(new BigDecimal("1000"));
+                q.setMaxBalance(new BigDecimal("50000"));
+                q.setSort(List.of("accountBalance"));
+            })));
+            cases.add(new Case("type + created range", query(q -> {
+                q.setAccountType(Account.AccountType.SAVINGS);
+                q.setCreatedFrom(today.minusYears(1));
+                q.setCreatedTo(today);
+                q.setSort(List.of("createdDate,desc"));
+            })));
+            cases.add(new Case("customer, newest first", query(q -> {
+                q.setCustomerId(customerId);
+                q.setSort(List.of("createdDate,desc"));
+            })));
+            cases.add(new Case("balance range", query(q -> {
+                q.setMinBalance(new BigDecimal("250000"));
+                q.setSort(List.of("accountBalance,desc"));
+            })));
+            cases.add(new Case("created range", query(q -> {
+                q.setCreatedFrom(today.minusDays(30));
+                q.setSort(List.of("createdDate"));
+            })));
+            cases.add(new Case("holder name prefix", query(q -> {
+                q.setHolderNamePrefix("A");
+                q.setSort(List.of("accountHolderName"));
+            })));
+
+            AccountQuery firstPage = query(q -> {
+                q.setAccountType(Account.AccountType.SAVINGS);
+                q.setSort(List.of("accountBalance,desc"));
+            });
+            AccountPage page = accountService.queryAccounts(firstPage);
+            if (page.getNextCursor() != null) {
+                firstPage.setCursor(page.getNextCursor());
+                cases.add(new Case("type, sorted by balance, second page", firstPage));
+            }
+
+            failures = 0;
+            for (Case check : cases) {
+                String sql = CapturingStatementInspector.lastStatementOf(() -> accountService.queryAccounts(check.query));
+                String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql.replace("?", String.valueOf(PAGE_SIZE + 1)),
+                        String.class);
+                boolean scans = plan.toLowerCase(Locale.ROOT).contains("accounts.tablescan");
+                if (scans) {
+                    failures++;
+                }
+                System.out.println(String.format("%-40s %s", check.name, scans ? "FULL SCAN" : "index"));
+                System.out.println("    " + plan.replaceAll("\\s+", " "));
+            }
+            System.out.println(failures == 0
+                    ? "Query plans: OK, every filter combination uses an index"
+                    : "Query plans: FAILED, " + failures + " of " + cases.size() + " combinations scan the table");
+
+            long total = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM accounts", Long.class);
+            for (String sort : List.of("accountType", "accountType,desc")) {
+                if (!pagesEveryAccount(accountService, sort, total)) {
+                    failures++;
+                }
+            }
+        } finally {
+            context.close();
+        }
+        System.exit(failures == 0 ? 0 : 1);
+    }
+
+    /**
+     * Follows nextCursor from the first page to the last and checks every account appears exactly once
+     */
+    private static boolean pagesEveryAccount(AccountService accountService, String sort, long total) {
+        Set<String> seen = new HashSet<>();
+        long rows = 0;
+        int pages = 0;
+        AccountQuery query = query(q -> {
+            q.setSize(AccountQuery.MAX_SIZE);
+            q.setSort(List.of(sort));
+        });
+        AccountPage page;
+        do {
+            page = accountService.queryAccounts(query);
+            pages++;
+            for (AccountDto account : page.getItems()) {
+                seen.add(account.getAccountNo());
+                rows++;
+            }
+            query.setCursor(page.getNextCursor());
+        } while (page.isHasMore());
+        boolean ok = rows == total && seen.size() == total;
+        System.out.println(String.format("%-40s %s (%,d rows in %,d pages, %,d distinct, %,d accounts)",
+                "paging sorted by " + sort, ok ? "complete" : "LOST OR REPEATED ROWS", rows, pages, seen.size(), total));
+        return ok;
+    }
+
+    private static AccountQuery query(Consumer<AccountQuery> customizer) {
+        AccountQuery query = new AccountQuery();
+        query.setSize(PAGE_SIZE);
+        customizer.accept(query);
+        return query;
+    }
+
+    private static final class Case {
+        private final String name;
+        private final AccountQuery query;
+
+        private Case(String name, AccountQuery query) {
+            this.name = name;
+            this.query = query;
+        }
+    }
+}
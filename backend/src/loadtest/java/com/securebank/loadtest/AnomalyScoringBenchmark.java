@@ -0,0 +1,149 @@
+package com.securebank.loadtest;
+
+import com.securebank.anomaly.AnomalyAlert;
+import com.securebank.anomaly.AnomalyDetector;
+import com.securebank.anomaly.BoundedMpscQueue;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cost of anomaly scoring to the writing thread.
+ *
+ * Producer threads (standing in for request threads after commit) hand
+ * balance updates, paced to a combined target rate, to a single scoring thread, either through the lock-free
+ * BoundedMpscQueue or through an ArrayBlockingQueue for comparison, and
+ * time each hand-off. Updates are drawn per account from a normal
+ * distribution, with one in 10,000 a planted outlier 50x larger, so the
+ * report also shows how many planted outliers were flagged.
+ *
+ * Usage (from backend/):
+ *   mvn -Ploadtest compile exec:java -Dloadtest.main=com.securebank.loadtest.AnomalyScoringBenchmark \
+ *       -Dexec.args="10000 8 250000 100000"
+ * Arguments: accounts, producer threads, updates per producer, combined updates per second.
+ */
+public class AnomalyScoringBenchmark {
+
+    private static final int CAPACITY = 65_536;
+
+    public static void main(String[] args) throws Exception {
+        int accounts = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int producers = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+        long updates = args.length > 2 ? Long.parseLong(args[2]) : 250_000L;
+        long rate = args.length > 3 ? Long.parseLong(args[3]) : 100_000L;
+
+        String[] accountNos = new String[accounts];
+        long[] typical = new long[accounts];
+        SplittableRandom seed = new SplittableRandom(42);
+        for (int i = 0; i < accounts; i++) {
+            accountNos[i] = "GEN" + String.format("%014d", i);
+            typical[i] = 1_000 + seed.nextInt(100_000);
+        }
+        System.out.println(String.format("%,d accounts, %d producers, %,d updates each, %,d updates/s",
+                accounts, producers, updates, rate));
+        System.out.println(String.format("%-22s %12s %14s %10s %10s %12s",
+                "queue", "ns/offer", "scored", "dropped", "planted", "flagged"));
+
+        run("lock-free mpsc", new Handoff() {
+            final BoundedMpscQueue<long[]> queue = new BoundedMpscQueue<>(CAPACITY);
+
+            public boolean offer(long[] update) {
+                return queue.offer(update);
+            }
+
+            public long[] poll() {
+                return queue.poll();
+            }
+        }, accountNos, typical, producers, updates, rate);
+        run("ArrayBlockingQueue", new Handoff() {
+            final ArrayBlockingQueue<long[]> queue = new ArrayBlockingQueue<>(CAPACITY);
+
+            public boolean offer(long[] update) {
+                return queue.offer(update);
+            }
+
+            public long[] poll() {
+                return queue.poll();
+            }
+        }, accountNos, typical, producers, updates, rate);
+    }
+
+    private interface Handoff {
+        boolean offer(long[] update);
+
+        long[] poll();
+    }
+
+    private static void run(String name, Handoff handoff, String[] accountNos, long[] typical,
+                            int producers, long updates, long rate) throws InterruptedException {
+        long intervalNanos = 1_000_000_000L * producers / rate;
+        AnomalyDetector detector = new AnomalyDetector(accountNos.length, 0.1, 4.0, 1e9, 5, 100);
+        AtomicLong offerNanos = new AtomicLong();
+        AtomicLong dropped = new AtomicLong();
+        AtomicLong planted = new AtomicLong();
+        long[] counts = {0, 0}; // scored, planted outliers flagged
+        CountDownLatch done = new CountDownLatch(producers);
+
+        Thread consumer = new Thread(() -> {
+            while (true) {
+                long[] update = handoff.poll();
+                if (update == null) {
+                    if (done.getCount() == 0 && (update = handoff.poll()) == null) {
+                        return;
+                    }
+                    if (update == null) {
+                        Thread.onSpinWait();
+                        continue;
+                    }
+                }
+                AnomalyAlert alert = detector.score(accountNos[(int) update[0]], update[1], update[2]);
+                counts[0]++;
+                if (alert != null && update[3] == 1) {
+                    counts[1]++;
+                }
+            }
+        });
+        consumer.start();
+        for (int p = 0; p < producers; p++) {
+            SplittableRandom random = new SplittableRandom(7 + p);
+            new Thread(() -> {
+                long nanos = 0;
+                long localDropped = 0;
+                long localPlanted = 0;
+                long due = System.nanoTime();
+                for (long i = 0; i < updates; i++) {
+                    due += intervalNanos;
+                    while (System.nanoTime() < due) {
+                        Thread.onSpinWait();
+                    }
+                    int account = random.nextInt(accountNos.length);
+                    boolean outlier = random.nextInt(10_000) == 0;
+                    long delta = (long) (typical[account] * (1 + 0.2 * gaussian(random)) * (outlier ? 50 : 1));
+                    long[] update = {account, delta, i, outlier ? 1 : 0};
+                    long before = System.nanoTime();
+                    if (!handoff.offer(update)) {
+                        localDropped++;
+                    } else if (outlier) {
+                        localPlanted++;
+                    }
+                    nanos += System.nanoTime() - before;
+                }
+                offerNanos.addAndGet(nanos);
+                dropped.addAndGet(localDropped);
+                planted.addAndGet(localPlanted);
+                done.countDown();
+            }).start();
+        }
+        consumer.join();
+        System.out.println(String.format("%-22s %12.1f %,14d %,10d %,10d %,12d",
+                name, (double) offerNanos.get() / (producers * updates), counts[0],
+                dropped.get(), planted.get(), counts[1]));
+    }
+
+    private static double gaussian(SplittableRandom random) {
+        // Box-Muller
+        return Math.sqrt(-2 * Math.log(1 - random.nextDouble())) * Math.cos(2 * Math.PI * random.nextDouble());
+    }
+}
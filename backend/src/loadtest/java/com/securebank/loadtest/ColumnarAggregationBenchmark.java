@@ -0,0 +1,163 @@
+package com.securebank.loadtest;
+
+import com.securebank.analytics.AccountColumns;
+import com.securebank.entity.Account;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.function.LongSupplier;
+
+/**
+ * GROUP BY latency: SQL aggregates over an accounts table vs the same
+ * aggregates over AccountColumns (totals by type, log2 balance histogram
+ * by type, accounts created per day over the last year).
+ *
+ * Both sides hold identical generated data. The database defaults to an
+ * in-memory H2 instance; pass a JDBC URL (plus user and password) to run
+ * the SQL side against MySQL instead; the table is named bench_accounts.
+ *
+ * Usage (from backend/):
+ *   mvn -Ploadtest compile exec:java -Dloadtest.main=com.securebank.loadtest.ColumnarAggregationBenchmark \
+ *       -Dexec.args="10000000 jdbc:mysql://localhost:3306/banking_db root secret"
+ * 10M rows need a large heap for H2 (MAVEN_OPTS=-Xmx12g).
+ */
+public class ColumnarAggregationBenchmark {
+
+    private static final int RUNS = 7;
+    private static final int BATCH = 10_000;
+    private static final int TYPES = Account.AccountType.values().length;
+
+    private static volatile long sink;
+
+    public static void main(String[] args) throws Exception {
+        int accounts = args.length > 0 ? Integer.parseInt(args[0]) : 10_000_000;
+        String url = args.length > 1 ? args[1] : "jdbc:h2:mem:columnar;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+        String user = args.length > 2 ? args[2] : "sa";
+        String password = args.length > 3 ? args[3] : "";
+
+        int today = (int) LocalDate.now().toEpochDay();
+        int historyDays = 8 * 365;
+        AccountColumns columns = new AccountColumns(TYPES, accounts);
+
+        try (Connection connection = DriverManager.getConnection(url, user, password)) {
+            long started = System.nanoTime();
+            generate(connection, columns, accounts, today, historyDays);
+            System.out.println(String.format("Generated %,d accounts in %.1fs", accounts, (System.nanoTime() - started) / 1e9));
+
+            int from = today - 364;
+            Timestamp fromTimestamp = Timestamp.valueOf(LocalDate.ofEpochDay(from).atStartOfDay());
+
+            System.out.println(String.format("%-28s %14s %14s %10s", "aggregate", "sql median ms", "columns ms", "speedup"));
+            compare("totals by type",
+                    () -> sql(connection, "SELECT account_type, COUNT(*), SUM(account_balance) FROM bench_accounts GROUP BY account_type"),
+                    () -> columns.sumByType()[0] + columns.countByType()[0]);
+            compare("log2 histogram by type",
+                    () -> sql(connection, "SELECT account_type, FLOOR(LOG(2, account_balance * 100 + 1)) AS bucket, COUNT(*) " +
+                            "FROM bench_accounts GROUP BY account_type, bucket"),
+                    () -> columns.log2HistogramByType()[0][10]);
+            compare("created per day, 1 year",
+                    () -> sql(connection, "SELECT CAST(created_date AS DATE) AS day, COUNT(*) FROM bench_accounts " +
+                            "WHERE created_date >= ? GROUP BY day", fromTimestamp),
+                    () -> columns.createdPerDay(from, today, -1)[0]);
+            compare("total balance",
+                    () -> sql(connection, "SELECT SUM(account_balance) FROM bench_accounts"),
+                    columns::totalCents);
+
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("DROP TABLE bench_accounts");
+            }
+        }
+    }
+
+    private static void generate(Connection connection, AccountColumns columns, int accounts,
+                                 int today, int historyDays) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS bench_accounts");
+            statement.execute("CREATE TABLE bench_accounts (account_no VARCHAR(20) NOT NULL PRIMARY KEY, " +
+                    "account_balance DECIMAL(15,2) NOT NULL, account_type VARCHAR(20) NOT NULL, " +
+                    "created_date DATETIME(6) NOT NULL)");
+        }
+        Account.AccountType[] types = Account.AccountType.values();
+        SplittableRandom random = new SplittableRandom(42);
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO bench_accounts (account_no, account_balance, account_type, created_date) VALUES (?, ?, ?, ?)")) {
+            for (int i = 0; i < accounts; i++) {
+                String accountNo = "GEN" + String.format("%014d", i);
+                // Log-normal-ish balances: most accounts small, a long tail of large ones
+                long cents = (long) Math.exp(random.nextDouble() * 18);
+                int type = random.nextInt(types.length);
+                int day = today - random.nextInt(historyDays);
+                columns.upsert(accountNo, cents, type, day);
+
+                insert.setString(1, accountNo);
+                insert.setBigDecimal(2, BigDecimal.valueOf(cents, 2));
+                insert.setString(3, types[type].name());
+                insert.setTimestamp(4, Timestamp.valueOf(LocalDate.ofEpochDay(day).atTime(12, 0)));
+                insert.addBatch();
+                if ((i + 1) % BATCH == 0) {
+                    insert.executeBatch();
+                    connection.commit();
+                }
+            }
+            insert.executeBatch();
+            connection.commit();
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    private static void compare(String name, SqlQuery sqlQuery, LongSupplier columnQuery) throws SQLException {
+        long[] sqlTimes = new long[RUNS];
+        long[] columnTimes = new long[RUNS];
+        for (int run = 0; run < RUNS; run++) {
+            long started = System.nanoTime();
+            sink += sqlQuery.run();
+            sqlTimes[run] = System.nanoTime() - started;
+
+            started = System.nanoTime();
+            sink += columnQuery.getAsLong();
+            columnTimes[run] = System.nanoTime() - started;
+        }
+        double sqlMillis = median(sqlTimes) / 1e6;
+        double columnMillis = median(columnTimes) / 1e6;
+        System.out.println(String.format("%-28s %14.1f %14.2f %9.0fx", name, sqlMillis, columnMillis,
+                sqlMillis / columnMillis));
+    }
+
+    private static long sql(Connection connection, String sql, Object... parameters) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int i = 0; i < parameters.length; i++) {
+                statement.setObject(i + 1, parameters[i]);
+            }
+            long rows = 0;
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    rows++;
+                }
+            }
+            return rows;
+        }
+    }
+
+    private static long median(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+
+    @FunctionalInterface
+    private interface SqlQuery {
+        long run() throws SQLException;
+    }
+}
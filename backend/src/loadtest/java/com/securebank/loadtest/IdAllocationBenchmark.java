@@ -0,0 +1,176 @@
+package com.securebank.loadtest;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * Customer inserts/sec: AUTO_INCREMENT with one round trip per row (what
+ * Hibernate does for GenerationType.IDENTITY) vs IDs reserved in blocks
+ * from a sequence table and inserted in JDBC batches of 1, 50 and 500, as
+ * IdBlockAllocator and the pooled-lo @TableGenerator allow.
+ *
+ * Every mode commits every 500 rows, so the difference is round trips and
+ * batching only. Blocks are at least 50 IDs (the entities' allocationSize).
+ * The database defaults to an in-memory H2 instance, where round trips are
+ * nearly free; pass a MySQL URL with rewriteBatchedStatements=true (plus
+ * user and password) to see the effect over a real network connection.
+ *
+ * Usage (from backend/):
+ *   mvn -Ploadtest compile exec:java -Dloadtest.main=com.securebank.loadtest.IdAllocationBenchmark \
+ *       -Dexec.args="200000 jdbc:mysql://localhost:3306/banking_db?rewriteBatchedStatements=true root secret"
+ */
+public class IdAllocationBenchmark {
+
+    private static final int[] BATCH_SIZES = {1, 50, 500};
+    private static final int COMMIT_EVERY = 500;
+    private static final int MIN_BLOCK = 50;
+
+    public static void main(String[] args) throws Exception {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        String url = args.length > 1 ? args[1] : "jdbc:h2:mem:idalloc;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+        String user = args.length > 2 ? args[2] : "sa";
+        String password = args.length > 3 ? args[3] : "";
+
+        try (Connection connection = DriverManager.getConnection(url, user, password);
+             Connection sequenceConnection = DriverManager.getConnection(url, user, password)) {
+            System.out.println(String.format("%,d rows per mode", rows));
+            System.out.println(String.format("%-22s %12s %10s", "mode", "rows/s", "seconds"));
+
+            reset(connection);
+            long started = System.nanoTime();
+            insertWithIdentity(connection, rows);
+            report("identity, per row", rows, started);
+
+            for (int batchSize : BATCH_SIZES) {
+                reset(connection);
+                started = System.nanoTime();
+                insertWithBlocks(connection, sequenceConnection, rows, batchSize);
+                report("pooled, batch " + batchSize, rows, started);
+            }
+
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("DROP TABLE bench_customers");
+                statement.execute("DROP TABLE bench_id_sequences");
+            }
+        }
+    }
+
+    private static void insertWithIdentity(Connection connection, int rows) throws SQLException {
+        connection.setAutoCommit(false);
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO bench_customers (name, email, mobile_number, address, created_date) VALUES (?, ?, ?, ?, ?)",
+                Statement.RETURN_GENERATED_KEYS)) {
+            for (int i = 0; i < rows; i++) {
+                bind(insert, 1, i);
+                insert.executeUpdate();
+                try (ResultSet keys = insert.getGeneratedKeys()) {
+                    keys.next();
+                    keys.getLong(1);
+                }
+                if ((i + 1) % COMMIT_EVERY == 0) {
+                    connection.commit();
+                }
+            }
+            connection.commit();
+        } finally {
+            connection.setAutoCommit(true);
+        }
+    }
+
+    private static void insertWithBlocks(Connection connection, Connection sequenceConnection,
+                                         int rows, int batchSize) throws SQLException {
+        int blockSize = Math.max(MIN_BLOCK, batchSize);
+        long nextId = 0;
+        long blockEnd = 0;
+        connection.setAutoCommit(false);
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO bench_customers (customer_id, name, email, mobile_number, address, created_date) " +
+                "VALUES (?, ?, ?, ?, ?, ?)")) {
+            int pending = 0;
+            for (int i = 0; i < rows; i++) {
+                if (nextId == blockEnd) {
+                    nextId = allocate(sequenceConnection, blockSize);
+                    blockEnd = nextId + blockSize;
+                }
+                insert.setLong(1, nextId++);
+                bind(insert, 2, i);
+                insert.addBatch();
+                if (++pending == batchSize) {
+                    insert.executeBatch();
+                    pending = 0;
+                }
+                if ((i + 1) % COMMIT_EVERY == 0) {
+                    if (pending > 0) {
+                        insert.executeBatch();
+                        pending = 0;
+                    }
+                    connection.commit();
+                }
+            }
+            if (pending > 0) {
+                insert.executeBatch();
+            }
+            connection.commit();
+        } finally {
+            connection.setAutoCommit(true);
+        }
+    }
+
+    /**
+     * Same statements as IdBlockAllocator, in a transaction of their own
+     */
+    private static long allocate(Connection connection, int count) throws SQLException {
+        connection.setAutoCommit(false);
+        try {
+            long lastUsed;
+            try (PreparedStatement select = connection.prepareStatement(
+                    "SELECT next_val FROM bench_id_sequences WHERE sequence_name = 'customers' FOR UPDATE");
+                 ResultSet resultSet = select.executeQuery()) {
+                resultSet.next();
+                lastUsed = resultSet.getLong(1);
+            }
+            try (PreparedStatement update = connection.prepareStatement(
+                    "UPDATE bench_id_sequences SET next_val = ? WHERE sequence_name = 'customers'")) {
+                update.setLong(1, lastUsed + count);
+                update.executeUpdate();
+            }
+            connection.commit();
+            return lastUsed + 1;
+        } finally {
+            connection.setAutoCommit(true);
+        }
+    }
+
+    private static void bind(PreparedStatement insert, int first, int i) throws SQLException {
+        insert.setString(first, "Customer " + i);
+        insert.setString(first + 1, "customer" + i + "@example.com");
+        insert.setString(first + 2, "555" + i);
+        insert.setString(first + 3, i + " Main Street, Springfield");
+        insert.setTimestamp(first + 4, Timestamp.valueOf(LocalDateTime.now()));
+    }
+
+    private static void reset(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS bench_customers");
+            statement.execute("DROP TABLE IF EXISTS bench_id_sequences");
+            statement.execute("CREATE TABLE bench_customers (customer_id BIGINT NOT NULL AUTO_INCREMENT, " +
+                    "name VARCHAR(100) NOT NULL, email VARCHAR(150) NOT NULL, mobile_number VARCHAR(20) NOT NULL, " +
+                    "address VARCHAR(500) NOT NULL, created_date DATETIME(6) NOT NULL, PRIMARY KEY (customer_id), " +
+                    "CONSTRAINT uk_bench_customers_email UNIQUE (email))");
+            statement.execute("CREATE TABLE bench_id_sequences (sequence_name VARCHAR(64) NOT NULL, " +
+                    "next_val BIGINT NOT NULL, PRIMARY KEY (sequence_name))");
+            statement.execute("INSERT INTO bench_id_sequences (sequence_name, next_val) VALUES ('customers', 0)");
+        }
+    }
+
+    private static void report(String mode, int rows, long startedNanos) {
+        double seconds = (System.nanoTime() - startedNanos) / 1e9;
+        System.out.println(String.format("%-22s %,12.0f %10.2f", mode, rows / seconds, seconds));
+    }
+}
@@ -0,0 +1,109 @@
+package com.securebank.loadtest;
+
+import com.securebank.ledger.EntryType;
+import com.securebank.ledger.LedgerJournal;
+import com.securebank.ledger.LedgerPosting;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * Sustained ledger journal throughput: N writer threads each append one
+ * posting and wait until it is durable, as AccountService commits do.
+ * Shows how group commit spreads one fsync over many concurrent writers,
+ * then measures full replay speed of what was written.
+ *
+ * Usage (from backend/):
+ *   mvn -Ploadtest compile exec:java -Dloadtest.main=com.securebank.loadtest.LedgerJournalBenchmark \
+ *       -Dexec.args="20 /path/on/the/target/disk"
+ */
+public class LedgerJournalBenchmark {
+
+    private static final int[] WRITERS = {1, 8, 64, 256};
+    private static final int SEGMENT_SIZE = 64 * 1024 * 1024;
+
+    public static void main(String[] args) throws Exception {
+        int seconds = args.length > 0 ? Integer.parseInt(args[0]) : 10;
+        Path baseDirectory = args.length > 1 ? Paths.get(args[1]) : Paths.get("target", "ledger-benchmark");
+
+        System.out.println(String.format("%-8s %8s %12s %10s %12s %9s %9s",
+                "fsync", "writers", "entries/s", "fsyncs", "entries/sync", "p50 us", "p99 us"));
+        for (int writers : WRITERS) {
+            run(baseDirectory.resolve("fsync-" + writers), true, writers, seconds);
+        }
+        run(baseDirectory.resolve("nofsync-64"), false, 64, seconds);
+    }
+
+    private static void run(Path directory, boolean fsync, int writers, int seconds) throws Exception {
+        deleteRecursively(directory);
+        Histogram latency = new ConcurrentHistogram(3);
+        LongAdder entries = new LongAdder();
+        long flushesBefore;
+        long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+
+        try (LedgerJournal journal = LedgerJournal.open(directory, SEGMENT_SIZE, fsync)) {
+            flushesBefore = journal.getFlushCount();
+            List<Thread> threads = new ArrayList<>();
+            for (int i = 0; i < writers; i++) {
+                Thread thread = new Thread(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    try {
+                        while (System.nanoTime() < deadline) {
+                            LedgerPosting posting = new LedgerPosting(EntryType.DEPOSIT, "@EXTERNAL",
+                                    "GEN" + String.format("%014d", random.nextInt(10_000_000)),
+                                    1 + random.nextInt(1_000_000), "benchmark");
+                            long started = System.nanoTime();
+                            long sequence = journal.append(List.of(posting)).get(0).getSequence();
+                            journal.awaitDurable(sequence);
+                            latency.recordValue((System.nanoTime() - started) / 1_000);
+                            entries.increment();
+                        }
+                    } catch (IOException e) {
+                        throw new RuntimeException(e);
+                    }
+                }, "ledger-writer-" + i);
+                threads.add(thread);
+                thread.start();
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+
+            long flushes = journal.getFlushCount() - flushesBefore;
+            long total = entries.sum();
+            System.out.println(String.format("%-8s %8d %,12.0f %10d %12.1f %9d %9d",
+                    fsync, writers, total / (double) seconds, flushes,
+                    flushes > 0 ? total / (double) flushes : 0.0,
+                    latency.getValueAtPercentile(50), latency.getValueAtPercentile(99)));
+        }
+
+        long started = System.nanoTime();
+        long[] checksum = {0};
+        long replayed = LedgerJournal.replay(directory, 1, entry -> checksum[0] += entry.getAmountCents());
+        double replaySeconds = (System.nanoTime() - started) / 1_000_000_000.0;
+        System.out.println(String.format("         replayed %,d entries in %.2fs (%,.0f entries/s)",
+                replayed, replaySeconds, replayed / replaySeconds));
+        deleteRecursively(directory);
+    }
+
+    private static void deleteRecursively(Path directory) throws IOException {
+        if (!Files.exists(directory)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.securebank.loadtest;
+
+import com.securebank.ledger.EntryType;
+import com.securebank.ledger.LedgerBalances;
+import com.securebank.ledger.LedgerJournal;
+import com.securebank.ledger.LedgerPosting;
+import com.securebank.ledger.LedgerSnapshot;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.Stream;
+
+/**
+ * Startup recovery time: full journal replay vs latest snapshot plus journal tail.
+ *
+ * Generates a journal with one OPENING entry per account followed by random
+ * deposits and withdrawals, snapshots it at (1 - tail) of the way through,
+ * then times both recovery paths and checks they produce identical balances.
+ * Defaults to 10M accounts and 100M events (about 7 GB of journal; give the
+ * JVM room, e.g. MAVEN_OPTS=-Xmx8g).
+ *
+ * Usage (from backend/):
+ *   mvn -Ploadtest compile exec:java -Dloadtest.main=com.securebank.loadtest.LedgerRecoveryBenchmark \
+ *       -Dexec.args="10000000 100000000 0.05 /path/on/the/target/disk"
+ */
+public class LedgerRecoveryBenchmark {
+
+    private static final int SEGMENT_SIZE = 256 * 1024 * 1024;
+    private static final int BATCH = 10_000;
+    private static final int PARTITIONS = 64;
+
+    public static void main(String[] args) throws Exception {
+        int accounts = args.length > 0 ? Integer.parseInt(args[0]) : 10_000_000;
+        long events = args.length > 1 ? Long.parseLong(args[1]) : 100_000_000L;
+        double tail = args.length > 2 ? Double.parseDouble(args[2]) : 0.05;
+        Path base = args.length > 3 ? Paths.get(args[3]) : Paths.get("target", "ledger-recovery-benchmark");
+        Path journalDirectory = base.resolve("journal");
+        Path snapshotDirectory = base.resolve("snapshots");
+        int threads = Runtime.getRuntime().availableProcessors();
+
+        deleteRecursively(base);
+        long snapshotAt = Math.max(accounts, (long) (events * (1 - tail)));
+
+        long started = System.nanoTime();
+        generate(journalDirectory, accounts, events);
+        System.out.println(String.format("Generated %,d events over %,d accounts in %.1fs",
+                events, accounts, seconds(started)));
+
+        started = System.nanoTime();
+        LedgerBalances atSnapshot = new LedgerBalances(accounts);
+        LedgerJournal.replay(journalDirectory, 1, snapshotAt, atSnapshot::apply);
+        double buildSeconds = seconds(started);
+        started = System.nanoTime();
+        Path snapshot = LedgerSnapshot.write(snapshotDirectory, atSnapshot, snapshotAt, PARTITIONS);
+        System.out.println(String.format("Snapshot at sequence %,d: built in %.1fs, written in %.1fs (%,d MB)",
+                snapshotAt, buildSeconds, seconds(started), Files.size(snapshot) / (1024 * 1024)));
+        atSnapshot = null;
+
+        started = System.nanoTime();
+        LedgerBalances full = new LedgerBalances(accounts);
+        long replayed = LedgerJournal.replay(journalDirectory, 1, full::apply);
+        double fullSeconds = seconds(started);
+        System.out.println(String.format("Full replay:      %,d events in %6.1fs", replayed, fullSeconds));
+
+        started = System.nanoTime();
+        LedgerBalances recovered = new LedgerBalances(accounts);
+        long from = LedgerSnapshot.load(snapshot, recovered, threads);
+        double loadSeconds = seconds(started);
+        long tailStarted = System.nanoTime();
+        long tailReplayed = LedgerJournal.replay(journalDirectory, from + 1, recovered::apply);
+        double tailSeconds = seconds(tailStarted);
+        System.out.println(String.format("Snapshot + tail:  load %.1fs on %d threads + %,d tail events in %.1fs = %6.1fs (%.1fx faster)",
+                loadSeconds, threads, tailReplayed, tailSeconds, loadSeconds + tailSeconds,
+                fullSeconds / (loadSeconds + tailSeconds)));
+
+        long[] differences = {0};
+        full.forEach((account, cents) -> {
+            if (recovered.getBalanceCents(account) != cents) {
+                differences[0]++;
+            }
+        });
+        boolean consistent = differences[0] == 0 && full.size() == recovered.size()
+                && full.getTrialBalanceCents() == 0 && recovered.getTrialBalanceCents() == 0;
+        System.out.println(consistent
+                ? "Consistency: OK, both paths produce identical balances and a zero trial balance"
+                : "Consistency: FAILED, " + differences[0] + " accounts differ");
+
+        deleteRecursively(base);
+    }
+
+    private static void generate(Path directory, int accounts, long events) throws IOException {
+        SplittableRandom random = new SplittableRandom(42);
+        try (LedgerJournal journal = LedgerJournal.open(directory, SEGMENT_SIZE, false)) {
+            List<LedgerPosting> batch = new ArrayList<>(BATCH);
+            for (long i = 0; i < events; i++) {
+                LedgerPosting posting;
+                if (i < accounts) {
+                    posting = new LedgerPosting(EntryType.OPENING, "@EXTERNAL", accountNo(i),
+                            1 + random.nextInt(10_000_000), "opening balance");
+                } else {
+                    String account = accountNo(random.nextInt(accounts));
+                    long amount = 1 + random.nextInt(100_000);
+                    posting = random.nextBoolean()
+                            ? new LedgerPosting(EntryType.DEPOSIT, "@EXTERNAL", account, amount, "")
+                            : new LedgerPosting(EntryType.WITHDRAWAL, account, "@EXTERNAL", amount, "");
+                }
+                batch.add(posting);
+                if (batch.size() == BATCH) {
+                    journal.append(batch);
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                journal.append(batch);
+            }
+        }
+    }
+
+    private static String accountNo(long index) {
+        return "GEN" + String.format("%014d", index);
+    }
+
+    private static double seconds(long startedNanos) {
+        return (System.nanoTime() - startedNanos) / 1_000_000_000.0;
+    }
+
+    private static void deleteRecursively(Path directory) throws IOException {
+        if (!Files.exists(directory)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+}
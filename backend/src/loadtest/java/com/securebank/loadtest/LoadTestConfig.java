@@ -0,0 +1,65 @@
+package com.securebank.loadtest;
+
+import org.springframework.core.env.Environment;
+
+/**
+ * Load test parameters, read from the loadtest profile
+ * (system properties such as -Dloadtest.rate=500 take precedence)
+ */
+public class LoadTestConfig {
+
+    private final double rate;
+    private final int warmupSeconds;
+    private final int durationSeconds;
+    private final int maxInFlight;
+    private final long seed;
+
+    public LoadTestConfig(double rate, int warmupSeconds, int durationSeconds, int maxInFlight, long seed) {
+        this.rate = rate;
+        this.warmupSeconds = warmupSeconds;
+        this.durationSeconds = durationSeconds;
+        this.maxInFlight = maxInFlight;
+        this.seed = seed;
+    }
+
+    public static LoadTestConfig from(Environment env) {
+        return new LoadTestConfig(
+                env.getProperty("loadtest.rate", Double.class, 200.0),
+                env.getProperty("loadtest.warmup-seconds", Integer.class, 10),
+                env.getProperty("loadtest.duration-seconds", Integer.class, 60),
+                env.getProperty("loadtest.max-in-flight", Integer.class, 2000),
+                env.getProperty("loadtest.seed", Long.class, 42L)
+        );
+    }
+
+    public double getRate() {
+        return rate;
+    }
+
+    public int getWarmupSeconds() {
+        return warmupSeconds;
+    }
+
+    public int getDurationSeconds() {
+        return durationSeconds;
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    @Override
+    public String toString() {
+        return "LoadTestConfig{" +
+                "rate=" + rate +
+                ", warmupSeconds=" + warmupSeconds +
+                ", durationSeconds=" + durationSeconds +
+                ", maxInFlight=" + maxInFlight +
+                ", seed=" + seed +
+                '}';
+    }
+}
@@ -0,0 +1,63 @@
+package com.securebank.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Per-endpoint throughput and latency percentiles of a load test run
+ */
+public class LoadTestReport {
+
+    private final LoadTestConfig config;
+    private final List<EndpointStats> endpoints;
+    private final long measuredNanos;
+
+    public LoadTestReport(LoadTestConfig config, Collection<EndpointStats> endpoints, long measuredNanos) {
+        this.config = config;
+        this.endpoints = new ArrayList<>(endpoints);
+        this.measuredNanos = measuredNanos;
+    }
+
+    public void print(PrintStream out) {
+        double seconds = measuredNanos / 1_000_000_000.0;
+        Histogram all = new Histogram(3);
+
+        out.println("Load test report - " + config);
+        out.println(String.format("%-32s %9s %9s %8s %8s %9s %9s %9s %9s %9s",
+                "endpoint", "requests", "req/s", "errors", "dropped",
+                "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms"));
+
+        for (EndpointStats stats : endpoints) {
+            Histogram histogram = stats.getLatencyMicros();
+            all.add(histogram);
+            printRow(out, stats.getEndpoint(), histogram, stats.getErrors(), stats.getDropped(), seconds);
+        }
+
+        long totalErrors = endpoints.stream().mapToLong(EndpointStats::getErrors).sum();
+        long totalDropped = endpoints.stream().mapToLong(EndpointStats::getDropped).sum();
+        printRow(out, "TOTAL", all, totalErrors, totalDropped, seconds);
+    }
+
+    private void printRow(PrintStream out, String name, Histogram histogram, long errors, long dropped, double seconds) {
+        long count = histogram.getTotalCount();
+        out.println(String.format("%-32s %9d %9.1f %8d %8d %9.2f %9.2f %9.2f %9.2f %9.2f",
+                name,
+                count,
+                count / seconds,
+                errors,
+                dropped,
+                millis(histogram, 50.0),
+                millis(histogram, 90.0),
+                millis(histogram, 99.0),
+                millis(histogram, 99.9),
+                histogram.getMaxValue() / 1000.0));
+    }
+
+    private double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+}
@@ -0,0 +1,40 @@
+package com.securebank.loadtest;
+
+import com.securebank.BankingAdminApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.sql.DataSource;
+
+/**
+ * End-to-end load test: boots the application on a random port against
+ * the in-memory H2 database, seeds it through the synthetic data generator
+ * ("datagen" profile) and drives the mixed workload.
+ *
+ * Usage (from backend/):
+ *   mvn -Ploadtest compile exec:java -Dloadtest.rate=500 -Dloadtest.duration-seconds=120
+ */
+public class LoadTestRunner {
+
+    public static void main(String[] args) throws Exception {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(BankingAdminApplication.class)
+                .profiles("datagen", "loadtest")
+                .properties("server.port=0", "spring.devtools.restart.enabled=false")
+                .run(args);
+
+        try {
+            LoadTestConfig config = LoadTestConfig.from(context.getEnvironment());
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/api";
+
+            SeedData seedData = SeedData.load(context.getBean(DataSource.class));
+            System.out.println("Seeded " + seedData.getCustomerIds().size() + " customers and " +
+                    seedData.getAccounts().size() + " accounts");
+
+            System.out.println("Running workload against " + baseUrl);
+            LoadTestReport report = new OpenModelLoadGenerator(baseUrl, config, seedData).run();
+            report.print(System.out);
+        } finally {
+            context.close();
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.securebank.loadtest;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load generator: requests are issued on a Poisson arrival schedule
+ * regardless of how many are still outstanding, the way real clients behave.
+ * A closed loop would slow down with the server and under-report latency.
+ */
+public class OpenModelLoadGenerator {
+
+    private final LoadTestConfig config;
+    private final Workload workload;
+    private final HttpClient client;
+    private final ExecutorService callbackExecutor;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public OpenModelLoadGenerator(String baseUrl, LoadTestConfig config, SeedData seedData) {
+        this.config = config;
+        this.workload = new Workload(baseUrl, seedData);
+        this.callbackExecutor = Executors.newFixedThreadPool(Math.max(4, Runtime.getRuntime().availableProcessors()));
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(callbackExecutor)
+                .build();
+    }
+
+    public LoadTestReport run() throws InterruptedException {
+        Map<Workload.Operation, EndpointStats> stats = new EnumMap<>(Workload.Operation.class);
+        for (Workload.Operation operation : Workload.Operation.values()) {
+            stats.put(operation, new EndpointStats(operation.getEndpoint()));
+        }
+
+        Random random = new Random(config.getSeed());
+        double meanIntervalNanos = 1_000_000_000.0 / config.getRate();
+        long start = System.nanoTime();
+        long measureFrom = start + TimeUnit.SECONDS.toNanos(config.getWarmupSeconds());
+        long end = measureFrom + TimeUnit.SECONDS.toNanos(config.getDurationSeconds());
+
+        long next = start;
+        while (next < end) {
+            long now = System.nanoTime();
+            if (now < next) {
+                LockSupport.parkNanos(next - now);
+            }
+
+            final long intended = next;
+            final boolean measured = intended >= measureFrom;
+            Workload.Operation operation = workload.pick(random);
+            EndpointStats endpointStats = stats.get(operation);
+
+            if (inFlight.get() >= config.getMaxInFlight()) {
+                if (measured) {
+                    endpointStats.drop();
+                }
+            } else {
+                HttpRequest request = workload.request(operation, random);
+                inFlight.incrementAndGet();
+                client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                        .whenComplete((response, error) -> {
+                            long latency = System.nanoTime() - intended;
+                            inFlight.decrementAndGet();
+                            if (measured) {
+                                endpointStats.record(latency, error == null && response.statusCode() < 400);
+                            }
+                        });
+            }
+
+            // Exponential inter-arrival times give a Poisson arrival process
+            next += (long) (-Math.log(1.0 - random.nextDouble()) * meanIntervalNanos);
+        }
+
+        long drainDeadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+            Thread.sleep(50);
+        }
+        callbackExecutor.shutdown();
+
+        return new LoadTestReport(config, stats.values(), TimeUnit.SECONDS.toNanos(config.getDurationSeconds()));
+    }
+}
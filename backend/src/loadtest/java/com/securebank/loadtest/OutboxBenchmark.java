@@ -0,0 +1,189 @@
+package com.securebank.loadtest;
+
+import com.securebank.outbox.OutboxEvent;
+import com.securebank.outbox.OutboxRelay;
+import com.securebank.outbox.OutboxSubscriber;
+import com.securebank.outbox.OutboxWriter;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Outbox relay throughput: events delivered per second by several relay
+ * threads at different batch sizes.
+ *
+ * Each round fills outbox_events with a backlog spread over many aggregates,
+ * then drains it with the relays while a subscriber checks that every
+ * aggregate's events arrive exactly in sequence with none missing. The
+ * subscriber also fails one delivery attempt in 10,000 to exercise the
+ * retry path. Defaults to 1M events in an in-memory H2 database; to measure
+ * against MySQL pass the URL, user and password of an empty scratch schema
+ * (the benchmark creates and drops the outbox tables there).
+ *
+ * Usage (from backend/):
+ *   mvn -Ploadtest compile exec:java -Dloadtest.main=com.securebank.loadtest.OutboxBenchmark \
+ *       -Dexec.args="1000000 10000 4"
+ * Arguments: events, aggregates, relay threads, then optionally a JDBC URL, user and password.
+ */
+public class OutboxBenchmark {
+
+    private static final int PARTITIONS = 16;
+    private static final int PARTITIONS_PER_CLAIM = 4;
+    private static final int INSERT_BATCH = 10_000;
+    private static final int[] BATCH_SIZES = {50, 200, 1000};
+    private static final String INSERT = "INSERT INTO outbox_events (partition_no, aggregate_type, aggregate_id, " +
+            "event_type, payload, created_at) VALUES (?, ?, ?, ?, ?, ?)";
+
+    public static void main(String[] args) throws Exception {
+        int events = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int aggregates = args.length > 1 ? Integer.parseInt(args[1]) : 10_000;
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : 4;
+        String url = args.length > 3 ? args[3] : "jdbc:h2:mem:outbox;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+        String user = args.length > 4 ? args[4] : "sa";
+        String password = args.length > 5 ? args[5] : "";
+
+        try (HikariDataSource dataSource = new HikariDataSource()) {
+            dataSource.setJdbcUrl(url);
+            dataSource.setUsername(user);
+            dataSource.setPassword(password);
+            dataSource.setMaximumPoolSize(threads + 1);
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+            TransactionTemplate transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+            createTables(jdbcTemplate);
+
+            System.out.println(String.format("%,d events over %,d aggregates, %d relay threads, %d partitions",
+                    events, aggregates, threads, PARTITIONS));
+            System.out.println(String.format("%-10s %10s %14s %10s %10s  %s",
+                    "batch", "seconds", "events/s", "polls", "retries", "order"));
+            for (int batchSize : BATCH_SIZES) {
+                int[] sequences = fill(jdbcTemplate, events, aggregates);
+                OrderChecker checker = new OrderChecker();
+                OutboxRelay relay = new OutboxRelay(jdbcTemplate, transactionTemplate, batchSize, PARTITIONS_PER_CLAIM);
+                relay.subscribe(checker);
+
+                long started = System.nanoTime();
+                List<Thread> relays = new ArrayList<>(threads);
+                for (int i = 0; i < threads; i++) {
+                    Thread thread = new Thread(() -> {
+                        while (checker.delivered.get() < events) {
+                            if (relay.relayOnce() == 0) {
+                                Thread.onSpinWait();
+                            }
+                        }
+                    }, "relay-" + i);
+                    thread.start();
+                    relays.add(thread);
+                }
+                for (Thread thread : relays) {
+                    thread.join();
+                }
+                double elapsed = seconds(started);
+
+                long left = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM outbox_events", Long.class);
+                String order = checker.verify(sequences, events, left);
+                System.out.println(String.format("%-10d %10.1f %,14.0f %,10d %,10d  %s", batchSize, elapsed,
+                        events / elapsed, relay.getPolls(), relay.getFailures(), order));
+            }
+            jdbcTemplate.execute("DROP TABLE outbox_events");
+            jdbcTemplate.execute("DROP TABLE outbox_partitions");
+        }
+    }
+
+    private static void createTables(JdbcTemplate jdbcTemplate) {
+        jdbcTemplate.execute("CREATE TABLE outbox_events (event_id BIGINT NOT NULL AUTO_INCREMENT, " +
+                "partition_no INT NOT NULL, aggregate_type VARCHAR(30) NOT NULL, aggregate_id VARCHAR(100) NOT NULL, " +
+                "event_type VARCHAR(50) NOT NULL, payload TEXT NOT NULL, created_at DATETIME(6) NOT NULL, " +
+                "PRIMARY KEY (event_id))");
+        jdbcTemplate.execute("CREATE INDEX idx_outbox_events_partition ON outbox_events (partition_no, event_id)");
+        jdbcTemplate.execute("CREATE TABLE outbox_partitions (partition_no INT NOT NULL, " +
+                "relayed_at DATETIME(6) NOT NULL, PRIMARY KEY (partition_no))");
+        OutboxRelay.ensurePartitions(jdbcTemplate, PARTITIONS);
+    }
+
+    /**
+     * Inserts the backlog; the payload is the event's sequence number within its aggregate
+     *
+     * @return number of events per aggregate
+     */
+    private static int[] fill(JdbcTemplate jdbcTemplate, int events, int aggregates) {
+        SplittableRandom random = new SplittableRandom(42);
+        int[] sequences = new int[aggregates];
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> batch = new ArrayList<>(INSERT_BATCH);
+        for (int i = 0; i < events; i++) {
+            int aggregate = random.nextInt(aggregates);
+            String aggregateId = aggregateId(aggregate);
+            batch.add(new Object[]{OutboxWriter.partitionOf("account", aggregateId, PARTITIONS), "account",
+                    aggregateId, "account.updated", String.valueOf(++sequences[aggregate]), now});
+            if (batch.size() == INSERT_BATCH) {
+                jdbcTemplate.batchUpdate(INSERT, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT, batch);
+        }
+        return sequences;
+    }
+
+    private static String aggregateId(int index) {
+        return "GEN" + String.format("%014d", index);
+    }
+
+    private static double seconds(long startedNanos) {
+        return (System.nanoTime() - startedNanos) / 1_000_000_000.0;
+    }
+
+    /**
+     * Expects each aggregate's events exactly once more than the last seen one
+     */
+    private static class OrderChecker implements OutboxSubscriber {
+
+        private final ConcurrentHashMap<String, Integer> lastSeen = new ConcurrentHashMap<>();
+        private final AtomicLong delivered = new AtomicLong();
+        private final LongAdder outOfOrder = new LongAdder();
+        private final SplittableRandom random = new SplittableRandom(7);
+
+        @Override
+        public void onEvent(OutboxEvent event) {
+            boolean fail;
+            synchronized (random) {
+                fail = random.nextInt(10_000) == 0;
+            }
+            if (fail) {
+                throw new IllegalStateException("injected failure");
+            }
+            int sequence = Integer.parseInt(event.getPayload());
+            int previous = lastSeen.getOrDefault(event.getAggregateId(), 0);
+            if (sequence != previous + 1) {
+                outOfOrder.increment();
+            }
+            lastSeen.put(event.getAggregateId(), sequence);
+            delivered.incrementAndGet();
+        }
+
+        String verify(int[] sequences, int events, long left) {
+            long incomplete = 0;
+            for (int i = 0; i < sequences.length; i++) {
+                if (lastSeen.getOrDefault(aggregateId(i), 0) != sequences[i]) {
+                    incomplete++;
+                }
+            }
+            if (outOfOrder.sum() == 0 && incomplete == 0 && left == 0 && delivered.get() == events) {
+                return "OK";
+            }
+            return String.format("FAILED: %,d out of order, %,d aggregates incomplete, %,d left in the outbox",
+                    outOfOrder.sum(), incomplete, left);
+        }
+    }
+}
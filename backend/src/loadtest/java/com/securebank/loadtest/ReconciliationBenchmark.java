@@ -0,0 +1,130 @@
+package com.securebank.loadtest;
+
+import com.securebank.batch.ReconciliationEngine;
+import com.securebank.batch.ReconciliationRunStatus;
+import com.securebank.ledger.LedgerBalances;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Reconciliation throughput: accounts checked per second by full runs on
+ * 1 to 8 workers, and by an incremental run over 1% of the accounts.
+ *
+ * Generates the accounts table and a matching set of ledger balances, then
+ * plants discrepancies (one balance in 100,000 off by a cent, plus the same
+ * number of ledger-only accounts) and checks every run finds exactly those.
+ * Defaults to 10M accounts in an in-memory H2 database (give the JVM room,
+ * e.g. MAVEN_OPTS=-Xmx12g). To measure against MySQL pass the URL, user and
+ * password of an empty scratch schema: the engine reads a table named
+ * accounts, which the benchmark creates and drops.
+ *
+ * Usage (from backend/):
+ *   mvn -Ploadtest compile exec:java -Dloadtest.main=com.securebank.loadtest.ReconciliationBenchmark \
+ *       -Dexec.args="10000000 250000 5000"
+ * Arguments: accounts, range size, page size, then optionally a JDBC URL, user and password.
+ */
+public class ReconciliationBenchmark {
+
+    private static final int INSERT_BATCH = 10_000;
+    private static final int[] THREADS = {1, 2, 4, 8};
+
+    public static void main(String[] args) throws Exception {
+        int accounts = args.length > 0 ? Integer.parseInt(args[0]) : 10_000_000;
+        int rangeSize = args.length > 1 ? Integer.parseInt(args[1]) : 250_000;
+        int pageSize = args.length > 2 ? Integer.parseInt(args[2]) : 5_000;
+        String url = args.length > 3 ? args[3] : "jdbc:h2:mem:reconcile;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+        String user = args.length > 4 ? args[4] : "sa";
+        String password = args.length > 5 ? args[5] : "";
+
+        try (HikariDataSource dataSource = new HikariDataSource()) {
+            dataSource.setJdbcUrl(url);
+            dataSource.setUsername(user);
+            dataSource.setPassword(password);
+            dataSource.setMaximumPoolSize(THREADS[THREADS.length - 1] + 1);
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+
+            long started = System.nanoTime();
+            LedgerBalances ledger = new LedgerBalances(accounts);
+            int planted = generate(jdbcTemplate, ledger, accounts);
+            System.out.println(String.format("Generated %,d accounts in %.1fs, planted %,d discrepancies",
+                    accounts, seconds(started), planted));
+
+            started = System.nanoTime();
+            List<String> boundaries = ReconciliationEngine.planRanges(jdbcTemplate, rangeSize);
+            System.out.println(String.format("Planned %,d ranges of %,d accounts in %.1fs",
+                    boundaries.size() + 1, rangeSize, seconds(started)));
+
+            System.out.println(String.format("%-16s %12s %14s %14s", "run", "accounts", "accounts/s", "discrepancies"));
+            for (int threads : THREADS) {
+                ReconciliationEngine engine = new ReconciliationEngine(jdbcTemplate, ledger, threads, pageSize, 0);
+                ReconciliationRunStatus status = new ReconciliationRunStatus("full-" + threads,
+                        ReconciliationRunStatus.Mode.FULL);
+                AtomicLong found = new AtomicLong();
+                engine.reconcileAll(boundaries, status, discrepancy -> found.incrementAndGet());
+                report("full, " + threads + " threads", status, found.get(), planted);
+            }
+
+            List<String> changed = new ArrayList<>(accounts / 100);
+            for (int i = 0; i < accounts; i += 100) {
+                changed.add(accountNo(i));
+            }
+            ReconciliationEngine engine = new ReconciliationEngine(jdbcTemplate, ledger, 4, pageSize, 0);
+            ReconciliationRunStatus status = new ReconciliationRunStatus("incremental",
+                    ReconciliationRunStatus.Mode.INCREMENTAL);
+            AtomicLong found = new AtomicLong();
+            engine.reconcileAccounts(changed, status, discrepancy -> found.incrementAndGet());
+            report("incremental 1%", status, found.get(), -1);
+
+            jdbcTemplate.execute("DROP TABLE accounts");
+        }
+    }
+
+    /**
+     * @return number of planted discrepancies
+     */
+    private static int generate(JdbcTemplate jdbcTemplate, LedgerBalances ledger, int accounts) {
+        jdbcTemplate.execute("CREATE TABLE accounts (account_no VARCHAR(20) NOT NULL PRIMARY KEY, " +
+                "account_balance DECIMAL(15,2) NOT NULL)");
+        SplittableRandom random = new SplittableRandom(42);
+        int planted = 0;
+        List<Object[]> batch = new ArrayList<>(INSERT_BATCH);
+        for (int i = 0; i < accounts; i++) {
+            String accountNo = accountNo(i);
+            long cents = random.nextLong(100_000_000L);
+            boolean mismatch = i % 100_000 == 50_000;
+            ledger.set(accountNo, mismatch ? cents + 1 : cents);
+            if (mismatch) {
+                ledger.set("ORPHAN" + String.format("%011d", i), 100);
+                planted += 2;
+            }
+            batch.add(new Object[]{accountNo, BigDecimal.valueOf(cents, 2)});
+            if (batch.size() == INSERT_BATCH) {
+                jdbcTemplate.batchUpdate("INSERT INTO accounts (account_no, account_balance) VALUES (?, ?)", batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate("INSERT INTO accounts (account_no, account_balance) VALUES (?, ?)", batch);
+        }
+        return planted;
+    }
+
+    private static void report(String name, ReconciliationRunStatus status, long found, int expected) {
+        System.out.println(String.format("%-16s %,12d %,14.0f %,14d%s", name, status.getAccountsChecked(),
+                status.getAccountsPerSecond(), found, expected < 0 || found == expected ? "" : "  (expected " + expected + ")"));
+    }
+
+    private static String accountNo(long index) {
+        return "GEN" + String.format("%014d", index);
+    }
+
+    private static double seconds(long startedNanos) {
+        return (System.nanoTime() - startedNanos) / 1_000_000_000.0;
+    }
+}
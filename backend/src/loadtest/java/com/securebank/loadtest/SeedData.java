@@ -0,0 +1,65 @@
+package com.securebank.loadtest;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Keys of the seeded rows that the workload picks its targets from
+ */
+public class SeedData {
+
+    private final List<Long> customerIds;
+    private final List<SeededAccount> accounts;
+
+    public SeedData(List<Long> customerIds, List<SeededAccount> accounts) {
+        this.customerIds = customerIds;
+        this.accounts = accounts;
+    }
+
+    /**
+     * Load the keys of everything the generator inserted
+     */
+    public static SeedData load(DataSource dataSource) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        List<Long> customerIds = jdbcTemplate.queryForList(
+                "SELECT customer_id FROM customers ORDER BY customer_id", Long.class);
+        List<SeededAccount> accounts = jdbcTemplate.query(
+                "SELECT account_no, account_type, customer_id FROM accounts ORDER BY account_no",
+                (rs, rowNum) -> new SeededAccount(rs.getString(1), rs.getString(2), rs.getLong(3)));
+        return new SeedData(customerIds, accounts);
+    }
+
+    public List<Long> getCustomerIds() {
+        return customerIds;
+    }
+
+    public List<SeededAccount> getAccounts() {
+        return accounts;
+    }
+
+    public static class SeededAccount {
+        private final String accountNo;
+        private final String accountType;
+        private final Long customerId;
+
+        public SeededAccount(String accountNo, String accountType, Long customerId) {
+            this.accountNo = accountNo;
+            this.accountType = accountType;
+            this.customerId = customerId;
+        }
+
+        public String getAccountNo() {
+            return accountNo;
+        }
+
+        public String getAccountType() {
+            return accountType;
+        }
+
+        public Long getCustomerId() {
+            return customerId;
+        }
+    }
+}
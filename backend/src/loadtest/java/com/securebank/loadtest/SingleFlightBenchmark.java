@@ -0,0 +1,183 @@
+package com.securebank.loadtest;
+
+import com.securebank.singleflight.SingleFlight;
+import com.securebank.singleflight.SingleFlightStats;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Thundering herd against the dashboard aggregates: database queries
+ * executed with and without SingleFlight.
+ *
+ * Each of the client threads holds its own connection; in every wave all
+ * of them are released at once and each asks for the account count and the
+ * total balance, as a burst of dashboards loading together would. Waves are
+ * wave-gap-ms apart. Runs the herd directly, coalesced without a TTL and
+ * coalesced with a 250 ms TTL, and reports queries executed and latency.
+ *
+ * Usage (from backend/):
+ *   mvn -Ploadtest compile exec:java -Dloadtest.main=com.securebank.loadtest.SingleFlightBenchmark \
+ *       -Dexec.args="1000000 64 20 100 jdbc:mysql://localhost:3306/banking_db root secret"
+ * Arguments: accounts, client threads, waves, wave gap ms, then optionally a JDBC URL, user and password.
+ */
+public class SingleFlightBenchmark {
+
+    private static final int BATCH = 10_000;
+
+    public static void main(String[] args) throws Exception {
+        int accounts = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : 64;
+        int waves = args.length > 2 ? Integer.parseInt(args[2]) : 20;
+        long waveGapMs = args.length > 3 ? Long.parseLong(args[3]) : 100;
+        String url = args.length > 4 ? args[4] : "jdbc:h2:mem:singleflight;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+        String user = args.length > 5 ? args[5] : "sa";
+        String password = args.length > 6 ? args[6] : "";
+
+        List<Connection> connections = new ArrayList<>(threads);
+        try {
+            for (int i = 0; i < threads; i++) {
+                connections.add(DriverManager.getConnection(url, user, password));
+            }
+            generate(connections.get(0), accounts);
+            System.out.println(String.format("Generated %,d accounts; %d clients, %d waves %d ms apart",
+                    accounts, threads, waves, waveGapMs));
+            System.out.println(String.format("%-26s %10s %10s %10s %12s %12s",
+                    "mode", "calls", "queries", "reduction", "mean ms", "wall s"));
+
+            run("direct", null, connections, waves, waveGapMs);
+            run("single-flight", new SingleFlight(true, 0), connections, waves, waveGapMs);
+            run("single-flight, 250ms TTL", new SingleFlight(true, 250), connections, waves, waveGapMs);
+
+            try (Statement statement = connections.get(0).createStatement()) {
+                statement.execute("DROP TABLE bench_accounts");
+            }
+        } finally {
+            for (Connection connection : connections) {
+                connection.close();
+            }
+        }
+    }
+
+    private static void run(String mode, SingleFlight singleFlight, List<Connection> connections,
+                            int waves, long waveGapMs) throws Exception {
+        int threads = connections.size();
+        AtomicLong queries = new AtomicLong();
+        AtomicLong latencyNanos = new AtomicLong();
+        AtomicLong calls = new AtomicLong();
+        CyclicBarrier barrier = new CyclicBarrier(threads);
+        List<Thread> clients = new ArrayList<>(threads);
+        Throwable[] failure = new Throwable[1];
+
+        long started = System.nanoTime();
+        for (Connection connection : connections) {
+            Thread client = new Thread(() -> {
+                try {
+                    for (int wave = 0; wave < waves; wave++) {
+                        barrier.await();
+                        long callStarted = System.nanoTime();
+                        call(singleFlight, "accounts.count", () -> {
+                            queries.incrementAndGet();
+                            return scalar(connection, "SELECT COUNT(*) FROM bench_accounts");
+                        });
+                        call(singleFlight, "accounts.totalBalance", () -> {
+                            queries.incrementAndGet();
+                            return scalar(connection, "SELECT SUM(account_balance) FROM bench_accounts");
+                        });
+                        latencyNanos.addAndGet(System.nanoTime() - callStarted);
+                        calls.addAndGet(2);
+                        if (waveGapMs > 0) {
+                            Thread.sleep(waveGapMs);
+                        }
+                    }
+                } catch (Throwable e) {
+                    failure[0] = e;
+                    barrier.reset();
+                }
+            });
+            clients.add(client);
+            client.start();
+        }
+        for (Thread client : clients) {
+            client.join();
+        }
+        if (failure[0] != null) {
+            throw new IllegalStateException("Benchmark client failed", failure[0]);
+        }
+
+        System.out.println(String.format("%-26s %,10d %,10d %9.1fx %12.2f %12.1f",
+                mode, calls.get(), queries.get(), calls.get() / (double) queries.get(),
+                latencyNanos.get() / 1e6 / calls.get(), (System.nanoTime() - started) / 1e9));
+        if (singleFlight != null) {
+            for (Map.Entry<String, SingleFlightStats> entry : singleFlight.getStats().entrySet()) {
+                System.out.println("    " + entry.getKey() + " " + entry.getValue().metrics());
+            }
+        }
+    }
+
+    private static Object call(SingleFlight singleFlight, String name, SqlQuery query) {
+        if (singleFlight == null) {
+            return query.runUnchecked();
+        }
+        return singleFlight.execute(name, null, query::runUnchecked);
+    }
+
+    private static Object scalar(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(sql)) {
+            resultSet.next();
+            return resultSet.getObject(1);
+        }
+    }
+
+    private static void generate(Connection connection, int accounts) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS bench_accounts");
+            statement.execute("CREATE TABLE bench_accounts (account_no VARCHAR(20) NOT NULL PRIMARY KEY, " +
+                    "account_balance DECIMAL(15,2) NOT NULL)");
+        }
+        SplittableRandom random = new SplittableRandom(42);
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO bench_accounts (account_no, account_balance) VALUES (?, ?)")) {
+            for (int i = 0; i < accounts; i++) {
+                insert.setString(1, "GEN" + String.format("%014d", i));
+                insert.setBigDecimal(2, BigDecimal.valueOf((long) Math.exp(random.nextDouble() * 18), 2));
+                insert.addBatch();
+                if ((i + 1) % BATCH == 0) {
+                    insert.executeBatch();
+                    connection.commit();
+                }
+            }
+            insert.executeBatch();
+            connection.commit();
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    @FunctionalInterface
+    private interface SqlQuery {
+        Object run() throws SQLException;
+
+        default Object runUnchecked() {
+            try {
+                return run();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.securebank.loadtest;
+
+import com.securebank.velocity.VelocityTracker;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Throughput of velocity limit checks against the in-memory tracker.
+ *
+ * Client threads check-and-record random movements on random accounts
+ * (hour and day windows of 60 buckets each) with simulated time advancing
+ * one second per 1,000 operations, so rings roll over and idle accounts
+ * are evicted as they would be in production. Reports operations per second
+ * and rejected checks for each stripe count.
+ *
+ * Usage (from backend/):
+ *   mvn -Ploadtest compile exec:java -Dloadtest.main=com.securebank.loadtest.VelocityTrackerBenchmark \
+ *       -Dexec.args="1000000 8 20000000"
+ * Arguments: accounts, threads, operations per thread.
+ */
+public class VelocityTrackerBenchmark {
+
+    private static final long HOUR_MILLIS = 3_600_000L;
+    private static final long DAY_MILLIS = 24 * HOUR_MILLIS;
+
+    public static void main(String[] args) throws Exception {
+        int accounts = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        long operations = args.length > 2 ? Long.parseLong(args[2]) : 20_000_000L;
+
+        String[] accountNos = new String[accounts];
+        for (int i = 0; i < accounts; i++) {
+            accountNos[i] = "GEN" + String.format("%014d", i);
+        }
+        System.out.println(String.format("%,d accounts, %d threads, %,d operations per thread", accounts, threads, operations));
+        System.out.println(String.format("%8s %14s %12s %10s %12s", "stripes", "ops/s", "rejected", "tracked", "evicted"));
+        for (int stripes : new int[]{1, 16, 64, 256}) {
+            run(stripes, accountNos, threads, operations);
+        }
+    }
+
+    private static void run(int stripes, String[] accountNos, int threads, long operations) throws Exception {
+        VelocityTracker tracker = new VelocityTracker(stripes, 60, HOUR_MILLIS, DAY_MILLIS);
+        long[] limits = {20_000_000, 50_000_000};
+        long start = 1_700_000_000_000L;
+        AtomicLong clock = new AtomicLong(start);
+        AtomicLong rejected = new AtomicLong();
+        CyclicBarrier barrier = new CyclicBarrier(threads + 1);
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            SplittableRandom random = new SplittableRandom(42 + t);
+            workers[t] = new Thread(() -> {
+                long localRejected = 0;
+                try {
+                    barrier.await();
+                    for (long i = 0; i < operations; i++) {
+                        long now = (i & 1023) == 0 ? clock.addAndGet(1_000) : clock.get();
+                        String account = accountNos[random.nextInt(accountNos.length)];
+                        if (tracker.tryRecord(account, 1 + random.nextInt(1_000_000), now, limits) >= 0) {
+                            localRejected++;
+                        }
+                    }
+                    barrier.await();
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+                rejected.addAndGet(localRejected);
+            });
+            workers[t].start();
+        }
+        barrier.await();
+        long started = System.nanoTime();
+        barrier.await();
+        double seconds = (System.nanoTime() - started) / 1_000_000_000.0;
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        int tracked = tracker.size();
+        int evicted = tracker.evictIdle(clock.get());
+        System.out.println(String.format("%8d %,14.0f %,12d %,10d %,12d",
+                stripes, threads * operations / seconds, rejected.get(), tracked, evicted));
+    }
+}
@@ -0,0 +1,143 @@
+package com.securebank.loadtest;
+
+import com.securebank.BankingAdminApplication;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.sql.DataSource;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Platform vs virtual thread request handling at 1k and 10k concurrent clients.
+ * Each client is a closed loop (next request as soon as the previous one answers)
+ * hitting GET /api/accounts/{accountNo}, i.e. one blocking JPA lookup per request.
+ * Reports throughput, latency percentiles, peak heap and peak platform thread count.
+ *
+ * Usage (from backend/, on a Java 21 runtime; raise ulimit -n for 10k sockets):
+ *   mvn -Ploadtest,virtual-threads compile exec:java -Dloadtest.main=com.securebank.loadtest.VirtualThreadBenchmark
+ */
+public class VirtualThreadBenchmark {
+
+    private static final int[] CLIENTS = {1_000, 10_000};
+    private static final int WARMUP_SECONDS = 10;
+    private static final int MEASURE_SECONDS = 30;
+
+    public static void main(String[] args) throws Exception {
+        if (Runtime.version().feature() < 21) {
+            System.out.println("WARNING: Java " + Runtime.version().feature() +
+                    " has no virtual threads; the virtual-threads run will fall back to platform threads");
+        }
+
+        System.out.println(String.format("%-10s %8s %10s %9s %9s %9s %8s %12s %12s",
+                "mode", "clients", "req/s", "p50 ms", "p99 ms", "max ms", "errors", "peak heap MB", "peak threads"));
+        for (boolean virtual : new boolean[]{false, true}) {
+            for (int clients : CLIENTS) {
+                run(virtual, clients, args);
+            }
+        }
+    }
+
+    private static void run(boolean virtual, int clients, String[] args) throws Exception {
+        String[] profiles = virtual
+                ? new String[]{"datagen", "loadtest", "virtual-threads"}
+                : new String[]{"datagen", "loadtest"};
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(BankingAdminApplication.class)
+                .profiles(profiles)
+                .properties("server.port=0", "spring.devtools.restart.enabled=false",
+                        "server.tomcat.max-connections=20000", "server.tomcat.threads.max=200",
+                        // fresh in-memory database per run, the datagen checkpoints live in the database too
+                        "spring.datasource.url=jdbc:h2:mem:vt_" + (virtual ? "virtual_" : "platform_") + clients +
+                                ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1")
+                .run(args);
+
+        ExecutorService callbackExecutor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        try {
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/api";
+            List<SeedData.SeededAccount> accounts = SeedData.load(context.getBean(DataSource.class)).getAccounts();
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .executor(callbackExecutor)
+                    .build();
+
+            Histogram latencyMicros = new ConcurrentHistogram(3);
+            LongAdder errors = new LongAdder();
+            AtomicLong measureFrom = new AtomicLong(Long.MAX_VALUE);
+            long stopAt = System.nanoTime() + TimeUnit.SECONDS.toNanos(WARMUP_SECONDS + MEASURE_SECONDS);
+            CountDownLatch finished = new CountDownLatch(clients);
+
+            for (int i = 0; i < clients; i++) {
+                issue(client, baseUrl, accounts, latencyMicros, errors, measureFrom, stopAt, finished);
+            }
+
+            Thread.sleep(TimeUnit.SECONDS.toMillis(WARMUP_SECONDS));
+            MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+            ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+            threads.resetPeakThreadCount();
+            long measureStart = System.nanoTime();
+            measureFrom.set(measureStart);
+
+            long peakHeap = 0;
+            while (System.nanoTime() < stopAt) {
+                peakHeap = Math.max(peakHeap, memory.getHeapMemoryUsage().getUsed());
+                Thread.sleep(100);
+            }
+            double seconds = (System.nanoTime() - measureStart) / 1_000_000_000.0;
+            finished.await(60, TimeUnit.SECONDS);
+
+            System.out.println(String.format("%-10s %8d %10.1f %9.2f %9.2f %9.2f %8d %12d %12d",
+                    virtual ? "virtual" : "platform",
+                    clients,
+                    latencyMicros.getTotalCount() / seconds,
+                    latencyMicros.getValueAtPercentile(50.0) / 1000.0,
+                    latencyMicros.getValueAtPercentile(99.0) / 1000.0,
+                    latencyMicros.getMaxValue() / 1000.0,
+                    errors.sum(),
+                    peakHeap / (1024 * 1024),
+                    threads.getPeakThreadCount()));
+        } finally {
+            callbackExecutor.shutdownNow();
+            context.close();
+        }
+    }
+
+    private static void issue(HttpClient client, String baseUrl, List<SeedData.SeededAccount> accounts,
+                              Histogram latencyMicros, LongAdder errors, AtomicLong measureFrom,
+                              long stopAt, CountDownLatch finished) {
+        long start = System.nanoTime();
+        if (start >= stopAt) {
+            finished.countDown();
+            return;
+        }
+        String accountNo = accounts.get(ThreadLocalRandom.current().nextInt(accounts.size())).getAccountNo();
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/accounts/" + accountNo))
+                .timeout(Duration.ofSeconds(60))
+                .GET()
+                .build();
+        client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, error) -> {
+            if (start >= measureFrom.get()) {
+                latencyMicros.recordValue(Math.max(1, (System.nanoTime() - start) / 1_000));
+                if (error != null || response.statusCode() >= 400) {
+                    errors.increment();
+                }
+            }
+            issue(client, baseUrl, accounts, latencyMicros, errors, measureFrom, stopAt, finished);
+        });
+    }
+}
@@ -0,0 +1,148 @@
+package com.securebank.loadtest;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Mixed workload: list, search, create, update and login requests
+ * against the REST API, picked by weight for every arrival
+ */
+public class Workload {
+
+    /**
+     * Workload operations with their share of the arrival rate (weights sum to 100)
+     */
+    public enum Operation {
+        LIST_ACCOUNTS("GET /api/accounts", 4),
+        LIST_CUSTOMERS("GET /api/customers", 4),
+        GET_ACCOUNT("GET /api/accounts/{accountNo}", 25),
+        GET_CUSTOMER("GET /api/customers/{id}", 15),
+        SEARCH_CUSTOMERS("GET /api/customers/search", 15),
+        CREATE_CUSTOMER("POST /api/customers", 8),
+        CREATE_ACCOUNT("POST /api/accounts", 8),
+        UPDATE_ACCOUNT("PUT /api/accounts/{accountNo}", 18),
+        LOGIN("POST /api/auth/login", 3);
+
+        private final String endpoint;
+        private final int weight;
+
+        Operation(String endpoint, int weight) {
+            this.endpoint = endpoint;
+            this.weight = weight;
+        }
+
+        public String getEndpoint() {
+            return endpoint;
+        }
+
+        public int getWeight() {
+            return weight;
+        }
+    }
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final String[] SEARCH_TERMS = {"Smith", "Garcia", "Lee", "Khan", "Chen", "Mary", "Wei", "son"};
+
+    private final String baseUrl;
+    private final List<Long> customerIds;
+    private final List<SeedData.SeededAccount> accounts;
+    private final Operation[] wheel;
+    private final AtomicLong uniqueCounter = new AtomicLong();
+
+    public Workload(String baseUrl, SeedData seedData) {
+        this.baseUrl = baseUrl;
+        this.customerIds = seedData.getCustomerIds();
+        this.accounts = seedData.getAccounts();
+
+        int total = 0;
+        for (Operation operation : Operation.values()) {
+            total += operation.getWeight();
+        }
+        this.wheel = new Operation[total];
+        int index = 0;
+        for (Operation operation : Operation.values()) {
+            for (int i = 0; i < operation.getWeight(); i++) {
+                wheel[index++] = operation;
+            }
+        }
+    }
+
+    public Operation pick(Random random) {
+        return wheel[random.nextInt(wheel.length)];
+    }
+
+    public HttpRequest request(Operation operation, Random random) {
+        switch (operation) {
+            case LIST_ACCOUNTS:
+                return get("/accounts");
+            case LIST_CUSTOMERS:
+                return get("/customers");
+            case GET_ACCOUNT:
+                return get("/accounts/" + randomAccount(random).getAccountNo());
+            case GET_CUSTOMER:
+                return get("/customers/" + randomCustomerId(random));
+            case SEARCH_CUSTOMERS:
+                return get("/customers/search?name=" +
+                        URLEncoder.encode(SEARCH_TERMS[random.nextInt(SEARCH_TERMS.length)], StandardCharsets.UTF_8));
+            case CREATE_CUSTOMER: {
+                long n = uniqueCounter.incrementAndGet();
+                return send("POST", "/customers", "{" +
+                        "\"name\":\"Load Customer " + n + "\"," +
+                        "\"email\":\"load-" + n + "-" + System.nanoTime() + "@loadtest.local\"," +
+                        "\"mobileNumber\":\"+1-555-0100\"," +
+                        "\"address\":\"" + n + " Load Street, Springfield, IL 62701, USA\"}");
+            }
+            case CREATE_ACCOUNT:
+                return send("POST", "/accounts", "{" +
+                        "\"accountHolderName\":\"Load Holder\"," +
+                        "\"accountBalance\":" + balance(random) + "," +
+                        "\"accountType\":\"SAVINGS\"," +
+                        "\"customerId\":" + randomCustomerId(random) + "}");
+            case UPDATE_ACCOUNT: {
+                SeedData.SeededAccount account = randomAccount(random);
+                return send("PUT", "/accounts/" + account.getAccountNo(), "{" +
+                        "\"accountHolderName\":\"Updated Holder\"," +
+                        "\"accountBalance\":" + balance(random) + "," +
+                        "\"accountType\":\"" + account.getAccountType() + "\"," +
+                        "\"customerId\":" + account.getCustomerId() + "}");
+            }
+            case LOGIN:
+                return send("POST", "/auth/login", "{\"username\":\"admin\",\"password\":\"password\"}");
+            default:
+                throw new IllegalArgumentException("Unknown operation: " + operation);
+        }
+    }
+
+    private SeedData.SeededAccount randomAccount(Random random) {
+        return accounts.get(random.nextInt(accounts.size()));
+    }
+
+    private Long randomCustomerId(Random random) {
+        return customerIds.get(random.nextInt(customerIds.size()));
+    }
+
+    private String balance(Random random) {
+        return random.nextInt(100_000) + "." + String.format("%02d", random.nextInt(100));
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(REQUEST_TIMEOUT)
+                .GET()
+                .build();
+    }
+
+    private HttpRequest send(String method, String path, String json) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+}
@@ -0,0 +1,275 @@
+package com.securebank.analytics;
+
+import com.securebank.entity.Account;
+import com.securebank.event.AccountChangeEvent;
+import com.securebank.event.AccountsBulkChangedEvent;
+import com.securebank.ledger.LedgerService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * Keeps an AccountColumns copy of the accounts table in memory.
+ *
+ * Alongside the columns it maintains one BalanceSketch per account type,
+ * built from the columns on load and adjusted on every change (the old
+ * balance is taken from the column, not the event), so balance percentiles
+ * and concentration never need a table scan.
+ *
+ * Loaded on startup in account-number order, a page at a time. Committed
+ * AccountService writes are applied as they happen; changes that arrive
+ * while a (re)load is running are queued and replayed on top of the new
+ * copy, so they are never lost to a stale page. Bulk JDBC jobs publish
+ * AccountsBulkChangedEvent, which triggers a background reload.
+ */
+@Component
+public class AccountColumnStore {
+
+    private static final Logger log = LoggerFactory.getLogger(AccountColumnStore.class);
+    private static final int TYPES = Account.AccountType.values().length;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${banking.analytics.columnar.enabled:true}")
+    private boolean enabled;
+
+    @Value("${banking.analytics.columnar.load-page-size:50000}")
+    private int pageSize;
+
+    @Value("${banking.analytics.sketch.relative-accuracy:0.01}")
+    private double relativeAccuracy;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicBoolean reloadRequested = new AtomicBoolean();
+    private final ExecutorService reloadExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "account-columns-reload");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private AccountColumns columns;
+    private BalanceSketch[] sketches;
+    private List<AccountChangeEvent> pendingChanges;
+    private volatile LocalDateTime loadedAt;
+    private volatile long lastLoadMillis;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(2)
+    public void loadOnStartup() {
+        if (enabled) {
+            requestReload();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        reloadExecutor.shutdownNow();
+    }
+
+    public boolean isReady() {
+        return loadedAt != null;
+    }
+
+    public LocalDateTime getLoadedAt() {
+        return loadedAt;
+    }
+
+    public long getLastLoadMillis() {
+        return lastLoadMillis;
+    }
+
+    /**
+     * Runs an aggregation against a consistent view of the columns
+     */
+    public <T> T query(Function<AccountColumns, T> aggregation) {
+        lock.readLock().lock();
+        try {
+            if (columns == null) {
+                throw new IllegalStateException("Account column store is still loading");
+            }
+            return aggregation.apply(columns);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Runs a computation against the per-type balance sketches (index = type ordinal)
+     */
+    public <T> T querySketches(Function<BalanceSketch[], T> computation) {
+        lock.readLock().lock();
+        try {
+            if (sketches == null) {
+                throw new IllegalStateException("Account column store is still loading");
+            }
+            return computation.apply(sketches);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAccountChange(AccountChangeEvent event) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (pendingChanges != null) {
+                pendingChanges.add(event);
+            }
+            if (columns != null) {
+                apply(columns, sketches, event);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @EventListener
+    public void onBulkChange(AccountsBulkChangedEvent event) {
+        if (enabled) {
+            log.info("Reloading account columns after {}", event.getSource());
+            requestReload();
+        }
+    }
+
+    /**
+     * Schedules a full reload; requests made while one is queued are coalesced
+     */
+    public void requestReload() {
+        if (reloadRequested.compareAndSet(false, true)) {
+            reloadExecutor.submit(() -> {
+                reloadRequested.set(false);
+                try {
+                    reload();
+                } catch (RuntimeException e) {
+                    log.error("Failed to load account columns", e);
+                }
+            });
+        }
+    }
+
+    private void reload() {
+        long started = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            pendingChanges = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        AccountColumns loaded;
+        BalanceSketch[] loadedSketches;
+        try {
+            loaded = load();
+            loadedSketches = buildSketches(loaded);
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                pendingChanges = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        int replayed;
+        lock.writeLock().lock();
+        try {
+            replayed = pendingChanges.size();
+            for (AccountChangeEvent change : pendingChanges) {
+                apply(loaded, loadedSketches, change);
+            }
+            pendingChanges = null;
+            columns = loaded;
+            sketches = loadedSketches;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        lastLoadMillis = System.currentTimeMillis() - started;
+        loadedAt = LocalDateTime.now();
+        log.info("Account columns loaded: {} accounts in {} ms ({} concurrent changes replayed)",
+                loaded.size(), lastLoadMillis, replayed);
+    }
+
+    private AccountColumns load() {
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM accounts", Long.class);
+        AccountColumns loaded = new AccountColumns(TYPES, (int) Math.min(Integer.MAX_VALUE - 8, (count != null ? count : 0) + 1024));
+        String after = "";
+        while (true) {
+            String[] last = {null};
+            jdbcTemplate.query(
+                    "SELECT account_no, account_balance, account_type, created_date FROM accounts " +
+                    "WHERE account_no > ? ORDER BY account_no LIMIT ?",
+                    rs -> {
+                        String accountNo = rs.getString(1);
+                        Account.AccountType type = Account.AccountType.fromString(rs.getString(3));
+                        LocalDate created = rs.getTimestamp(4).toLocalDateTime().toLocalDate();
+                        loaded.upsert(accountNo, LedgerService.toCents(rs.getBigDecimal(2)),
+                                type.ordinal(), (int) created.toEpochDay());
+                        last[0] = accountNo;
+                    },
+                    after, pageSize);
+            if (last[0] == null) {
+                return loaded;
+            }
+            after = last[0];
+        }
+    }
+
+    private BalanceSketch[] buildSketches(AccountColumns source) {
+        BalanceSketch[] built = new BalanceSketch[TYPES];
+        for (int type = 0; type < TYPES; type++) {
+            built[type] = new BalanceSketch(relativeAccuracy);
+        }
+        for (int row = 0; row < source.size(); row++) {
+            built[source.typeAt(row)].add(source.balanceAt(row));
+        }
+        return built;
+    }
+
+    private static void apply(AccountColumns target, BalanceSketch[] sketches, AccountChangeEvent event) {
+        int row = target.rowOf(event.getAccountNo());
+        int type = row >= 0 ? target.typeAt(row) : event.getAccountType().ordinal();
+        if (row >= 0) {
+            sketches[type].remove(target.balanceAt(row));
+        }
+        if (event.getChangeType() == AccountChangeEvent.ChangeType.DELETED) {
+            target.remove(event.getAccountNo());
+            return;
+        }
+        long cents = LedgerService.toCents(event.getNewBalance());
+        if (row >= 0) {
+            target.updateBalance(event.getAccountNo(), cents);
+        } else {
+            target.upsert(event.getAccountNo(), cents, type, createdDay(event));
+        }
+        sketches[type].add(cents);
+    }
+
+    private static int createdDay(AccountChangeEvent event) {
+        LocalDateTime created = event.getCreatedDate() != null ? event.getCreatedDate() : event.getOccurredAt();
+        return (int) created.toLocalDate().toEpochDay();
+    }
+}
@@ -0,0 +1,204 @@
+package com.securebank.analytics;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Column-oriented copy of the accounts table for analytics.
+ *
+ * One primitive array per attribute (balance as long cents, type as a byte
+ * ordinal, created date as an epoch-day int), rows kept dense: a delete moves
+ * the last row into the freed slot. Aggregations are single passes over the
+ * arrays with no boxing or per-row objects, which the JIT compiles to tight,
+ * partly unrolled loops. Not thread-safe; AccountColumnStore guards access.
+ */
+public final class AccountColumns {
+
+    /** Log2 histogram buckets: bucket b holds balances in [2^(b-1), 2^b) cents, bucket 0 holds zero */
+    public static final int LOG2_BUCKETS = 64;
+
+    private final int types;
+    private final Map<String, Integer> rowByAccount;
+    private String[] accountNos;
+    private long[] balanceCents;
+    private byte[] typeOrdinals;
+    private int[] createdEpochDays;
+    private int size;
+
+    public AccountColumns(int types, int initialCapacity) {
+        int capacity = Math.max(16, initialCapacity);
+        this.types = types;
+        this.rowByAccount = new HashMap<>(capacity * 4 / 3 + 1);
+        this.accountNos = new String[capacity];
+        this.balanceCents = new long[capacity];
+        this.typeOrdinals = new byte[capacity];
+        this.createdEpochDays = new int[capacity];
+    }
+
+    public void upsert(String accountNo, long cents, int typeOrdinal, int createdEpochDay) {
+        if (typeOrdinal < 0 || typeOrdinal >= types) {
+            throw new IllegalArgumentException("Unknown account type ordinal " + typeOrdinal);
+        }
+        Integer row = rowByAccount.get(accountNo);
+        if (row == null) {
+            ensureCapacity(size + 1);
+            row = size++;
+            rowByAccount.put(accountNo, row);
+            accountNos[row] = accountNo;
+        }
+        balanceCents[row] = cents;
+        typeOrdinals[row] = (byte) typeOrdinal;
+        createdEpochDays[row] = createdEpochDay;
+    }
+
+    /**
+     * Updates only the balance of an existing row
+     *
+     * @return false when the account is not present
+     */
+    public boolean updateBalance(String accountNo, long cents) {
+        Integer row = rowByAccount.get(accountNo);
+        if (row == null) {
+            return false;
+        }
+        balanceCents[row] = cents;
+        return true;
+    }
+
+    public boolean remove(String accountNo) {
+        Integer row = rowByAccount.remove(accountNo);
+        if (row == null) {
+            return false;
+        }
+        int last = --size;
+        if (row != last) {
+            accountNos[row] = accountNos[last];
+            balanceCents[row] = balanceCents[last];
+            typeOrdinals[row] = typeOrdinals[last];
+            createdEpochDays[row] = createdEpochDays[last];
+            rowByAccount.put(accountNos[row], row);
+        }
+        accountNos[last] = null;
+        return true;
+    }
+
+    public boolean contains(String accountNo) {
+        return rowByAccount.containsKey(accountNo);
+    }
+
+    /** Row of the account, or -1; valid until the next remove */
+    public int rowOf(String accountNo) {
+        Integer row = rowByAccount.get(accountNo);
+        return row != null ? row : -1;
+    }
+
+    public long balanceAt(int row) {
+        return balanceCents[row];
+    }
+
+    public int typeAt(int row) {
+        return typeOrdinals[row];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getTypes() {
+        return types;
+    }
+
+    /** Account count per type ordinal */
+    public long[] countByType() {
+        long[] counts = new long[types];
+        byte[] t = typeOrdinals;
+        for (int i = 0, n = size; i < n; i++) {
+            counts[t[i]]++;
+        }
+        return counts;
+    }
+
+    /** Balance total in cents per type ordinal */
+    public long[] sumByType() {
+        long[] sums = new long[types];
+        byte[] t = typeOrdinals;
+        long[] b = balanceCents;
+        for (int i = 0, n = size; i < n; i++) {
+            sums[t[i]] += b[i];
+        }
+        return sums;
+    }
+
+    /** Balance total in cents over all rows; a plain reduction the JIT vectorizes */
+    public long totalCents() {
+        long total = 0;
+        long[] b = balanceCents;
+        for (int i = 0, n = size; i < n; i++) {
+            total += b[i];
+        }
+        return total;
+    }
+
+    /**
+     * Log2-bucketed balance histogram per type: result[type][bucket], see LOG2_BUCKETS.
+     * Negative balances (not allowed by the entity) are counted in bucket 0.
+     */
+    public long[][] log2HistogramByType() {
+        long[][] histogram = new long[types][LOG2_BUCKETS];
+        byte[] t = typeOrdinals;
+        long[] b = balanceCents;
+        for (int i = 0, n = size; i < n; i++) {
+            long cents = Math.max(0, b[i]);
+            histogram[t[i]][64 - Long.numberOfLeadingZeros(cents)]++;
+        }
+        return histogram;
+    }
+
+    /**
+     * Accounts created per day in [fromEpochDay, toEpochDay], optionally for one type (-1 = all)
+     */
+    public long[] createdPerDay(int fromEpochDay, int toEpochDay, int typeOrdinal) {
+        if (toEpochDay < fromEpochDay) {
+            return new long[0];
+        }
+        long[] counts = new long[toEpochDay - fromEpochDay + 1];
+        int[] days = createdEpochDays;
+        byte[] t = typeOrdinals;
+        for (int i = 0, n = size; i < n; i++) {
+            int offset = days[i] - fromEpochDay;
+            if (offset >= 0 && offset < counts.length && (typeOrdinal < 0 || t[i] == typeOrdinal)) {
+                counts[offset]++;
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Copies the balances of one type (-1 = all) into a new array, e.g. for sorting or sketching
+     */
+    public long[] balancesOf(int typeOrdinal) {
+        if (typeOrdinal < 0) {
+            return Arrays.copyOf(balanceCents, size);
+        }
+        long[] selected = new long[size];
+        int count = 0;
+        for (int i = 0, n = size; i < n; i++) {
+            if (typeOrdinals[i] == typeOrdinal) {
+                selected[count++] = balanceCents[i];
+            }
+        }
+        return Arrays.copyOf(selected, count);
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= accountNos.length) {
+            return;
+        }
+        int capacity = Math.max(required, accountNos.length + (accountNos.length >> 1));
+        accountNos = Arrays.copyOf(accountNos, capacity);
+        balanceCents = Arrays.copyOf(balanceCents, capacity);
+        typeOrdinals = Arrays.copyOf(typeOrdinals, capacity);
+        createdEpochDays = Arrays.copyOf(createdEpochDays, capacity);
+    }
+}
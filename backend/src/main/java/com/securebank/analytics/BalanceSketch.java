@@ -0,0 +1,198 @@
+package com.securebank.analytics;
+
+/**
+ * Mergeable streaming quantile sketch over balances in cents (DDSketch style).
+ *
+ * A positive value v falls in bucket ceil(log_gamma(v)) with
+ * gamma = (1 + a) / (1 - a), so any quantile read back is within relative
+ * accuracy a of the true value. Buckets hold a count and the exact cents
+ * total, which gives concentration metrics without the raw values. Counts
+ * can be decremented, so a balance change is remove(old) + add(new), and
+ * two sketches with the same accuracy merge by adding their buckets.
+ * Not thread-safe.
+ */
+public final class BalanceSketch {
+
+    private final double relativeAccuracy;
+    private final double gamma;
+    private final double logGamma;
+    private final long[] counts;
+    private final long[] sums;
+    private long zeroCount;
+    private long count;
+    private long totalCents;
+
+    public BalanceSketch(double relativeAccuracy) {
+        if (relativeAccuracy <= 0 || relativeAccuracy >= 1) {
+            throw new IllegalArgumentException("relativeAccuracy must be in (0, 1)");
+        }
+        this.relativeAccuracy = relativeAccuracy;
+        this.gamma = (1 + relativeAccuracy) / (1 - relativeAccuracy);
+        this.logGamma = Math.log(gamma);
+        int buckets = index(Long.MAX_VALUE) + 1;
+        this.counts = new long[buckets];
+        this.sums = new long[buckets];
+    }
+
+    public void add(long cents) {
+        update(cents, 1);
+    }
+
+    public void remove(long cents) {
+        update(cents, -1);
+    }
+
+    /**
+     * Adds all of other's values; both sketches must use the same relative accuracy
+     */
+    public void merge(BalanceSketch other) {
+        if (other.relativeAccuracy != relativeAccuracy) {
+            throw new IllegalArgumentException("Cannot merge sketches with different accuracy");
+        }
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += other.counts[i];
+            sums[i] += other.sums[i];
+        }
+        zeroCount += other.zeroCount;
+        count += other.count;
+        totalCents += other.totalCents;
+    }
+
+    public BalanceSketch copy() {
+        BalanceSketch copy = new BalanceSketch(relativeAccuracy);
+        copy.merge(this);
+        return copy;
+    }
+
+    public double getRelativeAccuracy() {
+        return relativeAccuracy;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getTotalCents() {
+        return totalCents;
+    }
+
+    /**
+     * Value at quantile q (0..1) in cents, within the relative accuracy; 0 when empty
+     */
+    public long quantile(double q) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = (long) Math.floor(Math.max(0, Math.min(1, q)) * (count - 1));
+        long seen = zeroCount;
+        if (seen > rank) {
+            return 0;
+        }
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen > rank) {
+                return Math.round(representative(i));
+            }
+        }
+        return Math.round(representative(counts.length - 1));
+    }
+
+    /**
+     * Approximate number of values in [fromCents, toCents]; bucket edges are
+     * resolved to the relative accuracy
+     */
+    public long countBetween(long fromCents, long toCents) {
+        if (toCents < fromCents) {
+            return 0;
+        }
+        long result = fromCents <= 0 && toCents >= 0 ? zeroCount : 0;
+        int first = index(Math.max(1, fromCents));
+        int last = toCents >= 1 ? index(toCents) : -1;
+        for (int i = first; i <= last && i < counts.length; i++) {
+            result += counts[i];
+        }
+        return result;
+    }
+
+    /**
+     * Share of the total held by the largest fraction of values (e.g. 0.01 = top 1%).
+     * The boundary bucket contributes pro rata.
+     */
+    public double shareOfTop(double fraction) {
+        if (count == 0 || totalCents <= 0) {
+            return 0;
+        }
+        double needed = Math.max(1, Math.ceil(fraction * count));
+        double topCents = 0;
+        for (int i = counts.length - 1; i >= 0 && needed > 0; i--) {
+            if (counts[i] == 0) {
+                continue;
+            }
+            double taken = Math.min(needed, counts[i]);
+            topCents += sums[i] * (taken / counts[i]);
+            needed -= taken;
+        }
+        return Math.min(1, topCents / totalCents);
+    }
+
+    /**
+     * Gini coefficient of the distribution, treating each bucket's values as equal
+     */
+    public double gini() {
+        if (count == 0 || totalCents <= 0) {
+            return 0;
+        }
+        double area = 0;
+        double cumulativeShare = 0;
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == 0) {
+                continue;
+            }
+            double population = counts[i] / (double) count;
+            double share = sums[i] / (double) totalCents;
+            area += population * (2 * cumulativeShare + share);
+            cumulativeShare += share;
+        }
+        return Math.max(0, Math.min(1, 1 - area));
+    }
+
+    /**
+     * Counts and cents totals per power-of-ten band of the balance in currency units:
+     * band 0 holds zero balances, band 1 holds [0.01, 1), band k (k >= 2) holds [10^(k-2), 10^(k-1))
+     */
+    public long[][] decadeHistogram() {
+        int bands = 22;
+        long[][] histogram = new long[2][bands];
+        histogram[0][0] = zeroCount;
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == 0) {
+                continue;
+            }
+            double cents = representative(i);
+            int band = cents < 100 ? 1 : Math.min(bands - 1, 2 + (int) Math.floor(Math.log10(cents / 100)));
+            histogram[0][band] += counts[i];
+            histogram[1][band] += sums[i];
+        }
+        return histogram;
+    }
+
+    private void update(long cents, int delta) {
+        count += delta;
+        totalCents += delta * cents;
+        if (cents <= 0) {
+            zeroCount += delta;
+            return;
+        }
+        int index = index(cents);
+        counts[index] += delta;
+        sums[index] += delta * cents;
+    }
+
+    private int index(long cents) {
+        return Math.max(0, (int) Math.ceil(Math.log(cents) / logGamma));
+    }
+
+    private double representative(int index) {
+        return index == 0 ? 1 : 2 * Math.pow(gamma, index) / (gamma + 1);
+    }
+}
@@ -0,0 +1,125 @@
+package com.securebank.anomaly;
+
+/**
+ * Exponentially weighted statistics per account in parallel primitive arrays.
+ *
+ * An open-addressing (linear probing) table maps account numbers to slots;
+ * each slot holds the weighted mean and variance of balance deltas, the
+ * weighted mean interval between updates, the last update time and the
+ * number of updates seen. Removal shifts the following entries back, so
+ * there are no tombstones. Not thread-safe: owned by the scoring thread.
+ */
+final class AccountStatsTable {
+
+    private static final double MAX_LOAD = 0.7;
+
+    private String[] keys;
+    double[] mean;
+    double[] variance;
+    double[] meanIntervalMillis;
+    long[] lastMillis;
+    int[] count;
+    private int size;
+
+    AccountStatsTable(int expectedAccounts) {
+        allocate(Integer.highestOneBit(Math.max(16, (int) (expectedAccounts / MAX_LOAD)) - 1) << 1);
+    }
+
+    /**
+     * Slot of the account, creating an empty entry if needed
+     */
+    int slotFor(String accountNo) {
+        if (size + 1 > keys.length * MAX_LOAD) {
+            rehash(keys.length * 2);
+        }
+        int slot = probe(accountNo);
+        if (keys[slot] == null) {
+            keys[slot] = accountNo;
+            mean[slot] = 0;
+            variance[slot] = 0;
+            meanIntervalMillis[slot] = 0;
+            lastMillis[slot] = 0;
+            count[slot] = 0;
+            size++;
+        }
+        return slot;
+    }
+
+    void remove(String accountNo) {
+        int slot = probe(accountNo);
+        if (keys[slot] == null) {
+            return;
+        }
+        keys[slot] = null;
+        size--;
+        int mask = keys.length - 1;
+        // Shift later entries of the probe run back into the gap
+        int gap = slot;
+        for (int next = (gap + 1) & mask; keys[next] != null; next = (next + 1) & mask) {
+            int home = home(keys[next]);
+            boolean movable = gap <= next ? (home <= gap || home > next) : (home <= gap && home > next);
+            if (movable) {
+                move(next, gap);
+                gap = next;
+            }
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    private int probe(String accountNo) {
+        int mask = keys.length - 1;
+        int slot = home(accountNo);
+        while (keys[slot] != null && !keys[slot].equals(accountNo)) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private int home(String accountNo) {
+        int hash = accountNo.hashCode() * 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & (keys.length - 1);
+    }
+
+    private void move(int from, int to) {
+        keys[to] = keys[from];
+        mean[to] = mean[from];
+        variance[to] = variance[from];
+        meanIntervalMillis[to] = meanIntervalMillis[from];
+        lastMillis[to] = lastMillis[from];
+        count[to] = count[from];
+        keys[from] = null;
+    }
+
+    private void rehash(int capacity) {
+        String[] oldKeys = keys;
+        double[] oldMean = mean;
+        double[] oldVariance = variance;
+        double[] oldInterval = meanIntervalMillis;
+        long[] oldLast = lastMillis;
+        int[] oldCount = count;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != null) {
+                int slot = probe(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                mean[slot] = oldMean[i];
+                variance[slot] = oldVariance[i];
+                meanIntervalMillis[slot] = oldInterval[i];
+                lastMillis[slot] = oldLast[i];
+                count[slot] = oldCount[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new String[capacity];
+        mean = new double[capacity];
+        variance = new double[capacity];
+        meanIntervalMillis = new double[capacity];
+        lastMillis = new long[capacity];
+        count = new int[capacity];
+    }
+}
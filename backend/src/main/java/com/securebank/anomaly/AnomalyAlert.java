@@ -0,0 +1,75 @@
+package com.securebank.anomaly;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * A balance update that stood out against the account's own history
+ */
+public class AnomalyAlert {
+
+    private final long id;
+    private final String accountNo;
+    private final LocalDateTime occurredAt;
+    private final BigDecimal delta;
+    private final BigDecimal typicalDelta;
+    private final BigDecimal typicalDeviation;
+    private final double zScore;
+    private final double frequencyRatio;
+    private final List<String> reasons;
+
+    AnomalyAlert(long id, String accountNo, long timestampMillis, BigDecimal delta, BigDecimal typicalDelta,
+                 BigDecimal typicalDeviation, double zScore, double frequencyRatio, List<String> reasons) {
+        this.id = id;
+        this.accountNo = accountNo;
+        this.occurredAt = LocalDateTime.ofInstant(Instant.ofEpochMilli(timestampMillis), ZoneId.systemDefault());
+        this.delta = delta;
+        this.typicalDelta = typicalDelta;
+        this.typicalDeviation = typicalDeviation;
+        this.zScore = zScore;
+        this.frequencyRatio = frequencyRatio;
+        this.reasons = reasons;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String getAccountNo() {
+        return accountNo;
+    }
+
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+
+    public BigDecimal getDelta() {
+        return delta;
+    }
+
+    /** Weighted mean of the account's earlier deltas */
+    public BigDecimal getTypicalDelta() {
+        return typicalDelta;
+    }
+
+    /** Weighted standard deviation of the account's earlier deltas */
+    public BigDecimal getTypicalDeviation() {
+        return typicalDeviation;
+    }
+
+    public double getZScore() {
+        return zScore;
+    }
+
+    /** Usual interval between updates divided by the interval before this one; above 1 means faster than usual */
+    public double getFrequencyRatio() {
+        return frequencyRatio;
+    }
+
+    public List<String> getReasons() {
+        return reasons;
+    }
+}
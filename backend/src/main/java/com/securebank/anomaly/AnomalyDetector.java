@@ -0,0 +1,97 @@
+package com.securebank.anomaly;
+
+import com.securebank.ledger.LedgerService;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Scores balance deltas against each account's exponentially weighted history.
+ *
+ * An update is flagged when its delta is more than zThreshold weighted
+ * standard deviations from the account's weighted mean delta, or when it
+ * follows the previous update frequencyThreshold times faster than the
+ * account's weighted mean interval. Accounts need minSamples updates
+ * before they are scored; the deviation never counts as less than
+ * minDeviationCents, so accounts with identical deltas are not flagged for
+ * a cent's difference. Statistics are updated after scoring, so an outlier
+ * is judged by the history before it. Single-threaded.
+ */
+public class AnomalyDetector {
+
+    private final AccountStatsTable stats;
+    private final double alpha;
+    private final double zThreshold;
+    private final double frequencyThreshold;
+    private final int minSamples;
+    private final double minDeviationCents;
+    private long nextAlertId;
+
+    public AnomalyDetector(int expectedAccounts, double alpha, double zThreshold, double frequencyThreshold,
+                           int minSamples, long minDeviationCents) {
+        this.stats = new AccountStatsTable(expectedAccounts);
+        this.alpha = alpha;
+        this.zThreshold = zThreshold;
+        this.frequencyThreshold = frequencyThreshold;
+        this.minSamples = minSamples;
+        this.minDeviationCents = minDeviationCents;
+    }
+
+    /**
+     * Scores the update and folds it into the account's statistics
+     *
+     * @return the alert, or null if the update looks normal
+     */
+    public AnomalyAlert score(String accountNo, long deltaCents, long timestampMillis) {
+        int slot = stats.slotFor(accountNo);
+        int count = stats.count[slot];
+        double mean = stats.mean[slot];
+        double deviation = Math.max(Math.sqrt(stats.variance[slot]), minDeviationCents);
+        double zScore = (deltaCents - mean) / deviation;
+        long interval = count > 0 ? Math.max(1, timestampMillis - stats.lastMillis[slot]) : 0;
+        double frequencyRatio = count > 1 ? stats.meanIntervalMillis[slot] / interval : 0;
+
+        AnomalyAlert alert = null;
+        if (count >= minSamples) {
+            List<String> reasons = new ArrayList<>(2);
+            if (Math.abs(zScore) >= zThreshold) {
+                reasons.add(String.format("delta is %.1f standard deviations from the account's usual change", zScore));
+            }
+            if (frequencyRatio >= frequencyThreshold) {
+                reasons.add(String.format("updated %.0fx faster than the account's usual rate", frequencyRatio));
+            }
+            if (!reasons.isEmpty()) {
+                alert = new AnomalyAlert(++nextAlertId, accountNo, timestampMillis, LedgerService.fromCents(deltaCents),
+                        LedgerService.fromCents(Math.round(mean)), LedgerService.fromCents(Math.round(deviation)),
+                        zScore, frequencyRatio, reasons);
+            }
+        }
+
+        // Incremental exponentially weighted mean and variance
+        if (count == 0) {
+            stats.mean[slot] = deltaCents;
+            stats.variance[slot] = 0;
+        } else {
+            double difference = deltaCents - mean;
+            double increment = alpha * difference;
+            stats.mean[slot] = mean + increment;
+            stats.variance[slot] = (1 - alpha) * (stats.variance[slot] + difference * increment);
+        }
+        if (count == 1) {
+            stats.meanIntervalMillis[slot] = interval;
+        } else if (count > 1) {
+            stats.meanIntervalMillis[slot] += alpha * (interval - stats.meanIntervalMillis[slot]);
+        }
+        stats.lastMillis[slot] = Math.max(stats.lastMillis[slot], timestampMillis);
+        stats.count[slot] = count == Integer.MAX_VALUE ? count : count + 1;
+        return alert;
+    }
+
+    public void remove(String accountNo) {
+        stats.remove(accountNo);
+    }
+
+    public int getTrackedAccounts() {
+        return stats.size();
+    }
+}
@@ -0,0 +1,187 @@
+package com.securebank.anomaly;
+
+import com.securebank.event.AccountChangeEvent;
+import com.securebank.ledger.LedgerService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Scores committed balance updates for anomalies off the request thread.
+ *
+ * The AFTER_COMMIT listener only offers the update to a bounded lock-free
+ * queue and returns; if the queue is full the update is dropped (and
+ * counted) rather than slowing the write down. A single scoring thread
+ * drains the queue into the {@link AnomalyDetector} and keeps the most
+ * recent alerts for the alerts endpoint.
+ */
+@Service
+public class AnomalyScoringService {
+
+    private static final Logger log = LoggerFactory.getLogger(AnomalyScoringService.class);
+    private static final long MAX_IDLE_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    @Value("${banking.anomaly.enabled:true}")
+    private boolean enabled;
+
+    @Value("${banking.anomaly.queue-capacity:65536}")
+    private int queueCapacity;
+
+    @Value("${banking.anomaly.expected-accounts:100000}")
+    private int expectedAccounts;
+
+    @Value("${banking.anomaly.alpha:0.1}")
+    private double alpha;
+
+    @Value("${banking.anomaly.z-threshold:4.0}")
+    private double zThreshold;
+
+    @Value("${banking.anomaly.frequency-threshold:20.0}")
+    private double frequencyThreshold;
+
+    @Value("${banking.anomaly.min-samples:5}")
+    private int minSamples;
+
+    @Value("${banking.anomaly.min-deviation-cents:10000}")
+    private long minDeviationCents;
+
+    @Value("${banking.anomaly.alerts-retained:1000}")
+    private int alertsRetained;
+
+    private BoundedMpscQueue<BalanceUpdate> queue;
+    private AnomalyDetector detector;
+    private Thread scorer;
+    private volatile boolean running;
+    private volatile int trackedAccounts;
+
+    // guarded by itself; ring of the most recent alerts
+    private AnomalyAlert[] alerts;
+    private long alertCount;
+
+    private final LongAdder received = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder scored = new LongAdder();
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        queue = new BoundedMpscQueue<>(queueCapacity);
+        detector = new AnomalyDetector(expectedAccounts, alpha, zThreshold, frequencyThreshold, minSamples,
+                minDeviationCents);
+        alerts = new AnomalyAlert[alertsRetained];
+        running = true;
+        scorer = new Thread(this::drain, "anomaly-scoring");
+        scorer.setDaemon(true);
+        scorer.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (scorer != null) {
+            LockSupport.unpark(scorer);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onAccountChange(AccountChangeEvent event) {
+        if (!enabled || event.getChangeType() == AccountChangeEvent.ChangeType.CREATED) {
+            return;
+        }
+        long deltaCents = event.getChangeType() == AccountChangeEvent.ChangeType.DELETED
+                ? 0 : LedgerService.toCents(event.getBalanceDelta());
+        if (deltaCents == 0 && event.getChangeType() == AccountChangeEvent.ChangeType.UPDATED) {
+            return;
+        }
+        received.increment();
+        BalanceUpdate update = new BalanceUpdate(event.getAccountNo(), deltaCents, System.currentTimeMillis(),
+                event.getChangeType() == AccountChangeEvent.ChangeType.DELETED);
+        if (!queue.offer(update)) {
+            dropped.increment();
+        }
+    }
+
+    /**
+     * Most recent alerts, newest first
+     */
+    public List<AnomalyAlert> getAlerts(int limit) {
+        List<AnomalyAlert> recent = new ArrayList<>();
+        if (alerts == null) {
+            return recent;
+        }
+        synchronized (alerts) {
+            long oldest = Math.max(0, alertCount - alerts.length);
+            for (long i = alertCount - 1; i >= oldest && recent.size() < limit; i--) {
+                recent.add(alerts[(int) (i % alerts.length)]);
+            }
+        }
+        return recent;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("received", received.sum());
+        stats.put("dropped", dropped.sum());
+        stats.put("scored", scored.sum());
+        stats.put("queued", queue != null ? queue.size() : 0);
+        stats.put("queueCapacity", queue != null ? queue.capacity() : 0);
+        stats.put("trackedAccounts", trackedAccounts);
+        if (alerts != null) {
+            synchronized (alerts) {
+                stats.put("alerts", alertCount);
+            }
+        }
+        return stats;
+    }
+
+    private void drain() {
+        long idleNanos = 1_000;
+        while (running) {
+            BalanceUpdate update = queue.poll();
+            if (update == null) {
+                LockSupport.parkNanos(idleNanos);
+                idleNanos = Math.min(idleNanos * 2, MAX_IDLE_NANOS);
+                continue;
+            }
+            idleNanos = 1_000;
+            try {
+                if (update.deleted()) {
+                    detector.remove(update.accountNo());
+                    trackedAccounts = detector.getTrackedAccounts();
+                    continue;
+                }
+                AnomalyAlert alert = detector.score(update.accountNo(), update.deltaCents(), update.timestampMillis());
+                trackedAccounts = detector.getTrackedAccounts();
+                scored.increment();
+                if (alert != null) {
+                    synchronized (alerts) {
+                        alerts[(int) (alertCount++ % alerts.length)] = alert;
+                    }
+                    log.warn("Anomalous balance update on {}: {} ({})", alert.getAccountNo(), alert.getDelta(),
+                            String.join("; ", alert.getReasons()));
+                }
+            } catch (RuntimeException e) {
+                log.error("Anomaly scoring failed for {}", update.accountNo(), e);
+            }
+        }
+    }
+
+    private record BalanceUpdate(String accountNo, long deltaCents, long timestampMillis, boolean deleted) {
+    }
+}
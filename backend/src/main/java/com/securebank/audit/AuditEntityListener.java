@@ -0,0 +1,159 @@
+package com.securebank.audit;
+
+import com.securebank.entity.Account;
+import com.securebank.entity.Customer;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.type.Type;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Captures field-level diffs of Customer and Account as Hibernate post-commit
+ * entity listeners, so only committed changes are audited and the writing
+ * transaction does no extra work beyond the diff itself. Changes made with
+ * plain JDBC (bulk jobs, imports) do not pass through Hibernate and are not
+ * captured here; those jobs keep their own run records.
+ */
+@Component
+public class AuditEntityListener implements PostCommitInsertEventListener, PostCommitUpdateEventListener,
+        PostCommitDeleteEventListener {
+
+    private static final Set<String> IGNORED_FIELDS = Set.of("createdDate", "updatedDate");
+    private static final int MAX_VALUE_LENGTH = 500;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private AuditTrail auditTrail;
+
+    @PostConstruct
+    public void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        Class<?> type = persister.getMappedClass();
+        return type == Customer.class || type == Account.class;
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (!requiresPostCommitHandling(event.getPersister())) {
+            return;
+        }
+        diff(event.getPersister(), event.getId(), "INSERT", null, event.getState());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (!requiresPostCommitHandling(event.getPersister())) {
+            return;
+        }
+        diff(event.getPersister(), event.getId(), "UPDATE", event.getOldState(), event.getState());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (!requiresPostCommitHandling(event.getPersister())) {
+            return;
+        }
+        auditTrail.record(List.of(new AuditRecord(entityType(event.getPersister()), String.valueOf(event.getId()),
+                "DELETE", null, null, null, actor(), LocalDateTime.now())));
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+    }
+
+    private void diff(EntityPersister persister, Object id, String action, Object[] oldState, Object[] newState) {
+        String[] names = persister.getPropertyNames();
+        Type[] types = persister.getPropertyTypes();
+        String actor = actor();
+        LocalDateTime now = LocalDateTime.now();
+        List<AuditRecord> records = new ArrayList<>();
+        for (int i = 0; i < names.length; i++) {
+            if (types[i].isCollectionType() || IGNORED_FIELDS.contains(names[i])) {
+                continue;
+            }
+            String before = oldState != null ? render(oldState[i]) : null;
+            String after = render(newState[i]);
+            // Updates of detached entities have no old state; every field is recorded then
+            if (oldState != null && (Objects.equals(before, after) || sameAmount(oldState[i], newState[i]))) {
+                continue;
+            }
+            if (oldState == null && after == null) {
+                continue;
+            }
+            records.add(new AuditRecord(entityType(persister), String.valueOf(id), action, names[i], before, after,
+                    actor, now));
+        }
+        if (!records.isEmpty()) {
+            auditTrail.record(records);
+        }
+    }
+
+    private static boolean sameAmount(Object before, Object after) {
+        return before instanceof BigDecimal a && after instanceof BigDecimal b && a.compareTo(b) == 0;
+    }
+
+    private static String entityType(EntityPersister persister) {
+        return persister.getMappedClass().getSimpleName().toLowerCase();
+    }
+
+    private static String render(Object value) {
+        String text;
+        if (value == null) {
+            return null;
+        } else if (value instanceof Customer customer) {
+            text = String.valueOf(customer.getCustomerId());
+        } else if (value instanceof BigDecimal decimal) {
+            text = decimal.toPlainString();
+        } else {
+            text = value.toString();
+        }
+        return text.length() > MAX_VALUE_LENGTH ? text.substring(0, MAX_VALUE_LENGTH) : text;
+    }
+
+    private static String actor() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken) {
+            return "system";
+        }
+        return authentication.getName();
+    }
+}
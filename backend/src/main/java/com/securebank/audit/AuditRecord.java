@@ -0,0 +1,11 @@
+package com.securebank.audit;
+
+import java.time.LocalDateTime;
+
+/**
+ * One field of one entity changed by one committed transaction.
+ * Inserts record every initial field value, deletes a single row without a field.
+ */
+public record AuditRecord(String entityType, String entityId, String action, String field,
+                          String oldValue, String newValue, String actor, LocalDateTime changedAt) {
+}
@@ -0,0 +1,329 @@
+package com.securebank.audit;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * Buffers audit records in memory and writes them to audit_log in JDBC batches
+ * from a background thread, off the transactions that caused them.
+ *
+ * When a batch insert fails or takes longer than slow-ms, that batch and
+ * everything else for the next backoff-ms goes to an append-only NDJSON
+ * spill file instead; spill files are replayed into audit_log once the
+ * database keeps up again. A full queue also spills, on the caller's thread.
+ *
+ * Guarantees: only committed changes are recorded. A record is durable once
+ * it is in audit_log or in a spill file (forced to disk per batch when
+ * banking.audit.spill-fsync is on). A crash loses at most the records still
+ * in the queue (up to queue-capacity, normally well under flush-interval-ms
+ * of changes); a graceful shutdown drains the queue first. Spill replay is
+ * at-least-once, so a crash during replay can insert a batch twice.
+ */
+@Component
+public class AuditTrail {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditTrail.class);
+    private static final String SPILL_FILE = "audit-spill.ndjson";
+    private static final String REPLAY_PREFIX = "audit-replay-";
+    private static final String INSERT = "INSERT INTO audit_log (entity_type, entity_id, action, field_name, " +
+            "old_value, new_value, actor, changed_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${banking.audit.enabled:true}")
+    private boolean enabled;
+
+    @Value("${banking.audit.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${banking.audit.batch-size:500}")
+    private int batchSize;
+
+    @Value("${banking.audit.flush-interval-ms:200}")
+    private long flushIntervalMs;
+
+    @Value("${banking.audit.slow-ms:1000}")
+    private long slowMs;
+
+    @Value("${banking.audit.backoff-ms:30000}")
+    private long backoffMs;
+
+    @Value("${banking.audit.directory:./data/audit}")
+    private String directory;
+
+    @Value("${banking.audit.spill-fsync:true}")
+    private boolean spillFsync;
+
+    private BlockingQueue<AuditRecord> queue;
+    private JdbcTemplate writerTemplate;
+    private Thread writer;
+    private volatile boolean running;
+    private volatile long spillUntilMillis;
+    private final Object spillLock = new Object();
+
+    private final LongAdder received = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder spilled = new LongAdder();
+    private final LongAdder replayed = new LongAdder();
+
+    @PostConstruct
+    public void start() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        Files.createDirectories(Paths.get(directory));
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        writerTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        writerTemplate.setQueryTimeout((int) Math.max(1, TimeUnit.MILLISECONDS.toSeconds(slowMs * 5)));
+        running = true;
+        writer = new Thread(this::writeLoop, "audit-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (writer == null) {
+            return;
+        }
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+        // Whatever the writer could not flush in time goes to the spill file
+        List<AuditRecord> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            spill(remaining);
+        }
+    }
+
+    /**
+     * Queues the records; never blocks on the database
+     */
+    public void record(List<AuditRecord> records) {
+        if (!enabled) {
+            return;
+        }
+        received.add(records.size());
+        List<AuditRecord> overflow = null;
+        for (AuditRecord record : records) {
+            if (!queue.offer(record)) {
+                if (overflow == null) {
+                    overflow = new ArrayList<>();
+                }
+                overflow.add(record);
+            }
+        }
+        if (overflow != null) {
+            try {
+                spill(overflow);
+            } catch (RuntimeException e) {
+                // The change itself is already committed; never fail the caller over its audit trail
+                log.error("Audit queue full and spill failed, {} records lost", overflow.size(), e);
+            }
+        }
+    }
+
+    /**
+     * Newest first; records still queued or spilled are not visible yet
+     */
+    public List<Map<String, Object>> history(String entityType, String entityId, int limit) {
+        return jdbcTemplate.queryForList("SELECT audit_id, action, field_name, old_value, new_value, actor, changed_at " +
+                "FROM audit_log WHERE entity_type = ? AND entity_id = ? ORDER BY changed_at DESC, audit_id DESC LIMIT ?",
+                entityType, entityId, limit);
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("received", received.sum());
+        stats.put("written", written.sum());
+        stats.put("spilled", spilled.sum());
+        stats.put("replayed", replayed.sum());
+        stats.put("queued", queue != null ? queue.size() : 0);
+        stats.put("spilling", System.currentTimeMillis() < spillUntilMillis);
+        return stats;
+    }
+
+    /**
+     * Moves spill files into audit_log once the database is keeping up
+     */
+    @Scheduled(fixedDelayString = "${banking.audit.replay-interval-ms:60000}")
+    public void replaySpillFiles() {
+        if (!enabled || System.currentTimeMillis() < spillUntilMillis) {
+            return;
+        }
+        Path base = Paths.get(directory);
+        synchronized (spillLock) {
+            Path spill = base.resolve(SPILL_FILE);
+            try {
+                if (Files.exists(spill) && Files.size(spill) > 0) {
+                    Files.move(spill, base.resolve(REPLAY_PREFIX + System.currentTimeMillis() + ".ndjson"),
+                            StandardCopyOption.ATOMIC_MOVE);
+                }
+            } catch (IOException e) {
+                log.warn("Could not rotate audit spill file {}", spill, e);
+                return;
+            }
+        }
+        try (Stream<Path> files = Files.list(base)) {
+            for (Path file : files.filter(path -> path.getFileName().toString().startsWith(REPLAY_PREFIX))
+                    .sorted().toList()) {
+                replay(file);
+            }
+        } catch (IOException | DataAccessException e) {
+            log.warn("Audit spill replay stopped, will retry", e);
+        }
+    }
+
+    private void replay(Path file) throws IOException {
+        long count = 0;
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            List<AuditRecord> batch = new ArrayList<>(batchSize);
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    batch.add(objectMapper.readValue(line, AuditRecord.class));
+                } catch (JsonProcessingException e) {
+                    // A torn last line from a crash mid-append
+                    log.warn("Skipping unreadable audit spill line in {}", file);
+                    continue;
+                }
+                if (batch.size() == batchSize) {
+                    insert(batch);
+                    count += batch.size();
+                    batch.clear();
+                }
+            }
+            insert(batch);
+            count += batch.size();
+        }
+        Files.delete(file);
+        replayed.add(count);
+        log.info("Audit: replayed {} spilled records from {}", count, file.getFileName());
+    }
+
+    private void writeLoop() {
+        List<AuditRecord> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                AuditRecord first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Audit writer failed on a batch of {} records", batch.size(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<AuditRecord> batch) {
+        if (System.currentTimeMillis() < spillUntilMillis) {
+            spill(batch);
+            return;
+        }
+        long started = System.nanoTime();
+        try {
+            insert(batch);
+            written.add(batch.size());
+        } catch (DataAccessException e) {
+            log.warn("Audit batch insert failed, spilling to file for {} ms", backoffMs, e);
+            spillUntilMillis = System.currentTimeMillis() + backoffMs;
+            spill(batch);
+            return;
+        }
+        long elapsedMs = (System.nanoTime() - started) / 1_000_000;
+        if (elapsedMs > slowMs) {
+            log.warn("Audit batch insert took {} ms, spilling to file for {} ms", elapsedMs, backoffMs);
+            spillUntilMillis = System.currentTimeMillis() + backoffMs;
+        }
+    }
+
+    private void insert(List<AuditRecord> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        writerTemplate.batchUpdate(INSERT, batch, batch.size(), (ps, record) -> {
+            ps.setString(1, record.entityType());
+            ps.setString(2, record.entityId());
+            ps.setString(3, record.action());
+            ps.setString(4, record.field());
+            ps.setString(5, record.oldValue());
+            ps.setString(6, record.newValue());
+            ps.setString(7, record.actor());
+            ps.setTimestamp(8, Timestamp.valueOf(record.changedAt()));
+        });
+    }
+
+    private void spill(List<AuditRecord> records) {
+        StringBuilder lines = new StringBuilder(records.size() * 200);
+        try {
+            for (AuditRecord record : records) {
+                lines.append(objectMapper.writeValueAsString(record)).append('\n');
+            }
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize audit record", e);
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+        synchronized (spillLock) {
+            try (FileChannel channel = FileChannel.open(Paths.get(directory).resolve(SPILL_FILE),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                if (spillFsync) {
+                    channel.force(false);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not write audit spill file", e);
+            }
+        }
+        spilled.add(records.size());
+    }
+}
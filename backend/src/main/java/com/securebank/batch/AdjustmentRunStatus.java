@@ -0,0 +1,113 @@
+package com.securebank.batch;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Progress and outcome of one balance adjustment run, as reported by the REST API
+ */
+public class AdjustmentRunStatus {
+
+    public enum Status {
+        RUNNING, COMPLETED, FAILED
+    }
+
+    private final String runId;
+    private final String fileName;
+    private final boolean dryRun;
+    private final LocalDateTime startedAt = LocalDateTime.now();
+    private final AtomicLong lines = new AtomicLong();
+    private final AtomicLong accounts = new AtomicLong();
+    private final AtomicLong linesApplied = new AtomicLong();
+    private final AtomicLong linesRejected = new AtomicLong();
+    private final AtomicLong netCents = new AtomicLong();
+    private volatile Status status = Status.RUNNING;
+    private volatile LocalDateTime completedAt;
+    private volatile String error;
+
+    public AdjustmentRunStatus(String runId, String fileName, boolean dryRun) {
+        this.runId = runId;
+        this.fileName = fileName;
+        this.dryRun = dryRun;
+    }
+
+    void parsed(long lineCount, long accountCount) {
+        lines.set(lineCount);
+        accounts.set(accountCount);
+    }
+
+    void applied(int lineCount, long cents) {
+        linesApplied.addAndGet(lineCount);
+        netCents.addAndGet(cents);
+    }
+
+    void rejected(int lineCount) {
+        linesRejected.addAndGet(lineCount);
+    }
+
+    void markCompleted() {
+        completedAt = LocalDateTime.now();
+        status = Status.COMPLETED;
+    }
+
+    void markFailed(String message) {
+        completedAt = LocalDateTime.now();
+        error = message;
+        status = Status.FAILED;
+    }
+
+    public String getRunId() {
+        return runId;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public boolean isDryRun() {
+        return dryRun;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public long getLines() {
+        return lines.get();
+    }
+
+    public long getAccounts() {
+        return accounts.get();
+    }
+
+    /**
+     * Lines applied, or that would be applied in a dry run
+     */
+    public long getLinesApplied() {
+        return linesApplied.get();
+    }
+
+    public long getLinesRejected() {
+        return linesRejected.get();
+    }
+
+    /**
+     * Sum of the applied (or, in a dry run, applicable) adjustments
+     */
+    public BigDecimal getNetAmount() {
+        return BigDecimal.valueOf(netCents.get(), 2);
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    public String getError() {
+        return error;
+    }
+}
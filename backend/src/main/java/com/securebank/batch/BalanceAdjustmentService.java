@@ -0,0 +1,434 @@
+package com.securebank.batch;
+
+import com.securebank.event.AccountsBulkChangedEvent;
+import com.securebank.ledger.EntryType;
+import com.securebank.ledger.LedgerPosting;
+import com.securebank.ledger.LedgerService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Applies a file of balance adjustments (one "account_no,amount" line each,
+ * amount signed, optional header line) in bulk.
+ *
+ * Lines are netted per account and the accounts sorted by account number,
+ * which is also the order their rows are locked in, so two runs (or a run
+ * and interest accrual) can never deadlock on each other. Every account is
+ * first checked in memory against its current balance: unknown accounts
+ * and adjustments that would leave a negative balance reject all lines of
+ * that account. The remaining accounts are applied in chunks, each in one
+ * transaction that locks the chunk's rows, re-checks the balances, applies
+ * the deltas as batched relative UPDATEs and posts ADJUSTMENT ledger entries.
+ * A dry run stops after the in-memory check. Either way the outcome of
+ * every line is written to &lt;runId&gt;-result.csv.
+ */
+@Service
+public class BalanceAdjustmentService {
+
+    private static final Logger log = LoggerFactory.getLogger(BalanceAdjustmentService.class);
+
+    private static final String UPDATE_BALANCE =
+            "UPDATE accounts SET account_balance = account_balance + ?, updated_date = ? WHERE account_no = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private LedgerService ledgerService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${banking.adjustments.directory:./data/adjustments}")
+    private String directory;
+
+    @Value("${banking.adjustments.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${banking.adjustments.batch-size:500}")
+    private int batchSize;
+
+    @Value("${banking.adjustments.max-lines:1000000}")
+    private int maxLines;
+
+    private TransactionTemplate transactionTemplate;
+    private final Map<String, AdjustmentRun> runs = new ConcurrentHashMap<>();
+    private final ExecutorService runExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "balance-adjustment");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @PostConstruct
+    public void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        runExecutor.shutdownNow();
+    }
+
+    /**
+     * Stores the uploaded file and starts the run in the background; runs are executed one after another
+     */
+    public AdjustmentRunStatus start(InputStream content, String fileName, boolean dryRun) throws IOException {
+        String runId = "ADJ-" + UUID.randomUUID().toString().substring(0, 8);
+        Path base = Paths.get(directory);
+        Files.createDirectories(base);
+        Path input = base.resolve(runId + "-input.csv");
+        Files.copy(content, input, StandardCopyOption.REPLACE_EXISTING);
+
+        AdjustmentRunStatus status = new AdjustmentRunStatus(runId, fileName, dryRun);
+        AdjustmentRun run = new AdjustmentRun(status, input, base.resolve(runId + "-result.csv"));
+        runs.put(runId, run);
+        runExecutor.submit(() -> execute(run));
+        return status;
+    }
+
+    public AdjustmentRunStatus getRun(String runId) {
+        return run(runId).status;
+    }
+
+    /**
+     * Outcome of every line: line, account_no, amount, status, balance_before, balance_after, reason
+     */
+    public Path getResultFile(String runId) {
+        AdjustmentRun run = run(runId);
+        if (run.status.getStatus() == AdjustmentRunStatus.Status.RUNNING) {
+            throw new IllegalStateException("Balance adjustment run " + runId + " is still running");
+        }
+        if (!Files.exists(run.result)) {
+            throw new RuntimeException("Balance adjustment run " + runId + " has no result file");
+        }
+        return run.result;
+    }
+
+    private AdjustmentRun run(String runId) {
+        AdjustmentRun run = runs.get(runId);
+        if (run == null) {
+            throw new RuntimeException("Balance adjustment run not found: " + runId);
+        }
+        return run;
+    }
+
+    private void execute(AdjustmentRun run) {
+        AdjustmentRunStatus status = run.status;
+        boolean applied = false;
+        try {
+            List<Line> lines = parse(run.input, status);
+            TreeMap<String, AccountAdjustment> accounts = new TreeMap<>();
+            for (Line line : lines) {
+                if (line.outcome == null) {
+                    accounts.computeIfAbsent(line.accountNo, AccountAdjustment::new).add(line);
+                }
+            }
+            status.parsed(lines.size(), accounts.size());
+
+            List<AccountAdjustment> valid = validate(accounts, status);
+            if (status.isDryRun()) {
+                for (AccountAdjustment account : valid) {
+                    account.resolve("WOULD_APPLY", account.balanceCents, null);
+                    status.applied(account.lines.size(), account.netCents);
+                }
+            } else {
+                for (int from = 0; from < valid.size(); from += chunkSize) {
+                    applied |= applyChunk(valid.subList(from, Math.min(valid.size(), from + chunkSize)), status);
+                }
+            }
+
+            writeResult(run.result, lines);
+            status.markCompleted();
+            log.info("Balance adjustment {}{} complete: {} lines, {} {}, {} rejected, net {}",
+                    status.getRunId(), status.isDryRun() ? " (dry run)" : "", status.getLines(), status.getLinesApplied(),
+                    status.isDryRun() ? "would apply" : "applied", status.getLinesRejected(), status.getNetAmount());
+        } catch (IOException | RuntimeException e) {
+            log.error("Balance adjustment run {} failed, committed chunks are kept", status.getRunId(), e);
+            status.markFailed(e.getMessage());
+        } finally {
+            if (applied) {
+                eventPublisher.publishEvent(new AccountsBulkChangedEvent("balance adjustment " + status.getRunId()));
+            }
+        }
+    }
+
+    private List<Line> parse(Path input, AdjustmentRunStatus status) throws IOException {
+        List<Line> lines = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(input, StandardCharsets.UTF_8)) {
+            String text;
+            long number = 0;
+            while ((text = reader.readLine()) != null) {
+                number++;
+                if (number == 1 && !text.isEmpty() && text.charAt(0) == '\uFEFF') {
+                    text = text.substring(1);
+                }
+                if (text.isBlank() || (number == 1 && text.toLowerCase().startsWith("account"))) {
+                    continue;
+                }
+                if (lines.size() == maxLines) {
+                    throw new IllegalArgumentException("Adjustment files are limited to " + maxLines + " lines");
+                }
+                lines.add(parseLine(number, text, status));
+            }
+        }
+        return lines;
+    }
+
+    private Line parseLine(long number, String text, AdjustmentRunStatus status) {
+        String[] fields = text.split(",", -1);
+        String accountNo = fields[0].trim();
+        Line line = new Line(number, accountNo, fields.length > 1 ? fields[1].trim() : "");
+        if (fields.length != 2 || accountNo.isEmpty()) {
+            line.reject("Expected account_no,amount", status);
+            return line;
+        }
+        try {
+            BigDecimal amount = new BigDecimal(line.amountText);
+            if (amount.scale() > 2 && amount.stripTrailingZeros().scale() > 2) {
+                line.reject("Amount has more than 2 decimal places", status);
+            } else if (amount.signum() == 0) {
+                line.reject("Amount is zero", status);
+            } else {
+                line.cents = LedgerService.toCents(amount);
+            }
+        } catch (NumberFormatException | ArithmeticException e) {
+            line.reject("Invalid amount", status);
+        }
+        return line;
+    }
+
+    /**
+     * Checks every account against its current balance, chunk by chunk with IN queries
+     *
+     * @return the accounts whose adjustments can be applied, in account number order
+     */
+    private List<AccountAdjustment> validate(TreeMap<String, AccountAdjustment> accounts, AdjustmentRunStatus status) {
+        List<AccountAdjustment> all = new ArrayList<>(accounts.values());
+        List<AccountAdjustment> valid = new ArrayList<>(all.size());
+        for (int from = 0; from < all.size(); from += chunkSize) {
+            List<AccountAdjustment> chunk = all.subList(from, Math.min(all.size(), from + chunkSize));
+            Map<String, Long> balances = balances(chunk, false);
+            for (AccountAdjustment account : chunk) {
+                Long balance = balances.get(account.accountNo);
+                if (balance == null) {
+                    account.reject("Account not found", status);
+                } else if (balance + account.netCents < 0) {
+                    account.balanceCents = balance;
+                    account.reject("Balance would become negative", status);
+                } else {
+                    account.balanceCents = balance;
+                    valid.add(account);
+                }
+            }
+        }
+        return valid;
+    }
+
+    /**
+     * Applies one chunk of accounts in a single transaction
+     *
+     * @return whether any balance changed
+     */
+    private boolean applyChunk(List<AccountAdjustment> chunk, AdjustmentRunStatus status) {
+        try {
+            Set<AccountAdjustment> applied = transactionTemplate.execute(tx -> {
+                // Locks the rows in account number order and re-checks against the locked balances
+                Map<String, Long> balances = balances(chunk, true);
+                List<AccountAdjustment> apply = new ArrayList<>(chunk.size());
+                for (AccountAdjustment account : chunk) {
+                    Long balance = balances.get(account.accountNo);
+                    if (balance != null && balance + account.netCents >= 0) {
+                        account.balanceCents = balance;
+                        apply.add(account);
+                    }
+                }
+
+                Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+                jdbcTemplate.batchUpdate(UPDATE_BALANCE, apply, batchSize, (ps, account) -> {
+                    ps.setBigDecimal(1, LedgerService.fromCents(account.netCents));
+                    ps.setTimestamp(2, now);
+                    ps.setString(3, account.accountNo);
+                });
+
+                List<LedgerPosting> postings = new ArrayList<>(apply.size());
+                for (AccountAdjustment account : apply) {
+                    postings.add(LedgerService.balanceChange(account.accountNo,
+                            LedgerService.fromCents(account.balanceCents),
+                            LedgerService.fromCents(account.balanceCents + account.netCents),
+                            EntryType.ADJUSTMENT, status.getRunId()));
+                }
+                postings.removeIf(posting -> posting == null);
+                ledgerService.post(postings);
+                return new HashSet<>(apply);
+            });
+
+            for (AccountAdjustment account : chunk) {
+                if (applied.contains(account)) {
+                    account.resolve("APPLIED", account.balanceCents, null);
+                    status.applied(account.lines.size(), account.netCents);
+                } else {
+                    account.reject("Balance changed during the run and would become negative", status);
+                }
+            }
+            return !applied.isEmpty();
+        } catch (RuntimeException e) {
+            log.warn("Balance adjustment {}: chunk from {} failed", status.getRunId(), chunk.get(0).accountNo, e);
+            for (AccountAdjustment account : chunk) {
+                account.fail("Not applied: " + e.getMessage(), status);
+            }
+            return false;
+        }
+    }
+
+    private Map<String, Long> balances(List<AccountAdjustment> chunk, boolean forUpdate) {
+        String placeholders = String.join(", ", Collections.nCopies(chunk.size(), "?"));
+        Object[] accountNos = chunk.stream().map(account -> account.accountNo).toArray();
+        Map<String, Long> balances = new HashMap<>();
+        jdbcTemplate.query("SELECT account_no, account_balance FROM accounts WHERE account_no IN (" + placeholders + ")" +
+                        (forUpdate ? " ORDER BY account_no FOR UPDATE" : ""),
+                rs -> {
+                    balances.put(rs.getString(1), LedgerService.toCents(rs.getBigDecimal(2)));
+                }, accountNos);
+        return balances;
+    }
+
+    private void writeResult(Path result, List<Line> lines) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(result, StandardCharsets.UTF_8)) {
+            writer.write("line,account_no,amount,status,balance_before,balance_after,reason\n");
+            for (Line line : lines) {
+                writer.write(line.number + "," + csv(line.accountNo) + "," + csv(line.amountText) + "," + line.outcome + ","
+                        + (line.before != null ? line.before : "") + "," + (line.after != null ? line.after : "") + ","
+                        + csv(line.reason) + "\n");
+            }
+        }
+    }
+
+    private static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        return value.contains(",") || value.contains("\"") ? "\"" + value.replace("\"", "\"\"") + "\"" : value;
+    }
+
+    private static class AdjustmentRun {
+        private final AdjustmentRunStatus status;
+        private final Path input;
+        private final Path result;
+
+        private AdjustmentRun(AdjustmentRunStatus status, Path input, Path result) {
+            this.status = status;
+            this.input = input;
+            this.result = result;
+        }
+    }
+
+    private static class Line {
+        private final long number;
+        private final String accountNo;
+        private final String amountText;
+        private long cents;
+        private String outcome;
+        private BigDecimal before;
+        private BigDecimal after;
+        private String reason;
+
+        private Line(long number, String accountNo, String amountText) {
+            this.number = number;
+            this.accountNo = accountNo;
+            this.amountText = amountText;
+        }
+
+        private void reject(String reason, AdjustmentRunStatus status) {
+            outcome = "REJECTED";
+            this.reason = reason;
+            status.rejected(1);
+        }
+    }
+
+    /**
+     * All lines of one account, applied (or rejected) together as their net amount
+     */
+    private static class AccountAdjustment {
+        private final String accountNo;
+        private final List<Line> lines = new ArrayList<>(1);
+        private long netCents;
+        private Long balanceCents;
+
+        private AccountAdjustment(String accountNo) {
+            this.accountNo = accountNo;
+        }
+
+        private void add(Line line) {
+            lines.add(line);
+            netCents += line.cents;
+        }
+
+        /**
+         * Marks every line, showing the balance moving line by line from the balance before the run
+         */
+        private void resolve(String outcome, long startCents, String reason) {
+            long running = startCents;
+            for (Line line : lines) {
+                line.outcome = outcome;
+                line.before = LedgerService.fromCents(running);
+                running += line.cents;
+                line.after = LedgerService.fromCents(running);
+                line.reason = reason;
+            }
+        }
+
+        private void reject(String reason, AdjustmentRunStatus status) {
+            for (Line line : lines) {
+                line.outcome = "REJECTED";
+                line.reason = reason;
+                line.before = balanceCents != null ? LedgerService.fromCents(balanceCents) : null;
+            }
+            status.rejected(lines.size());
+        }
+
+        private void fail(String reason, AdjustmentRunStatus status) {
+            for (Line line : lines) {
+                line.outcome = "FAILED";
+                line.reason = reason;
+            }
+            status.rejected(lines.size());
+        }
+    }
+}
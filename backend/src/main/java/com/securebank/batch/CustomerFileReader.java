@@ -0,0 +1,268 @@
+package com.securebank.batch;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.LongConsumer;
+
+/**
+ * Streams customer records out of a UTF-8 CSV or NDJSON file.
+ *
+ * The file is read through a FileChannel in fixed-size chunks and decoded
+ * incrementally, so memory use does not depend on the file size. CSV follows
+ * RFC 4180 (quoted fields, doubled quotes, line breaks inside quotes) and
+ * needs a header naming the name, email, mobile_number (or mobileNumber) and
+ * address columns in any order. NDJSON holds one object per line with the
+ * same properties. Records that cannot be parsed are handed on as malformed
+ * rows rather than failing the import.
+ */
+final class CustomerFileReader {
+
+    enum Format {
+        CSV, NDJSON;
+
+        static Format fromFileName(String fileName) {
+            String lower = fileName.toLowerCase(Locale.ROOT);
+            return lower.endsWith(".ndjson") || lower.endsWith(".jsonl") ? NDJSON : CSV;
+        }
+    }
+
+    @FunctionalInterface
+    interface RowSink {
+        void accept(CustomerImportRow row) throws InterruptedException;
+    }
+
+    private static final int RAW_LIMIT = 1000;
+    private static final String[] COLUMNS = {"name", "email", "mobilenumber", "address"};
+
+    private final Path file;
+    private final Format format;
+    private final int bufferBytes;
+    private final ObjectMapper objectMapper;
+
+    // CSV parser state, carried across buffer boundaries
+    private final StringBuilder field = new StringBuilder();
+    private final List<String> fields = new ArrayList<>();
+    private final StringBuilder raw = new StringBuilder();
+    private boolean inQuotes;
+    private boolean quoteInQuotes;
+    private long line = 1;
+    private long recordLine = 1;
+    private int[] columnIndexes;
+
+    CustomerFileReader(Path file, Format format, int bufferBytes, ObjectMapper objectMapper) {
+        this.file = file;
+        this.format = format;
+        this.bufferBytes = bufferBytes;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Reads the whole file, handing every record to the sink in file order
+     *
+     * @param bytesRead called with the running byte count after every buffer
+     */
+    void read(RowSink sink, LongConsumer bytesRead) throws IOException, InterruptedException {
+        CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        ByteBuffer bytes = ByteBuffer.allocateDirect(bufferBytes);
+        CharBuffer chars = CharBuffer.allocate(bufferBytes);
+        long total = 0;
+        boolean first = true;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            while (true) {
+                int read = channel.read(bytes);
+                boolean endOfInput = read < 0;
+                if (read > 0) {
+                    total += read;
+                }
+                bytes.flip();
+                decoder.decode(bytes, chars, endOfInput);
+                if (endOfInput) {
+                    decoder.flush(chars);
+                }
+                bytes.compact();
+                chars.flip();
+                if (first && chars.hasRemaining() && chars.get(chars.position()) == '\uFEFF') {
+                    chars.get();
+                }
+                first = false;
+                while (chars.hasRemaining()) {
+                    accept(chars.get(), sink);
+                }
+                chars.clear();
+                bytesRead.accept(total);
+                if (endOfInput) {
+                    break;
+                }
+            }
+        }
+        finish(sink);
+    }
+
+    private void accept(char c, RowSink sink) throws IOException, InterruptedException {
+        if (format == Format.NDJSON) {
+            if (c == '\n') {
+                endJsonLine(sink);
+                line++;
+            } else if (c != '\r') {
+                field.append(c);
+            }
+            return;
+        }
+
+        if (raw.length() < RAW_LIMIT && c != '\r' && (c != '\n' || inQuotes)) {
+            raw.append(c);
+        }
+        if (inQuotes) {
+            if (quoteInQuotes) {
+                quoteInQuotes = false;
+                if (c == '"') {
+                    field.append('"');
+                    return;
+                }
+                inQuotes = false;
+                // The quote closed the field; c is handled as unquoted below
+            } else if (c == '"') {
+                quoteInQuotes = true;
+                return;
+            } else {
+                field.append(c);
+                if (c == '\n') {
+                    line++;
+                }
+                return;
+            }
+        }
+        switch (c) {
+            case '"' -> {
+                if (field.isEmpty()) {
+                    inQuotes = true;
+                } else {
+                    field.append(c);
+                }
+            }
+            case ',' -> endField();
+            case '\n' -> {
+                endField();
+                endCsvRecord(sink);
+                line++;
+                recordLine = line;
+            }
+            case '\r' -> {
+            }
+            default -> field.append(c);
+        }
+    }
+
+    private void finish(RowSink sink) throws IOException, InterruptedException {
+        if (format == Format.NDJSON) {
+            endJsonLine(sink);
+            return;
+        }
+        if (quoteInQuotes) {
+            quoteInQuotes = false;
+            inQuotes = false;
+        }
+        if (inQuotes) {
+            sink.accept(CustomerImportRow.malformed(recordLine, raw.toString(), "Unterminated quoted field"));
+            return;
+        }
+        if (!field.isEmpty() || !fields.isEmpty()) {
+            endField();
+            endCsvRecord(sink);
+        }
+    }
+
+    private void endField() {
+        fields.add(field.toString());
+        field.setLength(0);
+    }
+
+    private void endCsvRecord(RowSink sink) throws IOException, InterruptedException {
+        try {
+            if (fields.size() == 1 && fields.get(0).isBlank()) {
+                return;
+            }
+            if (columnIndexes == null) {
+                columnIndexes = mapHeader(fields);
+                return;
+            }
+            if (fields.size() < maxColumnIndex() + 1) {
+                sink.accept(CustomerImportRow.malformed(recordLine, raw.toString(),
+                        "Expected at least " + (maxColumnIndex() + 1) + " fields, found " + fields.size()));
+                return;
+            }
+            sink.accept(new CustomerImportRow(recordLine, fields.get(columnIndexes[0]), fields.get(columnIndexes[1]),
+                    fields.get(columnIndexes[2]), fields.get(columnIndexes[3]), raw.toString(), null));
+        } finally {
+            fields.clear();
+            raw.setLength(0);
+        }
+    }
+
+    private void endJsonLine(RowSink sink) throws InterruptedException {
+        String text = field.toString().trim();
+        field.setLength(0);
+        if (text.isEmpty()) {
+            return;
+        }
+        String rawText = text.length() > RAW_LIMIT ? text.substring(0, RAW_LIMIT) : text;
+        try {
+            JsonNode node = objectMapper.readTree(text);
+            if (!node.isObject()) {
+                sink.accept(CustomerImportRow.malformed(line, rawText, "Expected a JSON object"));
+                return;
+            }
+            JsonNode mobile = node.has("mobileNumber") ? node.get("mobileNumber") : node.get("mobile_number");
+            sink.accept(new CustomerImportRow(line, text(node.get("name")), text(node.get("email")), text(mobile),
+                    text(node.get("address")), rawText, null));
+        } catch (JsonProcessingException e) {
+            sink.accept(CustomerImportRow.malformed(line, rawText, "Invalid JSON: " + e.getOriginalMessage()));
+        }
+    }
+
+    private int maxColumnIndex() {
+        int max = 0;
+        for (int index : columnIndexes) {
+            max = Math.max(max, index);
+        }
+        return max;
+    }
+
+    private static int[] mapHeader(List<String> header) throws IOException {
+        int[] indexes = {-1, -1, -1, -1};
+        for (int i = 0; i < header.size(); i++) {
+            String normalized = header.get(i).trim().toLowerCase(Locale.ROOT).replace("_", "").replace(" ", "");
+            for (int column = 0; column < COLUMNS.length; column++) {
+                if (COLUMNS[column].equals(normalized)) {
+                    indexes[column] = i;
+                }
+            }
+        }
+        for (int column = 0; column < COLUMNS.length; column++) {
+            if (indexes[column] < 0) {
+                throw new IOException("CSV header must name the columns name, email, mobile_number and address; got " + header);
+            }
+        }
+        return indexes;
+    }
+
+    private static String text(JsonNode node) {
+        return node == null || node.isNull() ? null : node.asText();
+    }
+}
@@ -0,0 +1,12 @@
+package com.securebank.batch;
+
+/**
+ * One record of an import file: the customer fields, or why the record could not be parsed
+ */
+record CustomerImportRow(long line, String name, String email, String mobileNumber, String address,
+                         String raw, String parseError) {
+
+    static CustomerImportRow malformed(long line, String raw, String parseError) {
+        return new CustomerImportRow(line, null, null, null, null, raw, parseError);
+    }
+}
@@ -0,0 +1,428 @@
+package com.securebank.batch;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.securebank.entity.Customer;
+import com.securebank.event.CustomersBulkChangedEvent;
+import com.securebank.repository.IdBlockAllocator;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk import of customers from CSV or NDJSON files in the import directory.
+ *
+ * One reader thread streams the file (see CustomerFileReader), drops rows
+ * whose email already appeared earlier in the file and hands chunks of
+ * batch-size rows to a bounded queue; when the validators fall behind the
+ * queue fills up and the reader blocks, so memory stays flat. Validator
+ * threads check each row against the Customer constraints, drop emails
+ * already in the database with one IN query per in-batch-size rows and
+ * insert the rest with a JDBC batch in one transaction. If that batch fails
+ * (an email inserted concurrently, a value too long for its column) the
+ * chunk is retried row by row so only the offending rows are rejected.
+ * Customer IDs are reserved a chunk at a time from IdBlockAllocator.
+ * Rejected rows are written to rejected/&lt;importId&gt;.csv with their line
+ * number and reason.
+ */
+@Service
+public class CustomerImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(CustomerImportService.class);
+
+    private static final String INSERT_CUSTOMER =
+            "INSERT INTO customers (customer_id, name, email, mobile_number, address, created_date) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final List<CustomerImportRow> END = Collections.emptyList();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private IdBlockAllocator idBlockAllocator;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${banking.import.directory:./data/import}")
+    private String directory;
+
+    @Value("${banking.import.threads:4}")
+    private int threads;
+
+    @Value("${banking.import.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${banking.import.in-batch-size:500}")
+    private int inBatchSize;
+
+    @Value("${banking.import.queue-chunks:8}")
+    private int queueChunks;
+
+    @Value("${banking.import.read-buffer-kb:1024}")
+    private int readBufferKb;
+
+    private TransactionTemplate transactionTemplate;
+    private final Map<String, ImportJob> imports = new ConcurrentHashMap<>();
+    private final ExecutorService runExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "customer-import");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @PostConstruct
+    public void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        runExecutor.shutdownNow();
+    }
+
+    /**
+     * Starts importing a file, given relative to the import directory.
+     * Only one import runs at a time.
+     *
+     * @param format csv or ndjson; null picks by file extension
+     */
+    public synchronized CustomerImportStatus start(String fileName, String format) throws IOException {
+        Path base = Paths.get(directory).toAbsolutePath().normalize();
+        Path file = base.resolve(fileName).normalize();
+        if (!file.startsWith(base)) {
+            throw new IllegalArgumentException("Import files must be inside the import directory");
+        }
+        if (!Files.isRegularFile(file)) {
+            throw new IllegalArgumentException("Import file not found: " + fileName);
+        }
+        CustomerFileReader.Format fileFormat;
+        try {
+            fileFormat = format != null
+                    ? CustomerFileReader.Format.valueOf(format.toUpperCase(Locale.ROOT))
+                    : CustomerFileReader.Format.fromFileName(file.getFileName().toString());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("format must be csv or ndjson");
+        }
+        for (ImportJob job : imports.values()) {
+            if (job.status.getStatus() == CustomerImportStatus.Status.RUNNING) {
+                throw new IllegalStateException("Import " + job.status.getImportId() + " is still running");
+            }
+        }
+
+        String importId = "IMP-" + UUID.randomUUID().toString().substring(0, 8);
+        Path report = base.resolve("rejected").resolve(importId + ".csv");
+        Files.createDirectories(report.getParent());
+        CustomerImportStatus status = new CustomerImportStatus(importId, base.relativize(file).toString(),
+                fileFormat.name(), Files.size(file));
+        ImportJob job = new ImportJob(status, file, fileFormat, report);
+        imports.put(importId, job);
+        runExecutor.submit(() -> execute(job));
+        return status;
+    }
+
+    public CustomerImportStatus getImport(String importId) {
+        return job(importId).status;
+    }
+
+    public List<CustomerImportStatus> getImports() {
+        return imports.values().stream()
+                .map(job -> job.status)
+                .sorted((a, b) -> b.getStartedAt().compareTo(a.getStartedAt()))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * CSV of rejected rows: line, reason, row (as read, truncated to 1000 characters)
+     */
+    public Path getRejectedReport(String importId) {
+        return job(importId).report;
+    }
+
+    private ImportJob job(String importId) {
+        ImportJob job = imports.get(importId);
+        if (job == null) {
+            throw new RuntimeException("Customer import not found: " + importId);
+        }
+        return job;
+    }
+
+    private void execute(ImportJob job) {
+        CustomerImportStatus status = job.status;
+        BlockingQueue<List<CustomerImportRow>> queue = new ArrayBlockingQueue<>(Math.max(1, queueChunks));
+        AtomicInteger workerNo = new AtomicInteger();
+        ExecutorService workers = Executors.newFixedThreadPool(Math.max(1, threads), runnable -> {
+            Thread thread = new Thread(runnable, "customer-import-" + workerNo.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor();
+        reporter.scheduleAtFixedRate(() -> reportProgress(status), 5, 5, TimeUnit.SECONDS);
+        try (BufferedWriter report = Files.newBufferedWriter(job.report, StandardCharsets.UTF_8)) {
+            report.write("line,reason,row\n");
+            job.reportWriter = report;
+
+            List<Future<?>> results = new ArrayList<>();
+            for (int i = 0; i < Math.max(1, threads); i++) {
+                results.add(workers.submit(() -> validateAndInsert(job, queue)));
+            }
+
+            Set<String> seenEmails = new HashSet<>();
+            List<List<CustomerImportRow>> pending = new ArrayList<>(1);
+            pending.add(new ArrayList<>(batchSize));
+            CustomerFileReader reader = new CustomerFileReader(job.file, job.format, readBufferKb * 1024, objectMapper);
+            reader.read(row -> {
+                status.rowRead();
+                if (row.parseError() == null && row.email() != null) {
+                    String email = row.email().trim().toLowerCase(Locale.ROOT);
+                    if (!email.isEmpty() && !seenEmails.add(email)) {
+                        job.reject(row, "Duplicate email in file");
+                        return;
+                    }
+                }
+                pending.get(0).add(row);
+                if (pending.get(0).size() >= batchSize) {
+                    put(job, queue, pending.get(0));
+                    pending.set(0, new ArrayList<>(batchSize));
+                }
+            }, status::bytesRead);
+            if (!pending.get(0).isEmpty()) {
+                put(job, queue, pending.get(0));
+            }
+            for (int i = 0; i < results.size(); i++) {
+                put(job, queue, END);
+            }
+            for (Future<?> result : results) {
+                result.get();
+            }
+            report.flush();
+            status.markCompleted();
+            log.info("Customer import {} complete: {} rows, {} inserted, {} rejected, {} rows/s",
+                    status.getImportId(), status.getRowsRead(), status.getRowsInserted(), status.getRowsRejected(),
+                    Math.round(status.getRowsPerSecond()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            status.markFailed("Interrupted");
+        } catch (ExecutionException e) {
+            fail(status, e.getCause());
+        } catch (IOException | RuntimeException e) {
+            fail(status, job.failure != null ? job.failure : e);
+        } finally {
+            workers.shutdownNow();
+            reporter.shutdownNow();
+            // Rows go in through plain JDBC; committed chunks stay even when the run fails
+            if (status.getRowsInserted() > 0) {
+                eventPublisher.publishEvent(new CustomersBulkChangedEvent("customer import " + status.getImportId()));
+            }
+        }
+    }
+
+    private void fail(CustomerImportStatus status, Throwable cause) {
+        log.error("Customer import {} failed, rows inserted so far are kept", status.getImportId(), cause);
+        status.markFailed(cause.getMessage());
+    }
+
+    /**
+     * Blocks while the queue is full (back-pressure on the reader), giving up once a validator has failed
+     */
+    private void put(ImportJob job, BlockingQueue<List<CustomerImportRow>> queue,
+                     List<CustomerImportRow> chunk) throws InterruptedException {
+        while (!queue.offer(chunk, 100, TimeUnit.MILLISECONDS)) {
+            if (job.failure != null) {
+                throw new IllegalStateException("Import aborted", job.failure);
+            }
+        }
+    }
+
+    private void validateAndInsert(ImportJob job, BlockingQueue<List<CustomerImportRow>> queue) {
+        try {
+            while (true) {
+                List<CustomerImportRow> chunk = queue.take();
+                if (chunk == END) {
+                    return;
+                }
+                processChunk(job, chunk);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            job.failure = e;
+            throw e;
+        }
+    }
+
+    private void processChunk(ImportJob job, List<CustomerImportRow> chunk) {
+        List<Candidate> candidates = new ArrayList<>(chunk.size());
+        for (CustomerImportRow row : chunk) {
+            if (row.parseError() != null) {
+                job.reject(row, row.parseError());
+                continue;
+            }
+            Customer customer = new Customer(trim(row.name()), trim(row.email()), trim(row.mobileNumber()),
+                    trim(row.address()));
+            Set<ConstraintViolation<Customer>> violations = validator.validate(customer);
+            if (!violations.isEmpty()) {
+                job.reject(row, violations.stream().map(ConstraintViolation::getMessage).sorted()
+                        .collect(Collectors.joining("; ")));
+                continue;
+            }
+            candidates.add(new Candidate(row, customer));
+        }
+
+        Set<String> existing = existingEmails(candidates);
+        List<Candidate> inserts = new ArrayList<>(candidates.size());
+        for (Candidate candidate : candidates) {
+            if (existing.contains(candidate.customer.getEmail().toLowerCase(Locale.ROOT))) {
+                job.reject(candidate.row, "Email already exists");
+            } else {
+                inserts.add(candidate);
+            }
+        }
+        if (inserts.isEmpty()) {
+            return;
+        }
+
+        long firstId = idBlockAllocator.allocate(IdBlockAllocator.CUSTOMERS, inserts.size());
+        for (int i = 0; i < inserts.size(); i++) {
+            inserts.get(i).customer.setCustomerId(firstId + i);
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    jdbcTemplate.batchUpdate(INSERT_CUSTOMER, inserts, inserts.size(),
+                            (ps, candidate) -> bind(candidate.customer, ps)));
+            job.status.inserted(inserts.size());
+        } catch (DataAccessException e) {
+            for (Candidate candidate : inserts) {
+                try {
+                    jdbcTemplate.update(INSERT_CUSTOMER, ps -> bind(candidate.customer, ps));
+                    job.status.inserted(1);
+                } catch (DuplicateKeyException duplicate) {
+                    job.reject(candidate.row, "Email already exists");
+                } catch (DataAccessException rowFailure) {
+                    job.reject(candidate.row, rowFailure.getMostSpecificCause().getMessage());
+                }
+            }
+        }
+    }
+
+    private Set<String> existingEmails(List<Candidate> candidates) {
+        Set<String> existing = new HashSet<>();
+        for (int from = 0; from < candidates.size(); from += inBatchSize) {
+            List<Candidate> slice = candidates.subList(from, Math.min(candidates.size(), from + inBatchSize));
+            String placeholders = String.join(", ", Collections.nCopies(slice.size(), "?"));
+            Object[] emails = slice.stream().map(candidate -> candidate.customer.getEmail()).toArray();
+            jdbcTemplate.query("SELECT email FROM customers WHERE email IN (" + placeholders + ")",
+                    rs -> {
+                        existing.add(rs.getString(1).toLowerCase(Locale.ROOT));
+                    }, emails);
+        }
+        return existing;
+    }
+
+    private static void bind(Customer customer, PreparedStatement ps) throws SQLException {
+        ps.setLong(1, customer.getCustomerId());
+        ps.setString(2, customer.getName());
+        ps.setString(3, customer.getEmail());
+        ps.setString(4, customer.getMobileNumber());
+        ps.setString(5, customer.getAddress());
+        ps.setTimestamp(6, Timestamp.valueOf(customer.getCreatedDate()));
+    }
+
+    private static String trim(String value) {
+        return value == null ? null : value.trim();
+    }
+
+    private void reportProgress(CustomerImportStatus status) {
+        if (log.isDebugEnabled()) {
+            log.debug("Customer import {}: {}% read, {} rows, {} inserted, {} rejected, {} rows/s",
+                    status.getImportId(), String.format("%.1f", status.getPercentRead()), status.getRowsRead(),
+                    status.getRowsInserted(), status.getRowsRejected(), Math.round(status.getRowsPerSecond()));
+        }
+    }
+
+    private static class ImportJob {
+        private final CustomerImportStatus status;
+        private final Path file;
+        private final CustomerFileReader.Format format;
+        private final Path report;
+        private BufferedWriter reportWriter;
+        private volatile Throwable failure;
+
+        private ImportJob(CustomerImportStatus status, Path file, CustomerFileReader.Format format, Path report) {
+            this.status = status;
+            this.file = file;
+            this.format = format;
+            this.report = report;
+        }
+
+        private synchronized void reject(CustomerImportRow row, String reason) {
+            status.rejected();
+            try {
+                reportWriter.write(row.line() + "," + csv(reason) + "," + csv(row.raw()) + "\n");
+            } catch (IOException e) {
+                throw new IllegalStateException("Cannot write rejected rows report " + report, e);
+            }
+        }
+
+        private static String csv(String value) {
+            return value == null ? "" : "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+    }
+
+    private static class Candidate {
+        private final CustomerImportRow row;
+        private final Customer customer;
+
+        private Candidate(CustomerImportRow row, Customer customer) {
+            this.row = row;
+            this.customer = customer;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.securebank.batch;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Progress of one customer import, as reported by the REST API
+ */
+public class CustomerImportStatus {
+
+    public enum Status {
+        RUNNING, COMPLETED, FAILED
+    }
+
+    private final String importId;
+    private final String file;
+    private final String format;
+    private final long fileBytes;
+    private final LocalDateTime startedAt = LocalDateTime.now();
+    private final long startedNanos = System.nanoTime();
+    private final AtomicLong bytesRead = new AtomicLong();
+    private final AtomicLong rowsRead = new AtomicLong();
+    private final AtomicLong rowsInserted = new AtomicLong();
+    private final AtomicLong rowsRejected = new AtomicLong();
+    private volatile Status status = Status.RUNNING;
+    private volatile LocalDateTime completedAt;
+    private volatile long completedNanos;
+    private volatile String error;
+
+    public CustomerImportStatus(String importId, String file, String format, long fileBytes) {
+        this.importId = importId;
+        this.file = file;
+        this.format = format;
+        this.fileBytes = fileBytes;
+    }
+
+    void bytesRead(long bytes) {
+        bytesRead.set(bytes);
+    }
+
+    void rowRead() {
+        rowsRead.incrementAndGet();
+    }
+
+    void inserted(int rows) {
+        rowsInserted.addAndGet(rows);
+    }
+
+    void rejected() {
+        rowsRejected.incrementAndGet();
+    }
+
+    void markCompleted() {
+        completedNanos = System.nanoTime();
+        completedAt = LocalDateTime.now();
+        status = Status.COMPLETED;
+    }
+
+    void markFailed(String message) {
+        completedNanos = System.nanoTime();
+        completedAt = LocalDateTime.now();
+        error = message;
+        status = Status.FAILED;
+    }
+
+    public String getImportId() {
+        return importId;
+    }
+
+    public String getFile() {
+        return file;
+    }
+
+    public String getFormat() {
+        return format;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public long getRowsRead() {
+        return rowsRead.get();
+    }
+
+    public long getRowsInserted() {
+        return rowsInserted.get();
+    }
+
+    public long getRowsRejected() {
+        return rowsRejected.get();
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    /**
+     * Rows read per second, over the whole import so far
+     */
+    public double getRowsPerSecond() {
+        long end = completedNanos != 0 ? completedNanos : System.nanoTime();
+        double seconds = Math.max(0.001, (end - startedNanos) / 1_000_000_000.0);
+        return rowsRead.get() / seconds;
+    }
+
+    /**
+     * Share of the file read so far; rows still being validated or inserted are not counted
+     */
+    public double getPercentRead() {
+        return fileBytes == 0 ? 100.0 : 100.0 * bytesRead.get() / fileBytes;
+    }
+}
@@ -0,0 +1,379 @@
+package com.securebank.batch;
+
+import com.securebank.event.AccountsBulkChangedEvent;
+import com.securebank.ledger.EntryType;
+import com.securebank.ledger.LedgerPosting;
+import com.securebank.ledger.LedgerService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Monthly interest accrual for SAVINGS accounts.
+ *
+ * A run is identified by its period (INT-2026-09), so starting the same month
+ * twice never pays interest twice. Planning splits the SAVINGS accounts into
+ * account number ranges of roughly chunk-size accounts and stores them in
+ * interest_run_chunks. Chunks are then processed in parallel: each locks its
+ * range, applies interest with batched UPDATEs, posts INTEREST ledger entries
+ * and marks itself complete in the same transaction. A crashed or failed run
+ * resumes with the chunks that have not committed yet.
+ */
+@Service
+public class InterestAccrualService {
+
+    public static final String INTEREST_EXPENSE_ACCOUNT = "@INTEREST_EXPENSE";
+
+    private static final Logger log = LoggerFactory.getLogger(InterestAccrualService.class);
+
+    private static final String UPDATE_BALANCE =
+            "UPDATE accounts SET account_balance = account_balance + ?, updated_date = ? WHERE account_no = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private LedgerService ledgerService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${banking.interest.annual-rate:0.035}")
+    private BigDecimal annualRate;
+
+    @Value("${banking.interest.chunk-size:5000}")
+    private int chunkSize;
+
+    @Value("${banking.interest.batch-size:500}")
+    private int batchSize;
+
+    @Value("${banking.interest.threads:4}")
+    private int threads;
+
+    @Value("${banking.interest.resume-on-startup:true}")
+    private boolean resumeOnStartup;
+
+    private TransactionTemplate transactionTemplate;
+    private final Map<String, InterestRunStatus> runs = new ConcurrentHashMap<>();
+    private final ExecutorService runExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "interest-run");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @PostConstruct
+    public void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        runExecutor.shutdownNow();
+    }
+
+    public static String runIdFor(YearMonth period) {
+        return "INT-" + period;
+    }
+
+    /**
+     * Starts (or resumes) the run for the given month in the background.
+     * Returns the existing run unchanged when it is already running or complete.
+     */
+    public synchronized InterestRunStatus startRun(YearMonth period) {
+        String runId = runIdFor(period);
+        InterestRunStatus run = runs.get(runId);
+        if (run != null && run.getStatus() == InterestRunStatus.Status.RUNNING) {
+            return run;
+        }
+        if (run == null) {
+            run = loadRun(runId);
+        }
+        if (run == null) {
+            run = planRun(runId, period);
+        }
+        runs.put(runId, run);
+        if (run.getStatus() == InterestRunStatus.Status.COMPLETED) {
+            return run;
+        }
+
+        run.markStarted();
+        updateRunStatus(runId, InterestRunStatus.Status.RUNNING, null);
+        InterestRunStatus started = run;
+        runExecutor.submit(() -> execute(started));
+        return run;
+    }
+
+    public InterestRunStatus getRun(String runId) {
+        InterestRunStatus run = runs.get(runId);
+        if (run == null) {
+            run = loadRun(runId);
+        }
+        if (run == null) {
+            throw new RuntimeException("Interest run not found: " + runId);
+        }
+        return run;
+    }
+
+    /**
+     * Accrues the previous month when a cron expression is configured
+     */
+    @Scheduled(cron = "${banking.interest.cron:-}")
+    public void scheduledRun() {
+        startRun(YearMonth.now().minusMonths(1));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterruptedRuns() {
+        if (!resumeOnStartup) {
+            return;
+        }
+        List<String> interrupted = jdbcTemplate.queryForList(
+                "SELECT run_id FROM interest_runs WHERE status IN ('PLANNED', 'RUNNING')", String.class);
+        for (String runId : interrupted) {
+            log.info("Resuming interest run {}", runId);
+            startRun(YearMonth.parse(runId.substring("INT-".length())));
+        }
+    }
+
+    private void execute(InterestRunStatus run) {
+        List<Chunk> pending = jdbcTemplate.query(
+                "SELECT chunk_no, from_account_no, to_account_no FROM interest_run_chunks " +
+                "WHERE run_id = ? AND completed_at IS NULL ORDER BY chunk_no",
+                (rs, rowNum) -> new Chunk(rs.getInt("chunk_no"), rs.getString("from_account_no"), rs.getString("to_account_no")),
+                run.getRunId());
+
+        // Chunks block on JDBC, so parallelism is sized to the connection budget rather than CPUs
+        ForkJoinPool pool = new ForkJoinPool(Math.max(1, threads));
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor();
+        reporter.scheduleAtFixedRate(() -> reportProgress(run), 5, 5, TimeUnit.SECONDS);
+        try {
+            List<ForkJoinTask<?>> tasks = new ArrayList<>(pending.size());
+            for (Chunk chunk : pending) {
+                tasks.add(pool.submit(() -> processChunk(run, chunk)));
+            }
+            for (ForkJoinTask<?> task : tasks) {
+                task.join();
+            }
+            LocalDateTime completedAt = LocalDateTime.now();
+            jdbcTemplate.update("UPDATE interest_runs SET status = 'COMPLETED', completed_at = ? WHERE run_id = ?",
+                    Timestamp.valueOf(completedAt), run.getRunId());
+            run.markCompleted(completedAt);
+            reportProgress(run);
+            log.info("Interest run {} complete: {} accounts, {} interest", run.getRunId(), run.getAccountsProcessed(),
+                    run.getInterestTotal());
+        } catch (RuntimeException e) {
+            log.error("Interest run {} failed, completed chunks are kept and the run can be restarted", run.getRunId(), e);
+            run.markFailed(e.getMessage());
+            updateRunStatus(run.getRunId(), InterestRunStatus.Status.FAILED, e.getMessage());
+        } finally {
+            pool.shutdownNow();
+            reporter.shutdownNow();
+            if (run.getChunksCompleted() > 0) {
+                eventPublisher.publishEvent(new AccountsBulkChangedEvent("interest run " + run.getRunId()));
+            }
+        }
+    }
+
+    private void processChunk(InterestRunStatus run, Chunk chunk) {
+        long[] result = transactionTemplate.execute(status -> {
+            // Locking the chunk row makes a concurrent second executor skip it
+            Timestamp completedAt = jdbcTemplate.queryForObject(
+                    "SELECT completed_at FROM interest_run_chunks WHERE run_id = ? AND chunk_no = ? FOR UPDATE",
+                    Timestamp.class, run.getRunId(), chunk.chunkNo);
+            if (completedAt != null) {
+                return null;
+            }
+
+            List<Object> args = new ArrayList<>();
+            StringBuilder sql = new StringBuilder(
+                    "SELECT account_no, account_balance FROM accounts WHERE account_type = 'SAVINGS'");
+            if (chunk.fromExclusive != null) {
+                sql.append(" AND account_no > ?");
+                args.add(chunk.fromExclusive);
+            }
+            if (chunk.toInclusive != null) {
+                sql.append(" AND account_no <= ?");
+                args.add(chunk.toInclusive);
+            }
+            sql.append(" ORDER BY account_no FOR UPDATE");
+
+            BigDecimal factor = run.getAnnualRate().multiply(BigDecimal.valueOf(run.getDays()));
+            List<Accrual> accruals = new ArrayList<>();
+            jdbcTemplate.query(sql.toString(), rs -> {
+                BigDecimal balance = rs.getBigDecimal("account_balance");
+                if (balance.signum() > 0) {
+                    BigDecimal interest = balance.multiply(factor).divide(BigDecimal.valueOf(365), 2, RoundingMode.HALF_EVEN);
+                    if (interest.signum() > 0) {
+                        accruals.add(new Accrual(rs.getString("account_no"), interest));
+                    }
+                }
+            }, args.toArray());
+
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            jdbcTemplate.batchUpdate(UPDATE_BALANCE, accruals, batchSize, (ps, accrual) -> {
+                ps.setBigDecimal(1, accrual.interest);
+                ps.setTimestamp(2, now);
+                ps.setString(3, accrual.accountNo);
+            });
+
+            List<LedgerPosting> postings = new ArrayList<>(accruals.size());
+            long cents = 0;
+            for (Accrual accrual : accruals) {
+                long amount = LedgerService.toCents(accrual.interest);
+                postings.add(new LedgerPosting(EntryType.INTEREST, INTEREST_EXPENSE_ACCOUNT, accrual.accountNo,
+                        amount, run.getRunId()));
+                cents += amount;
+            }
+            ledgerService.post(postings);
+
+            jdbcTemplate.update("UPDATE interest_run_chunks SET accounts = ?, interest = ?, completed_at = ? " +
+                            "WHERE run_id = ? AND chunk_no = ?",
+                    accruals.size(), LedgerService.fromCents(cents), now, run.getRunId(), chunk.chunkNo);
+            return new long[]{accruals.size(), cents};
+        });
+        if (result != null) {
+            run.chunkCompleted((int) result[0], result[1]);
+        }
+    }
+
+    /**
+     * Splits SAVINGS accounts into ranges of chunk-size accounts by walking the
+     * primary key, and stores the run with its chunks in one transaction
+     */
+    private InterestRunStatus planRun(String runId, YearMonth period) {
+        List<String> boundaries = new ArrayList<>();
+        String previous = null;
+        while (true) {
+            List<String> next = previous == null
+                    ? jdbcTemplate.queryForList("SELECT account_no FROM accounts WHERE account_type = 'SAVINGS' " +
+                    "ORDER BY account_no LIMIT 1 OFFSET ?", String.class, chunkSize - 1)
+                    : jdbcTemplate.queryForList("SELECT account_no FROM accounts WHERE account_type = 'SAVINGS' " +
+                    "AND account_no > ? ORDER BY account_no LIMIT 1 OFFSET ?", String.class, previous, chunkSize - 1);
+            if (next.isEmpty()) {
+                break;
+            }
+            previous = next.get(0);
+            boundaries.add(previous);
+        }
+
+        int chunks = boundaries.size() + 1;
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.update("INSERT INTO interest_runs (run_id, period_start, period_end, annual_rate, chunks, " +
+                                "status, created_at) VALUES (?, ?, ?, ?, ?, ?, ?)",
+                        runId, Date.valueOf(period.atDay(1)), Date.valueOf(period.atEndOfMonth()), annualRate, chunks,
+                        InterestRunStatus.Status.PLANNED.name(), Timestamp.valueOf(LocalDateTime.now()));
+                List<Object[]> rows = new ArrayList<>(chunks);
+                for (int i = 0; i < chunks; i++) {
+                    rows.add(new Object[]{runId, i, i == 0 ? null : boundaries.get(i - 1),
+                            i < boundaries.size() ? boundaries.get(i) : null});
+                }
+                jdbcTemplate.batchUpdate("INSERT INTO interest_run_chunks (run_id, chunk_no, from_account_no, " +
+                        "to_account_no) VALUES (?, ?, ?, ?)", rows);
+            });
+        } catch (DuplicateKeyException e) {
+            // Planned concurrently by another instance
+            return loadRun(runId);
+        }
+        log.info("Interest run {} planned: {} chunks of up to {} accounts", runId, chunks, chunkSize);
+        return new InterestRunStatus(runId, period.atDay(1), period.atEndOfMonth(), annualRate, chunks,
+                InterestRunStatus.Status.PLANNED);
+    }
+
+    private InterestRunStatus loadRun(String runId) {
+        List<InterestRunStatus> found = jdbcTemplate.query(
+                "SELECT run_id, period_start, period_end, annual_rate, chunks, status, completed_at " +
+                "FROM interest_runs WHERE run_id = ?",
+                (rs, rowNum) -> {
+                    InterestRunStatus run = new InterestRunStatus(rs.getString("run_id"),
+                            rs.getDate("period_start").toLocalDate(), rs.getDate("period_end").toLocalDate(),
+                            rs.getBigDecimal("annual_rate"), rs.getInt("chunks"),
+                            InterestRunStatus.Status.valueOf(rs.getString("status")));
+                    Timestamp completedAt = rs.getTimestamp("completed_at");
+                    if (completedAt != null) {
+                        run.markCompleted(completedAt.toLocalDateTime());
+                    }
+                    return run;
+                }, runId);
+        if (found.isEmpty()) {
+            return null;
+        }
+        InterestRunStatus run = found.get(0);
+        jdbcTemplate.query("SELECT COUNT(*) AS chunks_done, COALESCE(SUM(accounts), 0) AS accounts, " +
+                        "COALESCE(SUM(interest), 0) AS interest FROM interest_run_chunks " +
+                        "WHERE run_id = ? AND completed_at IS NOT NULL",
+                rs -> {
+                    run.restoreProgress(rs.getInt("chunks_done"), rs.getLong("accounts"),
+                            LedgerService.toCents(rs.getBigDecimal("interest")));
+                }, runId);
+        return run;
+    }
+
+    private void updateRunStatus(String runId, InterestRunStatus.Status status, String error) {
+        jdbcTemplate.update("UPDATE interest_runs SET status = ?, error = ? WHERE run_id = ?",
+                status.name(), error != null && error.length() > 500 ? error.substring(0, 500) : error, runId);
+    }
+
+    private void reportProgress(InterestRunStatus run) {
+        if (log.isDebugEnabled()) {
+            log.debug("Interest run {}: {}/{} chunks ({}%), {} accounts, {} interest, {} accounts/s",
+                    run.getRunId(), run.getChunksCompleted(), run.getChunksTotal(),
+                    String.format("%.1f", run.getPercentComplete()), run.getAccountsProcessed(), run.getInterestTotal(),
+                    Math.round(run.getAccountsPerSecond()));
+        }
+    }
+
+    private static class Chunk {
+        private final int chunkNo;
+        private final String fromExclusive;
+        private final String toInclusive;
+
+        private Chunk(int chunkNo, String fromExclusive, String toInclusive) {
+            this.chunkNo = chunkNo;
+            this.fromExclusive = fromExclusive;
+            this.toInclusive = toInclusive;
+        }
+    }
+
+    private static class Accrual {
+        private final String accountNo;
+        private final BigDecimal interest;
+
+        private Accrual(String accountNo, BigDecimal interest) {
+            this.accountNo = accountNo;
+            this.interest = interest;
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.securebank.batch;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Progress of one interest accrual run, as reported by the REST API
+ */
+public class InterestRunStatus {
+
+    public enum Status {
+        PLANNED, RUNNING, COMPLETED, FAILED
+    }
+
+    private final String runId;
+    private final LocalDate periodStart;
+    private final LocalDate periodEnd;
+    private final BigDecimal annualRate;
+    private final int chunksTotal;
+    private volatile Status status;
+    private final AtomicInteger chunksCompleted = new AtomicInteger();
+    private final AtomicLong accountsProcessed = new AtomicLong();
+    private final AtomicLong interestCents = new AtomicLong();
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime completedAt;
+    private volatile String error;
+    private volatile long startedNanos;
+    private volatile long accountsAtStart;
+
+    public InterestRunStatus(String runId, LocalDate periodStart, LocalDate periodEnd, BigDecimal annualRate,
+                             int chunksTotal, Status status) {
+        this.runId = runId;
+        this.periodStart = periodStart;
+        this.periodEnd = periodEnd;
+        this.annualRate = annualRate;
+        this.chunksTotal = chunksTotal;
+        this.status = status;
+    }
+
+    void markStarted() {
+        status = Status.RUNNING;
+        startedAt = LocalDateTime.now();
+        startedNanos = System.nanoTime();
+        accountsAtStart = accountsProcessed.get();
+        error = null;
+    }
+
+    void chunkCompleted(int accounts, long cents) {
+        chunksCompleted.incrementAndGet();
+        accountsProcessed.addAndGet(accounts);
+        interestCents.addAndGet(cents);
+    }
+
+    void restoreProgress(int chunks, long accounts, long cents) {
+        chunksCompleted.set(chunks);
+        accountsProcessed.set(accounts);
+        interestCents.set(cents);
+    }
+
+    void markCompleted(LocalDateTime when) {
+        status = Status.COMPLETED;
+        completedAt = when;
+    }
+
+    void markFailed(String message) {
+        status = Status.FAILED;
+        error = message;
+    }
+
+    public String getRunId() {
+        return runId;
+    }
+
+    public LocalDate getPeriodStart() {
+        return periodStart;
+    }
+
+    public LocalDate getPeriodEnd() {
+        return periodEnd;
+    }
+
+    public long getDays() {
+        return ChronoUnit.DAYS.between(periodStart, periodEnd) + 1;
+    }
+
+    public BigDecimal getAnnualRate() {
+        return annualRate;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public int getChunksTotal() {
+        return chunksTotal;
+    }
+
+    public int getChunksCompleted() {
+        return chunksCompleted.get();
+    }
+
+    public long getAccountsProcessed() {
+        return accountsProcessed.get();
+    }
+
+    public BigDecimal getInterestTotal() {
+        return BigDecimal.valueOf(interestCents.get(), 2);
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    /**
+     * Accounts per second since this process started (or resumed) the run
+     */
+    public double getAccountsPerSecond() {
+        if (startedNanos == 0) {
+            return 0;
+        }
+        double seconds = Math.max(0.001, (System.nanoTime() - startedNanos) / 1_000_000_000.0);
+        return (accountsProcessed.get() - accountsAtStart) / seconds;
+    }
+
+    public double getPercentComplete() {
+        return chunksTotal == 0 ? 100.0 : 100.0 * chunksCompleted.get() / chunksTotal;
+    }
+}
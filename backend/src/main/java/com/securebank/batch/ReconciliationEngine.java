@@ -0,0 +1,279 @@
+package com.securebank.batch;
+
+import com.securebank.ledger.LedgerBalances;
+import com.securebank.ledger.LedgerService;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Compares accounts.account_balance with ledger balances, in parallel.
+ *
+ * A full run splits the account_no key space into ranges (boundaries read
+ * from the primary key index, like interest runs) and gives each range to
+ * a worker that pages through it with keyset queries of pageSize rows, so
+ * memory stays bounded however large the table is. An account-set run
+ * checks a given set of accounts with IN queries of pageSize.
+ *
+ * The ledger side is live, so an in-flight change can make an account
+ * differ for a moment; suspects are read again on both sides after
+ * recheckDelayMillis and only reported if they still differ. Ledger
+ * accounts with a non-zero balance but no row in accounts are looked for
+ * only when the number of such accounts matched by the table pass falls
+ * short of the ledger's count.
+ */
+public class ReconciliationEngine {
+
+    public enum Issue {
+        BALANCE_MISMATCH, NO_ACCOUNT_ROW
+    }
+
+    /**
+     * One account whose balances differ; tableCents is null when there is no row in accounts
+     */
+    public record Discrepancy(String accountNo, Long tableCents, long ledgerCents, Issue issue) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final LedgerBalances ledger;
+    private final int threads;
+    private final int pageSize;
+    private final long recheckDelayMillis;
+
+    public ReconciliationEngine(JdbcTemplate jdbcTemplate, LedgerBalances ledger, int threads, int pageSize,
+                                long recheckDelayMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.ledger = ledger;
+        this.threads = threads;
+        this.pageSize = pageSize;
+        this.recheckDelayMillis = recheckDelayMillis;
+    }
+
+    /**
+     * Account numbers splitting the table into ranges of about rangeSize accounts:
+     * range i is [boundary i-1, boundary i), the first and last are open-ended
+     */
+    public static List<String> planRanges(JdbcTemplate jdbcTemplate, int rangeSize) {
+        List<String> boundaries = new ArrayList<>();
+        String previous = null;
+        while (true) {
+            List<String> next = previous == null
+                    ? jdbcTemplate.queryForList("SELECT account_no FROM accounts ORDER BY account_no LIMIT 1 OFFSET ?",
+                    String.class, rangeSize)
+                    : jdbcTemplate.queryForList("SELECT account_no FROM accounts WHERE account_no >= ? " +
+                    "ORDER BY account_no LIMIT 1 OFFSET ?", String.class, previous, rangeSize);
+            if (next.isEmpty()) {
+                return boundaries;
+            }
+            previous = next.get(0);
+            boundaries.add(previous);
+        }
+    }
+
+    /**
+     * Checks every account, range by range
+     */
+    public void reconcileAll(List<String> boundaries, ReconciliationRunStatus status, Consumer<Discrepancy> sink) {
+        LongAdder matchedNonZero = new LongAdder();
+        List<Runnable> tasks = new ArrayList<>(boundaries.size() + 1);
+        for (int i = 0; i <= boundaries.size(); i++) {
+            String from = i == 0 ? null : boundaries.get(i - 1);
+            String to = i < boundaries.size() ? boundaries.get(i) : null;
+            tasks.add(() -> reconcileRange(from, to, status, sink, matchedNonZero));
+        }
+        runAll(tasks);
+
+        long[] ledgerNonZero = {0};
+        ledger.forEach((account, cents) -> {
+            if (cents != 0 && !account.startsWith("@")) {
+                ledgerNonZero[0]++;
+            }
+        });
+        if (ledgerNonZero[0] > matchedNonZero.sum()) {
+            List<String> candidates = new ArrayList<>();
+            ledger.forEach((account, cents) -> {
+                if (cents != 0 && !account.startsWith("@")) {
+                    candidates.add(account);
+                }
+            });
+            findMissingRows(candidates, status, sink);
+        }
+    }
+
+    /**
+     * Checks the given accounts only (incremental runs)
+     */
+    public void reconcileAccounts(List<String> accountNos, ReconciliationRunStatus status, Consumer<Discrepancy> sink) {
+        List<Runnable> tasks = new ArrayList<>();
+        for (int from = 0; from < accountNos.size(); from += pageSize) {
+            List<String> chunk = accountNos.subList(from, Math.min(accountNos.size(), from + pageSize));
+            tasks.add(() -> {
+                Map<String, Long> table = tableBalances(chunk);
+                List<String> suspects = new ArrayList<>();
+                for (String accountNo : chunk) {
+                    Long tableCents = table.get(accountNo);
+                    if (tableCents == null ? ledger.getBalanceCents(accountNo) != 0
+                            : ledger.getBalanceCents(accountNo) != tableCents) {
+                        suspects.add(accountNo);
+                    }
+                }
+                confirm(suspects, status, sink);
+                status.rangeCompleted(chunk.size());
+            });
+        }
+        runAll(tasks);
+    }
+
+    private void reconcileRange(String from, String to, ReconciliationRunStatus status, Consumer<Discrepancy> sink,
+                                LongAdder matchedNonZero) {
+        List<String> suspects = new ArrayList<>();
+        String after = null;
+        int accounts = 0;
+        int matched = 0;
+        while (true) {
+            List<Object> args = new ArrayList<>(3);
+            StringBuilder sql = new StringBuilder("SELECT account_no, account_balance FROM accounts WHERE 1 = 1");
+            if (after != null) {
+                sql.append(" AND account_no > ?");
+                args.add(after);
+            } else if (from != null) {
+                sql.append(" AND account_no >= ?");
+                args.add(from);
+            }
+            if (to != null) {
+                sql.append(" AND account_no < ?");
+                args.add(to);
+            }
+            sql.append(" ORDER BY account_no LIMIT ").append(pageSize);
+
+            String[] last = {null};
+            int[] rows = {0};
+            int[] pageMatched = {0};
+            jdbcTemplate.query(sql.toString(), rs -> {
+                String accountNo = rs.getString(1);
+                long tableCents = LedgerService.toCents(rs.getBigDecimal(2));
+                long ledgerCents = ledger.getBalanceCents(accountNo);
+                if (ledgerCents != tableCents) {
+                    suspects.add(accountNo);
+                }
+                if (ledgerCents != 0) {
+                    pageMatched[0]++;
+                }
+                last[0] = accountNo;
+                rows[0]++;
+            }, args.toArray());
+            accounts += rows[0];
+            matched += pageMatched[0];
+            if (rows[0] < pageSize) {
+                break;
+            }
+            after = last[0];
+        }
+        matchedNonZero.add(matched);
+        confirm(suspects, status, sink);
+        status.rangeCompleted(accounts);
+    }
+
+    private void findMissingRows(List<String> candidates, ReconciliationRunStatus status, Consumer<Discrepancy> sink) {
+        List<Runnable> tasks = new ArrayList<>();
+        for (int from = 0; from < candidates.size(); from += pageSize) {
+            List<String> chunk = candidates.subList(from, Math.min(candidates.size(), from + pageSize));
+            tasks.add(() -> {
+                Map<String, Long> table = tableBalances(chunk);
+                List<String> suspects = new ArrayList<>();
+                for (String accountNo : chunk) {
+                    if (!table.containsKey(accountNo)) {
+                        suspects.add(accountNo);
+                    }
+                }
+                confirm(suspects, status, sink);
+            });
+        }
+        runAll(tasks);
+    }
+
+    /**
+     * Reads suspects again on both sides after the recheck delay and reports those that still differ
+     */
+    private void confirm(List<String> suspects, ReconciliationRunStatus status, Consumer<Discrepancy> sink) {
+        if (suspects.isEmpty()) {
+            return;
+        }
+        if (recheckDelayMillis > 0) {
+            try {
+                Thread.sleep(recheckDelayMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Reconciliation interrupted", e);
+            }
+        }
+        for (int from = 0; from < suspects.size(); from += pageSize) {
+            List<String> chunk = suspects.subList(from, Math.min(suspects.size(), from + pageSize));
+            Map<String, Long> table = tableBalances(chunk);
+            for (String accountNo : chunk) {
+                Long tableCents = table.get(accountNo);
+                long ledgerCents = ledger.getBalanceCents(accountNo);
+                if (tableCents == null && ledgerCents != 0) {
+                    status.discrepancy();
+                    sink.accept(new Discrepancy(accountNo, null, ledgerCents, Issue.NO_ACCOUNT_ROW));
+                } else if (tableCents != null && tableCents != ledgerCents) {
+                    status.discrepancy();
+                    sink.accept(new Discrepancy(accountNo, tableCents, ledgerCents, Issue.BALANCE_MISMATCH));
+                }
+            }
+        }
+    }
+
+    private Map<String, Long> tableBalances(List<String> accountNos) {
+        Map<String, Long> balances = new HashMap<>();
+        if (accountNos.isEmpty()) {
+            return balances;
+        }
+        String placeholders = String.join(", ", Collections.nCopies(accountNos.size(), "?"));
+        jdbcTemplate.query("SELECT account_no, account_balance FROM accounts WHERE account_no IN (" + placeholders + ")",
+                rs -> {
+                    balances.put(rs.getString(1), LedgerService.toCents(rs.getBigDecimal(2)));
+                }, accountNos.toArray());
+        return balances;
+    }
+
+    private void runAll(List<Runnable> tasks) {
+        if (tasks.isEmpty()) {
+            return;
+        }
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, Math.min(threads, tasks.size())), runnable -> {
+            Thread thread = new Thread(runnable, "reconcile-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<?>> results = new ArrayList<>(tasks.size());
+            for (Runnable task : tasks) {
+                results.add(pool.submit(task));
+            }
+            for (Future<?> result : results) {
+                result.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Reconciliation interrupted", e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException runtime
+                    ? runtime : new IllegalStateException("Reconciliation failed", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
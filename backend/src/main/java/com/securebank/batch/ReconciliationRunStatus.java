@@ -0,0 +1,127 @@
+package com.securebank.batch;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Progress of one ledger-vs-balance reconciliation run, as reported by the REST API
+ */
+public class ReconciliationRunStatus {
+
+    public enum Mode {
+        FULL, INCREMENTAL
+    }
+
+    public enum Status {
+        RUNNING, COMPLETED, FAILED
+    }
+
+    private final String runId;
+    private volatile Mode mode;
+    private volatile Status status = Status.RUNNING;
+    private volatile int rangesTotal;
+    private final AtomicInteger rangesCompleted = new AtomicInteger();
+    private final AtomicLong accountsChecked = new AtomicLong();
+    private final AtomicLong discrepancies = new AtomicLong();
+    private volatile LocalDateTime watermarkFrom;
+    private volatile long ledgerSequence;
+    private final LocalDateTime startedAt = LocalDateTime.now();
+    private final long startedNanos = System.nanoTime();
+    private volatile LocalDateTime completedAt;
+    private volatile long elapsedNanos;
+    private volatile String error;
+
+    public ReconciliationRunStatus(String runId, Mode mode) {
+        this.runId = runId;
+        this.mode = mode;
+    }
+
+    void planned(Mode mode, int ranges, LocalDateTime watermarkFrom, long ledgerSequence) {
+        this.mode = mode;
+        this.rangesTotal = ranges;
+        this.watermarkFrom = watermarkFrom;
+        this.ledgerSequence = ledgerSequence;
+    }
+
+    void rangeCompleted(int accounts) {
+        rangesCompleted.incrementAndGet();
+        accountsChecked.addAndGet(accounts);
+    }
+
+    void discrepancy() {
+        discrepancies.incrementAndGet();
+    }
+
+    void markCompleted() {
+        elapsedNanos = System.nanoTime() - startedNanos;
+        completedAt = LocalDateTime.now();
+        status = Status.COMPLETED;
+    }
+
+    void markFailed(String message) {
+        elapsedNanos = System.nanoTime() - startedNanos;
+        completedAt = LocalDateTime.now();
+        error = message;
+        status = Status.FAILED;
+    }
+
+    public String getRunId() {
+        return runId;
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public int getRangesTotal() {
+        return rangesTotal;
+    }
+
+    public int getRangesCompleted() {
+        return rangesCompleted.get();
+    }
+
+    public long getAccountsChecked() {
+        return accountsChecked.get();
+    }
+
+    public long getDiscrepancies() {
+        return discrepancies.get();
+    }
+
+    /**
+     * Incremental runs: changes from this time on were checked (the last clean run's start, minus the overlap)
+     */
+    public LocalDateTime getWatermarkFrom() {
+        return watermarkFrom;
+    }
+
+    /**
+     * Last ledger journal sequence when the run started; the next incremental run replays the journal after it
+     */
+    public long getLedgerSequence() {
+        return ledgerSequence;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public double getAccountsPerSecond() {
+        long nanos = status == Status.RUNNING ? System.nanoTime() - startedNanos : elapsedNanos;
+        return nanos > 0 ? accountsChecked.get() * 1_000_000_000.0 / nanos : 0;
+    }
+}
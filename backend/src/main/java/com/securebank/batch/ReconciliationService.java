@@ -0,0 +1,270 @@
+package com.securebank.batch;
+
+import com.securebank.ledger.LedgerService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Proves that accounts.account_balance matches the ledger, i.e. the sum of
+ * every recorded balance change.
+ *
+ * A FULL run checks every account (see {@link ReconciliationEngine}). An
+ * INCREMENTAL run only checks accounts changed since the last clean run
+ * (COMPLETED without discrepancies): rows whose updated_date is at or after
+ * that run's start, minus watermark-overlap-ms for transactions that were
+ * still open, plus every account in the ledger journal after that run's
+ * sequence. Without a clean run to start from it runs as FULL. Each run
+ * writes its discrepancies to &lt;runId&gt;.csv; runs execute one at a time.
+ */
+@Service
+public class ReconciliationService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReconciliationService.class);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private LedgerService ledgerService;
+
+    @Value("${banking.reconciliation.directory:./data/reconciliation}")
+    private String directory;
+
+    @Value("${banking.reconciliation.threads:4}")
+    private int threads;
+
+    @Value("${banking.reconciliation.range-size:250000}")
+    private int rangeSize;
+
+    @Value("${banking.reconciliation.page-size:5000}")
+    private int pageSize;
+
+    @Value("${banking.reconciliation.recheck-delay-ms:200}")
+    private long recheckDelayMs;
+
+    @Value("${banking.reconciliation.watermark-overlap-ms:300000}")
+    private long watermarkOverlapMs;
+
+    private final Map<String, ReconciliationRunStatus> runs = new ConcurrentHashMap<>();
+    private final ExecutorService runExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "reconciliation");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final ScheduledExecutorService progressReporter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "reconciliation-progress");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @PreDestroy
+    public void shutdown() {
+        runExecutor.shutdownNow();
+        progressReporter.shutdownNow();
+    }
+
+    public ReconciliationRunStatus start(ReconciliationRunStatus.Mode mode) {
+        if (!ledgerService.isEnabled()) {
+            throw new IllegalStateException("Reconciliation needs the ledger (banking.ledger.enabled)");
+        }
+        String runId = "REC-" + UUID.randomUUID().toString().substring(0, 8);
+        ReconciliationRunStatus status = new ReconciliationRunStatus(runId, mode);
+        runs.put(runId, status);
+        runExecutor.submit(() -> execute(status));
+        return status;
+    }
+
+    public ReconciliationRunStatus getRun(String runId) {
+        ReconciliationRunStatus status = runs.get(runId);
+        if (status == null) {
+            throw new RuntimeException("Reconciliation run not found: " + runId);
+        }
+        return status;
+    }
+
+    /**
+     * Discrepancies as CSV: account_no, table_balance, ledger_balance, difference, issue
+     */
+    public Path getReport(String runId) {
+        ReconciliationRunStatus status = getRun(runId);
+        if (status.getStatus() == ReconciliationRunStatus.Status.RUNNING) {
+            throw new IllegalStateException("Reconciliation run " + runId + " is still running");
+        }
+        Path report = reportPath(runId);
+        if (!Files.exists(report)) {
+            throw new RuntimeException("Reconciliation run " + runId + " has no report");
+        }
+        return report;
+    }
+
+    private void execute(ReconciliationRunStatus status) {
+        String runId = status.getRunId();
+        long sequence = ledgerService.getJournal().getLastSequence();
+        ScheduledFuture<?> progress = progressReporter.scheduleAtFixedRate(() -> reportProgress(status),
+                5, 5, TimeUnit.SECONDS);
+        Path report = reportPath(runId);
+        try {
+            jdbcTemplate.update("INSERT INTO reconciliation_runs (run_id, mode, status, ledger_sequence, started_at) " +
+                            "VALUES (?, ?, ?, ?, ?)", runId, status.getMode().name(), status.getStatus().name(), sequence,
+                    Timestamp.valueOf(status.getStartedAt()));
+            Files.createDirectories(report.getParent());
+            ReconciliationEngine engine = new ReconciliationEngine(jdbcTemplate, ledgerService.getBalances(), threads,
+                    pageSize, recheckDelayMs);
+            try (BufferedWriter writer = Files.newBufferedWriter(report, StandardCharsets.UTF_8)) {
+                writer.write("account_no,table_balance,ledger_balance,difference,issue\n");
+                ReportSink sink = new ReportSink(writer);
+
+                Watermark watermark = status.getMode() == ReconciliationRunStatus.Mode.INCREMENTAL
+                        ? lastCleanWatermark() : null;
+                if (watermark == null) {
+                    List<String> boundaries = ReconciliationEngine.planRanges(jdbcTemplate, rangeSize);
+                    status.planned(ReconciliationRunStatus.Mode.FULL, boundaries.size() + 1, null, sequence);
+                    log.info("Reconciliation {} (full): {} ranges of up to {} accounts on {} threads",
+                            runId, boundaries.size() + 1, rangeSize, threads);
+                    engine.reconcileAll(boundaries, status, sink);
+                } else {
+                    LocalDateTime from = watermark.startedAt().minusNanos(watermarkOverlapMs * 1_000_000);
+                    List<String> changed = changedAccounts(from, watermark.ledgerSequence());
+                    status.planned(ReconciliationRunStatus.Mode.INCREMENTAL, (changed.size() + pageSize - 1) / pageSize,
+                            from, sequence);
+                    log.info("Reconciliation {} (incremental): {} accounts changed since {}",
+                            runId, changed.size(), from);
+                    engine.reconcileAccounts(changed, status, sink);
+                }
+                sink.rethrow();
+            }
+            status.markCompleted();
+            jdbcTemplate.update("UPDATE reconciliation_runs SET mode = ?, status = ?, accounts_checked = ?, " +
+                            "discrepancies = ?, report_file = ?, completed_at = ? WHERE run_id = ?",
+                    status.getMode().name(), status.getStatus().name(), status.getAccountsChecked(),
+                    status.getDiscrepancies(), report.toString(), Timestamp.valueOf(status.getCompletedAt()), runId);
+            if (status.getDiscrepancies() == 0) {
+                log.info("Reconciliation {} complete: {} accounts, no discrepancies, {} accounts/s",
+                        runId, status.getAccountsChecked(), Math.round(status.getAccountsPerSecond()));
+            } else {
+                log.warn("Reconciliation {} complete: {} accounts, {} discrepancies, {} accounts/s", runId,
+                        status.getAccountsChecked(), status.getDiscrepancies(), Math.round(status.getAccountsPerSecond()));
+            }
+        } catch (IOException | RuntimeException e) {
+            log.error("Reconciliation run {} failed", runId, e);
+            status.markFailed(e.getMessage());
+            String error = e.getMessage() != null && e.getMessage().length() > 500
+                    ? e.getMessage().substring(0, 500) : e.getMessage();
+            try {
+                jdbcTemplate.update("UPDATE reconciliation_runs SET status = ?, error = ?, completed_at = ? WHERE run_id = ?",
+                        status.getStatus().name(), error, Timestamp.valueOf(status.getCompletedAt()), runId);
+            } catch (RuntimeException updateFailure) {
+                log.warn("Could not record failure of reconciliation run {}", runId, updateFailure);
+            }
+        } finally {
+            progress.cancel(false);
+        }
+    }
+
+    /**
+     * Start time and ledger sequence of the newest clean run, or null if there is none
+     */
+    private Watermark lastCleanWatermark() {
+        List<Watermark> found = jdbcTemplate.query("SELECT started_at, ledger_sequence FROM reconciliation_runs " +
+                        "WHERE status = 'COMPLETED' AND discrepancies = 0 ORDER BY started_at DESC LIMIT 1",
+                (rs, rowNum) -> new Watermark(rs.getTimestamp(1).toLocalDateTime(), rs.getLong(2)));
+        return found.isEmpty() ? null : found.get(0);
+    }
+
+    private List<String> changedAccounts(LocalDateTime from, long afterSequence) throws IOException {
+        Set<String> changed = new HashSet<>();
+        jdbcTemplate.query("SELECT account_no FROM accounts WHERE updated_date >= ?",
+                rs -> {
+                    changed.add(rs.getString(1));
+                }, Timestamp.valueOf(from));
+        ledgerService.getJournal().replay(afterSequence + 1, entry -> {
+            if (!entry.getDebitAccount().startsWith("@")) {
+                changed.add(entry.getDebitAccount());
+            }
+            if (!entry.getCreditAccount().startsWith("@")) {
+                changed.add(entry.getCreditAccount());
+            }
+        });
+        return new ArrayList<>(changed);
+    }
+
+    private Path reportPath(String runId) {
+        return Paths.get(directory).resolve(runId + ".csv");
+    }
+
+    private void reportProgress(ReconciliationRunStatus status) {
+        log.debug("Reconciliation {}: {}/{} ranges, {} accounts, {} discrepancies, {} accounts/s",
+                status.getRunId(), status.getRangesCompleted(), status.getRangesTotal(), status.getAccountsChecked(),
+                status.getDiscrepancies(), Math.round(status.getAccountsPerSecond()));
+    }
+
+    /**
+     * Where an incremental run starts: when the last clean run began and the ledger sequence it had reached
+     */
+    private record Watermark(LocalDateTime startedAt, long ledgerSequence) {
+    }
+
+    /**
+     * Writes discrepancies from all workers to the report; the first write failure fails the run
+     */
+    private static class ReportSink implements Consumer<ReconciliationEngine.Discrepancy> {
+
+        private final BufferedWriter writer;
+        private IOException failure;
+
+        private ReportSink(BufferedWriter writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public synchronized void accept(ReconciliationEngine.Discrepancy discrepancy) {
+            if (failure != null) {
+                return;
+            }
+            Long table = discrepancy.tableCents();
+            try {
+                writer.write(discrepancy.accountNo() + "," +
+                        (table != null ? LedgerService.fromCents(table) : "") + "," +
+                        LedgerService.fromCents(discrepancy.ledgerCents()) + "," +
+                        LedgerService.fromCents((table != null ? table : 0) - discrepancy.ledgerCents()) + "," +
+                        discrepancy.issue() + "\n");
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+
+        private synchronized void rethrow() {
+            if (failure != null) {
+                throw new UncheckedIOException("Failed to write reconciliation report", failure);
+            }
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.securebank.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Captures the SQL Hibernate prepares on the calling thread, so query plan
+ * checks can EXPLAIN exactly what a repository method or Criteria query
+ * generates. Registered through hibernate.session_factory.statement_inspector
+ * in the loadtest profile only, so production statements never pass through it;
+ * outside a capture it only reads a ThreadLocal and passes the SQL through.
+ */
+public class CapturingStatementInspector implements StatementInspector {
+
+    private static final ThreadLocal<Capture> CAPTURE = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        Capture capture = CAPTURE.get();
+        if (capture != null) {
+            capture.sql = sql;
+            if (capture.abort) {
+                throw new StatementCaptured(sql);
+            }
+        }
+        return sql;
+    }
+
+    /**
+     * Runs the action and returns the last statement it prepared; its statements execute normally
+     */
+    public static String lastStatementOf(Runnable action) {
+        Capture capture = new Capture(false);
+        CAPTURE.set(capture);
+        try {
+            action.run();
+            return capture.sql;
+        } finally {
+            CAPTURE.remove();
+        }
+    }
+
+    /**
+     * Runs the action up to its first statement and returns that statement's SQL
+     * without executing it, or null if the action prepared none
+     */
+    public static String firstStatementOf(Runnable action) {
+        CAPTURE.set(new Capture(true));
+        try {
+            action.run();
+            return null;
+        } catch (RuntimeException e) {
+            for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+                if (cause instanceof StatementCaptured captured) {
+                    return captured.sql;
+                }
+            }
+            throw e;
+        } finally {
+            CAPTURE.remove();
+        }
+    }
+
+    private static final class Capture {
+        private final boolean abort;
+        private String sql;
+
+        private Capture(boolean abort) {
+            this.abort = abort;
+        }
+    }
+
+    /**
+     * Stops the statement from executing once its SQL is known
+     */
+    private static final class StatementCaptured extends RuntimeException {
+        private final String sql;
+
+        private StatementCaptured(String sql) {
+            super("Statement captured, not executed", null, false, false);
+            this.sql = sql;
+        }
+    }
+}
@@ -13,6 +13,7 @@ import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * Data Initializer for Banking System
@@ -64,25 +65,22 @@ public class DataInitializer implements CommandLineRunner {
             System.out.println("✅ Manager user created: manager/manager123");
         }
 
-        // ONLY initialize demo data if there are NO customers/accounts
-        boolean needSamples = (customerRepository.count() == 0 && accountRepository.count() == 0);
+        // ONLY initialize demo data if there are NO customers (accounts cannot exist without one).
+        // A single-row primary key lookup instead of full COUNT(*) scans keeps startup fast on large datasets.
+        boolean needSamples = customerRepository.findFirstByOrderByCustomerIdAsc().isEmpty();
 
         if (needSamples) {
-            createSampleCustomers();
-            createSampleAccounts();
+            List<Customer> customers = createSampleCustomers();
+            createSampleAccounts(customers);
             System.out.println("✅ Sample customers and accounts created");
         } else {
             System.out.println("ℹ️ Persistent data mode: NO RESET. User data will remain across restarts.");
         }
 
         System.out.println("🎉 Banking System data initialization completed!");
-        System.out.println("📊 System Status:");
-        System.out.println("   Users: " + userRepository.count());
-        System.out.println("   Customers: " + customerRepository.count());
-        System.out.println("   Accounts: " + accountRepository.count());
     }
 
-    private void createSampleCustomers() {
+    private List<Customer> createSampleCustomers() {
         Customer customer1 = new Customer(
             "John Smith",
             "john.smith@email.com",
@@ -125,17 +123,10 @@ public class DataInitializer implements CommandLineRunner {
             "987 Cedar Lane, Miami, FL 33101, USA"
         );
 
-        customerRepository.save(customer1);
-        customerRepository.save(customer2);
-        customerRepository.save(customer3);
-        customerRepository.save(customer4);
-        customerRepository.save(customer5);
-        customerRepository.save(customer6);
+        return customerRepository.saveAll(List.of(customer1, customer2, customer3, customer4, customer5, customer6));
     }
 
-    private void createSampleAccounts() {
-        // Get all customers
-        var customers = customerRepository.findAll();
+    private void createSampleAccounts(List<Customer> customers) {
         if (customers.isEmpty()) return;
 
         Account account1 = new Account(
@@ -194,13 +185,6 @@ public class DataInitializer implements CommandLineRunner {
             Account.AccountType.CURRENT,
             customers.get(5)
         );
-        accountRepository.save(account1);
-        accountRepository.save(account2);
-        accountRepository.save(account3);
-        accountRepository.save(account4);
-        accountRepository.save(account5);
-        accountRepository.save(account6);
-        accountRepository.save(account7);
-        accountRepository.save(account8);
+        accountRepository.saveAll(List.of(account1, account2, account3, account4, account5, account6, account7, account8));
     }
 }
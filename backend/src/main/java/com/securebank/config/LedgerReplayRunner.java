@@ -0,0 +1,72 @@
+package com.securebank.config;
+
+import com.securebank.ledger.LedgerBalances;
+import com.securebank.ledger.LedgerConsistencyCheck;
+import com.securebank.ledger.LedgerService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * Ledger replay tool (profile "ledger-replay")
+ * Rebuilds every balance from the full journal and, separately, from the
+ * latest snapshot plus journal tail, checks both agree and that the ledger
+ * balances, and compares the result with the accounts table. With
+ * ledger.replay.post-adjustments=true any drift (e.g. rows changed by SQL
+ * outside AccountService) is recorded as ADJUSTMENT entries.
+ */
+@Component
+@Profile("ledger-replay")
+public class LedgerReplayRunner implements CommandLineRunner {
+
+    @Autowired
+    private LedgerService ledgerService;
+
+    @Autowired
+    private LedgerConsistencyCheck consistencyCheck;
+
+    @Value("${ledger.replay.post-adjustments:false}")
+    private boolean postAdjustments;
+
+    @Value("${ledger.replay.max-reported:20}")
+    private int maxReported;
+
+    @Override
+    public void run(String... args) throws Exception {
+        long started = System.nanoTime();
+        LedgerBalances rebuilt = ledgerService.rebuildBalances();
+        System.out.println(String.format("📒 Full journal replay: %,d accounts up to sequence %d in %,d ms",
+                rebuilt.size(), rebuilt.getLastSequence(), (System.nanoTime() - started) / 1_000_000));
+
+        started = System.nanoTime();
+        LedgerBalances recovered = ledgerService.recoverBalances();
+        System.out.println(String.format("📒 Snapshot + tail recovery: %,d accounts in %,d ms",
+                recovered.size(), (System.nanoTime() - started) / 1_000_000));
+        long[] differences = {0};
+        rebuilt.forEach((account, cents) -> {
+            if (recovered.getBalanceCents(account) != cents) {
+                differences[0]++;
+            }
+        });
+        System.out.println(differences[0] == 0 && rebuilt.size() == recovered.size()
+                ? "✅ Snapshot recovery matches the full replay"
+                : "❌ Snapshot recovery differs from the full replay for " + differences[0] + " accounts");
+
+        LedgerConsistencyCheck.Result result = consistencyCheck.check(rebuilt, maxReported);
+        System.out.println(result.getTrialBalanceCents() == 0
+                ? "✅ Trial balance is zero"
+                : "❌ Trial balance is off by " + LedgerService.fromCents(result.getTrialBalanceCents()));
+        if (result.getMismatches() == 0) {
+            System.out.println("✅ Ledger matches the accounts table (" + result.getAccountsChecked() + " accounts)");
+            return;
+        }
+        result.getSamples().forEach(sample -> System.out.println("   " + sample));
+        System.out.println("❌ " + result.getMismatches() + " accounts differ between the ledger and the accounts table");
+        if (postAdjustments) {
+            ledgerService.post(result.getAdjustments());
+            System.out.println("📒 Posted " + result.getAdjustments().size() + " ADJUSTMENT entries");
+        }
+    }
+}
@@ -0,0 +1,349 @@
+package com.securebank.config;
+
+import com.securebank.entity.Account;
+import com.securebank.repository.AccountRepository;
+import com.securebank.repository.CustomerRepository;
+import com.securebank.repository.UserRepository;
+import org.flywaydb.core.Flyway;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Startup check that the repository queries are served by the indexes in
+ * db/migration. Migrates a throwaway embedded H2 database (MySQL mode) with
+ * the same Flyway scripts, fills it with sample rows, and EXPLAINs the SQL
+ * Hibernate generates for each repository method, captured through
+ * CapturingStatementInspector (registered by the loadtest profile) before it
+ * reaches the application database. A query expected to use an index that
+ * scans the table instead is reported (or stops startup when
+ * banking.schema.fail-on-full-scan is set).
+ *
+ * Queries that must read every row (unfiltered listings, '%term%' searches)
+ * are listed with the reason so new full scans stand out.
+ */
+@Component
+@ConditionalOnClass(name = "org.h2.Driver")
+public class QueryPlanVerifier {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryPlanVerifier.class);
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Value("${banking.schema.verify-plans:true}")
+    private boolean enabled;
+
+    @Value("${banking.schema.fail-on-full-scan:false}")
+    private boolean failOnFullScan;
+
+    @Value("${banking.schema.sample-rows:5000}")
+    private int sampleRows;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(10)
+    public void verifyOnStartup() {
+        if (!enabled) {
+            return;
+        }
+        List<PlanResult> results = verify();
+        if (results.isEmpty()) {
+            return;
+        }
+        List<PlanResult> failures = results.stream().filter(result -> !result.isOk()).toList();
+        for (PlanResult result : results) {
+            log.debug("{} {}: {}", result.isOk() ? "OK  " : "FAIL", result.getCheck().name, result.getPlan());
+        }
+        if (failures.isEmpty()) {
+            log.info("Query plans verified: {} repository queries use the expected indexes", results.size());
+            return;
+        }
+        for (PlanResult failure : failures) {
+            log.warn("Query plan check failed for {}: expected {}, plan was {}", failure.getCheck().name,
+                    failure.getCheck().describeExpectation(), failure.getPlan());
+        }
+        if (failOnFullScan) {
+            throw new IllegalStateException(failures.size() + " repository queries do not use their indexes");
+        }
+    }
+
+    /**
+     * Runs every check against a freshly migrated embedded database
+     */
+    public List<PlanResult> verify() {
+        if (CapturingStatementInspector.firstStatementOf(() -> userRepository.countUsers()) == null) {
+            log.warn("Query plans not verified: CapturingStatementInspector is not registered " +
+                    "(spring.jpa.properties.hibernate.session_factory.statement_inspector)");
+            return List.of();
+        }
+        String url = "jdbc:h2:mem:plan-verify-" + UUID.randomUUID() + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE";
+        SingleConnectionDataSource dataSource = new SingleConnectionDataSource(url, "sa", "", true);
+        try {
+            Flyway.configure()
+                    .dataSource(dataSource)
+                    .locations("classpath:db/migration")
+                    .load()
+                    .migrate();
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+            LocalDateTime now = LocalDateTime.now().withNano(0);
+            seed(jdbcTemplate, now);
+
+            List<PlanResult> results = new ArrayList<>();
+            for (PlanCheck check : checks(now)) {
+                String plan = jdbcTemplate.queryForObject("EXPLAIN " + check.sql, String.class)
+                        .replaceAll("\\s+", " ");
+                results.add(new PlanResult(check, plan));
+            }
+            return results;
+        } finally {
+            dataSource.destroy();
+        }
+    }
+
+    private void seed(JdbcTemplate jdbcTemplate, LocalDateTime now) {
+        int customers = Math.max(100, sampleRows / 3);
+        Timestamp base = Timestamp.valueOf(now);
+        jdbcTemplate.update(
+                "INSERT INTO users (username, password_hash, role, created_date, is_active) " +
+                "SELECT CONCAT('user', X), 'x', 'ADMIN', ?, TRUE FROM SYSTEM_RANGE(1, 100)", base);
+        jdbcTemplate.update(
+                "INSERT INTO customers (name, email, mobile_number, address, created_date) " +
+                "SELECT CONCAT('Customer ', X), CONCAT('customer', X, '@example.com'), CONCAT('555', X), " +
+                "CONCAT(X, ' Main Street, Springfield'), DATEADD('MINUTE', -X, ?) FROM SYSTEM_RANGE(1, ?)",
+                base, customers);
+        jdbcTemplate.update(
+                "INSERT INTO accounts (account_no, account_holder_name, account_balance, account_type, " +
+                "created_date, customer_id) " +
+                "SELECT CONCAT('PLN', LPAD(X, 10, '0')), CONCAT('Holder ', MOD(X, 997)), MOD(X * 7919, 1000000) / 100.0, " +
+                "CASE MOD(X, 4) WHEN 0 THEN 'SAVINGS' WHEN 1 THEN 'CURRENT' WHEN 2 THEN 'CHECKING' ELSE 'BUSINESS' END, " +
+                "DATEADD('MINUTE', -X, ?), MOD(X, ?) + 1 FROM SYSTEM_RANGE(1, ?)",
+                base, customers, sampleRows);
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    /**
+     * Calls each repository method with sample arguments, captures the SQL Hibernate
+     * prepares for it (without running it) and inlines the arguments for EXPLAIN
+     */
+    private List<PlanCheck> checks(LocalDateTime now) {
+        LocalDateTime recent = now.minusHours(2);
+        BigDecimal threshold = new BigDecimal("9500");
+        List<PlanCheck> checks = new ArrayList<>();
+
+        checks.add(PlanCheck.index("AccountRepository.findByCustomer_CustomerId",
+                generated(() -> accountRepository.findByCustomer_CustomerId(42L), 42L),
+                "idx_accounts_customer_created"));
+        checks.add(PlanCheck.index("AccountRepository.findByAccountType",
+                generated(() -> accountRepository.findByAccountType(Account.AccountType.BUSINESS),
+                        Account.AccountType.BUSINESS),
+                "idx_accounts_type_"));
+        checks.add(PlanCheck.index("AccountRepository.findByAccountBalanceGreaterThan",
+                generated(() -> accountRepository.findByAccountBalanceGreaterThan(threshold), threshold),
+                "idx_accounts_balance"));
+        checks.add(PlanCheck.index("AccountRepository.findByAccountBalanceBetween",
+                generated(() -> accountRepository.findByAccountBalanceBetween(BigDecimal.valueOf(100), BigDecimal.valueOf(200)),
+                        BigDecimal.valueOf(100), BigDecimal.valueOf(200)),
+                "idx_accounts_balance"));
+        checks.add(PlanCheck.index("AccountRepository.getTotalBalanceByType",
+                generated(() -> accountRepository.getTotalBalanceByType(Account.AccountType.BUSINESS),
+                        Account.AccountType.BUSINESS),
+                "idx_accounts_type_"));
+        checks.add(PlanCheck.index("AccountRepository.findByCreatedDateAfter",
+                generated(() -> accountRepository.findByCreatedDateAfter(recent), recent),
+                "idx_accounts_created"));
+        checks.add(PlanCheck.index("AccountRepository.countByAccountType",
+                generated(() -> accountRepository.countByAccountType(Account.AccountType.CHECKING),
+                        Account.AccountType.CHECKING),
+                "idx_accounts_type_"));
+        checks.add(PlanCheck.index("AccountRepository.findTopAccountsByBalance",
+                generated(() -> accountRepository.findTopAccountsByBalance(10), 10),
+                "idx_accounts_balance"));
+        checks.add(PlanCheck.index("AccountRepository.existsByAccountNo",
+                generated(() -> accountRepository.existsByAccountNo("PLN0000000042"), "PLN0000000042"),
+                null));
+        checks.add(PlanCheck.scan("AccountRepository.findAllOrderByCreatedDateDesc",
+                generated(() -> accountRepository.findAllOrderByCreatedDateDesc()),
+                "returns every account"));
+        checks.add(PlanCheck.scan("AccountRepository.findByAccountHolderNameContainingIgnoreCase",
+                generated(() -> accountRepository.findByAccountHolderNameContainingIgnoreCase("lder 1"), "lder 1"),
+                "substring match cannot use a B-tree index"));
+        checks.add(PlanCheck.scan("AccountRepository.findByCustomerNameContainingIgnoreCase",
+                generated(() -> accountRepository.findByCustomerNameContainingIgnoreCase("mer 1"), "mer 1"),
+                "substring match on customers; accounts are joined by customer", "idx_accounts_customer_created"));
+
+        checks.add(PlanCheck.index("CustomerRepository.findByEmail",
+                generated(() -> customerRepository.findByEmail("customer42@example.com"), "customer42@example.com"),
+                null));
+        checks.add(PlanCheck.index("CustomerRepository.existsByEmailAndCustomerIdNot",
+                generated(() -> customerRepository.existsByEmailAndCustomerIdNot("customer42@example.com", 7L),
+                        "customer42@example.com", 7L),
+                null));
+        checks.add(PlanCheck.index("CustomerRepository.findByCreatedDateAfter",
+                generated(() -> customerRepository.findByCreatedDateAfter(recent), recent),
+                "idx_customers_created"));
+        checks.add(PlanCheck.scan("CustomerRepository.findFirstByOrderByCustomerIdAsc",
+                generated(() -> customerRepository.findFirstByOrderByCustomerIdAsc()),
+                "first row in primary key order"));
+        checks.add(PlanCheck.scan("CustomerRepository.findAllOrderByCreatedDateDesc",
+                generated(() -> customerRepository.findAllOrderByCreatedDateDesc()),
+                "returns every customer"));
+        checks.add(PlanCheck.scan("CustomerRepository.findByNameContainingIgnoreCase",
+                generated(() -> customerRepository.findByNameContainingIgnoreCase("mer 1"), "mer 1"),
+                "substring match cannot use a B-tree index"));
+        checks.add(PlanCheck.scan("CustomerRepository.findCustomersWithAccounts",
+                generated(() -> customerRepository.findCustomersWithAccounts()),
+                "visits every customer; the per-customer count uses the index", "idx_accounts_customer_created"));
+        checks.add(PlanCheck.scan("CustomerRepository.findCustomersWithoutAccounts",
+                generated(() -> customerRepository.findCustomersWithoutAccounts()),
+                "visits every customer; the per-customer count uses the index", "idx_accounts_customer_created"));
+
+        checks.add(PlanCheck.index("UserRepository.findByUsername",
+                generated(() -> userRepository.findByUsername("user42"), "user42"),
+                null));
+        checks.add(PlanCheck.index("UserRepository.findActiveUserByUsername",
+                generated(() -> userRepository.findActiveUserByUsername("user42"), "user42"),
+                null));
+        checks.add(PlanCheck.scan("UserRepository.countActiveUsers",
+                generated(() -> userRepository.countActiveUsers()),
+                "small table, low-selectivity flag"));
+        return checks;
+    }
+
+    /**
+     * The first statement the call prepares, with its placeholders replaced by the given
+     * values in order. Placeholders past the values are row limits Hibernate adds itself
+     * (exists, findFirst) and become 1.
+     */
+    private static String generated(Runnable call, Object... values) {
+        String sql = CapturingStatementInspector.firstStatementOf(call);
+        if (sql == null) {
+            throw new IllegalStateException("Repository call issued no SQL");
+        }
+        StringBuilder inlined = new StringBuilder(sql.length() + 32);
+        int next = 0;
+        int i = 0;
+        while (i < sql.length()) {
+            char c = sql.charAt(i);
+            if (c == '\'') {
+                int close = sql.indexOf('\'', i + 1);
+                while (close >= 0 && close + 1 < sql.length() && sql.charAt(close + 1) == '\'') {
+                    close = sql.indexOf('\'', close + 2);
+                }
+                int stop = close < 0 ? sql.length() : close + 1;
+                inlined.append(sql, i, stop);
+                i = stop;
+            } else if (c == '/' && sql.startsWith("/*", i)) {
+                int close = sql.indexOf("*/", i + 2);
+                i = close < 0 ? sql.length() : close + 2;
+            } else if (c == '?') {
+                inlined.append(next < values.length ? literal(values[next++]) : "1");
+                i++;
+            } else {
+                inlined.append(c);
+                i++;
+            }
+        }
+        return inlined.toString().trim();
+    }
+
+    private static String literal(Object value) {
+        if (value instanceof Number || value instanceof Boolean) {
+            return value.toString();
+        }
+        if (value instanceof Enum<?> constant) {
+            return "'" + constant.name() + "'";
+        }
+        if (value instanceof LocalDateTime time) {
+            return "TIMESTAMP '" + Timestamp.valueOf(time) + "'";
+        }
+        return "'" + value.toString().replace("'", "''") + "'";
+    }
+
+    public static final class PlanCheck {
+        private final String name;
+        private final String sql;
+        private final String requiredIndex;
+        private final String scanReason;
+
+        private PlanCheck(String name, String sql, String requiredIndex, String scanReason) {
+            this.name = name;
+            this.sql = sql;
+            this.requiredIndex = requiredIndex;
+            this.scanReason = scanReason;
+        }
+
+        /** Must not scan a table; requiredIndex (a name or name prefix) must appear in the plan when given */
+        static PlanCheck index(String name, String sql, String requiredIndex) {
+            return new PlanCheck(name, sql, requiredIndex, null);
+        }
+
+        /** Reads a whole table by design */
+        static PlanCheck scan(String name, String sql, String reason) {
+            return new PlanCheck(name, sql, null, reason);
+        }
+
+        static PlanCheck scan(String name, String sql, String reason, String requiredIndex) {
+            return new PlanCheck(name, sql, requiredIndex, reason);
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        String describeExpectation() {
+            if (scanReason != null) {
+                return "full scan allowed (" + scanReason + ")" + (requiredIndex != null ? " using " + requiredIndex : "");
+            }
+            return requiredIndex != null ? "index " + requiredIndex : "an index lookup";
+        }
+    }
+
+    public static final class PlanResult {
+        private final PlanCheck check;
+        private final String plan;
+        private final boolean ok;
+
+        private PlanResult(PlanCheck check, String plan) {
+            this.check = check;
+            this.plan = plan;
+            String lower = plan.toLowerCase(Locale.ROOT);
+            boolean scans = lower.contains("tablescan");
+            boolean usesRequired = check.requiredIndex == null || lower.contains(check.requiredIndex);
+            this.ok = usesRequired && (check.scanReason != null || !scans);
+        }
+
+        public PlanCheck getCheck() {
+            return check;
+        }
+
+        public String getPlan() {
+            return plan;
+        }
+
+        public boolean isOk() {
+            return ok;
+        }
+    }
+}
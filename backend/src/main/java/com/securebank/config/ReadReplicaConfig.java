@@ -0,0 +1,142 @@
+package com.securebank.config;
+
+import com.securebank.datasource.DataSourceRoute;
+import com.securebank.datasource.ReadWriteRoutingDataSource;
+import com.securebank.datasource.ReplicaHealthChecker;
+import com.securebank.datasource.ReplicaSessionFilter;
+import com.securebank.datasource.ReplicaSessionRegistry;
+import com.zaxxer.hikari.HikariDataSource;
+import org.flywaydb.core.Flyway;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read replica routing ("read-replicas" profile)
+ * The primary pool is built from spring.datasource.*, one pool per URL in
+ * banking.datasource.replicas.urls. @Transactional(readOnly = true) service
+ * methods are served by the replicas, everything else by the primary.
+ * With banking.datasource.replicas.migrate=true each replica is first
+ * migrated with the same Flyway scripts as the primary; meant for standalone
+ * local replicas, real replicas receive the schema through replication.
+ */
+@Configuration
+@Profile("read-replicas")
+public class ReadReplicaConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(ReadReplicaConfig.class);
+
+    @Value("${banking.datasource.replicas.urls}")
+    private String[] replicaUrls;
+
+    @Value("${banking.datasource.replicas.username:${spring.datasource.username}}")
+    private String replicaUsername;
+
+    @Value("${banking.datasource.replicas.password:${spring.datasource.password}}")
+    private String replicaPassword;
+
+    @Value("${banking.datasource.replicas.maximum-pool-size:10}")
+    private int replicaPoolSize;
+
+    @Value("${banking.datasource.replicas.stickiness-ms:2000}")
+    private long stickinessMillis;
+
+    @Value("${banking.datasource.replicas.lag-query:}")
+    private String lagQuery;
+
+    @Value("${banking.datasource.replicas.max-lag-seconds:5}")
+    private long maxLagSeconds;
+
+    @Value("${banking.datasource.replicas.migrate:false}")
+    private boolean migrateReplicas;
+
+    @Value("${spring.flyway.locations:classpath:db/migration}")
+    private String[] migrationLocations;
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaSessionRegistry replicaSessionRegistry() {
+        return new ReplicaSessionRegistry(stickinessMillis);
+    }
+
+    @Bean
+    public ReadWriteRoutingDataSource routingDataSource(HikariDataSource primaryDataSource,
+                                                        ReplicaSessionRegistry replicaSessionRegistry,
+                                                        DataSourceProperties properties) {
+        List<DataSourceRoute> replicas = new ArrayList<>();
+        for (int i = 0; i < replicaUrls.length; i++) {
+            if (migrateReplicas) {
+                migrate(replicaUrls[i].trim());
+            }
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("replica-" + (i + 1));
+            replica.setJdbcUrl(replicaUrls[i].trim());
+            replica.setUsername(replicaUsername);
+            replica.setPassword(replicaPassword);
+            replica.setDriverClassName(properties.determineDriverClassName());
+            replica.setMaximumPoolSize(replicaPoolSize);
+            replica.setReadOnly(true);
+            // Start even if the replica is down; the health checker keeps it out of rotation
+            replica.setInitializationFailTimeout(-1);
+            replicas.add(new DataSourceRoute(replica.getPoolName(), replica));
+        }
+        return new ReadWriteRoutingDataSource(new DataSourceRoute("primary", primaryDataSource), replicas,
+                replicaSessionRegistry);
+    }
+
+    /**
+     * Applies db/migration to a replica through its own connection (the replica pool is read-only)
+     */
+    private void migrate(String url) {
+        try {
+            Flyway.configure()
+                    .dataSource(url, replicaUsername, replicaPassword)
+                    .locations(migrationLocations)
+                    .load()
+                    .migrate();
+        } catch (RuntimeException e) {
+            // Same as an unreachable replica: start anyway, the health checker keeps it out of rotation
+            log.warn("Could not migrate replica {}", url, e);
+        }
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadWriteRoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    @Bean
+    public ReplicaHealthChecker replicaHealthChecker(ReadWriteRoutingDataSource routingDataSource,
+                                                    ReplicaSessionRegistry replicaSessionRegistry) {
+        return new ReplicaHealthChecker(routingDataSource, replicaSessionRegistry, lagQuery, maxLagSeconds, 2);
+    }
+
+    @Bean
+    public FilterRegistrationBean<ReplicaSessionFilter> replicaSessionFilter(ReplicaSessionRegistry replicaSessionRegistry) {
+        FilterRegistrationBean<ReplicaSessionFilter> registration =
+                new FilterRegistrationBean<>(new ReplicaSessionFilter(replicaSessionRegistry));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
@@ -0,0 +1,460 @@
+package com.securebank.config;
+
+import com.securebank.entity.Account;
+import com.securebank.event.AccountsBulkChangedEvent;
+import com.securebank.ledger.EntryType;
+import com.securebank.ledger.LedgerPosting;
+import com.securebank.ledger.LedgerService;
+import com.securebank.repository.IdBlockAllocator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Synthetic Data Generator for performance work (profile "datagen")
+ * Populates millions of realistic customers and accounts through parallel
+ * producer threads and batched JDBC inserts. Every chunk of customers is
+ * committed together with its checkpoint row, so an interrupted run resumes
+ * from the first missing chunk when started again with the same settings.
+ */
+@Component
+@Profile("datagen")
+public class SyntheticDataGenerator implements CommandLineRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(SyntheticDataGenerator.class);
+
+    private static final String[] FIRST_NAMES = {
+        "James", "Mary", "Robert", "Patricia", "John", "Jennifer", "Michael", "Linda", "David", "Elizabeth",
+        "William", "Barbara", "Richard", "Susan", "Joseph", "Jessica", "Thomas", "Sarah", "Charles", "Karen",
+        "Daniel", "Lisa", "Matthew", "Nancy", "Anthony", "Betty", "Mark", "Sandra", "Steven", "Ashley",
+        "Priya", "Arjun", "Wei", "Mei", "Hiroshi", "Yuki", "Carlos", "Sofia", "Ahmed", "Fatima"
+    };
+
+    private static final String[] LAST_NAMES = {
+        "Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia", "Miller", "Davis", "Rodriguez", "Martinez",
+        "Hernandez", "Lopez", "Gonzalez", "Wilson", "Anderson", "Thomas", "Taylor", "Moore", "Jackson", "Martin",
+        "Lee", "Perez", "Thompson", "White", "Harris", "Sanchez", "Clark", "Ramirez", "Lewis", "Robinson",
+        "Kumar", "Sharma", "Chen", "Wang", "Tanaka", "Sato", "Silva", "Rossi", "Khan", "Ali"
+    };
+
+    private static final String[] STREETS = {
+        "Main Street", "Oak Avenue", "Pine Road", "Elm Street", "Maple Drive", "Cedar Lane",
+        "Park Boulevard", "Lake View Road", "Hillside Avenue", "River Street", "Sunset Drive", "Church Road"
+    };
+
+    private static final String[] CITIES = {
+        "Springfield, IL 62701", "Madison, WI 53703", "Austin, TX 78701", "Denver, CO 80202",
+        "Seattle, WA 98101", "Miami, FL 33101", "Boston, MA 02108", "Phoenix, AZ 85001",
+        "Portland, OR 97201", "Atlanta, GA 30301", "Columbus, OH 43004", "Raleigh, NC 27601"
+    };
+
+    // Weighted account type mix (45% savings, 25% current, 20% checking, 10% business)
+    private static final Account.AccountType[] TYPE_WHEEL = {
+        Account.AccountType.SAVINGS, Account.AccountType.SAVINGS, Account.AccountType.SAVINGS,
+        Account.AccountType.SAVINGS, Account.AccountType.SAVINGS, Account.AccountType.SAVINGS,
+        Account.AccountType.SAVINGS, Account.AccountType.SAVINGS, Account.AccountType.SAVINGS,
+        Account.AccountType.CURRENT, Account.AccountType.CURRENT, Account.AccountType.CURRENT,
+        Account.AccountType.CURRENT, Account.AccountType.CURRENT,
+        Account.AccountType.CHECKING, Account.AccountType.CHECKING, Account.AccountType.CHECKING,
+        Account.AccountType.CHECKING,
+        Account.AccountType.BUSINESS, Account.AccountType.BUSINESS
+    };
+
+    // account_no is VARCHAR(20): prefix + 4-character run salt + 13-digit account index
+    private static final int MAX_ACCOUNT_PREFIX = 3;
+
+    private static final String INSERT_CUSTOMER =
+            "INSERT INTO customers (customer_id, name, email, mobile_number, address, created_date) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_ACCOUNT =
+            "INSERT INTO accounts (account_no, account_holder_name, account_balance, account_type, created_date, customer_id) " +
+            "VALUES (?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private LedgerService ledgerService;
+
+    @Autowired
+    private IdBlockAllocator idBlockAllocator;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${datagen.run-name:default}")
+    private String runName;
+
+    @Value("${datagen.customers:1000000}")
+    private int customers;
+
+    @Value("${datagen.max-accounts-per-customer:3}")
+    private int maxAccountsPerCustomer;
+
+    @Value("${datagen.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${datagen.batch-size:500}")
+    private int batchSize;
+
+    @Value("${datagen.threads:0}")
+    private int threads;
+
+    @Value("${datagen.history-years:8}")
+    private int historyYears;
+
+    @Value("${datagen.seed:20240101}")
+    private long seed;
+
+    @Value("${datagen.account-prefix:GEN}")
+    private String accountPrefix;
+
+    /** accountPrefix plus a salt derived from the run name, so runs never reuse account numbers */
+    private String runAccountPrefix;
+
+    /** When the run first started; created dates count back from it, so a resumed run dates rows the same way */
+    private LocalDateTime runStartedAt;
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+
+    private final AtomicLong customersInserted = new AtomicLong();
+    private final AtomicLong accountsInserted = new AtomicLong();
+    private final AtomicInteger chunksCompleted = new AtomicInteger();
+
+    @Override
+    public void run(String... args) throws Exception {
+        generate();
+    }
+
+    public void generate() throws InterruptedException {
+        if (accountPrefix.length() > MAX_ACCOUNT_PREFIX) {
+            throw new IllegalArgumentException("datagen.account-prefix must be at most " + MAX_ACCOUNT_PREFIX + " characters");
+        }
+        runAccountPrefix = accountPrefix + runSalt(runName);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        registerRun();
+
+        int totalChunks = (customers + chunkSize - 1) / chunkSize;
+        Set<Integer> completed = new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT chunk_no FROM datagen_chunks WHERE run_name = ? AND chunk_no < ?",
+                Integer.class, runName, totalChunks));
+        chunksCompleted.set(completed.size());
+
+        if (completed.size() == totalChunks) {
+            log.info("Synthetic data run '{}' already complete ({} chunks)", runName, totalChunks);
+            return;
+        }
+        if (!completed.isEmpty()) {
+            log.info("Resuming synthetic data run '{}': {}/{} chunks already committed",
+                    runName, completed.size(), totalChunks);
+        }
+
+        int threadCount = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        ExecutorService producers = Executors.newFixedThreadPool(threadCount);
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor();
+        AtomicInteger nextChunk = new AtomicInteger();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        long startNanos = System.nanoTime();
+
+        reporter.scheduleAtFixedRate(() -> reportProgress(totalChunks, startNanos, false), 5, 5, TimeUnit.SECONDS);
+        for (int t = 0; t < threadCount; t++) {
+            producers.submit(() -> {
+                int chunkNo;
+                while (failure.get() == null && (chunkNo = nextChunk.getAndIncrement()) < totalChunks) {
+                    if (completed.contains(chunkNo)) {
+                        continue;
+                    }
+                    try {
+                        insertChunk(chunkNo);
+                    } catch (RuntimeException e) {
+                        failure.compareAndSet(null, e);
+                    }
+                }
+            });
+        }
+
+        producers.shutdown();
+        producers.awaitTermination(Long.MAX_VALUE, TimeUnit.DAYS);
+        reporter.shutdownNow();
+        reportProgress(totalChunks, startNanos, true);
+
+        if (failure.get() != null) {
+            throw new IllegalStateException("Synthetic data generation failed, restart to resume run '" + runName + "'",
+                    failure.get());
+        }
+        eventPublisher.publishEvent(new AccountsBulkChangedEvent("synthetic data run " + runName));
+        log.info("Synthetic data run '{}' complete", runName);
+    }
+
+    /**
+     * Records the run's chunk size and start time on its first start and reads them back on resume.
+     * Chunk numbers checkpointed under one size name different customers under another, so resuming
+     * with a changed size would skip and duplicate rows
+     */
+    private void registerRun() {
+        List<Integer> recorded = jdbcTemplate.queryForList(
+                "SELECT chunk_size FROM datagen_runs WHERE run_name = ?", Integer.class, runName);
+        if (recorded.isEmpty()) {
+            // Whole seconds, so the value read back on resume matches the one used now
+            runStartedAt = LocalDateTime.now().withNano(0);
+            jdbcTemplate.update("INSERT INTO datagen_runs (run_name, chunk_size, started_at) VALUES (?, ?, ?)",
+                    runName, chunkSize, Timestamp.valueOf(runStartedAt));
+            return;
+        }
+        if (recorded.get(0) != chunkSize) {
+            throw new IllegalStateException("Synthetic data run '" + runName + "' was started with datagen.chunk-size=" +
+                    recorded.get(0) + ", resume it with the same chunk size or choose a new datagen.run-name");
+        }
+        runStartedAt = jdbcTemplate.queryForObject(
+                "SELECT started_at FROM datagen_runs WHERE run_name = ?", Timestamp.class, runName).toLocalDateTime();
+    }
+
+    private void insertChunk(int chunkNo) {
+        // Chunk contents depend only on (seed, chunkNo) and the run's recorded start, so a resumed run regenerates identical rows
+        Random random = new Random(seed * 1_000_003L + chunkNo);
+        int firstCustomer = chunkNo * chunkSize;
+        int count = Math.min(chunkSize, customers - firstCustomer);
+        long firstAccountIndex = (long) chunkNo * chunkSize * maxAccountsPerCustomer;
+
+        List<GeneratedCustomer> chunk = new ArrayList<>(count);
+        long accountIndex = firstAccountIndex;
+        int accountCount = 0;
+        for (int i = 0; i < count; i++) {
+            GeneratedCustomer customer = generateCustomer(firstCustomer + i, random);
+            int accounts = accountsFor(random);
+            for (int j = 0; j < accounts; j++) {
+                customer.accounts.add(generateAccount(customer, accountIndex++, random));
+            }
+            accountCount += accounts;
+            chunk.add(customer);
+        }
+
+        final int chunkAccounts = accountCount;
+        // Reserved before the chunk transaction, so the id_sequences row lock is not held during the inserts
+        long firstCustomerId = idBlockAllocator.allocate(IdBlockAllocator.CUSTOMERS, count);
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+                long[] customerIds = insertCustomers(connection, chunk, firstCustomerId);
+                insertAccounts(connection, chunk, customerIds);
+                try (PreparedStatement ps = connection.prepareStatement(
+                        "INSERT INTO datagen_chunks (run_name, chunk_no, customers, accounts, completed_at) VALUES (?, ?, ?, ?, ?)")) {
+                    ps.setString(1, runName);
+                    ps.setInt(2, chunkNo);
+                    ps.setInt(3, chunk.size());
+                    ps.setInt(4, chunkAccounts);
+                    ps.setTimestamp(5, Timestamp.valueOf(LocalDateTime.now()));
+                    ps.executeUpdate();
+                }
+                return null;
+            });
+            // Opening balances go to the ledger with the chunk's commit
+            ledgerService.post(openingPostings(chunk));
+        });
+
+        customersInserted.addAndGet(count);
+        accountsInserted.addAndGet(chunkAccounts);
+        chunksCompleted.incrementAndGet();
+    }
+
+    private long[] insertCustomers(Connection connection, List<GeneratedCustomer> chunk, long firstId) throws SQLException {
+        long[] ids = new long[chunk.size()];
+        try (PreparedStatement ps = connection.prepareStatement(INSERT_CUSTOMER)) {
+            int pending = 0;
+            for (int i = 0; i < chunk.size(); i++) {
+                GeneratedCustomer customer = chunk.get(i);
+                ids[i] = firstId + i;
+                ps.setLong(1, ids[i]);
+                ps.setString(2, customer.name);
+                ps.setString(3, customer.email);
+                ps.setString(4, customer.mobileNumber);
+                ps.setString(5, customer.address);
+                ps.setTimestamp(6, Timestamp.valueOf(customer.createdDate));
+                ps.addBatch();
+                if (++pending == batchSize) {
+                    ps.executeBatch();
+                    pending = 0;
+                }
+            }
+            if (pending > 0) {
+                ps.executeBatch();
+            }
+        }
+        return ids;
+    }
+
+    private void insertAccounts(Connection connection, List<GeneratedCustomer> chunk, long[] customerIds) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement(INSERT_ACCOUNT)) {
+            int pending = 0;
+            for (int i = 0; i < chunk.size(); i++) {
+                for (GeneratedAccount account : chunk.get(i).accounts) {
+                    ps.setString(1, account.accountNo);
+                    ps.setString(2, account.holderName);
+                    ps.setBigDecimal(3, account.balance);
+                    ps.setString(4, account.type.name());
+                    ps.setTimestamp(5, Timestamp.valueOf(account.createdDate));
+                    ps.setLong(6, customerIds[i]);
+                    ps.addBatch();
+                    if (++pending == batchSize) {
+                        ps.executeBatch();
+                        pending = 0;
+                    }
+                }
+            }
+            if (pending > 0) {
+                ps.executeBatch();
+            }
+        }
+    }
+
+    private List<LedgerPosting> openingPostings(List<GeneratedCustomer> chunk) {
+        List<LedgerPosting> postings = new ArrayList<>();
+        for (GeneratedCustomer customer : chunk) {
+            for (GeneratedAccount account : customer.accounts) {
+                LedgerPosting posting = LedgerService.balanceChange(account.accountNo, BigDecimal.ZERO, account.balance,
+                        EntryType.OPENING, "datagen " + runName);
+                if (posting != null) {
+                    postings.add(posting);
+                }
+            }
+        }
+        return postings;
+    }
+
+    private GeneratedCustomer generateCustomer(int index, Random random) {
+        String first = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+        String last = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+
+        GeneratedCustomer customer = new GeneratedCustomer();
+        customer.name = first + " " + last;
+        customer.email = (first + "." + last + "." + index + "@" + runName + ".example.com").toLowerCase();
+        customer.mobileNumber = "+1-555-" + String.format("%07d", random.nextInt(10_000_000));
+        customer.address = (1 + random.nextInt(9999)) + " " + STREETS[random.nextInt(STREETS.length)] + ", " +
+                CITIES[random.nextInt(CITIES.length)] + ", USA";
+        // Skewed towards recent sign-ups: most customers joined in the last few years
+        long historySeconds = historyYears * 365L * 24 * 3600;
+        customer.createdDate = runStartedAt
+                .minusSeconds((long) (historySeconds * Math.pow(random.nextDouble(), 1.5)));
+        return customer;
+    }
+
+    /**
+     * Four base-36 characters from the run name; String.hashCode is specified, so a resumed run gets the same salt
+     */
+    private static String runSalt(String runName) {
+        String salt = Integer.toString(Math.floorMod(runName.hashCode(), 36 * 36 * 36 * 36), 36).toUpperCase(Locale.ROOT);
+        return "0".repeat(4 - salt.length()) + salt;
+    }
+
+    private GeneratedAccount generateAccount(GeneratedCustomer customer, long accountIndex, Random random) {
+        GeneratedAccount account = new GeneratedAccount();
+        account.accountNo = runAccountPrefix + String.format("%013d", accountIndex);
+        account.holderName = customer.name;
+        account.type = TYPE_WHEEL[random.nextInt(TYPE_WHEEL.length)];
+        account.balance = balanceFor(account.type, random);
+        long sinceCustomer = Duration.between(customer.createdDate, runStartedAt).getSeconds();
+        account.createdDate = customer.createdDate.plusSeconds((long) (sinceCustomer * random.nextDouble()));
+        return account;
+    }
+
+    private int accountsFor(Random random) {
+        int roll = random.nextInt(100);
+        int accounts = roll < 8 ? 0 : roll < 58 ? 1 : roll < 88 ? 2 : 3 + random.nextInt(2);
+        return Math.min(accounts, maxAccountsPerCustomer);
+    }
+
+    // Log-normal balances: a long tail of wealthy accounts over a mass of small ones
+    private BigDecimal balanceFor(Account.AccountType type, Random random) {
+        if (random.nextInt(100) < 3) {
+            return BigDecimal.ZERO.setScale(2);
+        }
+        double median;
+        double sigma;
+        switch (type) {
+            case BUSINESS:
+                median = 40_000;
+                sigma = 1.8;
+                break;
+            case SAVINGS:
+                median = 6_000;
+                sigma = 1.5;
+                break;
+            default:
+                median = 2_500;
+                sigma = 1.2;
+        }
+        double value = Math.min(median * Math.exp(sigma * random.nextGaussian()), 999_999_999.99);
+        return BigDecimal.valueOf(Math.round(value * 100), 2);
+    }
+
+    /** Periodic reports go to debug, the final one after the producers finish to info */
+    private void reportProgress(int totalChunks, long startNanos, boolean last) {
+        if (!last && !log.isDebugEnabled()) {
+            return;
+        }
+        double seconds = Math.max(0.001, (System.nanoTime() - startNanos) / 1_000_000_000.0);
+        long inserted = customersInserted.get();
+        double rate = inserted / seconds;
+        long remaining = (long) (totalChunks - chunksCompleted.get()) * chunkSize;
+        String message = "Data generation '{}': {}/{} chunks, {} customers and {} accounts this run, {} customers/s, ETA {}";
+        Object[] args = {runName, chunksCompleted.get(), totalChunks, inserted, accountsInserted.get(), Math.round(rate),
+                rate > 0 ? Math.round(remaining / rate) + "s" : "unknown"};
+        if (last) {
+            log.info(message, args);
+        } else {
+            log.debug(message, args);
+        }
+    }
+
+    private static class GeneratedCustomer {
+        private String name;
+        private String email;
+        private String mobileNumber;
+        private String address;
+        private LocalDateTime createdDate;
+        private final List<GeneratedAccount> accounts = new ArrayList<>(4);
+    }
+
+    private static class GeneratedAccount {
+        private String accountNo;
+        private String holderName;
+        private BigDecimal balance;
+        private Account.AccountType type;
+        private LocalDateTime createdDate;
+    }
+}
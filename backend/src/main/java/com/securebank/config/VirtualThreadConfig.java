@@ -0,0 +1,41 @@
+package com.securebank.config;
+
+import com.securebank.datasource.ConnectionPermitDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+/**
+ * Virtual thread execution profile ("virtual-threads", requires Java 21)
+ * Tomcat request handling and the application task executor run on virtual
+ * threads (spring.threads.virtual.enabled); this configuration puts a
+ * pool-sized permit gate in front of the primary DataSource so that
+ * virtual threads queue for a connection on a semaphore.
+ */
+@Configuration
+@Profile("virtual-threads")
+public class VirtualThreadConfig {
+
+    @Bean
+    public static BeanPostProcessor connectionPermitPostProcessor(Environment environment) {
+        int permits = environment.getProperty("banking.datasource.max-concurrent-connections", Integer.class,
+                environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10));
+        long timeoutMillis = environment.getProperty("banking.datasource.permit-timeout-ms", Long.class,
+                environment.getProperty("spring.datasource.hikari.connection-timeout", Long.class, 30000L));
+
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if ("dataSource".equals(beanName) && bean instanceof DataSource
+                        && !(bean instanceof ConnectionPermitDataSource)) {
+                    return new ConnectionPermitDataSource((DataSource) bean, permits, timeoutMillis);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -1,15 +1,23 @@
 package com.securebank.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.securebank.dto.AccountDto;
+import com.securebank.dto.AccountPage;
+import com.securebank.dto.AccountQuery;
 import com.securebank.entity.Account;
 import com.securebank.service.AccountService;
+import com.securebank.velocity.VelocityLimitExceededException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -20,6 +28,15 @@ public class AccountController {
     @Autowired
     private AccountService accountService;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${banking.batch-get.max-ids:1000}")
+    private int batchGetMaxIds;
+
+    @Value("${banking.batch-get.chunk-size:500}")
+    private int batchGetChunkSize;
+
     @GetMapping
     public ResponseEntity<List<AccountDto>> getAllAccounts() {
         try {
@@ -30,6 +47,60 @@ public class AccountController {
         }
     }
 
+    /**
+     * Composable account search, e.g.
+     * /api/accounts/query?accountType=SAVINGS&minBalance=1000&sort=accountBalance,desc&size=50
+     * Follow nextCursor from the response to page forward.
+     */
+    @GetMapping("/query")
+    public ResponseEntity<?> queryAccounts(
+            @RequestParam(required = false) Account.AccountType accountType,
+            @RequestParam(required = false) BigDecimal minBalance,
+            @RequestParam(required = false) BigDecimal maxBalance,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate createdFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate createdTo,
+            @RequestParam(required = false) String holderNamePrefix,
+            @RequestParam(required = false) Long customerId,
+            @RequestParam(required = false) List<String> sort,
+            @RequestParam(defaultValue = "" + AccountQuery.DEFAULT_SIZE) int size,
+            @RequestParam(required = false) String cursor) {
+        try {
+            AccountQuery query = new AccountQuery();
+            query.setAccountType(accountType);
+            query.setMinBalance(minBalance);
+            query.setMaxBalance(maxBalance);
+            query.setCreatedFrom(createdFrom);
+            query.setCreatedTo(createdTo);
+            query.setHolderNamePrefix(holderNamePrefix);
+            query.setCustomerId(customerId);
+            query.setSort(sort);
+            query.setSize(size);
+            query.setCursor(cursor);
+            AccountPage page = accountService.queryAccounts(query);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Invalid query: " + e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Error querying accounts: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Looks up many account numbers at once, e.g. ["ACC000001", "ACC000002"].
+     * Streams one result per requested ID in request order, with found=false for unknown ones.
+     */
+    @PostMapping("/batch-get")
+    public ResponseEntity<?> batchGet(@RequestBody List<String> ids) {
+        String problem = BatchGetStream.validate(ids, batchGetMaxIds);
+        if (problem != null) {
+            return ResponseEntity.badRequest().body(problem);
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(BatchGetStream.of(objectMapper, ids, batchGetChunkSize, accountService::getAccountsByNumbers));
+    }
+
     @GetMapping("/{accountNo}")
     public ResponseEntity<?> getAccountByNumber(@PathVariable String accountNo) {
         try {
@@ -65,6 +136,8 @@ public class AccountController {
             // For this demo, we'll allow updating holder name and balance
             AccountDto updatedAccount = accountService.updateAccount(accountNo, accountDto);
             return ResponseEntity.ok(updatedAccount);
+        } catch (VelocityLimitExceededException e) {
+            return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(e.getMessage());
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
         } catch (Exception e) {
@@ -0,0 +1,206 @@
+package com.securebank.controller;
+
+import com.securebank.analytics.AccountColumnStore;
+import com.securebank.analytics.AccountColumns;
+import com.securebank.analytics.BalanceSketch;
+import com.securebank.entity.Account;
+import com.securebank.ledger.LedgerService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Aggregate analytics answered from the in-memory account columns
+ * instead of GROUP BY queries against the accounts table
+ */
+@RestController
+@RequestMapping("/api/analytics")
+@CrossOrigin(origins = "*")
+public class AnalyticsController {
+
+    private static final int MAX_DAYS = 3660;
+    private static final double[] PERCENTILES = {0.50, 0.90, 0.99, 0.999};
+    private static final String[] PERCENTILE_NAMES = {"p50", "p90", "p99", "p99.9"};
+
+    @Autowired
+    private AccountColumnStore accountColumnStore;
+
+    /**
+     * Account count and balance total, overall and per account type
+     */
+    @GetMapping("/totals")
+    public ResponseEntity<?> getTotals() {
+        try {
+            Map<String, Object> totals = accountColumnStore.query(columns -> {
+                long[] counts = columns.countByType();
+                long[] sums = columns.sumByType();
+                Map<String, Object> byType = new LinkedHashMap<>();
+                long totalCents = 0;
+                for (Account.AccountType type : Account.AccountType.values()) {
+                    Map<String, Object> entry = new LinkedHashMap<>();
+                    entry.put("accounts", counts[type.ordinal()]);
+                    entry.put("totalBalance", LedgerService.fromCents(sums[type.ordinal()]));
+                    byType.put(type.name(), entry);
+                    totalCents += sums[type.ordinal()];
+                }
+                Map<String, Object> result = new LinkedHashMap<>();
+                result.put("accounts", columns.size());
+                result.put("totalBalance", LedgerService.fromCents(totalCents));
+                result.put("byType", byType);
+                return result;
+            });
+            totals.put("asOf", accountColumnStore.getLoadedAt());
+            return ResponseEntity.ok(totals);
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(e.getMessage());
+        }
+    }
+
+    /**
+     * Balance histogram with power-of-two buckets, optionally for one account type
+     */
+    @GetMapping("/balance-histogram")
+    public ResponseEntity<?> getBalanceHistogram(@RequestParam(required = false) Account.AccountType accountType) {
+        try {
+            long[][] histogram = accountColumnStore.query(AccountColumns::log2HistogramByType);
+            List<Map<String, Object>> buckets = new ArrayList<>();
+            for (int bucket = 0; bucket < AccountColumns.LOG2_BUCKETS; bucket++) {
+                long count = 0;
+                for (Account.AccountType type : Account.AccountType.values()) {
+                    if (accountType == null || accountType == type) {
+                        count += histogram[type.ordinal()][bucket];
+                    }
+                }
+                if (count == 0) {
+                    continue;
+                }
+                Map<String, Object> entry = new LinkedHashMap<>();
+                entry.put("fromBalance", LedgerService.fromCents(bucket == 0 ? 0 : 1L << (bucket - 1)));
+                entry.put("toBalance", bucket == 0 ? LedgerService.fromCents(0)
+                        : bucket < 63 ? LedgerService.fromCents(1L << bucket) : null);
+                entry.put("accounts", count);
+                buckets.add(entry);
+            }
+            return ResponseEntity.ok(buckets);
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(e.getMessage());
+        }
+    }
+
+    /**
+     * Accounts opened per day in [from, to], defaulting to the last 30 days
+     */
+    @GetMapping("/created-per-day")
+    public ResponseEntity<?> getCreatedPerDay(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Account.AccountType accountType) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(29);
+        if (start.isAfter(end) || end.toEpochDay() - start.toEpochDay() >= MAX_DAYS) {
+            return ResponseEntity.badRequest().body("from must not be after to, and the range is limited to " + MAX_DAYS + " days");
+        }
+        try {
+            int typeOrdinal = accountType != null ? accountType.ordinal() : -1;
+            long[] counts = accountColumnStore.query(columns ->
+                    columns.createdPerDay((int) start.toEpochDay(), (int) end.toEpochDay(), typeOrdinal));
+            List<Map<String, Object>> days = new ArrayList<>(counts.length);
+            for (int i = 0; i < counts.length; i++) {
+                Map<String, Object> entry = new LinkedHashMap<>();
+                entry.put("date", start.plusDays(i));
+                entry.put("accounts", counts[i]);
+                days.add(entry);
+            }
+            return ResponseEntity.ok(days);
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(e.getMessage());
+        }
+    }
+
+    /**
+     * Balance distribution per account type and overall: log-scaled histogram,
+     * percentiles and concentration, read from the incrementally maintained
+     * sketches. With minBalance/maxBalance it also estimates how many accounts
+     * fall in that range.
+     */
+    @GetMapping("/balances")
+    public ResponseEntity<?> getBalanceDistribution(@RequestParam(required = false) BigDecimal minBalance,
+                                                    @RequestParam(required = false) BigDecimal maxBalance) {
+        if (minBalance != null && maxBalance != null && minBalance.compareTo(maxBalance) > 0) {
+            return ResponseEntity.badRequest().body("minBalance must not exceed maxBalance");
+        }
+        try {
+            Map<String, Object> result = accountColumnStore.querySketches(sketches -> {
+                BalanceSketch overall = new BalanceSketch(sketches[0].getRelativeAccuracy());
+                Map<String, Object> byType = new LinkedHashMap<>();
+                for (Account.AccountType type : Account.AccountType.values()) {
+                    BalanceSketch sketch = sketches[type.ordinal()];
+                    overall.merge(sketch);
+                    byType.put(type.name(), describe(sketch, minBalance, maxBalance));
+                }
+                Map<String, Object> distribution = new LinkedHashMap<>();
+                distribution.put("relativeAccuracy", overall.getRelativeAccuracy());
+                distribution.put("overall", describe(overall, minBalance, maxBalance));
+                distribution.put("byType", byType);
+                return distribution;
+            });
+            result.put("asOf", accountColumnStore.getLoadedAt());
+            return ResponseEntity.ok(result);
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(e.getMessage());
+        }
+    }
+
+    private static Map<String, Object> describe(BalanceSketch sketch, BigDecimal minBalance, BigDecimal maxBalance) {
+        Map<String, Object> description = new LinkedHashMap<>();
+        description.put("accounts", sketch.getCount());
+        description.put("totalBalance", LedgerService.fromCents(sketch.getTotalCents()));
+
+        Map<String, Object> percentiles = new LinkedHashMap<>();
+        for (int i = 0; i < PERCENTILES.length; i++) {
+            percentiles.put(PERCENTILE_NAMES[i], LedgerService.fromCents(sketch.quantile(PERCENTILES[i])));
+        }
+        description.put("percentiles", percentiles);
+
+        Map<String, Object> concentration = new LinkedHashMap<>();
+        concentration.put("top1PercentShare", round(sketch.shareOfTop(0.01)));
+        concentration.put("top10PercentShare", round(sketch.shareOfTop(0.10)));
+        concentration.put("gini", round(sketch.gini()));
+        description.put("concentration", concentration);
+
+        long[][] decades = sketch.decadeHistogram();
+        List<Map<String, Object>> histogram = new ArrayList<>();
+        for (int band = 0; band < decades[0].length; band++) {
+            if (decades[0][band] == 0) {
+                continue;
+            }
+            Map<String, Object> bucket = new LinkedHashMap<>();
+            bucket.put("fromBalance", band == 0 ? BigDecimal.ZERO : band == 1 ? new BigDecimal("0.01") : BigDecimal.TEN.pow(band - 2));
+            bucket.put("toBalance", band == 0 ? BigDecimal.ZERO : BigDecimal.TEN.pow(band - 1));
+            bucket.put("accounts", decades[0][band]);
+            bucket.put("totalBalance", LedgerService.fromCents(decades[1][band]));
+            histogram.add(bucket);
+        }
+        description.put("histogram", histogram);
+
+        if (minBalance != null || maxBalance != null) {
+            long from = minBalance != null ? LedgerService.toCents(minBalance) : 0;
+            long to = maxBalance != null ? LedgerService.toCents(maxBalance) : Long.MAX_VALUE;
+            description.put("accountsInRange", sketch.countBetween(from, to));
+        }
+        return description;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 10_000) / 10_000.0;
+    }
+}
@@ -0,0 +1,37 @@
+package com.securebank.controller;
+
+import com.securebank.anomaly.AnomalyScoringService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Alerts raised by anomaly scoring of balance updates
+ */
+@RestController
+@RequestMapping("/api/admin/anomalies")
+@CrossOrigin(origins = "*")
+public class AnomalyController {
+
+    private static final int MAX_LIMIT = 1000;
+
+    @Autowired
+    private AnomalyScoringService anomalyScoringService;
+
+    /**
+     * Most recent alerts (newest first) and pipeline counters
+     */
+    @GetMapping
+    public ResponseEntity<?> getAlerts(@RequestParam(defaultValue = "100") int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            return ResponseEntity.badRequest().body("limit must be between 1 and " + MAX_LIMIT);
+        }
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("stats", anomalyScoringService.getStats());
+        body.put("alerts", anomalyScoringService.getAlerts(limit));
+        return ResponseEntity.ok(body);
+    }
+}
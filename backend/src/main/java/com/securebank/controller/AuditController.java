@@ -0,0 +1,47 @@
+package com.securebank.controller;
+
+import com.securebank.audit.AuditTrail;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Change history of customers and accounts
+ */
+@RestController
+@RequestMapping("/api/audit")
+@CrossOrigin(origins = "*")
+public class AuditController {
+
+    private static final Set<String> ENTITY_TYPES = Set.of("customer", "account");
+    private static final int MAX_LIMIT = 1000;
+
+    @Autowired
+    private AuditTrail auditTrail;
+
+    /**
+     * Field changes of one entity, newest first, e.g. /api/audit/account/ACC000042
+     */
+    @GetMapping("/{entityType}/{entityId}")
+    public ResponseEntity<?> getHistory(@PathVariable String entityType, @PathVariable String entityId,
+                                        @RequestParam(defaultValue = "100") int limit) {
+        if (!ENTITY_TYPES.contains(entityType)) {
+            return ResponseEntity.badRequest().body("entityType must be one of " + ENTITY_TYPES);
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            return ResponseEntity.badRequest().body("limit must be between 1 and " + MAX_LIMIT);
+        }
+        return ResponseEntity.ok(auditTrail.history(entityType, entityId, limit));
+    }
+
+    /**
+     * Writer counters: received, written, spilled to file, replayed and queued records
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<Map<String, Object>> getStats() {
+        return ResponseEntity.ok(auditTrail.getStats());
+    }
+}
@@ -0,0 +1,73 @@
+package com.securebank.controller;
+
+import com.securebank.batch.AdjustmentRunStatus;
+import com.securebank.batch.BalanceAdjustmentService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.InputStream;
+import java.nio.file.Path;
+
+/**
+ * Uploads and monitors bulk balance adjustment runs
+ */
+@RestController
+@RequestMapping("/api/admin/balance-adjustments")
+@CrossOrigin(origins = "*")
+public class BalanceAdjustmentController {
+
+    @Autowired
+    private BalanceAdjustmentService balanceAdjustmentService;
+
+    /**
+     * Starts a run for an uploaded "account_no,amount" file (multipart field "file").
+     * With dryRun=true every line is validated and reported but no balance changes.
+     */
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<?> startRun(@RequestParam("file") MultipartFile file,
+                                      @RequestParam(defaultValue = "false") boolean dryRun) {
+        if (file.isEmpty()) {
+            return ResponseEntity.badRequest().body("Adjustment file is empty");
+        }
+        try (InputStream content = file.getInputStream()) {
+            AdjustmentRunStatus status = balanceAdjustmentService.start(content, file.getOriginalFilename(), dryRun);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(status);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Error starting balance adjustment: " + e.getMessage());
+        }
+    }
+
+    @GetMapping("/{runId}")
+    public ResponseEntity<?> getRun(@PathVariable String runId) {
+        try {
+            return ResponseEntity.ok(balanceAdjustmentService.getRun(runId));
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    /**
+     * Per-line outcome as CSV: APPLIED, WOULD_APPLY (dry run), REJECTED or FAILED, with balances and reason
+     */
+    @GetMapping("/{runId}/result")
+    public ResponseEntity<?> getResult(@PathVariable String runId) {
+        try {
+            Path result = balanceAdjustmentService.getResultFile(runId);
+            return ResponseEntity.ok()
+                    .contentType(new MediaType("text", "csv"))
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + result.getFileName() + "\"")
+                    .body(new FileSystemResource(result));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.securebank.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Streams a batch-get response: a JSON array with one element per requested
+ * ID, in request order, either {"id": ..., "found": true, "item": {...}} or
+ * {"id": ..., "found": false}. IDs are resolved a chunk at a time with one
+ * IN query each, and every chunk is flushed as soon as it is written, so the
+ * first results reach the client while later chunks are still being read.
+ */
+final class BatchGetStream {
+
+    private BatchGetStream() {
+    }
+
+    /**
+     * @param resolver looks up the distinct IDs of one chunk; IDs it cannot find are absent from its map
+     */
+    static <K> StreamingResponseBody of(ObjectMapper objectMapper, List<K> ids, int chunkSize,
+                                        Function<Set<K>, Map<K, ?>> resolver) {
+        return output -> {
+            try (JsonGenerator generator = objectMapper.createGenerator(output)) {
+                generator.writeStartArray();
+                for (int from = 0; from < ids.size(); from += chunkSize) {
+                    List<K> chunk = ids.subList(from, Math.min(ids.size(), from + chunkSize));
+                    Map<K, ?> found = resolver.apply(new LinkedHashSet<>(chunk));
+                    for (K id : chunk) {
+                        Object item = found.get(id);
+                        generator.writeStartObject();
+                        generator.writeObjectField("id", id);
+                        generator.writeBooleanField("found", item != null);
+                        if (item != null) {
+                            generator.writeObjectField("item", item);
+                        }
+                        generator.writeEndObject();
+                    }
+                    generator.flush();
+                }
+                generator.writeEndArray();
+            }
+        };
+    }
+
+    /**
+     * Why a list of IDs cannot be served, or null when it can
+     */
+    static String validate(List<?> ids, int maxIds) {
+        if (ids == null || ids.isEmpty() || ids.size() > maxIds) {
+            return "Between 1 and " + maxIds + " IDs per request";
+        }
+        if (ids.contains(null)) {
+            return "IDs must not be null";
+        }
+        return null;
+    }
+}
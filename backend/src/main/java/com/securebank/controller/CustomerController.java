@@ -1,14 +1,20 @@
 package com.securebank.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.securebank.entity.Customer;
 import com.securebank.service.CustomerService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import jakarta.validation.ConstraintViolationException;
 import jakarta.validation.Valid;
 import java.util.List;
+import java.util.stream.Collectors;
 
 /**
  * Customer Controller - Handles Customer Operations
@@ -22,11 +28,24 @@ import java.util.List;
 @RestController
 @RequestMapping("/api/customers")
 @CrossOrigin(origins = "*")
+@Validated
 public class CustomerController {
 
     @Autowired
     private CustomerService customerService;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${banking.batch-get.max-ids:1000}")
+    private int batchGetMaxIds;
+
+    @Value("${banking.batch-get.chunk-size:500}")
+    private int batchGetChunkSize;
+
+    @Value("${banking.batch-create.max-customers:1000}")
+    private int batchCreateMaxCustomers;
+
     /**
      * Get all customers
      */
@@ -40,6 +59,21 @@ public class CustomerController {
         }
     }
 
+    /**
+     * Looks up many customer IDs at once, e.g. [1, 2, 3].
+     * Streams one result per requested ID in request order, with found=false for unknown ones.
+     */
+    @PostMapping("/batch-get")
+    public ResponseEntity<?> batchGet(@RequestBody List<Long> ids) {
+        String problem = BatchGetStream.validate(ids, batchGetMaxIds);
+        if (problem != null) {
+            return ResponseEntity.badRequest().body(problem);
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(BatchGetStream.of(objectMapper, ids, batchGetChunkSize, customerService::getCustomersByIds));
+    }
+
     /**
      * Retrieve a Customer against its ID
      * Requirement: "Retrieve a Customer against its ID"
@@ -78,6 +112,27 @@ public class CustomerController {
         }
     }
 
+    /**
+     * ADD several Customers at once (at most banking.batch-create.max-customers), inserted in JDBC batches.
+     * Every customer is validated like a single create; one invalid entry rejects the request.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<?> createCustomers(@Valid @RequestBody List<@Valid Customer> customers) {
+        if (customers.isEmpty() || customers.size() > batchCreateMaxCustomers) {
+            return ResponseEntity.badRequest()
+                    .body("Validation error: between 1 and " + batchCreateMaxCustomers + " customers per request");
+        }
+        try {
+            List<Customer> savedCustomers = customerService.createCustomers(customers);
+            return ResponseEntity.status(HttpStatus.CREATED).body(savedCustomers);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Validation error: " + e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Error creating customers: " + e.getMessage());
+        }
+    }
+
     /**
      * Update the details of Customer except ID
      * Requirement: "Update the details of Customer except ID"
@@ -146,4 +201,15 @@ public class CustomerController {
             return ResponseEntity.ok(false);
         }
     }
+
+    /**
+     * Element constraints of the batch body, checked by method validation
+     */
+    @ExceptionHandler(ConstraintViolationException.class)
+    public ResponseEntity<?> handleConstraintViolation(ConstraintViolationException e) {
+        return ResponseEntity.badRequest().body("Validation error: " + e.getConstraintViolations().stream()
+                .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; ")));
+    }
 }
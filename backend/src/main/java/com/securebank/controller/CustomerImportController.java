@@ -0,0 +1,78 @@
+package com.securebank.controller;
+
+import com.securebank.batch.CustomerImportService;
+import com.securebank.batch.CustomerImportStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Starts and monitors bulk customer imports from files in the import directory
+ */
+@RestController
+@RequestMapping("/api/admin/customer-imports")
+@CrossOrigin(origins = "*")
+public class CustomerImportController {
+
+    @Autowired
+    private CustomerImportService customerImportService;
+
+    /**
+     * Starts importing a CSV or NDJSON file, e.g. ?file=legacy/customers.csv
+     * (relative to banking.import.directory). Poll the returned import for progress.
+     */
+    @PostMapping
+    public ResponseEntity<?> startImport(@RequestParam String file, @RequestParam(required = false) String format) {
+        try {
+            CustomerImportStatus status = customerImportService.start(file, format);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(status);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Error starting customer import: " + e.getMessage());
+        }
+    }
+
+    @GetMapping
+    public ResponseEntity<List<CustomerImportStatus>> getImports() {
+        return ResponseEntity.ok(customerImportService.getImports());
+    }
+
+    /**
+     * Progress: rows read, inserted and rejected, rows per second and share of the file read
+     */
+    @GetMapping("/{importId}")
+    public ResponseEntity<?> getImport(@PathVariable String importId) {
+        try {
+            return ResponseEntity.ok(customerImportService.getImport(importId));
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    /**
+     * Rejected rows as CSV: line number, reason and the row as read
+     */
+    @GetMapping("/{importId}/rejected")
+    public ResponseEntity<?> getRejectedRows(@PathVariable String importId) {
+        try {
+            Path report = customerImportService.getRejectedReport(importId);
+            return ResponseEntity.ok()
+                    .contentType(new MediaType("text", "csv"))
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + report.getFileName() + "\"")
+                    .body(new FileSystemResource(report));
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+}
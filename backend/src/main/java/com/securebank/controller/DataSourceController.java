@@ -0,0 +1,43 @@
+package com.securebank.controller;
+
+import com.securebank.datasource.DataSourceRoute;
+import com.securebank.datasource.ReadWriteRoutingDataSource;
+import com.securebank.datasource.ReplicaSessionRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-route pool metrics of the read/write routing datasource
+ */
+@RestController
+@RequestMapping("/api/admin/datasources")
+@CrossOrigin(origins = "*")
+@Profile("read-replicas")
+public class DataSourceController {
+
+    @Autowired
+    private ReadWriteRoutingDataSource routingDataSource;
+
+    @Autowired
+    private ReplicaSessionRegistry replicaSessionRegistry;
+
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> getRoutes() {
+        List<Map<String, Object>> routes = new ArrayList<>();
+        for (DataSourceRoute route : routingDataSource.getRoutes()) {
+            routes.add(route.metrics());
+        }
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("routes", routes);
+        body.put("stickySessions", replicaSessionRegistry.getStickySessions());
+        return ResponseEntity.ok(body);
+    }
+}
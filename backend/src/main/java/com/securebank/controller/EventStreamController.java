@@ -0,0 +1,42 @@
+package com.securebank.controller;
+
+import com.securebank.event.ChangeEventHub;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Server-sent change feed for the admin UI (replaces list and dashboard polling)
+ */
+@RestController
+@RequestMapping("/api/events")
+@CrossOrigin(origins = "*")
+public class EventStreamController {
+
+    @Autowired
+    private ChangeEventHub changeEventHub;
+
+    /**
+     * Browsers send Last-Event-ID on automatic reconnects; the lastEventId
+     * parameter covers clients that open a fresh EventSource after a reload
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventIdHeader,
+                             @RequestParam(value = "lastEventId", required = false) String lastEventIdParam) {
+        String lastEventId = lastEventIdHeader != null ? lastEventIdHeader : lastEventIdParam;
+        return changeEventHub.subscribe(parseEventId(lastEventId));
+    }
+
+    private Long parseEventId(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            // Unknown id format, start from now and let the client resync
+            return 0L;
+        }
+    }
+}
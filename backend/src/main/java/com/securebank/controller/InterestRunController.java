@@ -0,0 +1,53 @@
+package com.securebank.controller;
+
+import com.securebank.batch.InterestAccrualService;
+import com.securebank.batch.InterestRunStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Starts and monitors interest accrual runs
+ */
+@RestController
+@RequestMapping("/api/admin/interest-runs")
+@CrossOrigin(origins = "*")
+public class InterestRunController {
+
+    @Autowired
+    private InterestAccrualService interestAccrualService;
+
+    /**
+     * Starts (or resumes) the run for a month, yyyy-MM, defaulting to the previous month.
+     * Repeating the call for a completed month returns that run without paying interest again.
+     */
+    @PostMapping
+    public ResponseEntity<?> startRun(@RequestParam(required = false) String period) {
+        try {
+            YearMonth month = period != null ? YearMonth.parse(period) : YearMonth.now().minusMonths(1);
+            if (!month.isBefore(YearMonth.now())) {
+                return ResponseEntity.badRequest().body("Interest can only be accrued for completed months");
+            }
+            InterestRunStatus run = interestAccrualService.startRun(month);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(run);
+        } catch (DateTimeParseException e) {
+            return ResponseEntity.badRequest().body("Invalid period, expected yyyy-MM: " + period);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Error starting interest run: " + e.getMessage());
+        }
+    }
+
+    @GetMapping("/{runId}")
+    public ResponseEntity<?> getRun(@PathVariable String runId) {
+        try {
+            return ResponseEntity.ok(interestAccrualService.getRun(runId));
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.securebank.controller;
+
+import com.securebank.entity.Account;
+import com.securebank.ledger.LedgerService;
+import com.securebank.metrics.SystemTotalsRecorder;
+import com.securebank.metrics.TimeSeriesStore.Resolution;
+import com.securebank.metrics.TotalsSample;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * History of system totals recorded by SystemTotalsRecorder
+ */
+@RestController
+@RequestMapping("/api/metrics")
+@CrossOrigin(origins = "*")
+public class MetricsController {
+
+    private static final Duration RAW_UP_TO = Duration.ofDays(2);
+    private static final Duration HOURLY_UP_TO = Duration.ofDays(93);
+
+    @Autowired
+    private SystemTotalsRecorder systemTotalsRecorder;
+
+    /**
+     * Samples in [from, to], defaulting to the last 24 hours. resolution is
+     * raw, hour, day or auto (raw up to 2 days, hourly up to 93 days, daily beyond).
+     */
+    @GetMapping("/history")
+    public ResponseEntity<?> getHistory(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            @RequestParam(defaultValue = "auto") String resolution) {
+        Instant end = to != null ? to : Instant.now();
+        Instant start = from != null ? from : end.minus(Duration.ofDays(1));
+        if (start.isAfter(end)) {
+            return ResponseEntity.badRequest().body("from must not be after to");
+        }
+        Resolution tier;
+        switch (resolution.toLowerCase()) {
+            case "raw" -> tier = Resolution.RAW;
+            case "hour" -> tier = Resolution.HOURLY;
+            case "day" -> tier = Resolution.DAILY;
+            case "auto" -> {
+                Duration range = Duration.between(start, end);
+                tier = range.compareTo(RAW_UP_TO) <= 0 ? Resolution.RAW
+                        : range.compareTo(HOURLY_UP_TO) <= 0 ? Resolution.HOURLY : Resolution.DAILY;
+            }
+            default -> {
+                return ResponseEntity.badRequest().body("resolution must be raw, hour, day or auto");
+            }
+        }
+
+        try {
+            List<TotalsSample> samples = systemTotalsRecorder.history(tier, start.toEpochMilli(), end.toEpochMilli());
+            List<Map<String, Object>> points = new ArrayList<>(samples.size());
+            for (TotalsSample sample : samples) {
+                points.add(toPoint(sample));
+            }
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("resolution", tier.name());
+            result.put("from", start);
+            result.put("to", end);
+            result.put("points", points);
+            return ResponseEntity.ok(result);
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(e.getMessage());
+        } catch (IOException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Error reading metrics history: " + e.getMessage());
+        }
+    }
+
+    private static Map<String, Object> toPoint(TotalsSample sample) {
+        Map<String, Object> byType = new LinkedHashMap<>();
+        for (Account.AccountType type : Account.AccountType.values()) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("accounts", sample.getAccounts(type.ordinal()));
+            entry.put("totalBalance", LedgerService.fromCents(sample.getCents(type.ordinal())));
+            byType.put(type.name(), entry);
+        }
+        Map<String, Object> point = new LinkedHashMap<>();
+        point.put("timestamp", Instant.ofEpochMilli(sample.getTimestampMillis()));
+        point.put("customers", sample.getCustomers());
+        point.put("accounts", sample.getTotalAccounts());
+        point.put("totalBalance", LedgerService.fromCents(sample.getTotalCents()));
+        point.put("byType", byType);
+        return point;
+    }
+}
@@ -0,0 +1,32 @@
+package com.securebank.controller;
+
+import com.securebank.outbox.OutboxRelayService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Transactional outbox backlog and relay counters
+ */
+@RestController
+@RequestMapping("/api/admin/outbox")
+@CrossOrigin(origins = "*")
+public class OutboxController {
+
+    @Autowired
+    private OutboxRelayService outboxRelayService;
+
+    /**
+     * Pending events, age of the oldest one, and this node's delivered and failed counts
+     */
+    @GetMapping
+    public ResponseEntity<?> getStats() {
+        try {
+            return ResponseEntity.ok(outboxRelayService.getStats());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Error reading outbox stats: " + e.getMessage());
+        }
+    }
+}
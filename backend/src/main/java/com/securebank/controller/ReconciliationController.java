@@ -0,0 +1,70 @@
+package com.securebank.controller;
+
+import com.securebank.batch.ReconciliationRunStatus;
+import com.securebank.batch.ReconciliationService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.nio.file.Path;
+
+/**
+ * Starts and monitors ledger-vs-balance reconciliation runs
+ */
+@RestController
+@RequestMapping("/api/admin/reconciliation-runs")
+@CrossOrigin(origins = "*")
+public class ReconciliationController {
+
+    @Autowired
+    private ReconciliationService reconciliationService;
+
+    /**
+     * Starts a run, mode=full or incremental (accounts changed since the last clean run; full if there is none)
+     */
+    @PostMapping
+    public ResponseEntity<?> startRun(@RequestParam(defaultValue = "incremental") String mode) {
+        try {
+            ReconciliationRunStatus.Mode runMode = ReconciliationRunStatus.Mode.valueOf(mode.toUpperCase());
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(reconciliationService.start(runMode));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Invalid mode, expected full or incremental: " + mode);
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Error starting reconciliation: " + e.getMessage());
+        }
+    }
+
+    @GetMapping("/{runId}")
+    public ResponseEntity<?> getRun(@PathVariable String runId) {
+        try {
+            return ResponseEntity.ok(reconciliationService.getRun(runId));
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    /**
+     * Discrepancies as CSV: account_no, table_balance, ledger_balance, difference, issue
+     */
+    @GetMapping("/{runId}/report")
+    public ResponseEntity<?> getReport(@PathVariable String runId) {
+        try {
+            Path report = reconciliationService.getReport(runId);
+            return ResponseEntity.ok()
+                    .contentType(new MediaType("text", "csv"))
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + report.getFileName() + "\"")
+                    .body(new FileSystemResource(report));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+}
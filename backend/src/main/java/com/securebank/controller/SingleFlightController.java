@@ -0,0 +1,36 @@
+package com.securebank.controller;
+
+import com.securebank.singleflight.SingleFlight;
+import com.securebank.singleflight.SingleFlightStats;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Per-method counters of the request coalescing layer
+ */
+@RestController
+@RequestMapping("/api/admin/single-flight")
+@CrossOrigin(origins = "*")
+public class SingleFlightController {
+
+    @Autowired
+    private SingleFlight singleFlight;
+
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> getStats() {
+        Map<String, Object> methods = new LinkedHashMap<>();
+        for (Map.Entry<String, SingleFlightStats> entry : singleFlight.getStats().entrySet()) {
+            methods.put(entry.getKey(), entry.getValue().metrics());
+        }
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("enabled", singleFlight.isEnabled());
+        body.put("ttlMs", singleFlight.getTtlMs());
+        body.put("methods", methods);
+        return ResponseEntity.ok(body);
+    }
+}
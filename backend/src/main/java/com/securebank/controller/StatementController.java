@@ -0,0 +1,99 @@
+package com.securebank.controller;
+
+import com.securebank.statement.StatementAccount;
+import com.securebank.statement.StatementFormat;
+import com.securebank.statement.StatementService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+/**
+ * Monthly statements for one account or for all accounts of a customer,
+ * streamed as CSV (default) or plain text
+ */
+@RestController
+@RequestMapping("/api/statements")
+@CrossOrigin(origins = "*")
+public class StatementController {
+
+    @Autowired
+    private StatementService statementService;
+
+    /**
+     * e.g. /api/statements/accounts/ACC1001?period=2026-09&format=text; period defaults to the previous month
+     */
+    @GetMapping("/accounts/{accountNo}")
+    public ResponseEntity<?> getAccountStatement(@PathVariable String accountNo,
+                                                 @RequestParam(required = false) String period,
+                                                 @RequestParam(required = false) String format) {
+        try {
+            YearMonth month = parsePeriod(period);
+            StatementFormat statementFormat = StatementFormat.parse(format);
+            statementService.checkPeriod(month);
+            StatementAccount account = statementService.getAccount(accountNo);
+            return stream(List.of(account), month, statementFormat, accountNo);
+        } catch (DateTimeParseException e) {
+            return ResponseEntity.badRequest().body("Invalid period, expected yyyy-MM: " + period);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    /**
+     * One statement per account of the customer, ordered by account number
+     */
+    @GetMapping("/customers/{customerId}")
+    public ResponseEntity<?> getCustomerStatements(@PathVariable Long customerId,
+                                                   @RequestParam(required = false) String period,
+                                                   @RequestParam(required = false) String format) {
+        try {
+            YearMonth month = parsePeriod(period);
+            StatementFormat statementFormat = StatementFormat.parse(format);
+            statementService.checkPeriod(month);
+            List<StatementAccount> accounts = statementService.getCustomerAccounts(customerId);
+            return stream(accounts, month, statementFormat, "customer-" + customerId);
+        } catch (DateTimeParseException e) {
+            return ResponseEntity.badRequest().body("Invalid period, expected yyyy-MM: " + period);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    private ResponseEntity<StreamingResponseBody> stream(List<StatementAccount> accounts, YearMonth period,
+                                                         StatementFormat format, String name) {
+        StreamingResponseBody body = output -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+            statementService.write(accounts, period, format, writer);
+            writer.flush();
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getContentType() + ";charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "inline; filename=\"" + name + "-" + period + "." + format.getExtension() + "\"")
+                .body(body);
+    }
+
+    static YearMonth parsePeriod(String period) {
+        return period != null ? YearMonth.parse(period) : YearMonth.now().minusMonths(1);
+    }
+}
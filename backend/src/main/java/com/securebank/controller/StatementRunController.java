@@ -0,0 +1,54 @@
+package com.securebank.controller;
+
+import com.securebank.statement.StatementFormat;
+import com.securebank.statement.StatementRunStatus;
+import com.securebank.statement.StatementService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.format.DateTimeParseException;
+
+/**
+ * Starts and monitors bulk statement runs, which write every statement of a month to files
+ */
+@RestController
+@RequestMapping("/api/admin/statement-runs")
+@CrossOrigin(origins = "*")
+public class StatementRunController {
+
+    @Autowired
+    private StatementService statementService;
+
+    /**
+     * Renders all statements for a completed month, yyyy-MM (default: the previous month), as csv or text
+     */
+    @PostMapping
+    public ResponseEntity<?> startRun(@RequestParam(required = false) String period,
+                                      @RequestParam(required = false) String format) {
+        try {
+            StatementRunStatus run = statementService.start(StatementController.parsePeriod(period),
+                    StatementFormat.parse(format));
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(run);
+        } catch (DateTimeParseException e) {
+            return ResponseEntity.badRequest().body("Invalid period, expected yyyy-MM: " + period);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Error starting statement run: " + e.getMessage());
+        }
+    }
+
+    @GetMapping("/{runId}")
+    public ResponseEntity<?> getRun(@PathVariable String runId) {
+        try {
+            return ResponseEntity.ok(statementService.getRun(runId));
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.securebank.controller;
+
+import com.securebank.dto.AccountDto;
+import com.securebank.service.AccountService;
+import com.securebank.velocity.VelocityLimitService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Velocity limit usage per account
+ */
+@RestController
+@RequestMapping("/api/admin/velocity")
+@CrossOrigin(origins = "*")
+public class VelocityController {
+
+    @Autowired
+    private VelocityLimitService velocityLimitService;
+
+    @Autowired
+    private AccountService accountService;
+
+    /**
+     * How much the account moved in the last hour and day, against its type's limits
+     */
+    @GetMapping("/{accountNo}")
+    public ResponseEntity<?> getUsage(@PathVariable String accountNo) {
+        try {
+            AccountDto account = accountService.getAccountByNumber(accountNo);
+            return ResponseEntity.ok(velocityLimitService.getUsage(accountNo, account.getAccountType()));
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.securebank.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * One routing target (the primary or a replica) with its pool, health and counters
+ */
+public class DataSourceRoute {
+
+    private final String name;
+    private final HikariDataSource dataSource;
+    private final LongAdder routedConnections = new LongAdder();
+    private volatile boolean healthy = true;
+    private volatile long lagSeconds;
+
+    public DataSourceRoute(String name, HikariDataSource dataSource) {
+        this.name = name;
+        this.dataSource = dataSource;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public HikariDataSource getDataSource() {
+        return dataSource;
+    }
+
+    public boolean isHealthy() {
+        return healthy;
+    }
+
+    public void setHealthy(boolean healthy) {
+        this.healthy = healthy;
+    }
+
+    public long getLagSeconds() {
+        return lagSeconds;
+    }
+
+    public void setLagSeconds(long lagSeconds) {
+        this.lagSeconds = lagSeconds;
+    }
+
+    public void recordRouted() {
+        routedConnections.increment();
+    }
+
+    public Map<String, Object> metrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("route", name);
+        metrics.put("healthy", healthy);
+        metrics.put("lagSeconds", lagSeconds);
+        metrics.put("routedConnections", routedConnections.sum());
+
+        HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+        if (pool != null) {
+            metrics.put("activeConnections", pool.getActiveConnections());
+            metrics.put("idleConnections", pool.getIdleConnections());
+            metrics.put("totalConnections", pool.getTotalConnections());
+            metrics.put("threadsAwaitingConnection", pool.getThreadsAwaitingConnection());
+        }
+        metrics.put("maximumPoolSize", dataSource.getMaximumPoolSize());
+        return metrics;
+    }
+}
@@ -0,0 +1,107 @@
+package com.securebank.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Routes read-only transactions to a healthy replica (round robin) and everything else
+ * to the primary. Reads fall back to the primary when every replica is unhealthy or
+ * when the session wrote recently (read-your-writes).
+ *
+ * Must sit behind a LazyConnectionDataSourceProxy: the transaction's read-only flag
+ * is only published after the transaction manager has begun the transaction.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    private final DataSourceRoute primary;
+    private final List<DataSourceRoute> replicas;
+    private final ReplicaSessionRegistry sessions;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    public ReadWriteRoutingDataSource(DataSourceRoute primary, List<DataSourceRoute> replicas,
+                                      ReplicaSessionRegistry sessions) {
+        this.primary = primary;
+        this.replicas = new ArrayList<>(replicas);
+        this.sessions = sessions;
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(primary.getName(), primary.getDataSource());
+        for (DataSourceRoute replica : replicas) {
+            targets.put(replica.getName(), replica.getDataSource());
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary.getDataSource());
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        DataSourceRoute route = selectRoute();
+        route.recordRouted();
+        return route.getName();
+    }
+
+    private DataSourceRoute selectRoute() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            markWrite();
+            return primary;
+        }
+        if (sessions.mustReadFromPrimary() || replicas.isEmpty()) {
+            return primary;
+        }
+
+        int size = replicas.size();
+        int start = Math.floorMod(nextReplica.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            DataSourceRoute replica = replicas.get((start + i) % size);
+            if (replica.isHealthy()) {
+                return replica;
+            }
+        }
+        return primary;
+    }
+
+    private void markWrite() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // Stickiness starts when the write becomes visible, i.e. at commit
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    sessions.recordWrite();
+                }
+            });
+        } else {
+            sessions.recordWrite();
+        }
+    }
+
+    public DataSourceRoute getPrimary() {
+        return primary;
+    }
+
+    public List<DataSourceRoute> getReplicas() {
+        return replicas;
+    }
+
+    public List<DataSourceRoute> getRoutes() {
+        List<DataSourceRoute> routes = new ArrayList<>(replicas.size() + 1);
+        routes.add(primary);
+        routes.addAll(replicas);
+        return routes;
+    }
+
+    public void close() {
+        for (DataSourceRoute route : getRoutes()) {
+            route.getDataSource().close();
+        }
+    }
+}
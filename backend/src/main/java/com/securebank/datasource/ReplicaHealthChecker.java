@@ -0,0 +1,78 @@
+package com.securebank.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Periodically validates every replica and takes it out of rotation when it is
+ * unreachable or, if a lag query is configured, lagging more than the allowed
+ * seconds behind the primary. Reads fail over to the primary meanwhile.
+ */
+public class ReplicaHealthChecker {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaHealthChecker.class);
+
+    private final ReadWriteRoutingDataSource routingDataSource;
+    private final ReplicaSessionRegistry sessions;
+    private final String lagQuery;
+    private final long maxLagSeconds;
+    private final int validationTimeoutSeconds;
+
+    public ReplicaHealthChecker(ReadWriteRoutingDataSource routingDataSource, ReplicaSessionRegistry sessions,
+                                String lagQuery, long maxLagSeconds, int validationTimeoutSeconds) {
+        this.routingDataSource = routingDataSource;
+        this.sessions = sessions;
+        this.lagQuery = lagQuery;
+        this.maxLagSeconds = maxLagSeconds;
+        this.validationTimeoutSeconds = validationTimeoutSeconds;
+    }
+
+    @Scheduled(fixedDelayString = "${banking.datasource.replicas.health-check-interval-ms:5000}")
+    public void checkReplicas() {
+        for (DataSourceRoute replica : routingDataSource.getReplicas()) {
+            boolean healthy = check(replica);
+            if (healthy != replica.isHealthy()) {
+                if (healthy) {
+                    log.info("Replica {} is healthy again, back in rotation", replica.getName());
+                } else {
+                    log.warn("Replica {} failed its health check, reads fail over", replica.getName());
+                }
+            }
+            replica.setHealthy(healthy);
+        }
+        sessions.evictExpired();
+    }
+
+    private boolean check(DataSourceRoute replica) {
+        try (Connection connection = replica.getDataSource().getConnection()) {
+            if (!connection.isValid(validationTimeoutSeconds)) {
+                return false;
+            }
+            if (lagQuery == null || lagQuery.isBlank()) {
+                return true;
+            }
+            try (Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery(lagQuery)) {
+                if (!resultSet.next()) {
+                    return false;
+                }
+                long lag = resultSet.getLong(1);
+                if (resultSet.wasNull()) {
+                    // NULL lag means replication is not running
+                    return false;
+                }
+                replica.setLagSeconds(lag);
+                return lag <= maxLagSeconds;
+            }
+        } catch (SQLException | RuntimeException e) {
+            log.debug("Health check of replica {} failed: {}", replica.getName(), e.getMessage());
+            return false;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.securebank.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Binds the client session key used for read-your-writes stickiness.
+ * The API is stateless, so the session is identified by the bearer token,
+ * an explicit X-Client-Session header, or failing both the client address.
+ */
+public class ReplicaSessionFilter extends OncePerRequestFilter {
+
+    private final ReplicaSessionRegistry registry;
+
+    public ReplicaSessionFilter(ReplicaSessionRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        registry.bind(sessionKey(request));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            registry.unbind();
+        }
+    }
+
+    private String sessionKey(HttpServletRequest request) {
+        String authorization = request.getHeader("Authorization");
+        if (authorization != null && authorization.startsWith("Bearer ")) {
+            return "token:" + authorization.substring(7).hashCode();
+        }
+        String clientSession = request.getHeader("X-Client-Session");
+        if (clientSession != null && !clientSession.isBlank()) {
+            return "client:" + clientSession;
+        }
+        return "addr:" + request.getRemoteAddr();
+    }
+}
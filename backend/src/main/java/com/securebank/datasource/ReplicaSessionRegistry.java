@@ -0,0 +1,58 @@
+package com.securebank.datasource;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Remembers when each client session last committed a write, so that its reads
+ * stay on the primary until the replicas have had time to catch up
+ * (read-your-writes). The session key is bound to the request thread by
+ * {@link ReplicaSessionFilter}.
+ */
+public class ReplicaSessionRegistry {
+
+    private static final ThreadLocal<String> CURRENT_SESSION = new ThreadLocal<>();
+
+    private final ConcurrentHashMap<String, Long> lastWriteNanos = new ConcurrentHashMap<>();
+    private final long stickinessNanos;
+
+    public ReplicaSessionRegistry(long stickinessMillis) {
+        this.stickinessNanos = TimeUnit.MILLISECONDS.toNanos(stickinessMillis);
+    }
+
+    public void bind(String sessionKey) {
+        CURRENT_SESSION.set(sessionKey);
+    }
+
+    public void unbind() {
+        CURRENT_SESSION.remove();
+    }
+
+    public void recordWrite() {
+        String session = CURRENT_SESSION.get();
+        if (session != null) {
+            lastWriteNanos.put(session, System.nanoTime());
+        }
+    }
+
+    public boolean mustReadFromPrimary() {
+        String session = CURRENT_SESSION.get();
+        if (session == null) {
+            return false;
+        }
+        Long lastWrite = lastWriteNanos.get(session);
+        return lastWrite != null && System.nanoTime() - lastWrite < stickinessNanos;
+    }
+
+    /**
+     * Drop sessions whose stickiness window has passed
+     */
+    public void evictExpired() {
+        long now = System.nanoTime();
+        lastWriteNanos.values().removeIf(lastWrite -> now - lastWrite >= stickinessNanos);
+    }
+
+    public int getStickySessions() {
+        return lastWriteNanos.size();
+    }
+}
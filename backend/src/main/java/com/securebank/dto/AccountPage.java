@@ -0,0 +1,38 @@
+package com.securebank.dto;
+
+import java.util.List;
+
+/**
+ * One keyset page of GET /api/accounts/query. Pass nextCursor back as
+ * cursor (with the same filters and sort) to fetch the following page.
+ */
+public class AccountPage {
+
+    private final List<AccountDto> items;
+    private final String nextCursor;
+    private final boolean hasMore;
+    private final List<String> sort;
+
+    public AccountPage(List<AccountDto> items, String nextCursor, boolean hasMore, List<String> sort) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.hasMore = hasMore;
+        this.sort = sort;
+    }
+
+    public List<AccountDto> getItems() {
+        return items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public List<String> getSort() {
+        return sort;
+    }
+}
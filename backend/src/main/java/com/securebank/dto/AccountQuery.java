@@ -0,0 +1,113 @@
+package com.securebank.dto;
+
+import com.securebank.entity.Account;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Filters, sort and page position for GET /api/accounts/query.
+ * Every filter is optional; the ones that are set are combined with AND.
+ */
+public class AccountQuery {
+
+    public static final int DEFAULT_SIZE = 50;
+    public static final int MAX_SIZE = 500;
+
+    private Account.AccountType accountType;
+    private BigDecimal minBalance;
+    private BigDecimal maxBalance;
+    private LocalDate createdFrom;
+    private LocalDate createdTo;
+    private String holderNamePrefix;
+    private Long customerId;
+    private List<String> sort = new ArrayList<>();
+    private int size = DEFAULT_SIZE;
+    private String cursor;
+
+    public Account.AccountType getAccountType() {
+        return accountType;
+    }
+
+    public void setAccountType(Account.AccountType accountType) {
+        this.accountType = accountType;
+    }
+
+    public BigDecimal getMinBalance() {
+        return minBalance;
+    }
+
+    public void setMinBalance(BigDecimal minBalance) {
+        this.minBalance = minBalance;
+    }
+
+    public BigDecimal getMaxBalance() {
+        return maxBalance;
+    }
+
+    public void setMaxBalance(BigDecimal maxBalance) {
+        this.maxBalance = maxBalance;
+    }
+
+    /** Inclusive */
+    public LocalDate getCreatedFrom() {
+        return createdFrom;
+    }
+
+    public void setCreatedFrom(LocalDate createdFrom) {
+        this.createdFrom = createdFrom;
+    }
+
+    /** Inclusive (the whole day) */
+    public LocalDate getCreatedTo() {
+        return createdTo;
+    }
+
+    public void setCreatedTo(LocalDate createdTo) {
+        this.createdTo = createdTo;
+    }
+
+    public String getHolderNamePrefix() {
+        return holderNamePrefix;
+    }
+
+    public void setHolderNamePrefix(String holderNamePrefix) {
+        this.holderNamePrefix = holderNamePrefix;
+    }
+
+    public Long getCustomerId() {
+        return customerId;
+    }
+
+    public void setCustomerId(Long customerId) {
+        this.customerId = customerId;
+    }
+
+    /** Entries of the form "property" or "property,asc|desc", most significant first */
+    public List<String> getSort() {
+        return sort;
+    }
+
+    public void setSort(List<String> sort) {
+        this.sort = sort != null ? sort : new ArrayList<>();
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    /** Opaque position returned as nextCursor by the previous page */
+    public String getCursor() {
+        return cursor;
+    }
+
+    public void setCursor(String cursor) {
+        this.cursor = cursor;
+    }
+}
@@ -19,7 +19,7 @@ import java.time.LocalDateTime;
  * - Type of Account (Saving, Current etc.)
  */
 @Entity
-@Table(name = "accounts")
+@Table(name = "accounts") // indexes: db/migration/V2__repository_indexes.sql
 public class Account {
     
     @Id
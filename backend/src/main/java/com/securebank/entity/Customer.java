@@ -1,10 +1,15 @@
 package com.securebank.entity;
 
 import com.fasterxml.jackson.annotation.JsonManagedReference;
+import com.securebank.repository.IdBlockAllocator;
+import com.securebank.repository.ReservedIdTableGenerator;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.TableGenerator;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -17,8 +22,16 @@ import java.util.List;
 @Table(name = "customers")
 public class Customer {
     
+    // IDs from id_sequences (shared with IdBlockAllocator), so inserts can be batched. CustomerService
+    // reserves them before its transaction; otherwise blocks of 50 come from an isolated connection
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "customer_ids")
+    @GenericGenerator(name = "customer_ids", type = ReservedIdTableGenerator.class, parameters = {
+            @Parameter(name = TableGenerator.TABLE_PARAM, value = "id_sequences"),
+            @Parameter(name = TableGenerator.SEGMENT_COLUMN_PARAM, value = "sequence_name"),
+            @Parameter(name = TableGenerator.VALUE_COLUMN_PARAM, value = "next_val"),
+            @Parameter(name = TableGenerator.SEGMENT_VALUE_PARAM, value = IdBlockAllocator.CUSTOMERS),
+            @Parameter(name = TableGenerator.INCREMENT_PARAM, value = "50")})
     @Column(name = "customer_id")
     private Long customerId;
     
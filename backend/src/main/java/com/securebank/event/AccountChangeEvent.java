@@ -0,0 +1,122 @@
+package com.securebank.event;
+
+import com.securebank.entity.Account;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Application event published by AccountService whenever an account is
+ * created, updated or deleted. Listeners that must only see committed
+ * changes use @TransactionalEventListener (AFTER_COMMIT).
+ */
+public class AccountChangeEvent {
+
+    public enum ChangeType {
+        CREATED, UPDATED, DELETED
+    }
+
+    private final ChangeType changeType;
+    private final String accountNo;
+    private final Account.AccountType accountType;
+    private final Long customerId;
+    private final String accountHolderName;
+    private final BigDecimal previousBalance;
+    private final BigDecimal newBalance;
+    private final LocalDateTime createdDate;
+    private final LocalDateTime occurredAt;
+
+    public AccountChangeEvent(ChangeType changeType, String accountNo, Account.AccountType accountType,
+                              Long customerId, String accountHolderName,
+                              BigDecimal previousBalance, BigDecimal newBalance) {
+        this(changeType, accountNo, accountType, customerId, accountHolderName, previousBalance, newBalance, null);
+    }
+
+    public AccountChangeEvent(ChangeType changeType, String accountNo, Account.AccountType accountType,
+                              Long customerId, String accountHolderName,
+                              BigDecimal previousBalance, BigDecimal newBalance, LocalDateTime createdDate) {
+        this.changeType = changeType;
+        this.accountNo = accountNo;
+        this.accountType = accountType;
+        this.customerId = customerId;
+        this.accountHolderName = accountHolderName;
+        this.previousBalance = previousBalance;
+        this.newBalance = newBalance;
+        this.createdDate = createdDate;
+        this.occurredAt = LocalDateTime.now();
+    }
+
+    public static AccountChangeEvent created(Account account) {
+        return new AccountChangeEvent(ChangeType.CREATED, account.getAccountNo(), account.getAccountType(),
+                account.getCustomerId(), account.getAccountHolderName(), null, account.getAccountBalance(),
+                account.getCreatedDate());
+    }
+
+    public static AccountChangeEvent updated(Account account, BigDecimal previousBalance) {
+        return new AccountChangeEvent(ChangeType.UPDATED, account.getAccountNo(), account.getAccountType(),
+                account.getCustomerId(), account.getAccountHolderName(), previousBalance, account.getAccountBalance(),
+                account.getCreatedDate());
+    }
+
+    public static AccountChangeEvent deleted(Account account) {
+        return new AccountChangeEvent(ChangeType.DELETED, account.getAccountNo(), account.getAccountType(),
+                account.getCustomerId(), account.getAccountHolderName(), account.getAccountBalance(), null,
+                account.getCreatedDate());
+    }
+
+    public ChangeType getChangeType() {
+        return changeType;
+    }
+
+    public String getAccountNo() {
+        return accountNo;
+    }
+
+    public Account.AccountType getAccountType() {
+        return accountType;
+    }
+
+    public Long getCustomerId() {
+        return customerId;
+    }
+
+    public String getAccountHolderName() {
+        return accountHolderName;
+    }
+
+    public BigDecimal getPreviousBalance() {
+        return previousBalance;
+    }
+
+    public BigDecimal getNewBalance() {
+        return newBalance;
+    }
+
+    /** When the account was opened; null if the publisher did not know it */
+    public LocalDateTime getCreatedDate() {
+        return createdDate;
+    }
+
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+
+    /**
+     * Net effect on the account balance (new minus previous, missing sides count as zero)
+     */
+    public BigDecimal getBalanceDelta() {
+        BigDecimal before = previousBalance != null ? previousBalance : BigDecimal.ZERO;
+        BigDecimal after = newBalance != null ? newBalance : BigDecimal.ZERO;
+        return after.subtract(before);
+    }
+
+    @Override
+    public String toString() {
+        return "AccountChangeEvent{" +
+                "changeType=" + changeType +
+                ", accountNo='" + accountNo + '\'' +
+                ", previousBalance=" + previousBalance +
+                ", newBalance=" + newBalance +
+                '}';
+    }
+}
@@ -0,0 +1,32 @@
+package com.securebank.event;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published after jobs that change many accounts with plain JDBC (synthetic
+ * data generation, interest runs) and therefore bypass the per-account
+ * AccountChangeEvent. In-memory views of the accounts table reload on it.
+ */
+public class AccountsBulkChangedEvent {
+
+    private final String source;
+    private final LocalDateTime occurredAt;
+
+    public AccountsBulkChangedEvent(String source) {
+        this.source = source;
+        this.occurredAt = LocalDateTime.now();
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+
+    @Override
+    public String toString() {
+        return "AccountsBulkChangedEvent{source='" + source + "', occurredAt=" + occurredAt + "}";
+    }
+}
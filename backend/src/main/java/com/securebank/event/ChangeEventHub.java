@@ -0,0 +1,310 @@
+package com.securebank.event;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fans committed account/customer changes out to SSE subscribers.
+ *
+ * Every event gets a sequence id and is kept in a fixed-size replay ring so a
+ * reconnecting client can resume from its Last-Event-ID. Each subscriber has a
+ * bounded queue drained by a small shared dispatcher pool, so idle connections
+ * hold no thread; a subscriber that falls behind (queue full) or resumes from
+ * an id that is no longer in the ring gets a single "resync" event instead and
+ * is expected to reload its state over the REST API. Bulk jobs publish no
+ * per-row events, so they resync every subscriber and take a slot in the
+ * ring that clients resuming from before the job cannot replay past.
+ */
+@Component
+public class ChangeEventHub {
+
+    private static final Logger log = LoggerFactory.getLogger(ChangeEventHub.class);
+
+    @Value("${banking.events.replay-capacity:4096}")
+    private int replayCapacity;
+
+    @Value("${banking.events.subscriber-buffer:256}")
+    private int subscriberBuffer;
+
+    @Value("${banking.events.emitter-timeout-ms:1800000}")
+    private long emitterTimeoutMillis;
+
+    @Value("${banking.events.dispatcher-threads:4}")
+    private int dispatcherThreads;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    // guarded by this
+    private ChangeFeedEvent[] replay;
+    private long lastEventId;
+    // Resuming from an id below this needs a resync: a bulk change happened after it
+    private long resyncBefore;
+
+    private ExecutorService dispatcher;
+
+    @PostConstruct
+    public void start() {
+        replay = new ChangeFeedEvent[replayCapacity];
+        AtomicInteger threadCount = new AtomicInteger();
+        dispatcher = Executors.newFixedThreadPool(dispatcherThreads, runnable -> {
+            Thread thread = new Thread(runnable, "sse-dispatch-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void stop() {
+        dispatcher.shutdownNow();
+        for (Subscriber subscriber : subscribers) {
+            subscriber.emitter.complete();
+        }
+        subscribers.clear();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onAccountChange(AccountChangeEvent event) {
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("accountNo", event.getAccountNo());
+        data.put("accountHolderName", event.getAccountHolderName());
+        data.put("accountType", event.getAccountType());
+        data.put("customerId", event.getCustomerId());
+        data.put("accountBalance", event.getNewBalance());
+        data.put("occurredAt", event.getOccurredAt());
+
+        Map<String, Object> delta = new LinkedHashMap<>();
+        delta.put("accounts", switch (event.getChangeType()) {
+            case CREATED -> 1;
+            case DELETED -> -1;
+            case UPDATED -> 0;
+        });
+        delta.put("totalBalance", event.getBalanceDelta());
+        data.put("delta", delta);
+
+        publish("account." + event.getChangeType().name().toLowerCase(), data);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onCustomerChange(CustomerChangeEvent event) {
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("customerId", event.getCustomerId());
+        data.put("name", event.getName());
+        data.put("email", event.getEmail());
+        data.put("mobileNumber", event.getMobileNumber());
+        data.put("address", event.getAddress());
+        data.put("occurredAt", event.getOccurredAt());
+
+        Map<String, Object> delta = new LinkedHashMap<>();
+        delta.put("customers", switch (event.getChangeType()) {
+            case CREATED -> 1;
+            case DELETED -> -1;
+            case UPDATED -> 0;
+        });
+        data.put("delta", delta);
+
+        publish("customer." + event.getChangeType().name().toLowerCase(), data);
+    }
+
+    /**
+     * Bulk jobs (interest runs, balance adjustments, imports, synthetic data) change
+     * rows without per-row events, so every client has to reload
+     */
+    @EventListener
+    public void onAccountsBulkChanged(AccountsBulkChangedEvent event) {
+        resyncAll(event.getSource(), event.getOccurredAt());
+    }
+
+    @EventListener
+    public void onCustomersBulkChanged(CustomersBulkChangedEvent event) {
+        resyncAll(event.getSource(), event.getOccurredAt());
+    }
+
+    private void resyncAll(String source, LocalDateTime occurredAt) {
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("source", source);
+        data.put("occurredAt", occurredAt);
+        synchronized (this) {
+            ChangeFeedEvent marker = new ChangeFeedEvent(++lastEventId, "resync", data);
+            replay[(int) (marker.getId() % replay.length)] = marker;
+            resyncBefore = marker.getId();
+            for (Subscriber subscriber : subscribers) {
+                subscriber.requestResync();
+            }
+        }
+        for (Subscriber subscriber : subscribers) {
+            subscriber.schedule();
+        }
+        log.debug("Change feed: resync after {}", source);
+    }
+
+    /**
+     * Registers a new subscriber, replaying everything after lastEventId when
+     * it is still in the ring (or flagging a resync when it is not)
+     */
+    public SseEmitter subscribe(Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMillis);
+        Subscriber subscriber = new Subscriber(emitter, subscriberBuffer);
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(error -> subscriber.close());
+
+        // Replay and registration happen under the publish lock so no event
+        // can fall between the replayed history and the live stream
+        synchronized (this) {
+            if (lastEventId != null && lastEventId < this.lastEventId) {
+                long oldestRetained = Math.max(1, this.lastEventId - replay.length + 1);
+                if (lastEventId + 1 >= oldestRetained && lastEventId >= resyncBefore) {
+                    for (long id = lastEventId + 1; id <= this.lastEventId; id++) {
+                        subscriber.offer(replay[(int) (id % replay.length)]);
+                    }
+                } else {
+                    subscriber.requestResync();
+                }
+            } else if (lastEventId != null && lastEventId > this.lastEventId) {
+                // Id from before a server restart
+                subscriber.requestResync();
+            }
+            subscribers.add(subscriber);
+        }
+        subscriber.schedule();
+        return emitter;
+    }
+
+    /**
+     * Queues a comment line on every connection so proxies and the browser keep idle streams open
+     */
+    @Scheduled(fixedRateString = "${banking.events.heartbeat-ms:25000}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.heartbeat = true;
+            subscriber.schedule();
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    public synchronized long getLastEventId() {
+        return lastEventId;
+    }
+
+    private void publish(String name, Map<String, Object> data) {
+        synchronized (this) {
+            ChangeFeedEvent event = new ChangeFeedEvent(++lastEventId, name, data);
+            replay[(int) (event.getId() % replay.length)] = event;
+            for (Subscriber subscriber : subscribers) {
+                subscriber.offer(event);
+            }
+        }
+        for (Subscriber subscriber : subscribers) {
+            subscriber.schedule();
+        }
+    }
+
+    private final class Subscriber implements Runnable {
+
+        private final SseEmitter emitter;
+        private final ArrayBlockingQueue<ChangeFeedEvent> queue;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private volatile boolean resync;
+        private volatile boolean heartbeat;
+        private volatile boolean closed;
+
+        private Subscriber(SseEmitter emitter, int capacity) {
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+        }
+
+        /**
+         * Called with the hub lock held; never blocks. A full queue means the
+         * client cannot keep up, so its backlog is dropped in favour of a resync.
+         */
+        private void offer(ChangeFeedEvent event) {
+            if (!resync && !queue.offer(event)) {
+                requestResync();
+            }
+        }
+
+        private void requestResync() {
+            resync = true;
+            queue.clear();
+        }
+
+        private void schedule() {
+            if (closed || !scheduled.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                dispatcher.execute(this);
+            } catch (RuntimeException e) {
+                scheduled.set(false);
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                if (resync) {
+                    // Events queued before the flag was raised are stale now
+                    queue.clear();
+                    resync = false;
+                    // Carries the current id so a reconnect after the reload resumes from here, not from before it
+                    emitter.send(SseEmitter.event()
+                            .id(String.valueOf(getLastEventId()))
+                            .name("resync")
+                            .data("{}", MediaType.APPLICATION_JSON));
+                }
+                ChangeFeedEvent event;
+                while (!resync && (event = queue.poll()) != null) {
+                    emitter.send(SseEmitter.event()
+                            .id(String.valueOf(event.getId()))
+                            .name(event.getName())
+                            .data(event.getData(), MediaType.APPLICATION_JSON));
+                }
+                if (heartbeat) {
+                    heartbeat = false;
+                    emitter.send(SseEmitter.event().comment("keep-alive"));
+                }
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Change feed subscriber disconnected: {}", e.getMessage());
+                close();
+                emitter.completeWithError(e);
+                return;
+            } finally {
+                scheduled.set(false);
+            }
+            if (resync || !queue.isEmpty()) {
+                schedule();
+            }
+        }
+
+        private void close() {
+            closed = true;
+            subscribers.remove(this);
+            queue.clear();
+        }
+    }
+}
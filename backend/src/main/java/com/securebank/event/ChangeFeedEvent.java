@@ -0,0 +1,31 @@
+package com.securebank.event;
+
+import java.util.Map;
+
+/**
+ * Compact event pushed to change feed subscribers (SSE id, event name and JSON data)
+ */
+public class ChangeFeedEvent {
+
+    private final long id;
+    private final String name;
+    private final Map<String, Object> data;
+
+    public ChangeFeedEvent(long id, String name, Map<String, Object> data) {
+        this.id = id;
+        this.name = name;
+        this.data = data;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Map<String, Object> getData() {
+        return data;
+    }
+}
@@ -0,0 +1,70 @@
+package com.securebank.event;
+
+import com.securebank.entity.Customer;
+
+import java.time.LocalDateTime;
+
+/**
+ * Application event published by CustomerService whenever a customer is
+ * created, updated or deleted
+ */
+public class CustomerChangeEvent {
+
+    public enum ChangeType {
+        CREATED, UPDATED, DELETED
+    }
+
+    private final ChangeType changeType;
+    private final Long customerId;
+    private final String name;
+    private final String email;
+    private final String mobileNumber;
+    private final String address;
+    private final LocalDateTime occurredAt;
+
+    public CustomerChangeEvent(ChangeType changeType, Customer customer) {
+        this.changeType = changeType;
+        this.customerId = customer.getCustomerId();
+        this.name = customer.getName();
+        this.email = customer.getEmail();
+        this.mobileNumber = customer.getMobileNumber();
+        this.address = customer.getAddress();
+        this.occurredAt = LocalDateTime.now();
+    }
+
+    public ChangeType getChangeType() {
+        return changeType;
+    }
+
+    public Long getCustomerId() {
+        return customerId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getMobileNumber() {
+        return mobileNumber;
+    }
+
+    public String getAddress() {
+        return address;
+    }
+
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+
+    @Override
+    public String toString() {
+        return "CustomerChangeEvent{" +
+                "changeType=" + changeType +
+                ", customerId=" + customerId +
+                '}';
+    }
+}
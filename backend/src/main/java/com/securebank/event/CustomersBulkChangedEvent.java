@@ -0,0 +1,32 @@
+package com.securebank.event;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published after jobs that insert many customers with plain JDBC (customer
+ * imports) and therefore bypass the per-customer CustomerChangeEvent. Caches
+ * and change feeds of customer data reload on it.
+ */
+public class CustomersBulkChangedEvent {
+
+    private final String source;
+    private final LocalDateTime occurredAt;
+
+    public CustomersBulkChangedEvent(String source) {
+        this.source = source;
+        this.occurredAt = LocalDateTime.now();
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+
+    @Override
+    public String toString() {
+        return "CustomersBulkChangedEvent{source='" + source + "', occurredAt=" + occurredAt + "}";
+    }
+}
@@ -0,0 +1,206 @@
+package com.securebank.idempotency;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Makes write requests carrying an Idempotency-Key header safe to retry.
+ *
+ * The first request with a key runs its handler inside one transaction and,
+ * on a 2xx response, records the response in that same transaction before the
+ * client sees it (see {@link IdempotentHandlerScope}). Retries get the recorded
+ * response replayed (with an Idempotent-Replayed header); duplicates arriving
+ * while the first is still running wait for it. If another instance recorded
+ * the key first, the insert fails on the primary key, everything is rolled back
+ * and its response is replayed instead. Reusing a key for a different request
+ * is rejected with 422. Keys are scoped to the authenticated user, so two
+ * callers sending the same key are independent; this filter runs after the
+ * security filter chain, which has populated the SecurityContext.
+ *
+ * The body is fingerprinted from memory, so bodies over max-body-bytes are
+ * rejected with 413. Multipart and form-encoded requests are not covered: the
+ * container parses their parts from the original stream.
+ */
+@Component
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyFilter.class);
+    private static final int MAX_KEY_LENGTH = 100;
+
+    @Autowired
+    private IdempotencyStore store;
+
+    @Value("${banking.idempotency.enabled:true}")
+    private boolean enabled;
+
+    @Value("${banking.idempotency.wait-timeout-ms:30000}")
+    private long waitTimeoutMs;
+
+    @Value("${banking.idempotency.max-body-bytes:1048576}")
+    private int maxBodyBytes;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String method = request.getMethod();
+        String contentType = request.getContentType() != null ? request.getContentType().toLowerCase(Locale.ROOT) : "";
+        return !enabled
+                || request.getHeader(HEADER) == null
+                || !request.getRequestURI().startsWith("/api/")
+                || request.getRequestURI().startsWith("/api/auth/")
+                || !("POST".equals(method) || "PUT".equals(method) || "PATCH".equals(method) || "DELETE".equals(method))
+                || contentType.startsWith("multipart/")
+                || contentType.startsWith(MediaType.APPLICATION_FORM_URLENCODED_VALUE);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String key = request.getHeader(HEADER).trim();
+        if (key.isEmpty() || key.length() > MAX_KEY_LENGTH) {
+            writeError(response, HttpStatus.BAD_REQUEST,
+                    HEADER + " must be between 1 and " + MAX_KEY_LENGTH + " characters");
+            return;
+        }
+
+        CachedBodyRequest cachedRequest = request.getContentLengthLong() > maxBodyBytes
+                ? null : CachedBodyRequest.read(request, maxBodyBytes);
+        if (cachedRequest == null) {
+            writeError(response, HttpStatus.PAYLOAD_TOO_LARGE,
+                    "Requests with an " + HEADER + " are limited to " + maxBodyBytes + " bytes");
+            return;
+        }
+        String requestHash = fingerprint(request, cachedRequest.getBody());
+        String principal = principal();
+
+        StoredResponse recorded;
+        try {
+            recorded = store.claim(principal, key, waitTimeoutMs);
+        } catch (TimeoutException e) {
+            writeError(response, HttpStatus.CONFLICT, "A request with this " + HEADER + " is still in progress");
+            return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            writeError(response, HttpStatus.SERVICE_UNAVAILABLE, "Interrupted while waiting for the original request");
+            return;
+        }
+        if (recorded != null) {
+            replay(response, recorded, requestHash);
+            return;
+        }
+
+        execute(principal, key, requestHash, cachedRequest, response, filterChain);
+    }
+
+    private void execute(String principal, String key, String requestHash, CachedBodyRequest request,
+                         HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        IdempotentExchange exchange = new IdempotentExchange(principal, key, requestHash);
+        request.setAttribute(IdempotentExchange.ATTRIBUTE, exchange);
+        ContentCachingResponseWrapper cachedResponse = new ContentCachingResponseWrapper(response);
+        try {
+            filterChain.doFilter(request, cachedResponse);
+        } catch (RuntimeException | IOException | ServletException e) {
+            if (!exchange.isDuplicate()) {
+                store.release(principal, key);
+                throw e;
+            }
+        }
+
+        if (exchange.isDuplicate()) {
+            // Recorded by another instance (or before a restart): our changes were rolled back, replay theirs
+            response.reset();
+            StoredResponse existing = store.load(principal, key);
+            if (existing == null) {
+                store.release(principal, key);
+                writeError(response, HttpStatus.CONFLICT, "A request with this " + HEADER + " is still in progress");
+                return;
+            }
+            log.info("Idempotency key {} was already recorded, replaying the original response", key);
+            store.complete(principal, key, existing);
+            replay(response, existing, requestHash);
+            return;
+        }
+        if (exchange.getStored() != null) {
+            store.complete(principal, key, exchange.getStored());
+        } else {
+            store.release(principal, key);
+        }
+        cachedResponse.copyBodyToResponse();
+    }
+
+    private void replay(HttpServletResponse response, StoredResponse recorded, String requestHash) throws IOException {
+        if (!recorded.getRequestHash().equals(requestHash)) {
+            writeError(response, HttpStatus.UNPROCESSABLE_ENTITY,
+                    HEADER + " was already used for a different request");
+            return;
+        }
+        response.setStatus(recorded.getStatus());
+        if (recorded.getContentType() != null) {
+            response.setContentType(recorded.getContentType());
+        }
+        response.setHeader(REPLAYED_HEADER, "true");
+        byte[] body = recorded.getBody() != null ? recorded.getBody() : new byte[0];
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    /**
+     * The authenticated user the key belongs to; unauthenticated callers share one scope
+     */
+    private static String principal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken) {
+            return "";
+        }
+        return authentication.getName();
+    }
+
+    private void writeError(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.getWriter().write(message);
+    }
+
+    private static String fingerprint(HttpServletRequest request, byte[] body) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(request.getMethod().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) ' ');
+            digest.update(request.getRequestURI().getBytes(StandardCharsets.UTF_8));
+            if (request.getQueryString() != null) {
+                digest.update((byte) '?');
+                digest.update(request.getQueryString().getBytes(StandardCharsets.UTF_8));
+            }
+            digest.update((byte) '\n');
+            digest.update(body);
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
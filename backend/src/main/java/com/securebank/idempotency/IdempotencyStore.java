@@ -0,0 +1,178 @@
+package com.securebank.idempotency;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Two-tier store of (principal, Idempotency-Key) → recorded response. Keys
+ * are scoped to the authenticated caller, so two users choosing the same key
+ * never see each other's responses.
+ *
+ * The memory tier is a ConcurrentHashMap holding either a completed response
+ * (until its TTL passes) or the in-flight future of the request currently
+ * executing the key, so concurrent duplicates wait for that result instead of
+ * running twice. The idempotency_keys table is the durable tier: rows are only
+ * written (in the same transaction as the request's own changes) and read back
+ * when that insert hits the primary key, so a miss never costs a lookup query.
+ */
+@Component
+public class IdempotencyStore {
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyStore.class);
+    private static final char SEPARATOR = '\u001F';
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${banking.idempotency.ttl-hours:24}")
+    private long ttlHours;
+
+    @Value("${banking.idempotency.max-memory-entries:100000}")
+    private int maxMemoryEntries;
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Claims the key for the calling request.
+     *
+     * @return null when the caller now owns the key and must execute the request,
+     *         otherwise the response recorded for it (possibly after waiting for
+     *         the request that was executing it)
+     */
+    public StoredResponse claim(String principal, String idempotencyKey, long timeoutMs)
+            throws InterruptedException, TimeoutException {
+        String key = memoryKey(principal, idempotencyKey);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        while (true) {
+            Entry mine = new Entry(new CompletableFuture<>(), null);
+            Entry existing = entries.putIfAbsent(key, mine);
+            if (existing == null) {
+                return null;
+            }
+            if (existing.response != null) {
+                if (!existing.response.isExpired()) {
+                    return existing.response;
+                }
+                entries.remove(key, existing);
+                continue;
+            }
+            StoredResponse result;
+            try {
+                result = existing.inFlight.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (ExecutionException e) {
+                result = null;
+            }
+            if (result != null) {
+                return result;
+            }
+            // The owner finished without a response worth keeping; try to become the owner
+        }
+    }
+
+    /**
+     * Records the owner's response and hands it to any waiting duplicates
+     */
+    public void complete(String principal, String idempotencyKey, StoredResponse response) {
+        String key = memoryKey(principal, idempotencyKey);
+        Entry entry = entries.get(key);
+        if (entries.size() < maxMemoryEntries) {
+            entries.put(key, new Entry(null, response));
+        } else {
+            entries.remove(key);
+        }
+        if (entry != null && entry.inFlight != null) {
+            entry.inFlight.complete(response);
+        }
+    }
+
+    /**
+     * Releases the key without a response (failed or non-2xx request) so a retry executes again
+     */
+    public void release(String principal, String idempotencyKey) {
+        Entry entry = entries.remove(memoryKey(principal, idempotencyKey));
+        if (entry != null && entry.inFlight != null) {
+            entry.inFlight.complete(null);
+        }
+    }
+
+    /**
+     * Inserts the durable record; must run inside the request's transaction.
+     *
+     * @throws org.springframework.dao.DuplicateKeyException when the key was already recorded
+     */
+    public void insert(String principal, String idempotencyKey, StoredResponse response) {
+        jdbcTemplate.update(
+                "INSERT INTO idempotency_keys (principal, idempotency_key, request_hash, status, content_type, " +
+                "response_body, created_at, expires_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)",
+                principal, idempotencyKey, response.getRequestHash(), response.getStatus(), response.getContentType(),
+                response.getBody(), Timestamp.valueOf(LocalDateTime.now()),
+                Timestamp.valueOf(response.getExpiresAt()));
+    }
+
+    /**
+     * Reads the durable record, or null when there is none (or it has expired)
+     */
+    public StoredResponse load(String principal, String idempotencyKey) {
+        List<StoredResponse> rows = jdbcTemplate.query(
+                "SELECT request_hash, status, content_type, response_body, expires_at " +
+                "FROM idempotency_keys WHERE principal = ? AND idempotency_key = ?",
+                (rs, rowNum) -> new StoredResponse(rs.getString("request_hash"), rs.getInt("status"),
+                        rs.getString("content_type"), rs.getBytes("response_body"),
+                        rs.getTimestamp("expires_at").toLocalDateTime()),
+                principal, idempotencyKey);
+        if (rows.isEmpty() || rows.get(0).isExpired()) {
+            return null;
+        }
+        return rows.get(0);
+    }
+
+    public LocalDateTime expiryFromNow() {
+        return LocalDateTime.now().plusHours(ttlHours);
+    }
+
+    public int getMemoryEntryCount() {
+        return entries.size();
+    }
+
+    @Scheduled(fixedDelayString = "${banking.idempotency.sweep-ms:60000}")
+    public void evictExpired() {
+        entries.entrySet().removeIf(e -> e.getValue().response != null && e.getValue().response.isExpired());
+    }
+
+    @Scheduled(fixedDelayString = "${banking.idempotency.purge-ms:3600000}")
+    public void purgeExpired() {
+        int purged = jdbcTemplate.update("DELETE FROM idempotency_keys WHERE expires_at < ?",
+                Timestamp.valueOf(LocalDateTime.now()));
+        if (purged > 0) {
+            log.info("Purged {} expired idempotency keys", purged);
+        }
+    }
+
+    private static String memoryKey(String principal, String idempotencyKey) {
+        return principal + SEPARATOR + idempotencyKey;
+    }
+
+    private static final class Entry {
+        private final CompletableFuture<StoredResponse> inFlight;
+        private final StoredResponse response;
+
+        private Entry(CompletableFuture<StoredResponse> inFlight, StoredResponse response) {
+            this.inFlight = inFlight;
+            this.response = response;
+        }
+    }
+}
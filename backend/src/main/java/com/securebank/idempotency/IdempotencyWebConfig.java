@@ -0,0 +1,21 @@
+package com.securebank.idempotency;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Registers the handler-scoped transaction of keyed requests
+ */
+@Configuration
+public class IdempotencyWebConfig implements WebMvcConfigurer {
+
+    @Autowired
+    private IdempotentHandlerScope idempotentHandlerScope;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(idempotentHandlerScope);
+    }
+}
@@ -0,0 +1,84 @@
+package com.securebank.idempotency;
+
+import org.springframework.transaction.TransactionStatus;
+
+/**
+ * State of one keyed request executing for the first time, shared between
+ * {@link IdempotencyFilter} and {@link IdempotentHandlerScope} through a
+ * request attribute
+ */
+class IdempotentExchange {
+
+    static final String ATTRIBUTE = IdempotentExchange.class.getName();
+
+    private final String principal;
+    private final String key;
+    private final String requestHash;
+    private TransactionStatus transaction;
+    private boolean begun;
+    private StoredResponse stored;
+    private boolean duplicate;
+
+    IdempotentExchange(String principal, String key, String requestHash) {
+        this.principal = principal;
+        this.key = key;
+        this.requestHash = requestHash;
+    }
+
+    String getPrincipal() {
+        return principal;
+    }
+
+    String getKey() {
+        return key;
+    }
+
+    String getRequestHash() {
+        return requestHash;
+    }
+
+    /**
+     * The handler's transaction, or null before it starts and after it has ended
+     */
+    TransactionStatus getTransaction() {
+        return transaction;
+    }
+
+    void setTransaction(TransactionStatus transaction) {
+        this.transaction = transaction;
+    }
+
+    /**
+     * Starts the handler's transaction; later dispatches of the same request (error pages) get none
+     */
+    void begin(TransactionStatus transaction) {
+        this.transaction = transaction;
+        this.begun = true;
+    }
+
+    boolean hasBegun() {
+        return begun;
+    }
+
+    /**
+     * The response recorded in the handler's transaction, or null if none was (failure, non-2xx, streaming)
+     */
+    StoredResponse getStored() {
+        return stored;
+    }
+
+    void setStored(StoredResponse stored) {
+        this.stored = stored;
+    }
+
+    /**
+     * The key turned out to be recorded already; the handler's changes were rolled back
+     */
+    boolean isDuplicate() {
+        return duplicate;
+    }
+
+    void markDuplicate() {
+        this.duplicate = true;
+    }
+}
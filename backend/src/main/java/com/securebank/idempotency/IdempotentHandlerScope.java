@@ -0,0 +1,205 @@
+package com.securebank.idempotency;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.core.MethodParameter;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.WebUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Runs the handler of a keyed request in one transaction together with the
+ * insert of its recorded response.
+ *
+ * The transaction starts when the handler is about to run and ends just
+ * before the response body is written: the body is rendered once into
+ * memory with the converter Spring MVC selected, recorded, and committed,
+ * and only then serialized for the client. Responses without a converted
+ * body are recorded when the handler completes. If the key was recorded
+ * meanwhile (another instance), the changes are rolled back and the filter
+ * replays the recorded response instead.
+ */
+@ControllerAdvice
+public class IdempotentHandlerScope implements AsyncHandlerInterceptor, ResponseBodyAdvice<Object> {
+
+    @Autowired
+    private IdempotencyStore store;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectProvider<HttpMessageConverters> messageConverters;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        IdempotentExchange exchange = exchange(request);
+        if (exchange != null && handler instanceof HandlerMethod && !exchange.hasBegun()) {
+            exchange.begin(transactionManager.getTransaction(new DefaultTransactionDefinition()));
+        }
+        return true;
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (!(request instanceof ServletServerHttpRequest servletRequest)
+                || !(response instanceof ServletServerHttpResponse servletResponse)) {
+            return body;
+        }
+        IdempotentExchange exchange = exchange(servletRequest.getServletRequest());
+        if (exchange == null || exchange.getTransaction() == null) {
+            return body;
+        }
+        int status = servletResponse.getServletResponse().getStatus();
+        if (isSuccess(status) && !exchange.getTransaction().isRollbackOnly()) {
+            BufferedMessage rendered = render(body, selectedContentType, selectedConverterType);
+            MediaType contentType = rendered.getHeaders().getContentType();
+            finish(exchange, status, contentType != null ? contentType.toString() : null, rendered.toByteArray());
+        } else {
+            finish(exchange, status, null, null);
+        }
+        return body;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        // Streamed responses cannot be recorded; the key is released once the filter sees no recorded response
+        IdempotentExchange exchange = exchange(request);
+        if (exchange != null && exchange.getTransaction() != null) {
+            finish(exchange, HttpServletResponse.SC_ACCEPTED, null, null);
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception failure) {
+        IdempotentExchange exchange = exchange(request);
+        if (exchange == null || exchange.getTransaction() == null) {
+            return;
+        }
+        if (failure != null) {
+            rollback(exchange);
+            return;
+        }
+        // No converted body (e.g. ResponseEntity.noContent()); record whatever was written
+        ContentCachingResponseWrapper cached = WebUtils.getNativeResponse(response, ContentCachingResponseWrapper.class);
+        finish(exchange, response.getStatus(), response.getContentType(),
+                cached != null ? cached.getContentAsByteArray() : new byte[0]);
+    }
+
+    /**
+     * Ends the handler's transaction: records 2xx responses (body may be null for
+     * a response that is not kept) and commits, or rolls back
+     */
+    private void finish(IdempotentExchange exchange, int status, String contentType, byte[] body) {
+        TransactionStatus transaction = exchange.getTransaction();
+        if (transaction.isRollbackOnly()) {
+            rollback(exchange);
+            return;
+        }
+        if (isSuccess(status) && body != null) {
+            StoredResponse stored = new StoredResponse(exchange.getRequestHash(), status, contentType, body,
+                    store.expiryFromNow());
+            try {
+                store.insert(exchange.getPrincipal(), exchange.getKey(), stored);
+            } catch (DuplicateKeyException e) {
+                exchange.markDuplicate();
+                rollback(exchange);
+                throw new IllegalStateException("Idempotency key " + exchange.getKey() + " was already recorded", e);
+            } catch (RuntimeException e) {
+                rollback(exchange);
+                throw e;
+            }
+            exchange.setStored(stored);
+        }
+        exchange.setTransaction(null);
+        transactionManager.commit(transaction);
+    }
+
+    private void rollback(IdempotentExchange exchange) {
+        TransactionStatus transaction = exchange.getTransaction();
+        exchange.setTransaction(null);
+        exchange.setStored(null);
+        if (!transaction.isCompleted()) {
+            transactionManager.rollback(transaction);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private BufferedMessage render(Object body, MediaType contentType,
+                                   Class<? extends HttpMessageConverter<?>> converterType) {
+        BufferedMessage message = new BufferedMessage();
+        if (body == null) {
+            return message;
+        }
+        for (HttpMessageConverter<?> converter : messageConverters.getObject().getConverters()) {
+            if (converterType.isInstance(converter)) {
+                try {
+                    ((HttpMessageConverter<Object>) converter).write(body, contentType, message);
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Failed to render the response to record", e);
+                }
+                return message;
+            }
+        }
+        throw new IllegalStateException("No message converter of type " + converterType.getName());
+    }
+
+    private static boolean isSuccess(int status) {
+        return status >= 200 && status < 300;
+    }
+
+    private static IdempotentExchange exchange(HttpServletRequest request) {
+        return (IdempotentExchange) request.getAttribute(IdempotentExchange.ATTRIBUTE);
+    }
+
+    private static class BufferedMessage implements HttpOutputMessage {
+
+        private final HttpHeaders headers = new HttpHeaders();
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+        @Override
+        public ByteArrayOutputStream getBody() {
+            return body;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+
+        byte[] toByteArray() {
+            return body.toByteArray();
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.securebank.idempotency;
+
+import java.time.LocalDateTime;
+
+/**
+ * Response recorded for an idempotency key, with the fingerprint of the request that produced it
+ */
+public class StoredResponse {
+
+    private final String requestHash;
+    private final int status;
+    private final String contentType;
+    private final byte[] body;
+    private final LocalDateTime expiresAt;
+
+    public StoredResponse(String requestHash, int status, String contentType, byte[] body, LocalDateTime expiresAt) {
+        this.requestHash = requestHash;
+        this.status = status;
+        this.contentType = contentType;
+        this.body = body;
+        this.expiresAt = expiresAt;
+    }
+
+    public String getRequestHash() {
+        return requestHash;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public byte[] getBody() {
+        return body;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public boolean isExpired() {
+        return expiresAt.isBefore(LocalDateTime.now());
+    }
+}
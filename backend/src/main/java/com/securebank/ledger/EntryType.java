@@ -0,0 +1,33 @@
+package com.securebank.ledger;
+
+/**
+ * Kind of ledger entry. Codes are persisted in the journal and must never be reused.
+ */
+public enum EntryType {
+    OPENING((byte) 1),
+    DEPOSIT((byte) 2),
+    WITHDRAWAL((byte) 3),
+    CLOSING((byte) 4),
+    ADJUSTMENT((byte) 5),
+    REVERSAL((byte) 6),
+    INTEREST((byte) 7);
+
+    private final byte code;
+
+    EntryType(byte code) {
+        this.code = code;
+    }
+
+    public byte getCode() {
+        return code;
+    }
+
+    public static EntryType fromCode(byte code) {
+        for (EntryType type : values()) {
+            if (type.code == code) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("Unknown ledger entry type code: " + code);
+    }
+}
@@ -0,0 +1,83 @@
+package com.securebank.ledger;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * Balances derived from ledger entries, in cents. A credit adds to an
+ * account, a debit subtracts; since every entry does both, all balances
+ * (including the system accounts) always sum to zero.
+ */
+public class LedgerBalances {
+
+    private final Map<String, AtomicLong> balances;
+    private volatile long lastSequence;
+
+    public LedgerBalances() {
+        this(16);
+    }
+
+    public LedgerBalances(int expectedAccounts) {
+        this.balances = new ConcurrentHashMap<>(expectedAccounts);
+    }
+
+    public void apply(LedgerEntry entry) {
+        balances.computeIfAbsent(entry.getDebitAccount(), key -> new AtomicLong()).addAndGet(-entry.getAmountCents());
+        balances.computeIfAbsent(entry.getCreditAccount(), key -> new AtomicLong()).addAndGet(entry.getAmountCents());
+        if (entry.getSequence() > lastSequence) {
+            lastSequence = entry.getSequence();
+        }
+    }
+
+    /**
+     * Sets a balance directly (snapshot loading)
+     */
+    public void set(String account, long cents) {
+        balances.put(account, new AtomicLong(cents));
+    }
+
+    public void setLastSequence(long lastSequence) {
+        this.lastSequence = lastSequence;
+    }
+
+    public void clear() {
+        balances.clear();
+        lastSequence = 0;
+    }
+
+    public void forEach(ObjLongConsumer<String> consumer) {
+        balances.forEach((account, balance) -> consumer.accept(account, balance.get()));
+    }
+
+    public long getBalanceCents(String account) {
+        AtomicLong balance = balances.get(account);
+        return balance != null ? balance.get() : 0L;
+    }
+
+    public long getLastSequence() {
+        return lastSequence;
+    }
+
+    public int size() {
+        return balances.size();
+    }
+
+    /**
+     * Sum over every account; anything but zero means the journal is not balanced
+     */
+    public long getTrialBalanceCents() {
+        long total = 0;
+        for (AtomicLong balance : balances.values()) {
+            total += balance.get();
+        }
+        return total;
+    }
+
+    public Map<String, Long> toMap() {
+        Map<String, Long> copy = new ConcurrentHashMap<>();
+        balances.forEach((account, balance) -> copy.put(account, balance.get()));
+        return copy;
+    }
+}
@@ -0,0 +1,94 @@
+package com.securebank.ledger;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Compares ledger-derived balances with the accounts table
+ */
+@Component
+public class LedgerConsistencyCheck {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    public Result check(LedgerBalances balances, int maxReported) {
+        Result result = new Result(balances.getTrialBalanceCents());
+        Set<String> seen = new HashSet<>();
+        jdbcTemplate.query("SELECT account_no, account_balance FROM accounts", rs -> {
+            String accountNo = rs.getString("account_no");
+            seen.add(accountNo);
+            result.accountsChecked++;
+            long ledgerCents = balances.getBalanceCents(accountNo);
+            long tableCents = LedgerService.toCents(rs.getBigDecimal("account_balance"));
+            if (ledgerCents != tableCents) {
+                result.mismatch(maxReported, accountNo + ": ledger " + LedgerService.fromCents(ledgerCents) +
+                                ", table " + LedgerService.fromCents(tableCents),
+                        LedgerService.balanceChange(accountNo, LedgerService.fromCents(ledgerCents),
+                                LedgerService.fromCents(tableCents), EntryType.ADJUSTMENT, "consistency adjustment"));
+            }
+        });
+        balances.forEach((account, cents) -> {
+            if (cents != 0 && !account.startsWith("@") && !seen.contains(account)) {
+                result.mismatch(maxReported, account + ": ledger " + LedgerService.fromCents(cents) + ", no row in accounts",
+                        LedgerService.balanceChange(account, LedgerService.fromCents(cents), null,
+                                EntryType.ADJUSTMENT, "consistency adjustment"));
+            }
+        });
+        return result;
+    }
+
+    public static class Result {
+
+        private final long trialBalanceCents;
+        private long accountsChecked;
+        private long mismatches;
+        private final List<String> samples = new ArrayList<>();
+        private final List<LedgerPosting> adjustments = new ArrayList<>();
+
+        private Result(long trialBalanceCents) {
+            this.trialBalanceCents = trialBalanceCents;
+        }
+
+        private void mismatch(int maxReported, String description, LedgerPosting adjustment) {
+            mismatches++;
+            if (samples.size() < maxReported) {
+                samples.add(description);
+            }
+            adjustments.add(adjustment);
+        }
+
+        public boolean isConsistent() {
+            return trialBalanceCents == 0 && mismatches == 0;
+        }
+
+        public long getTrialBalanceCents() {
+            return trialBalanceCents;
+        }
+
+        public long getAccountsChecked() {
+            return accountsChecked;
+        }
+
+        public long getMismatches() {
+            return mismatches;
+        }
+
+        public List<String> getSamples() {
+            return samples;
+        }
+
+        /**
+         * ADJUSTMENT postings that would bring the ledger in line with the table
+         */
+        public List<LedgerPosting> getAdjustments() {
+            return adjustments;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.securebank.ledger;
+
+/**
+ * A posting as stored in the journal, with its sequence number and timestamp
+ */
+public class LedgerEntry {
+
+    private final long sequence;
+    private final long timestampMillis;
+    private final LedgerPosting posting;
+
+    public LedgerEntry(long sequence, long timestampMillis, LedgerPosting posting) {
+        this.sequence = sequence;
+        this.timestampMillis = timestampMillis;
+        this.posting = posting;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public long getTimestampMillis() {
+        return timestampMillis;
+    }
+
+    public LedgerPosting getPosting() {
+        return posting;
+    }
+
+    public EntryType getEntryType() {
+        return posting.getEntryType();
+    }
+
+    public String getDebitAccount() {
+        return posting.getDebitAccount();
+    }
+
+    public String getCreditAccount() {
+        return posting.getCreditAccount();
+    }
+
+    public long getAmountCents() {
+        return posting.getAmountCents();
+    }
+
+    public String getReference() {
+        return posting.getReference();
+    }
+
+    @Override
+    public String toString() {
+        return "LedgerEntry{" +
+                "sequence=" + sequence +
+                ", type=" + posting.getEntryType() +
+                ", debit='" + posting.getDebitAccount() + '\'' +
+                ", credit='" + posting.getCreditAccount() + '\'' +
+                ", amountCents=" + posting.getAmountCents() +
+                '}';
+    }
+}
@@ -0,0 +1,513 @@
+package com.securebank.ledger;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only ledger journal made of memory-mapped segment files.
+ *
+ * Segment files are named after the first sequence number they hold and are
+ * pre-sized on creation. Each record is [int payload length][int CRC32C][payload];
+ * a zero length, a record that fails its CRC or a gap in the sequence marks the
+ * end of the written data, so a torn write at crash time is detected and the
+ * rest of the segment is zeroed on open.
+ *
+ * Durability uses group commit: appenders copy their records into the mapped
+ * segment under a short lock and then wait in awaitDurable() while a single
+ * flusher thread msyncs everything written so far, so concurrent writers share
+ * one fsync instead of paying one each.
+ */
+public class LedgerJournal implements Closeable {
+
+    private static final String SEGMENT_SUFFIX = ".ledger";
+    private static final int RECORD_HEADER_BYTES = 8;
+    private static final int MAX_FIELD_BYTES = 0xFFFF;
+
+    private final Path directory;
+    private final int segmentSize;
+    private final boolean fsync;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition flushRequested = lock.newCondition();
+    private final Condition flushCompleted = lock.newCondition();
+
+    // guarded by lock
+    private FileChannel channel;
+    private MappedByteBuffer segment;
+    private int writePosition;
+    private int flushedPosition;
+    private long nextSequence;
+    private long durableSequence;
+    private long flushCount;
+    private int segmentCount;
+    private boolean closed;
+    private RuntimeException flushFailure;
+
+    private final Thread flusher;
+
+    private LedgerJournal(Path directory, int segmentSize, boolean fsync) throws IOException {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.fsync = fsync;
+
+        Files.createDirectories(directory);
+        List<Long> segments = listSegments(directory);
+        segmentCount = segments.size();
+        if (segments.isEmpty()) {
+            createSegment(1);
+            nextSequence = 1;
+        } else {
+            recoverSegment(segments.get(segments.size() - 1));
+        }
+        durableSequence = nextSequence - 1;
+
+        if (fsync) {
+            flusher = new Thread(this::flushLoop, "ledger-flusher");
+            flusher.setDaemon(true);
+            flusher.start();
+        } else {
+            flusher = null;
+        }
+    }
+
+    /**
+     * Opens (or creates) the journal in the given directory for appending
+     *
+     * @param fsync when false records are only as durable as the OS page cache
+     */
+    public static LedgerJournal open(Path directory, int segmentSize, boolean fsync) throws IOException {
+        return new LedgerJournal(directory, segmentSize, fsync);
+    }
+
+    /**
+     * Assigns sequence numbers to the postings and writes them to the journal.
+     * Records are visible to readers immediately but only durable after awaitDurable().
+     */
+    public List<LedgerEntry> append(List<LedgerPosting> postings) throws IOException {
+        long timestamp = System.currentTimeMillis();
+        List<byte[]> payloads = new ArrayList<>(postings.size());
+        long batchSize = 0;
+        for (LedgerPosting posting : postings) {
+            byte[] payload = encode(timestamp, posting);
+            if (RECORD_HEADER_BYTES + payload.length > segmentSize) {
+                throw new IllegalArgumentException("Ledger record of " + payload.length + " bytes exceeds the segment size");
+            }
+            payloads.add(payload);
+            batchSize += RECORD_HEADER_BYTES + payload.length;
+        }
+
+        List<LedgerEntry> entries = new ArrayList<>(postings.size());
+        CRC32C crc = new CRC32C();
+        lock.lock();
+        try {
+            ensureWritable();
+            // Keep a batch within one segment when it fits, so a failed roll cannot split it
+            if (writePosition + batchSize > segment.capacity() && batchSize <= segmentSize) {
+                roll();
+            }
+            for (int i = 0; i < payloads.size(); i++) {
+                byte[] payload = payloads.get(i);
+                int recordSize = RECORD_HEADER_BYTES + payload.length;
+                if (writePosition + recordSize > segment.capacity()) {
+                    roll();
+                }
+
+                long sequence = nextSequence++;
+                ByteBuffer.wrap(payload).putLong(0, sequence);
+                crc.reset();
+                crc.update(payload);
+
+                segment.putInt(writePosition + 4, (int) crc.getValue());
+                segment.put(writePosition + RECORD_HEADER_BYTES, payload);
+                segment.putInt(writePosition, payload.length);
+                writePosition += recordSize;
+
+                entries.add(new LedgerEntry(sequence, timestamp, postings.get(i)));
+            }
+            if (!fsync) {
+                durableSequence = nextSequence - 1;
+            } else {
+                flushRequested.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+        return entries;
+    }
+
+    /**
+     * Blocks until every record up to and including the given sequence is on disk
+     */
+    public void awaitDurable(long sequence) throws IOException {
+        lock.lock();
+        try {
+            while (durableSequence < sequence) {
+                ensureWritable();
+                flushRequested.signal();
+                try {
+                    flushCompleted.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Interrupted while waiting for ledger flush");
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Streams every entry with sequence >= fromSequence, in order
+     *
+     * @return number of entries delivered
+     */
+    public long replay(long fromSequence, Consumer<LedgerEntry> consumer) throws IOException {
+        return replay(directory, fromSequence, consumer);
+    }
+
+    /**
+     * Streams entries with fromSequence <= sequence <= toSequence, in order
+     */
+    public long replay(long fromSequence, long toSequence, Consumer<LedgerEntry> consumer) throws IOException {
+        return replay(directory, fromSequence, toSequence, consumer);
+    }
+
+    /**
+     * Reads a journal directory without opening it for writing (replay tools, benchmarks)
+     */
+    public static long replay(Path directory, long fromSequence, Consumer<LedgerEntry> consumer) throws IOException {
+        return replay(directory, fromSequence, Long.MAX_VALUE, consumer);
+    }
+
+    /**
+     * Streams entries with fromSequence <= sequence <= toSequence, in order
+     */
+    public static long replay(Path directory, long fromSequence, long toSequence,
+                              Consumer<LedgerEntry> consumer) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return 0;
+        }
+        List<Long> segments = listSegments(directory);
+        long[] delivered = new long[1];
+        for (int i = 0; i < segments.size(); i++) {
+            // Skip whole segments that end before the requested sequence
+            if (i + 1 < segments.size() && segments.get(i + 1) <= fromSequence) {
+                continue;
+            }
+            if (segments.get(i) > toSequence) {
+                break;
+            }
+            try (FileChannel readChannel = FileChannel.open(segmentPath(directory, segments.get(i)), StandardOpenOption.READ)) {
+                MappedByteBuffer buffer = readChannel.map(FileChannel.MapMode.READ_ONLY, 0, readChannel.size());
+                readRecords(buffer, segments.get(i), fromSequence, toSequence, entry -> {
+                    consumer.accept(entry);
+                    delivered[0]++;
+                });
+            }
+        }
+        return delivered[0];
+    }
+
+    public long getLastSequence() {
+        lock.lock();
+        try {
+            return nextSequence - 1;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getDurableSequence() {
+        lock.lock();
+        try {
+            return durableSequence;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getFlushCount() {
+        lock.lock();
+        try {
+            return flushCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getSegmentCount() {
+        lock.lock();
+        try {
+            return segmentCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            flushRequested.signalAll();
+            flushCompleted.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        if (flusher != null) {
+            try {
+                flusher.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        lock.lock();
+        try {
+            if (fsync) {
+                segment.force();
+            }
+            channel.close();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void flushLoop() {
+        while (true) {
+            MappedByteBuffer buffer;
+            int from;
+            int to;
+            long target;
+            lock.lock();
+            try {
+                while (!closed && durableSequence >= nextSequence - 1) {
+                    flushRequested.awaitUninterruptibly();
+                }
+                if (closed) {
+                    return;
+                }
+                buffer = segment;
+                from = flushedPosition;
+                to = writePosition;
+                target = nextSequence - 1;
+                flushedPosition = to;
+            } finally {
+                lock.unlock();
+            }
+
+            RuntimeException failure = null;
+            try {
+                if (to > from) {
+                    buffer.force(from, to - from);
+                }
+            } catch (RuntimeException e) {
+                failure = e;
+            }
+
+            lock.lock();
+            try {
+                if (failure != null) {
+                    flushFailure = failure;
+                } else {
+                    durableSequence = Math.max(durableSequence, target);
+                    flushCount++;
+                }
+                flushCompleted.signalAll();
+            } finally {
+                lock.unlock();
+            }
+            if (failure != null) {
+                return;
+            }
+        }
+    }
+
+    private void ensureWritable() throws IOException {
+        if (closed) {
+            throw new IOException("Ledger journal is closed");
+        }
+        if (flushFailure != null) {
+            throw new IOException("Ledger journal flush failed, journal is read-only until restart", flushFailure);
+        }
+    }
+
+    // Called with the lock held
+    private void roll() throws IOException {
+        if (fsync) {
+            // Everything written to the old segment becomes durable here, including
+            // any range the flusher may still be working on
+            try {
+                segment.force(0, writePosition);
+            } catch (UncheckedIOException e) {
+                flushFailure = e;
+                throw e.getCause();
+            }
+            durableSequence = nextSequence - 1;
+            flushCompleted.signalAll();
+        }
+        channel.close();
+        createSegment(nextSequence);
+    }
+
+    private void createSegment(long firstSequence) throws IOException {
+        Path path = segmentPath(directory, firstSequence);
+        channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        writePosition = 0;
+        flushedPosition = 0;
+        segmentCount++;
+        if (fsync) {
+            // Persist the new file's size and directory entry
+            channel.force(true);
+            try (FileChannel dir = FileChannel.open(directory, StandardOpenOption.READ)) {
+                dir.force(true);
+            } catch (IOException e) {
+                // Directory fsync is not supported on every platform
+            }
+        }
+    }
+
+    private void recoverSegment(long firstSequence) throws IOException {
+        Path path = segmentPath(directory, firstSequence);
+        channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        // The last segment is the active one; mapping it at full size also repairs a
+        // file that was created but never extended before a crash
+        segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(channel.size(), segmentSize));
+
+        long[] lastSequence = {firstSequence - 1};
+        int end = readRecords(segment, firstSequence, 0, Long.MAX_VALUE, entry -> lastSequence[0] = entry.getSequence());
+
+        // Zero everything after the last good record. Mapped pages reach disk in any
+        // order, so intact but never-acknowledged records can follow a torn one; left
+        // in place, one could line up with the end of later appends and be replayed.
+        boolean zeroed = false;
+        for (int i = end; i < segment.capacity(); i++) {
+            if (segment.get(i) != 0) {
+                segment.put(i, (byte) 0);
+                zeroed = true;
+            }
+        }
+        if (zeroed && fsync) {
+            segment.force(end, segment.capacity() - end);
+        }
+
+        writePosition = end;
+        flushedPosition = end;
+        nextSequence = lastSequence[0] + 1;
+    }
+
+    /**
+     * Decodes records from the start of the buffer until the end marker, the
+     * first corrupt record, a break in the sequence (the first record must be
+     * firstSequence) or a sequence past toSequence, returning the position just
+     * after the last good record. Records before fromSequence are verified but
+     * not decoded.
+     */
+    private static int readRecords(ByteBuffer buffer, long firstSequence, long fromSequence, long toSequence,
+                                   Consumer<LedgerEntry> consumer) {
+        CRC32C crc = new CRC32C();
+        long expectedSequence = firstSequence;
+        int position = 0;
+        while (position + RECORD_HEADER_BYTES <= buffer.capacity()) {
+            int length = buffer.getInt(position);
+            if (length <= 0 || length > buffer.capacity() - position - RECORD_HEADER_BYTES) {
+                break;
+            }
+            ByteBuffer payload = buffer.slice(position + RECORD_HEADER_BYTES, length);
+            crc.reset();
+            crc.update(payload.duplicate());
+            if ((int) crc.getValue() != buffer.getInt(position + 4)) {
+                break;
+            }
+            long sequence = payload.getLong(0);
+            if (sequence != expectedSequence || sequence > toSequence) {
+                break;
+            }
+            expectedSequence++;
+            if (sequence >= fromSequence) {
+                consumer.accept(decode(payload));
+            }
+            position += RECORD_HEADER_BYTES + length;
+        }
+        return position;
+    }
+
+    // Payload: sequence, timestamp, amount, type code, then length-prefixed UTF-8 debit, credit, reference
+    private static byte[] encode(long timestamp, LedgerPosting posting) {
+        byte[] debit = utf8(posting.getDebitAccount());
+        byte[] credit = utf8(posting.getCreditAccount());
+        byte[] reference = utf8(posting.getReference());
+        ByteBuffer buffer = ByteBuffer.allocate(8 + 8 + 8 + 1 + 2 + debit.length + 2 + credit.length + 2 + reference.length);
+        buffer.putLong(0L);
+        buffer.putLong(timestamp);
+        buffer.putLong(posting.getAmountCents());
+        buffer.put(posting.getEntryType().getCode());
+        buffer.putShort((short) debit.length).put(debit);
+        buffer.putShort((short) credit.length).put(credit);
+        buffer.putShort((short) reference.length).put(reference);
+        return buffer.array();
+    }
+
+    private static LedgerEntry decode(ByteBuffer payload) {
+        long sequence = payload.getLong();
+        long timestamp = payload.getLong();
+        long amountCents = payload.getLong();
+        EntryType type = EntryType.fromCode(payload.get());
+        String debit = readString(payload);
+        String credit = readString(payload);
+        String reference = readString(payload);
+        return new LedgerEntry(sequence, timestamp, new LedgerPosting(type, debit, credit, amountCents, reference));
+    }
+
+    private static byte[] utf8(String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > MAX_FIELD_BYTES) {
+            throw new IllegalArgumentException("Ledger field longer than " + MAX_FIELD_BYTES + " bytes");
+        }
+        return bytes;
+    }
+
+    private static String readString(ByteBuffer payload) {
+        int length = Short.toUnsignedInt(payload.getShort());
+        byte[] bytes = new byte[length];
+        payload.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static List<Long> listSegments(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.endsWith(SEGMENT_SUFFIX))
+                    .map(name -> Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length())))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static Path segmentPath(Path directory, long firstSequence) {
+        return directory.resolve(String.format("%020d%s", firstSequence, SEGMENT_SUFFIX));
+    }
+}
@@ -0,0 +1,57 @@
+package com.securebank.ledger;
+
+/**
+ * A balanced movement of amountCents from the debit account to the credit
+ * account, before it has been assigned a journal sequence number
+ */
+public class LedgerPosting {
+
+    private final EntryType entryType;
+    private final String debitAccount;
+    private final String creditAccount;
+    private final long amountCents;
+    private final String reference;
+
+    public LedgerPosting(EntryType entryType, String debitAccount, String creditAccount,
+                         long amountCents, String reference) {
+        if (amountCents <= 0) {
+            throw new IllegalArgumentException("Ledger amount must be positive: " + amountCents);
+        }
+        if (debitAccount.equals(creditAccount)) {
+            throw new IllegalArgumentException("Debit and credit account must differ: " + debitAccount);
+        }
+        this.entryType = entryType;
+        this.debitAccount = debitAccount;
+        this.creditAccount = creditAccount;
+        this.amountCents = amountCents;
+        this.reference = reference != null ? reference : "";
+    }
+
+    public EntryType getEntryType() {
+        return entryType;
+    }
+
+    public String getDebitAccount() {
+        return debitAccount;
+    }
+
+    public String getCreditAccount() {
+        return creditAccount;
+    }
+
+    public long getAmountCents() {
+        return amountCents;
+    }
+
+    public String getReference() {
+        return reference;
+    }
+
+    /**
+     * The opposite movement, used to compensate entries of a rolled back transaction
+     */
+    public LedgerPosting reversal(long originalSequence) {
+        return new LedgerPosting(EntryType.REVERSAL, creditAccount, debitAccount, amountCents,
+                "reversal of #" + originalSequence);
+    }
+}
@@ -0,0 +1,395 @@
+package com.securebank.ledger;
+
+import com.securebank.event.AccountChangeEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Records every account balance change as a double-entry posting in the
+ * ledger journal and keeps the derived balances in memory.
+ *
+ * Balance increases are credited to the account and debited to the
+ * EXTERNAL_ACCOUNT system account, decreases the other way round, so the
+ * ledger always balances. Inside a transaction the postings are buffered and
+ * written (and fsynced) just before commit; a failed journal write therefore
+ * rolls the transaction back, and if the database commit itself fails after
+ * the journal write, compensating REVERSAL entries are appended.
+ *
+ * Startup loads the newest balance snapshot and replays only the journal
+ * entries written after it; snapshots are written periodically and on shutdown.
+ */
+@Service
+public class LedgerService {
+
+    public static final String EXTERNAL_ACCOUNT = "@EXTERNAL";
+
+    private static final Logger log = LoggerFactory.getLogger(LedgerService.class);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private LedgerConsistencyCheck consistencyCheck;
+
+    @Value("${banking.ledger.enabled:true}")
+    private boolean enabled;
+
+    @Value("${banking.ledger.directory:./data/ledger}")
+    private String directory;
+
+    @Value("${banking.ledger.segment-size-mb:64}")
+    private int segmentSizeMb;
+
+    @Value("${banking.ledger.fsync:true}")
+    private boolean fsync;
+
+    @Value("${banking.ledger.verify-on-startup:false}")
+    private boolean verifyOnStartup;
+
+    // Defaults to a directory inside the journal directory, so snapshots always belong to their journal
+    @Value("${banking.ledger.snapshot.directory:}")
+    private String snapshotDirectory;
+
+    @Value("${banking.ledger.snapshot.min-entries:100000}")
+    private long snapshotMinEntries;
+
+    @Value("${banking.ledger.snapshot.partitions:32}")
+    private int snapshotPartitions;
+
+    @Value("${banking.ledger.snapshot.retain:2}")
+    private int snapshotRetain;
+
+    @Value("${banking.ledger.snapshot.on-shutdown:true}")
+    private boolean snapshotOnShutdown;
+
+    private LedgerJournal journal;
+    private final LedgerBalances balances = new LedgerBalances();
+    private final ReentrantLock snapshotLock = new ReentrantLock();
+
+    @PostConstruct
+    public void open() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        Path path = Paths.get(directory);
+        if (snapshotDirectory == null || snapshotDirectory.isBlank()) {
+            snapshotDirectory = path.resolve("snapshots").toString();
+        }
+        journal = LedgerJournal.open(path, segmentSizeMb * 1024 * 1024, fsync);
+
+        long started = System.nanoTime();
+        long snapshotSequence = recover(balances, journal.getLastSequence());
+        long replayed = journal.replay(snapshotSequence + 1, balances::apply);
+        log.info("Ledger: {} accounts recovered from {} (snapshot at {} + {} journal entries) in {} ms, last sequence {}",
+                balances.size(), path.toAbsolutePath(), snapshotSequence, replayed,
+                (System.nanoTime() - started) / 1_000_000, journal.getLastSequence());
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        if (journal == null) {
+            return;
+        }
+        if (snapshotOnShutdown) {
+            try {
+                takeSnapshot(1);
+            } catch (IOException | RuntimeException e) {
+                log.warn("Ledger snapshot on shutdown failed", e);
+            }
+        }
+        journal.close();
+    }
+
+    /**
+     * Periodically writes a snapshot once enough entries have accumulated since
+     * the previous one, so a restart only replays the journal tail
+     */
+    @Scheduled(fixedDelayString = "${banking.ledger.snapshot.interval-ms:600000}",
+            initialDelayString = "${banking.ledger.snapshot.interval-ms:600000}")
+    public void scheduledSnapshot() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            takeSnapshot(snapshotMinEntries);
+        } catch (IOException | RuntimeException e) {
+            log.error("Ledger snapshot failed", e);
+        }
+    }
+
+    /**
+     * Writes a snapshot as of the current durable sequence if at least minEntries
+     * were journaled since the latest snapshot. The state is rebuilt from that
+     * snapshot plus the journal up to the durable sequence rather than copied
+     * from the live balances, which keep changing while commits run.
+     *
+     * @return the snapshot file, or null when none was due
+     */
+    public Path takeSnapshot(long minEntries) throws IOException {
+        if (!snapshotLock.tryLock()) {
+            return null;
+        }
+        try {
+            long target = journal.getDurableSequence();
+            LedgerBalances state = new LedgerBalances(Math.max(16, balances.size()));
+            long from = recover(state, target);
+            if (target - from < Math.max(1, minEntries)) {
+                return null;
+            }
+            long started = System.nanoTime();
+            LedgerJournal.replay(Paths.get(directory), from + 1, target, state::apply);
+            Path file = LedgerSnapshot.write(Paths.get(snapshotDirectory), state, target, snapshotPartitions);
+            LedgerSnapshot.prune(Paths.get(snapshotDirectory), snapshotRetain);
+            log.info("Ledger snapshot {} written ({} accounts, {} ms)", file.getFileName(), state.size(),
+                    (System.nanoTime() - started) / 1_000_000);
+            return file;
+        } finally {
+            snapshotLock.unlock();
+        }
+    }
+
+    /**
+     * Loads the newest usable snapshot taken at or before maxSequence into target
+     *
+     * @return the sequence the snapshot covers, 0 when starting from an empty state
+     */
+    private long recover(LedgerBalances target, long maxSequence) {
+        List<Path> snapshots;
+        try {
+            snapshots = LedgerSnapshot.list(Paths.get(snapshotDirectory));
+        } catch (IOException e) {
+            log.warn("Cannot list ledger snapshots, replaying the whole journal", e);
+            return 0;
+        }
+        for (Path snapshot : snapshots) {
+            // A snapshot ahead of the journal belongs to a different (wiped) journal
+            if (LedgerSnapshot.sequenceOf(snapshot) > maxSequence) {
+                continue;
+            }
+            try {
+                return LedgerSnapshot.load(snapshot, target, Runtime.getRuntime().availableProcessors());
+            } catch (IOException e) {
+                log.warn("Skipping unreadable ledger snapshot {}: {}", snapshot, e.getMessage());
+                target.clear();
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * An empty journal next to existing accounts (first start with the ledger,
+     * or a wiped journal directory) gets one OPENING entry per account
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(0)
+    public void bootstrapOpeningBalances() {
+        if (!enabled || journal.getLastSequence() > 0) {
+            return;
+        }
+        List<LedgerPosting> postings = new ArrayList<>();
+        jdbcTemplate.query("SELECT account_no, account_balance FROM accounts ORDER BY account_no", rs -> {
+            LedgerPosting posting = balanceChange(rs.getString("account_no"), BigDecimal.ZERO,
+                    rs.getBigDecimal("account_balance"), EntryType.OPENING, "opening balance");
+            if (posting != null) {
+                postings.add(posting);
+            }
+            if (postings.size() == 10_000) {
+                appendDurably(postings);
+                postings.clear();
+            }
+        });
+        appendDurably(postings);
+        if (journal.getLastSequence() > 0) {
+            log.info("Ledger: recorded opening balances for existing accounts ({} entries)", journal.getLastSequence());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(1)
+    public void verifyRecoveredState() {
+        if (!enabled || !verifyOnStartup) {
+            return;
+        }
+        LedgerConsistencyCheck.Result result = consistencyCheck.check(balances, 10);
+        if (result.isConsistent()) {
+            log.info("Ledger: recovered balances match the accounts table ({} accounts)", result.getAccountsChecked());
+        } else {
+            log.warn("Ledger differs from the accounts table: {} accounts, trial balance {}, e.g. {}",
+                    result.getMismatches(), fromCents(result.getTrialBalanceCents()), result.getSamples());
+        }
+    }
+
+    @EventListener
+    public void onAccountChange(AccountChangeEvent event) {
+        EntryType increaseType = switch (event.getChangeType()) {
+            case CREATED -> EntryType.OPENING;
+            case UPDATED -> EntryType.DEPOSIT;
+            case DELETED -> EntryType.CLOSING;
+        };
+        LedgerPosting posting = balanceChange(event.getAccountNo(), event.getPreviousBalance(), event.getNewBalance(),
+                increaseType, event.getChangeType().name().toLowerCase());
+        if (posting != null) {
+            post(List.of(posting));
+        }
+    }
+
+    /**
+     * Records postings; joins the current transaction when there is one
+     */
+    public void post(List<LedgerPosting> postings) {
+        if (!enabled || postings.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            PendingPostings pending = (PendingPostings) TransactionSynchronizationManager.getResource(this);
+            if (pending == null) {
+                pending = new PendingPostings();
+                TransactionSynchronizationManager.bindResource(this, pending);
+                TransactionSynchronizationManager.registerSynchronization(pending);
+            }
+            pending.postings.addAll(postings);
+        } else {
+            appendDurably(postings);
+        }
+    }
+
+    /**
+     * Derived balance of an account in cents
+     */
+    public long getBalanceCents(String accountNo) {
+        return balances.getBalanceCents(accountNo);
+    }
+
+    public LedgerBalances getBalances() {
+        return balances;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public LedgerJournal getJournal() {
+        return journal;
+    }
+
+    /**
+     * Rebuilds every balance from scratch by replaying the whole journal
+     */
+    public LedgerBalances rebuildBalances() throws IOException {
+        LedgerBalances rebuilt = new LedgerBalances();
+        LedgerJournal.replay(Paths.get(directory), 1, rebuilt::apply);
+        return rebuilt;
+    }
+
+    /**
+     * Rebuilds every balance the way startup does: latest snapshot plus journal tail
+     */
+    public LedgerBalances recoverBalances() throws IOException {
+        LedgerBalances recovered = new LedgerBalances(Math.max(16, balances.size()));
+        long from = recover(recovered, journal != null ? journal.getLastSequence() : Long.MAX_VALUE);
+        LedgerJournal.replay(Paths.get(directory), from + 1, recovered::apply);
+        return recovered;
+    }
+
+    /**
+     * Posting that moves the account from previous to new balance, or null if unchanged.
+     * Increases use increaseType; decreases of an update are WITHDRAWALs.
+     */
+    public static LedgerPosting balanceChange(String accountNo, BigDecimal previousBalance, BigDecimal newBalance,
+                                              EntryType increaseType, String reference) {
+        long before = toCents(previousBalance);
+        long after = toCents(newBalance);
+        if (after > before) {
+            return new LedgerPosting(increaseType, EXTERNAL_ACCOUNT, accountNo, after - before, reference);
+        }
+        if (after < before) {
+            EntryType type = increaseType == EntryType.DEPOSIT ? EntryType.WITHDRAWAL : increaseType;
+            return new LedgerPosting(type, accountNo, EXTERNAL_ACCOUNT, before - after, reference);
+        }
+        return null;
+    }
+
+    public static long toCents(BigDecimal amount) {
+        return amount == null ? 0L : amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    public static BigDecimal fromCents(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    private List<LedgerEntry> appendDurably(List<LedgerPosting> postings) {
+        if (postings.isEmpty()) {
+            return List.of();
+        }
+        try {
+            List<LedgerEntry> entries = journal.append(postings);
+            journal.awaitDurable(entries.get(entries.size() - 1).getSequence());
+            entries.forEach(balances::apply);
+            return entries;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write ledger journal", e);
+        }
+    }
+
+    private class PendingPostings implements TransactionSynchronization {
+
+        private final List<LedgerPosting> postings = new ArrayList<>();
+        private List<LedgerEntry> written;
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            // Throwing here rolls the database transaction back
+            written = appendDurably(postings);
+        }
+
+        @Override
+        public void suspend() {
+            TransactionSynchronizationManager.unbindResource(LedgerService.this);
+        }
+
+        @Override
+        public void resume() {
+            TransactionSynchronizationManager.bindResource(LedgerService.this, this);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(LedgerService.this);
+            if (status == STATUS_COMMITTED || written == null || written.isEmpty()) {
+                return;
+            }
+            List<LedgerPosting> reversals = new ArrayList<>(written.size());
+            for (LedgerEntry entry : written) {
+                reversals.add(entry.getPosting().reversal(entry.getSequence()));
+            }
+            try {
+                appendDurably(reversals);
+                log.warn("Transaction rolled back after ledger write, reversed {} entries", reversals.size());
+            } catch (RuntimeException e) {
+                log.error("Could not reverse {} ledger entries of a rolled back transaction", reversals.size(), e);
+            }
+        }
+    }
+}
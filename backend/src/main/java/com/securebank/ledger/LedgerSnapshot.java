@@ -0,0 +1,232 @@
+package com.securebank.ledger;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Compact binary snapshot of all ledger balances as of one journal sequence.
+ *
+ * Layout: header (magic, version, last sequence, account count, partition
+ * count), a partition index (offset, length, CRC32C, account count) and the
+ * partitions themselves, each a run of [short key length][UTF-8 account][long cents].
+ * Accounts are spread over partitions by hash so recovery can decode them on
+ * several threads at once; each partition is checked against its CRC.
+ */
+public final class LedgerSnapshot {
+
+    private static final int MAGIC = 0x4C534E50; // "LSNP"
+    private static final int VERSION = 1;
+    private static final String PREFIX = "snapshot-";
+    private static final String SUFFIX = ".bin";
+    private static final int HEADER_BYTES = 4 + 4 + 8 + 8 + 4;
+    private static final int INDEX_ENTRY_BYTES = 8 + 4 + 4 + 4;
+
+    private LedgerSnapshot() {
+    }
+
+    /**
+     * Writes the balances as snapshot-&lt;sequence&gt;.bin, atomically (temp file + rename)
+     */
+    public static Path write(Path directory, LedgerBalances balances, long lastSequence, int partitions) throws IOException {
+        Files.createDirectories(directory);
+        ByteArrayOutputStream[] buffers = new ByteArrayOutputStream[partitions];
+        DataOutputStream[] outputs = new DataOutputStream[partitions];
+        int[] counts = new int[partitions];
+        for (int i = 0; i < partitions; i++) {
+            buffers[i] = new ByteArrayOutputStream(1 << 16);
+            outputs[i] = new DataOutputStream(buffers[i]);
+        }
+
+        IOException[] failure = new IOException[1];
+        long[] accounts = {0};
+        balances.forEach((account, cents) -> {
+            int partition = (account.hashCode() & 0x7fffffff) % partitions;
+            byte[] key = account.getBytes(StandardCharsets.UTF_8);
+            try {
+                outputs[partition].writeShort(key.length);
+                outputs[partition].write(key);
+                outputs[partition].writeLong(cents);
+            } catch (IOException e) {
+                failure[0] = e;
+            }
+            counts[partition]++;
+            accounts[0]++;
+        });
+        if (failure[0] != null) {
+            throw failure[0];
+        }
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES + partitions * INDEX_ENTRY_BYTES);
+        header.putInt(MAGIC).putInt(VERSION).putLong(lastSequence).putLong(accounts[0]).putInt(partitions);
+        long offset = header.capacity();
+        CRC32C crc = new CRC32C();
+        byte[][] data = new byte[partitions][];
+        for (int i = 0; i < partitions; i++) {
+            data[i] = buffers[i].toByteArray();
+            buffers[i] = null;
+            crc.reset();
+            crc.update(data[i]);
+            header.putLong(offset).putInt(data[i].length).putInt((int) crc.getValue()).putInt(counts[i]);
+            offset += data[i].length;
+        }
+        header.flip();
+
+        Path target = directory.resolve(fileName(lastSequence));
+        Path temp = directory.resolve(fileName(lastSequence) + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            writeFully(channel, header);
+            for (byte[] partition : data) {
+                writeFully(channel, ByteBuffer.wrap(partition));
+            }
+            channel.force(true);
+        }
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        try (FileChannel dir = FileChannel.open(directory, StandardOpenOption.READ)) {
+            dir.force(true);
+        } catch (IOException e) {
+            // Directory fsync is not supported on every platform
+        }
+        return target;
+    }
+
+    /**
+     * Loads a snapshot into the (empty) target, decoding partitions in parallel
+     *
+     * @return the journal sequence the snapshot was taken at
+     */
+    public static long load(Path file, LedgerBalances target, int threads) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            readFully(channel, header, 0);
+            header.flip();
+            if (header.getInt() != MAGIC || header.getInt() != VERSION) {
+                throw new IOException("Not a ledger snapshot: " + file);
+            }
+            long lastSequence = header.getLong();
+            long accountCount = header.getLong();
+            int partitions = header.getInt();
+
+            ByteBuffer index = ByteBuffer.allocate(partitions * INDEX_ENTRY_BYTES);
+            readFully(channel, index, HEADER_BYTES);
+            index.flip();
+
+            ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, Math.min(threads, partitions)));
+            try {
+                List<Future<Long>> results = new ArrayList<>(partitions);
+                for (int i = 0; i < partitions; i++) {
+                    long offset = index.getLong();
+                    int length = index.getInt();
+                    int checksum = index.getInt();
+                    int count = index.getInt();
+                    MappedByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, offset, length);
+                    results.add(pool.submit(() -> loadPartition(file, data, checksum, count, target)));
+                }
+                long loaded = 0;
+                for (Future<Long> result : results) {
+                    loaded += result.get();
+                }
+                if (loaded != accountCount) {
+                    throw new IOException("Snapshot " + file + " holds " + loaded + " accounts, header says " + accountCount);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while loading snapshot " + file, e);
+            } catch (ExecutionException e) {
+                throw e.getCause() instanceof IOException io ? io : new IOException("Failed to load snapshot " + file, e.getCause());
+            } finally {
+                pool.shutdownNow();
+            }
+
+            target.setLastSequence(lastSequence);
+            return lastSequence;
+        }
+    }
+
+    /**
+     * Snapshot files in the directory, newest (highest sequence) first
+     */
+    public static List<Path> list(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+                    })
+                    .sorted(Comparator.comparingLong(LedgerSnapshot::sequenceOf).reversed())
+                    .toList();
+        }
+    }
+
+    public static long sequenceOf(Path snapshot) {
+        String name = snapshot.getFileName().toString();
+        return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+
+    /**
+     * Deletes all but the newest keep snapshots
+     */
+    public static void prune(Path directory, int keep) throws IOException {
+        List<Path> snapshots = list(directory);
+        for (int i = keep; i < snapshots.size(); i++) {
+            Files.deleteIfExists(snapshots.get(i));
+        }
+    }
+
+    private static long loadPartition(Path file, ByteBuffer data, int checksum, int count,
+                                      LedgerBalances target) throws IOException {
+        CRC32C crc = new CRC32C();
+        crc.update(data.duplicate());
+        if ((int) crc.getValue() != checksum) {
+            throw new IOException("Snapshot partition checksum mismatch in " + file);
+        }
+        byte[] key = new byte[256];
+        for (int i = 0; i < count; i++) {
+            int length = Short.toUnsignedInt(data.getShort());
+            if (key.length < length) {
+                key = new byte[length];
+            }
+            data.get(key, 0, length);
+            target.set(new String(key, 0, length, StandardCharsets.UTF_8), data.getLong());
+        }
+        return count;
+    }
+
+    private static String fileName(long lastSequence) {
+        return String.format("%s%020d%s", PREFIX, lastSequence, SUFFIX);
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Truncated ledger snapshot");
+            }
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.securebank.metrics;
+
+import com.securebank.analytics.AccountColumnStore;
+import com.securebank.entity.Account;
+import com.securebank.ledger.LedgerService;
+import com.securebank.metrics.TimeSeriesStore.Resolution;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Samples system totals (customers, accounts and balance per account type)
+ * on a fixed interval into a TimeSeriesStore and maintains its rollups.
+ *
+ * Each completed UTC hour gets an hourly record holding the last raw sample
+ * of that hour, and each completed day a daily record holding the last
+ * hourly record of that day. Rollups are derived from what is on disk, so
+ * hours and days missed while the application was down are filled in on
+ * the next sample as long as their source tier is still retained.
+ */
+@Component
+public class SystemTotalsRecorder {
+
+    private static final Logger log = LoggerFactory.getLogger(SystemTotalsRecorder.class);
+    private static final int TYPES = Account.AccountType.values().length;
+    private static final long DAY_MILLIS = Resolution.DAILY.getStepMillis();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AccountColumnStore accountColumnStore;
+
+    @Value("${banking.metrics.enabled:true}")
+    private boolean enabled;
+
+    @Value("${banking.metrics.directory:./data/metrics}")
+    private String directory;
+
+    @Value("${banking.metrics.fsync:false}")
+    private boolean fsync;
+
+    @Value("${banking.metrics.retention.raw-days:7}")
+    private int rawRetentionDays;
+
+    @Value("${banking.metrics.retention.hourly-days:90}")
+    private int hourlyRetentionDays;
+
+    // 0 keeps daily records forever
+    @Value("${banking.metrics.retention.daily-days:0}")
+    private int dailyRetentionDays;
+
+    private TimeSeriesStore store;
+    private final Map<Resolution, Long> lastRollup = new EnumMap<>(Resolution.class);
+
+    @PostConstruct
+    public void open() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            Path path = Paths.get(directory);
+            store = new TimeSeriesStore(path, TYPES, fsync);
+            for (Resolution resolution : List.of(Resolution.HOURLY, Resolution.DAILY)) {
+                TotalsSample last = store.last(resolution);
+                if (last != null) {
+                    lastRollup.put(resolution, last.getTimestampMillis());
+                }
+            }
+            log.info("System totals history in {}", path.toAbsolutePath());
+        } catch (IOException e) {
+            log.warn("System totals history disabled, cannot open {}: {}", directory, e.getMessage());
+            store = null;
+        }
+    }
+
+    public boolean isEnabled() {
+        return store != null;
+    }
+
+    @Scheduled(fixedDelayString = "${banking.metrics.sample-interval-ms:60000}",
+            initialDelayString = "${banking.metrics.sample-interval-ms:60000}")
+    public void scheduledSample() {
+        if (store == null) {
+            return;
+        }
+        try {
+            long now = System.currentTimeMillis();
+            store.append(Resolution.RAW, sample(now));
+            rollup(Resolution.HOURLY, Resolution.RAW, rawRetentionDays, now);
+            if (rollup(Resolution.DAILY, Resolution.HOURLY, hourlyRetentionDays, now) > 0) {
+                applyRetention(now);
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failed to record system totals sample", e);
+        }
+    }
+
+    /**
+     * Stored samples between two instants (inclusive), oldest first
+     */
+    public List<TotalsSample> history(Resolution resolution, long fromMillis, long toMillis) throws IOException {
+        if (store == null) {
+            throw new IllegalStateException("System totals history is disabled");
+        }
+        return store.read(resolution, fromMillis, toMillis);
+    }
+
+    /**
+     * Current totals, from the in-memory account columns when loaded, otherwise from the database
+     */
+    public TotalsSample sample(long timestampMillis) {
+        long[] accounts;
+        long[] cents;
+        if (accountColumnStore.isReady()) {
+            long[][] totals = accountColumnStore.query(columns -> new long[][]{columns.countByType(), columns.sumByType()});
+            accounts = totals[0];
+            cents = totals[1];
+        } else {
+            long[] counts = new long[TYPES];
+            long[] sums = new long[TYPES];
+            jdbcTemplate.query("SELECT account_type, COUNT(*), SUM(account_balance) FROM accounts GROUP BY account_type",
+                    rs -> {
+                        int type = Account.AccountType.valueOf(rs.getString(1)).ordinal();
+                        counts[type] = rs.getLong(2);
+                        sums[type] = LedgerService.toCents(rs.getBigDecimal(3));
+                    });
+            accounts = counts;
+            cents = sums;
+        }
+        Long customers = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM customers", Long.class);
+        return new TotalsSample(timestampMillis, customers != null ? customers : 0, accounts, cents);
+    }
+
+    /**
+     * Writes one target record per completed bucket that has source samples
+     * and no record yet, looking back at most the source's retention
+     *
+     * @return number of records written
+     */
+    private int rollup(Resolution target, Resolution source, int sourceRetentionDays, long now) throws IOException {
+        long step = target.getStepMillis();
+        long currentBucket = TimeSeriesStore.truncate(now, step);
+        Long last = lastRollup.get(target);
+        long from = last != null ? last + step : currentBucket - Math.max(1, sourceRetentionDays) * DAY_MILLIS;
+        if (from >= currentBucket) {
+            return 0;
+        }
+
+        int written = 0;
+        TotalsSample pending = null;
+        for (TotalsSample sample : store.read(source, from, currentBucket - 1)) {
+            long bucket = TimeSeriesStore.truncate(sample.getTimestampMillis(), step);
+            if (pending != null && pending.getTimestampMillis() != bucket) {
+                store.append(target, pending);
+                written++;
+            }
+            pending = sample.at(bucket);
+        }
+        if (pending != null) {
+            store.append(target, pending);
+            lastRollup.put(target, pending.getTimestampMillis());
+            written++;
+        }
+        return written;
+    }
+
+    private void applyRetention(long now) throws IOException {
+        int deleted = store.deleteBefore(Resolution.RAW, now - rawRetentionDays * DAY_MILLIS)
+                + store.deleteBefore(Resolution.HOURLY, now - hourlyRetentionDays * DAY_MILLIS);
+        if (dailyRetentionDays > 0) {
+            deleted += store.deleteBefore(Resolution.DAILY, now - dailyRetentionDays * DAY_MILLIS);
+        }
+        if (deleted > 0) {
+            log.info("Removed {} expired system totals history files", deleted);
+        }
+    }
+}
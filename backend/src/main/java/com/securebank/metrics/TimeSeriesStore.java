@@ -0,0 +1,293 @@
+package com.securebank.metrics;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Compact on-disk time series of TotalsSample records.
+ *
+ * Three tiers, each in its own directory of rolling files (UTC periods):
+ * raw samples in one file per day, hourly rollups in one file per month and
+ * daily rollups in one file per year. A file is a 32-byte header (magic,
+ * version, type count, resolution) followed by fixed-width records
+ * [long timestamp][long customers][per type: long accounts, long cents]
+ * in timestamp order, so a range read maps the file and binary-searches
+ * the first record. A partially written last record (crash mid-append) is
+ * truncated the next time the file is appended to.
+ */
+public final class TimeSeriesStore {
+
+    public enum Resolution {
+        RAW("raw", 0),
+        HOURLY("hourly", 3_600_000L),
+        DAILY("daily", 86_400_000L);
+
+        private final String directory;
+        private final long stepMillis;
+
+        Resolution(String directory, long stepMillis) {
+            this.directory = directory;
+            this.stepMillis = stepMillis;
+        }
+
+        /** Bucket width for rollups; 0 for raw samples */
+        public long getStepMillis() {
+            return stepMillis;
+        }
+
+        String periodOf(long timestampMillis) {
+            ZonedDateTime time = Instant.ofEpochMilli(timestampMillis).atZone(ZoneOffset.UTC);
+            return switch (this) {
+                case RAW -> time.toLocalDate().toString();
+                case HOURLY -> YearMonth.from(time).toString();
+                case DAILY -> String.valueOf(time.getYear());
+            };
+        }
+
+        long periodStart(String period) {
+            return switch (this) {
+                case RAW -> LocalDate.parse(period).atStartOfDay(ZoneOffset.UTC).toInstant().toEpochMilli();
+                case HOURLY -> YearMonth.parse(period).atDay(1).atStartOfDay(ZoneOffset.UTC).toInstant().toEpochMilli();
+                case DAILY -> LocalDate.of(Integer.parseInt(period), 1, 1).atStartOfDay(ZoneOffset.UTC).toInstant().toEpochMilli();
+            };
+        }
+
+        long periodEnd(String period) {
+            ZonedDateTime start = Instant.ofEpochMilli(periodStart(period)).atZone(ZoneOffset.UTC);
+            ZonedDateTime end = switch (this) {
+                case RAW -> start.plusDays(1);
+                case HOURLY -> start.plusMonths(1);
+                case DAILY -> start.plusYears(1);
+            };
+            return end.toInstant().toEpochMilli();
+        }
+    }
+
+    private static final int MAGIC = 0x54534D31; // "TSM1"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 32;
+    private static final String SUFFIX = ".ts";
+
+    private final Path directory;
+    private final int typeCount;
+    private final boolean fsync;
+
+    public TimeSeriesStore(Path directory, int typeCount, boolean fsync) throws IOException {
+        this.directory = directory;
+        this.typeCount = typeCount;
+        this.fsync = fsync;
+        for (Resolution resolution : Resolution.values()) {
+            Files.createDirectories(directory.resolve(resolution.directory));
+        }
+    }
+
+    public static int recordBytes(int typeCount) {
+        return 16 + typeCount * 16;
+    }
+
+    /**
+     * Appends a sample; samples must arrive in timestamp order per resolution
+     */
+    public synchronized void append(Resolution resolution, TotalsSample sample) throws IOException {
+        if (sample.getTypeCount() != typeCount) {
+            throw new IllegalArgumentException("Sample has " + sample.getTypeCount() + " types, store expects " + typeCount);
+        }
+        Path file = fileFor(resolution, resolution.periodOf(sample.getTimestampMillis()));
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            int fileTypes = typeCount;
+            if (channel.size() < HEADER_BYTES) {
+                ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+                header.putInt(MAGIC).putInt(VERSION).putInt(typeCount).putInt(resolution.ordinal());
+                header.position(HEADER_BYTES).flip();
+                channel.truncate(0);
+                writeFully(channel, header, 0);
+            } else {
+                fileTypes = readHeader(channel, file);
+                if (fileTypes != typeCount) {
+                    throw new IOException(file + " holds " + fileTypes + " account types, expected " + typeCount);
+                }
+            }
+            int recordBytes = recordBytes(fileTypes);
+            long end = HEADER_BYTES + (channel.size() - HEADER_BYTES) / recordBytes * recordBytes;
+            if (end != channel.size()) {
+                channel.truncate(end);
+            }
+            ByteBuffer record = ByteBuffer.allocate(recordBytes);
+            record.putLong(sample.getTimestampMillis()).putLong(sample.getCustomers());
+            for (int type = 0; type < typeCount; type++) {
+                record.putLong(sample.getAccounts(type)).putLong(sample.getCents(type));
+            }
+            record.flip();
+            writeFully(channel, record, end);
+            if (fsync) {
+                channel.force(false);
+            }
+        }
+    }
+
+    /**
+     * Samples with fromMillis &lt;= timestamp &lt;= toMillis, oldest first, read through memory-mapped files
+     */
+    public List<TotalsSample> read(Resolution resolution, long fromMillis, long toMillis) throws IOException {
+        List<TotalsSample> samples = new ArrayList<>();
+        for (Path file : files(resolution)) {
+            String period = periodOf(file);
+            if (resolution.periodEnd(period) <= fromMillis || resolution.periodStart(period) > toMillis) {
+                continue;
+            }
+            readFile(file, fromMillis, toMillis, samples);
+        }
+        return samples;
+    }
+
+    /**
+     * The newest sample of a resolution, or null when it has none
+     */
+    public TotalsSample last(Resolution resolution) throws IOException {
+        List<Path> files = files(resolution);
+        for (int i = files.size() - 1; i >= 0; i--) {
+            try (FileChannel channel = FileChannel.open(files.get(i), StandardOpenOption.READ)) {
+                if (channel.size() < HEADER_BYTES) {
+                    continue;
+                }
+                int fileTypes = readHeader(channel, files.get(i));
+                int recordBytes = recordBytes(fileTypes);
+                long records = (channel.size() - HEADER_BYTES) / recordBytes;
+                if (records == 0) {
+                    continue;
+                }
+                ByteBuffer record = ByteBuffer.allocate(recordBytes);
+                readFully(channel, record, HEADER_BYTES + (records - 1) * recordBytes);
+                record.flip();
+                return decode(record, fileTypes);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Deletes files of a resolution whose whole period ended before the cutoff
+     *
+     * @return number of files deleted
+     */
+    public synchronized int deleteBefore(Resolution resolution, long cutoffMillis) throws IOException {
+        int deleted = 0;
+        for (Path file : files(resolution)) {
+            if (resolution.periodEnd(periodOf(file)) <= cutoffMillis) {
+                Files.deleteIfExists(file);
+                deleted++;
+            }
+        }
+        return deleted;
+    }
+
+    private void readFile(Path file, long fromMillis, long toMillis, List<TotalsSample> samples) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_BYTES) {
+                return;
+            }
+            int fileTypes = readHeader(channel, file);
+            int recordBytes = recordBytes(fileTypes);
+            long records = (channel.size() - HEADER_BYTES) / recordBytes;
+            if (records == 0) {
+                return;
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_BYTES, records * recordBytes);
+
+            // Binary search for the first record at or after fromMillis
+            long low = 0;
+            long high = records;
+            while (low < high) {
+                long middle = (low + high) >>> 1;
+                if (buffer.getLong((int) (middle * recordBytes)) < fromMillis) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            for (long i = low; i < records; i++) {
+                buffer.position((int) (i * recordBytes));
+                if (buffer.getLong(buffer.position()) > toMillis) {
+                    break;
+                }
+                samples.add(decode(buffer, fileTypes));
+            }
+        }
+    }
+
+    private TotalsSample decode(ByteBuffer buffer, int fileTypes) {
+        long timestamp = buffer.getLong();
+        long customers = buffer.getLong();
+        long[] accounts = new long[typeCount];
+        long[] cents = new long[typeCount];
+        for (int type = 0; type < fileTypes; type++) {
+            long typeAccounts = buffer.getLong();
+            long typeCents = buffer.getLong();
+            if (type < typeCount) {
+                accounts[type] = typeAccounts;
+                cents[type] = typeCents;
+            }
+        }
+        return new TotalsSample(timestamp, customers, accounts, cents);
+    }
+
+    private int readHeader(FileChannel channel, Path file) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        readFully(channel, header, 0);
+        header.flip();
+        if (header.getInt() != MAGIC || header.getInt() != VERSION) {
+            throw new IOException("Not a metrics time-series file: " + file);
+        }
+        return header.getInt();
+    }
+
+    private List<Path> files(Resolution resolution) throws IOException {
+        try (Stream<Path> files = Files.list(directory.resolve(resolution.directory))) {
+            return files.filter(path -> path.getFileName().toString().endsWith(SUFFIX))
+                    .sorted(Comparator.comparingLong(path -> resolution.periodStart(periodOf(path))))
+                    .toList();
+        }
+    }
+
+    private Path fileFor(Resolution resolution, String period) {
+        return directory.resolve(resolution.directory).resolve(period + SUFFIX);
+    }
+
+    private static String periodOf(Path file) {
+        String name = file.getFileName().toString();
+        return name.substring(0, name.length() - SUFFIX.length());
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Truncated metrics time-series file");
+            }
+        }
+    }
+
+    static long truncate(long timestampMillis, long stepMillis) {
+        return Math.floorDiv(timestampMillis, stepMillis) * stepMillis;
+    }
+}
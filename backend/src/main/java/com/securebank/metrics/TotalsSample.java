@@ -0,0 +1,64 @@
+package com.securebank.metrics;
+
+/**
+ * System totals at one instant: customer count plus account count and
+ * balance (cents) per account type, indexed by type ordinal
+ */
+public class TotalsSample {
+
+    private final long timestampMillis;
+    private final long customers;
+    private final long[] accountsByType;
+    private final long[] centsByType;
+
+    public TotalsSample(long timestampMillis, long customers, long[] accountsByType, long[] centsByType) {
+        if (accountsByType.length != centsByType.length) {
+            throw new IllegalArgumentException("accountsByType and centsByType must have the same length");
+        }
+        this.timestampMillis = timestampMillis;
+        this.customers = customers;
+        this.accountsByType = accountsByType;
+        this.centsByType = centsByType;
+    }
+
+    /** Same values, stamped with a different time (used for rollup buckets) */
+    public TotalsSample at(long timestampMillis) {
+        return new TotalsSample(timestampMillis, customers, accountsByType, centsByType);
+    }
+
+    public long getTimestampMillis() {
+        return timestampMillis;
+    }
+
+    public long getCustomers() {
+        return customers;
+    }
+
+    public int getTypeCount() {
+        return accountsByType.length;
+    }
+
+    public long getAccounts(int typeOrdinal) {
+        return accountsByType[typeOrdinal];
+    }
+
+    public long getCents(int typeOrdinal) {
+        return centsByType[typeOrdinal];
+    }
+
+    public long getTotalAccounts() {
+        long total = 0;
+        for (long accounts : accountsByType) {
+            total += accounts;
+        }
+        return total;
+    }
+
+    public long getTotalCents() {
+        long total = 0;
+        for (long cents : centsByType) {
+            total += cents;
+        }
+        return total;
+    }
+}
@@ -0,0 +1,64 @@
+package com.securebank.outbox;
+
+import java.time.LocalDateTime;
+
+/**
+ * A change event as stored in outbox_events and handed to subscribers.
+ * eventId increases per aggregate in commit order; the same event may be
+ * delivered more than once, so subscribers should de-duplicate on it.
+ */
+public class OutboxEvent {
+
+    private final long eventId;
+    private final String aggregateType;
+    private final String aggregateId;
+    private final String eventType;
+    private final String payload;
+    private final LocalDateTime createdAt;
+
+    public OutboxEvent(long eventId, String aggregateType, String aggregateId, String eventType, String payload,
+                       LocalDateTime createdAt) {
+        this.eventId = eventId;
+        this.aggregateType = aggregateType;
+        this.aggregateId = aggregateId;
+        this.eventType = eventType;
+        this.payload = payload;
+        this.createdAt = createdAt;
+    }
+
+    public long getEventId() {
+        return eventId;
+    }
+
+    /** "account", "customer" or "account-bulk" */
+    public String getAggregateType() {
+        return aggregateType;
+    }
+
+    public String getAggregateId() {
+        return aggregateId;
+    }
+
+    /** e.g. "account.updated" */
+    public String getEventType() {
+        return eventType;
+    }
+
+    /** JSON */
+    public String getPayload() {
+        return payload;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    @Override
+    public String toString() {
+        return "OutboxEvent{" +
+                "eventId=" + eventId +
+                ", eventType='" + eventType + '\'' +
+                ", aggregateId='" + aggregateId + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,147 @@
+package com.securebank.outbox;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Moves events from outbox_events to the subscribers.
+ *
+ * Events are spread over a fixed number of partitions by aggregate. Each
+ * poll is one transaction that claims up to partitionsPerClaim partitions
+ * holding events with SELECT ... FOR UPDATE SKIP LOCKED on outbox_partitions
+ * (so relays on other threads or nodes take other partitions instead of
+ * waiting), delivers up to batchSize of their oldest events in eventId
+ * order, deletes the delivered ones and commits. A partition is only ever
+ * relayed by one poll at a time, which keeps each aggregate's events in
+ * order; a crash before the commit leaves the events in place to be
+ * delivered again.
+ */
+public class OutboxRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int partitionsPerClaim;
+    private final List<OutboxSubscriber> subscribers = new CopyOnWriteArrayList<>();
+
+    private final LongAdder polls = new LongAdder();
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+
+    public OutboxRelay(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate, int batchSize,
+                       int partitionsPerClaim) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.partitionsPerClaim = partitionsPerClaim;
+    }
+
+    /**
+     * Creates the partition rows 0 .. partitions - 1 that do not exist yet
+     */
+    public static void ensurePartitions(JdbcTemplate jdbcTemplate, int partitions) {
+        Set<Integer> existing = new HashSet<>(
+                jdbcTemplate.queryForList("SELECT partition_no FROM outbox_partitions", Integer.class));
+        for (int partition = 0; partition < partitions; partition++) {
+            if (!existing.contains(partition)) {
+                try {
+                    jdbcTemplate.update("INSERT INTO outbox_partitions (partition_no, relayed_at) VALUES (?, ?)",
+                            partition, Timestamp.valueOf(LocalDateTime.now()));
+                } catch (DuplicateKeyException e) {
+                    // Created concurrently by another node
+                }
+            }
+        }
+    }
+
+    public void subscribe(OutboxSubscriber subscriber) {
+        subscribers.add(subscriber);
+    }
+
+    /**
+     * One claim-deliver-delete cycle
+     *
+     * @return number of events delivered; 0 when there was nothing this relay could claim
+     */
+    public int relayOnce() {
+        polls.increment();
+        Integer count = transactionTemplate.execute(tx -> {
+            List<Integer> partitions = jdbcTemplate.queryForList("SELECT p.partition_no FROM outbox_partitions p " +
+                    "WHERE EXISTS (SELECT 1 FROM outbox_events e WHERE e.partition_no = p.partition_no) " +
+                    "ORDER BY p.relayed_at, p.partition_no LIMIT " + partitionsPerClaim + " FOR UPDATE SKIP LOCKED",
+                    Integer.class);
+            if (partitions.isEmpty()) {
+                return 0;
+            }
+            String in = String.join(", ", Collections.nCopies(partitions.size(), "?"));
+            List<OutboxEvent> events = jdbcTemplate.query("SELECT event_id, aggregate_type, aggregate_id, event_type, " +
+                            "payload, created_at FROM outbox_events WHERE partition_no IN (" + in + ") " +
+                            "ORDER BY event_id LIMIT " + batchSize,
+                    (rs, rowNum) -> new OutboxEvent(rs.getLong(1), rs.getString(2), rs.getString(3), rs.getString(4),
+                            rs.getString(5), rs.getTimestamp(6).toLocalDateTime()),
+                    partitions.toArray());
+
+            List<Object[]> done = new ArrayList<>(events.size());
+            Set<String> heldBack = new HashSet<>();
+            for (OutboxEvent event : events) {
+                String aggregate = event.getAggregateType() + ":" + event.getAggregateId();
+                if (heldBack.contains(aggregate)) {
+                    continue;
+                }
+                try {
+                    for (OutboxSubscriber subscriber : subscribers) {
+                        subscriber.onEvent(event);
+                    }
+                    done.add(new Object[]{event.getEventId()});
+                } catch (RuntimeException e) {
+                    // Later events of this aggregate wait until this one goes through
+                    heldBack.add(aggregate);
+                    failures.increment();
+                    log.warn("Outbox subscriber failed on {}, will retry", event, e);
+                }
+            }
+            jdbcTemplate.batchUpdate("DELETE FROM outbox_events WHERE event_id = ?", done);
+            List<Object[]> claimed = new ArrayList<>(partitions.size());
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            for (Integer partition : partitions) {
+                claimed.add(new Object[]{now, partition});
+            }
+            jdbcTemplate.batchUpdate("UPDATE outbox_partitions SET relayed_at = ? WHERE partition_no = ?", claimed);
+            return done.size();
+        });
+        int relayed = count != null ? count : 0;
+        delivered.add(relayed);
+        return relayed;
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    public long getPolls() {
+        return polls.sum();
+    }
+
+    public long getDelivered() {
+        return delivered.sum();
+    }
+
+    public long getFailures() {
+        return failures.sum();
+    }
+}
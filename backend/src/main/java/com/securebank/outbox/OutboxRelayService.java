@@ -0,0 +1,131 @@
+package com.securebank.outbox;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs the outbox relay on relay-threads background threads of this node.
+ * Every node may run relays; partition claiming keeps them out of each
+ * other's way. A thread polls again immediately while it finds events and
+ * sleeps poll-interval-ms once there is nothing it can claim. Relays only
+ * start when there are subscribers, matching {@link OutboxWriter}.
+ */
+@Service
+public class OutboxRelayService {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelayService.class);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired(required = false)
+    private List<OutboxSubscriber> subscribers = List.of();
+
+    @Value("${banking.outbox.enabled:false}")
+    private boolean enabled;
+
+    @Value("${banking.outbox.partitions:16}")
+    private int partitions;
+
+    @Value("${banking.outbox.batch-size:200}")
+    private int batchSize;
+
+    @Value("${banking.outbox.partitions-per-claim:4}")
+    private int partitionsPerClaim;
+
+    @Value("${banking.outbox.relay-threads:2}")
+    private int relayThreads;
+
+    @Value("${banking.outbox.poll-interval-ms:200}")
+    private long pollIntervalMs;
+
+    private OutboxRelay relay;
+    private final List<Thread> threads = new ArrayList<>();
+    private volatile boolean running;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled || subscribers.isEmpty()) {
+            if (enabled) {
+                log.info("Outbox enabled but no OutboxSubscriber beans exist; nothing is written or relayed");
+            }
+            return;
+        }
+        OutboxRelay.ensurePartitions(jdbcTemplate, partitions);
+        relay = new OutboxRelay(jdbcTemplate, new TransactionTemplate(transactionManager), batchSize,
+                partitionsPerClaim);
+        subscribers.forEach(relay::subscribe);
+        running = true;
+        for (int i = 0; i < relayThreads; i++) {
+            Thread thread = new Thread(this::relayLoop, "outbox-relay-" + i);
+            thread.setDaemon(true);
+            thread.start();
+            threads.add(thread);
+        }
+        log.info("Outbox relay started: {} threads, {} partitions, {} subscribers",
+                relayThreads, partitions, subscribers.size());
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        threads.forEach(Thread::interrupt);
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled && !subscribers.isEmpty());
+        stats.put("partitions", partitions);
+        stats.put("relayThreads", relayThreads);
+        stats.put("batchSize", batchSize);
+        if (relay != null) {
+            stats.put("subscribers", relay.getSubscriberCount());
+            stats.put("polls", relay.getPolls());
+            stats.put("delivered", relay.getDelivered());
+            stats.put("failures", relay.getFailures());
+        }
+        stats.put("pending", jdbcTemplate.queryForObject("SELECT COUNT(*) FROM outbox_events", Long.class));
+        Timestamp oldest = jdbcTemplate.queryForObject("SELECT MIN(created_at) FROM outbox_events", Timestamp.class);
+        stats.put("oldestPendingAt", oldest != null ? oldest.toLocalDateTime() : null);
+        return stats;
+    }
+
+    private void relayLoop() {
+        while (running) {
+            try {
+                if (relay.relayOnce() == 0) {
+                    Thread.sleep(pollIntervalMs);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Outbox relay poll failed", e);
+                try {
+                    Thread.sleep(pollIntervalMs);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+}
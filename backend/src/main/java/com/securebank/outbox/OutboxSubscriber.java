@@ -0,0 +1,14 @@
+package com.securebank.outbox;
+
+/**
+ * In-process consumer of outbox events. Spring beans implementing this are
+ * subscribed automatically.
+ *
+ * Delivery is at-least-once and in eventId order per aggregate. Throwing
+ * makes the relay retry the event (for every subscriber) on a later poll and
+ * holds back the aggregate's later events until it succeeds.
+ */
+public interface OutboxSubscriber {
+
+    void onEvent(OutboxEvent event);
+}
@@ -0,0 +1,142 @@
+package com.securebank.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.securebank.event.AccountChangeEvent;
+import com.securebank.event.AccountsBulkChangedEvent;
+import com.securebank.event.CustomerChangeEvent;
+import com.securebank.event.CustomersBulkChangedEvent;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes account and customer change events to outbox_events in the
+ * transaction that made the change, so an event exists exactly when the
+ * change committed.
+ *
+ * Events are collected while the transaction runs and inserted as one batch
+ * just before it commits, after flushing the persistence context. The flush
+ * takes the changed rows' locks first, so two transactions changing the same
+ * aggregate insert their events in commit order and eventId order matches it.
+ *
+ * Nothing is written unless the outbox is enabled and at least one
+ * {@link OutboxSubscriber} bean exists to consume the events.
+ */
+@Component
+public class OutboxWriter {
+
+    private static final String INSERT = "INSERT INTO outbox_events (partition_no, aggregate_type, aggregate_id, " +
+            "event_type, payload, created_at) VALUES (?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired(required = false)
+    private List<OutboxSubscriber> subscribers = List.of();
+
+    @Value("${banking.outbox.enabled:false}")
+    private boolean enabled;
+
+    @Value("${banking.outbox.partitions:16}")
+    private int partitions;
+
+    @EventListener
+    public void onAccountChange(AccountChangeEvent event) {
+        add("account", event.getAccountNo(), "account." + event.getChangeType().name().toLowerCase(), event);
+    }
+
+    @EventListener
+    public void onCustomerChange(CustomerChangeEvent event) {
+        add("customer", String.valueOf(event.getCustomerId()),
+                "customer." + event.getChangeType().name().toLowerCase(), event);
+    }
+
+    /**
+     * Bulk JDBC jobs publish no per-account events; relay a single notice instead
+     */
+    @EventListener
+    public void onAccountsBulkChanged(AccountsBulkChangedEvent event) {
+        add("account-bulk", event.getSource(), "accounts.bulk_changed", event);
+    }
+
+    @EventListener
+    public void onCustomersBulkChanged(CustomersBulkChangedEvent event) {
+        add("customer-bulk", event.getSource(), "customers.bulk_changed", event);
+    }
+
+    /**
+     * Partition of an aggregate; String.hashCode is specified, so every node agrees
+     */
+    public static int partitionOf(String aggregateType, String aggregateId, int partitions) {
+        return Math.floorMod((aggregateType + ":" + aggregateId).hashCode(), partitions);
+    }
+
+    private void add(String aggregateType, String aggregateId, String eventType, Object event) {
+        if (!enabled || subscribers.isEmpty()) {
+            return;
+        }
+        Object[] row;
+        try {
+            row = new Object[]{partitionOf(aggregateType, aggregateId, partitions), aggregateType, aggregateId,
+                    eventType, objectMapper.writeValueAsString(event), Timestamp.valueOf(LocalDateTime.now())};
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize outbox event " + event, e);
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            PendingEvents pending = (PendingEvents) TransactionSynchronizationManager.getResource(this);
+            if (pending == null) {
+                pending = new PendingEvents();
+                TransactionSynchronizationManager.bindResource(this, pending);
+                TransactionSynchronizationManager.registerSynchronization(pending);
+            }
+            pending.rows.add(row);
+        } else {
+            jdbcTemplate.update(INSERT, row);
+        }
+    }
+
+    private class PendingEvents implements TransactionSynchronization {
+
+        private final List<Object[]> rows = new ArrayList<>();
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            // Lock the changed rows before taking outbox ids; throwing here rolls the transaction back
+            entityManager.flush();
+            jdbcTemplate.batchUpdate(INSERT, rows);
+        }
+
+        @Override
+        public void suspend() {
+            TransactionSynchronizationManager.unbindResource(OutboxWriter.this);
+        }
+
+        @Override
+        public void resume() {
+            TransactionSynchronizationManager.bindResource(OutboxWriter.this, this);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(OutboxWriter.this);
+        }
+    }
+}
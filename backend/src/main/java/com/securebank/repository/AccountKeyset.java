@@ -0,0 +1,234 @@
+package com.securebank.repository;
+
+import com.securebank.entity.Account;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+
+/**
+ * Multi-column sort and keyset (seek) paging for Account queries.
+ *
+ * Every sort ends with account_no so the ordering is total. A page cursor
+ * holds the sort values of the last row returned; the next page is the rows
+ * strictly after that tuple, expressed as
+ *   c1 >= v1 AND (c1 > v1 OR (c1 = v1 AND (c2 > v2 OR ...)))
+ * (directions flipped for DESC columns). The redundant leading bound lets the
+ * database range-scan the index on c1 instead of evaluating the OR per row.
+ *
+ * account_type is a MySQL ENUM: ORDER BY uses the declaration index but
+ * account_type > 'X' compares strings, so type bounds are written as IN
+ * lists of the types declared after (or before) the cursor's type.
+ * AccountType constants are in the same order as the ENUM in V1.
+ */
+public final class AccountKeyset {
+
+    private static final char SEPARATOR = '\u001F';
+
+    public enum SortField {
+        ACCOUNT_NO("accountNo", Account::getAccountNo, value -> value),
+        HOLDER_NAME("accountHolderName", Account::getAccountHolderName, value -> value),
+        BALANCE("accountBalance", Account::getAccountBalance, BigDecimal::new),
+        TYPE("accountType", Account::getAccountType, Account.AccountType::valueOf),
+        CREATED("createdDate", Account::getCreatedDate, LocalDateTime::parse),
+        CUSTOMER("customerId", account -> account.getCustomer().getCustomerId(), Long::valueOf);
+
+        private final String property;
+        private final Function<Account, Object> extractor;
+        private final Function<String, Object> parser;
+
+        SortField(String property, Function<Account, Object> extractor, Function<String, Object> parser) {
+            this.property = property;
+            this.extractor = extractor;
+            this.parser = parser;
+        }
+
+        public String getProperty() {
+            return property;
+        }
+
+        public static SortField fromProperty(String property) {
+            for (SortField field : values()) {
+                if (field.property.equalsIgnoreCase(property)) {
+                    return field;
+                }
+            }
+            throw new IllegalArgumentException("Cannot sort by '" + property + "'");
+        }
+
+        Path<Object> path(Root<Account> root) {
+            return this == CUSTOMER ? root.get("customer").get("customerId") : root.get(property);
+        }
+    }
+
+    public static final class SortKey {
+        private final SortField field;
+        private final boolean ascending;
+
+        public SortKey(SortField field, boolean ascending) {
+            this.field = field;
+            this.ascending = ascending;
+        }
+
+        public SortField getField() {
+            return field;
+        }
+
+        public boolean isAscending() {
+            return ascending;
+        }
+
+        @Override
+        public String toString() {
+            return field.property + "," + (ascending ? "asc" : "desc");
+        }
+    }
+
+    private AccountKeyset() {
+    }
+
+    /**
+     * Parses sort parameters of the form "property" or "property,asc|desc" and
+     * appends the account_no tie-breaker when it is not already present.
+     * A single sort=a,desc parameter arrives split on the comma, so direction
+     * tokens are applied to the property before them.
+     */
+    public static List<SortKey> parseSort(List<String> sort) {
+        List<SortKey> keys = new ArrayList<>();
+        if (sort != null) {
+            for (String entry : sort) {
+                if (entry == null) {
+                    continue;
+                }
+                for (String token : entry.split(",")) {
+                    token = token.trim();
+                    if (token.isEmpty()) {
+                        continue;
+                    }
+                    String lower = token.toLowerCase(Locale.ROOT);
+                    if (lower.equals("asc") || lower.equals("desc")) {
+                        if (keys.isEmpty()) {
+                            throw new IllegalArgumentException("Sort direction without a property: " + token);
+                        }
+                        SortKey previous = keys.remove(keys.size() - 1);
+                        keys.add(new SortKey(previous.field, lower.equals("asc")));
+                        continue;
+                    }
+                    SortField field = SortField.fromProperty(token);
+                    if (keys.stream().anyMatch(key -> key.field == field)) {
+                        throw new IllegalArgumentException("Duplicate sort property: " + field.property);
+                    }
+                    keys.add(new SortKey(field, true));
+                }
+            }
+        }
+        if (keys.stream().noneMatch(key -> key.field == SortField.ACCOUNT_NO)) {
+            keys.add(new SortKey(SortField.ACCOUNT_NO, true));
+        }
+        return keys;
+    }
+
+    public static List<Order> orders(List<SortKey> keys, Root<Account> root, CriteriaBuilder cb) {
+        List<Order> orders = new ArrayList<>(keys.size());
+        for (SortKey key : keys) {
+            Expression<?> path = key.field.path(root);
+            orders.add(key.ascending ? cb.asc(path) : cb.desc(path));
+        }
+        return orders;
+    }
+
+    /**
+     * Rows strictly after the cursor position in the given ordering
+     */
+    public static Specification<Account> after(List<SortKey> keys, String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        List<Object> values = decodeCursor(keys, cursor);
+        return (root, query, cb) -> {
+            Predicate tail = null;
+            for (int i = keys.size() - 1; i >= 0; i--) {
+                Predicate beyond = compare(keys.get(i), values.get(i), root, cb, false);
+                tail = tail == null
+                        ? beyond
+                        : cb.or(beyond, cb.and(cb.equal(keys.get(i).field.path(root), values.get(i)), tail));
+            }
+            return cb.and(compare(keys.get(0), values.get(0), root, cb, true), tail);
+        };
+    }
+
+    public static String encodeCursor(List<SortKey> keys, Account last) {
+        StringBuilder raw = new StringBuilder();
+        for (int i = 0; i < keys.size(); i++) {
+            if (i > 0) {
+                raw.append(SEPARATOR);
+            }
+            raw.append(keys.get(i).field.extractor.apply(last));
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static List<Object> decodeCursor(List<SortKey> keys, String cursor) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Malformed cursor");
+        }
+        String[] parts = raw.split(String.valueOf(SEPARATOR), -1);
+        if (parts.length != keys.size()) {
+            throw new IllegalArgumentException("Cursor does not match the requested sort");
+        }
+        List<Object> values = new ArrayList<>(parts.length);
+        for (int i = 0; i < parts.length; i++) {
+            try {
+                values.add(keys.get(i).field.parser.apply(parts[i]));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Cursor does not match the requested sort");
+            }
+        }
+        return values;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Predicate compare(SortKey key, Object value, Root<Account> root, CriteriaBuilder cb, boolean inclusive) {
+        Expression path = key.field.path(root);
+        if (key.field == SortField.TYPE) {
+            return typesBeyond((Account.AccountType) value, path, cb, key.ascending, inclusive);
+        }
+        Comparable bound = (Comparable) value;
+        if (key.ascending) {
+            return inclusive ? cb.greaterThanOrEqualTo(path, bound) : cb.greaterThan(path, bound);
+        }
+        return inclusive ? cb.lessThanOrEqualTo(path, bound) : cb.lessThan(path, bound);
+    }
+
+    /**
+     * The types after the bound in declaration order (before it when descending), as an IN list
+     */
+    private static Predicate typesBeyond(Account.AccountType bound, Expression<Object> path, CriteriaBuilder cb,
+                                         boolean ascending, boolean inclusive) {
+        CriteriaBuilder.In<Object> in = cb.in(path);
+        boolean any = false;
+        for (Account.AccountType type : Account.AccountType.values()) {
+            int order = Integer.compare(type.ordinal(), bound.ordinal());
+            if ((ascending ? order > 0 : order < 0) || (inclusive && order == 0)) {
+                in.value(type);
+                any = true;
+            }
+        }
+        return any ? in : cb.disjunction();
+    }
+}
@@ -1,7 +1,9 @@
 package com.securebank.repository;
 
 import com.securebank.entity.Account;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -9,6 +11,7 @@ import org.springframework.stereotype.Repository;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Repository interface for Account entity
@@ -16,6 +19,16 @@ import java.util.List;
 @Repository
 public interface AccountRepository extends JpaRepository<Account, String> {
     
+    /**
+     * Find an account and lock its row (SELECT ... FOR UPDATE) until the transaction ends,
+     * so a read-modify-write of the balance cannot interleave with another writer
+     * @param accountNo the account number
+     * @return the locked account, if it exists
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Account a WHERE a.accountNo = :accountNo")
+    Optional<Account> findByIdForUpdate(@Param("accountNo") String accountNo);
+    
     /**
      * Find accounts by customer ID
      * @param customerId the customer ID to search for
@@ -0,0 +1,83 @@
+package com.securebank.repository;
+
+import com.securebank.entity.Account;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Composable filters for Account queries.
+ * Each returns null when its argument is absent so they can be chained with
+ * Specification.where(...).and(...). All of them are sargable, i.e. they
+ * compare the bare column so an index on it can be range-scanned.
+ */
+public final class AccountSpecifications {
+
+    private AccountSpecifications() {
+    }
+
+    public static Specification<Account> hasType(Account.AccountType accountType) {
+        if (accountType == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.equal(root.get("accountType"), accountType);
+    }
+
+    public static Specification<Account> belongsToCustomer(Long customerId) {
+        if (customerId == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.equal(root.get("customer").get("customerId"), customerId);
+    }
+
+    public static Specification<Account> balanceBetween(BigDecimal minBalance, BigDecimal maxBalance) {
+        if (minBalance == null && maxBalance == null) {
+            return null;
+        }
+        return (root, query, cb) -> {
+            if (minBalance == null) {
+                return cb.lessThanOrEqualTo(root.get("accountBalance"), maxBalance);
+            }
+            if (maxBalance == null) {
+                return cb.greaterThanOrEqualTo(root.get("accountBalance"), minBalance);
+            }
+            return cb.between(root.get("accountBalance"), minBalance, maxBalance);
+        };
+    }
+
+    /**
+     * Created in [from, to); either bound may be null
+     */
+    public static Specification<Account> createdBetween(LocalDateTime from, LocalDateTime to) {
+        if (from == null && to == null) {
+            return null;
+        }
+        return (root, query, cb) -> {
+            if (from == null) {
+                return cb.lessThan(root.get("createdDate"), to);
+            }
+            if (to == null) {
+                return cb.greaterThanOrEqualTo(root.get("createdDate"), from);
+            }
+            return cb.and(cb.greaterThanOrEqualTo(root.get("createdDate"), from),
+                    cb.lessThan(root.get("createdDate"), to));
+        };
+    }
+
+    /**
+     * Holder name starting with the prefix. Uses LIKE 'prefix%' on the bare column so the
+     * name index is used; case-insensitivity comes from the column collation (MySQL default).
+     */
+    public static Specification<Account> holderNameStartsWith(String prefix) {
+        if (prefix == null || prefix.isBlank()) {
+            return null;
+        }
+        String pattern = escapeLike(prefix.trim()) + "%";
+        return (root, query, cb) -> cb.like(root.get("accountHolderName"), pattern, '\\');
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
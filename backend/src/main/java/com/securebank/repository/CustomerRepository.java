@@ -7,6 +7,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -38,6 +39,20 @@ public interface CustomerRepository extends JpaRepository<Customer, Long> {
      */
     @Query("SELECT COUNT(c) > 0 FROM Customer c WHERE c.email = :email AND c.customerId != :customerId")
     boolean existsByEmailAndCustomerIdNot(@Param("email") String email, @Param("customerId") Long customerId);
+
+    /**
+     * Which of the given emails are already taken
+     * @param emails the emails to check
+     * @return the subset of emails that exist
+     */
+    @Query("SELECT c.email FROM Customer c WHERE c.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+    
+    /**
+     * Find the customer with the lowest ID (primary key lookup, cheap emptiness check)
+     * @return Optional containing the first customer if any exist
+     */
+    Optional<Customer> findFirstByOrderByCustomerIdAsc();
     
     /**
      * Find customers by name containing (case-insensitive)
@@ -0,0 +1,117 @@
+package com.securebank.repository;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Reserves blocks of IDs from the id_sequences table for JDBC bulk inserts.
+ *
+ * Shares its sequences with the entities' @TableGenerator and follows
+ * Hibernate's stored-last-used convention: next_val is the last ID handed
+ * out, and a block of n IDs is [next_val + 1, next_val + n] with next_val
+ * advanced by n. IDs handed out here therefore never collide with IDs
+ * Hibernate assigns, on this node or any other. Each reservation locks
+ * the sequence row in a short transaction of its own; the row lock is
+ * released before the caller's inserts start.
+ *
+ * That transaction needs a connection of its own, so reservations are made
+ * before the caller's transaction begins: a request holding one connection
+ * while waiting for another can starve the pool (and the virtual-thread
+ * permit gate) when every request does the same. JPA inserts get the same
+ * treatment through {@link #withReservedIds} and {@link ReservedIdTableGenerator}.
+ */
+@Component
+public class IdBlockAllocator {
+
+    public static final String CUSTOMERS = "customers";
+    public static final String USERS = "users";
+
+    // sequence -> {next, end} of the blocks reserved on this thread by withReservedIds
+    private static final ThreadLocal<Map<String, long[]>> RESERVED = new ThreadLocal<>();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate requiresNew;
+
+    @PostConstruct
+    public void init() {
+        requiresNew = new TransactionTemplate(transactionManager);
+        requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Reserves count consecutive IDs
+     *
+     * @return the first ID of the block; the block is [first, first + count)
+     */
+    public long allocate(String sequence, int count) {
+        if (count < 1) {
+            throw new IllegalArgumentException("count must be positive: " + count);
+        }
+        Long first = requiresNew.execute(status -> {
+            Long lastUsed;
+            try {
+                lastUsed = jdbcTemplate.queryForObject(
+                        "SELECT next_val FROM id_sequences WHERE sequence_name = ? FOR UPDATE", Long.class, sequence);
+            } catch (EmptyResultDataAccessException e) {
+                throw new IllegalStateException("Unknown ID sequence: " + sequence);
+            }
+            jdbcTemplate.update("UPDATE id_sequences SET next_val = ? WHERE sequence_name = ?",
+                    lastUsed + count, sequence);
+            return lastUsed + 1;
+        });
+        return first;
+    }
+
+    /**
+     * Reserves count IDs and runs work with them available to ReservedIdTableGenerator
+     * on this thread; work typically starts the transaction that inserts the entities.
+     * Must be called outside a transaction.
+     */
+    public <T> T withReservedIds(String sequence, int count, Supplier<T> work) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("IDs must be reserved before the transaction starts");
+        }
+        long first = allocate(sequence, count);
+        Map<String, long[]> previous = RESERVED.get();
+        Map<String, long[]> reserved = previous != null ? new HashMap<>(previous) : new HashMap<>();
+        reserved.put(sequence, new long[]{first, first + count});
+        RESERVED.set(reserved);
+        try {
+            return work.get();
+        } finally {
+            if (previous != null) {
+                RESERVED.set(previous);
+            } else {
+                RESERVED.remove();
+            }
+        }
+    }
+
+    /**
+     * The next ID reserved on this thread for the sequence, or null when there is none left
+     */
+    static Long nextReserved(String sequence) {
+        Map<String, long[]> reserved = RESERVED.get();
+        long[] block = reserved != null ? reserved.get(sequence) : null;
+        if (block == null || block[0] >= block[1]) {
+            return null;
+        }
+        return block[0]++;
+    }
+}
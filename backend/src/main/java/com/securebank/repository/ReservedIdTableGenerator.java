@@ -0,0 +1,20 @@
+package com.securebank.repository;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.enhanced.TableGenerator;
+
+/**
+ * Table generator that first hands out IDs reserved on the calling thread by
+ * {@link IdBlockAllocator#withReservedIds}. Those were taken before the
+ * transaction started, so the insert needs no second connection for a new
+ * block; without a reservation it falls back to the table generator, which
+ * fetches blocks on an isolated connection.
+ */
+public class ReservedIdTableGenerator extends TableGenerator {
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object obj) {
+        Long reserved = IdBlockAllocator.nextReserved(getSegmentValue());
+        return reserved != null ? reserved : super.generate(session, obj);
+    }
+}
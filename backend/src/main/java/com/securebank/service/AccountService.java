@@ -1,17 +1,37 @@
 package com.securebank.service;
 
 import com.securebank.dto.AccountDto;
+import com.securebank.dto.AccountPage;
+import com.securebank.dto.AccountQuery;
 import com.securebank.entity.Account;
 import com.securebank.entity.Customer;
+import com.securebank.event.AccountChangeEvent;
+import com.securebank.repository.AccountKeyset;
 import com.securebank.repository.AccountRepository;
+import com.securebank.repository.AccountSpecifications;
 import com.securebank.repository.CustomerRepository;
+import com.securebank.singleflight.SingleFlight;
+import com.securebank.velocity.VelocityLimitService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -24,6 +44,19 @@ public class AccountService {
     @Autowired
     private CustomerRepository customerRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private SingleFlight singleFlight;
+
+    @Autowired
+    private VelocityLimitService velocityLimitService;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Transactional(readOnly = true)
     public List<AccountDto> getAllAccounts() {
         return accountRepository.findAllOrderByCreatedDateDesc()
                 .stream()
@@ -31,6 +64,19 @@ public class AccountService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Accounts for many account numbers in one IN query; numbers that do not exist are absent from the map
+     */
+    @Transactional(readOnly = true)
+    public Map<String, AccountDto> getAccountsByNumbers(Collection<String> accountNos) {
+        Map<String, AccountDto> accounts = new HashMap<>();
+        for (Account account : accountRepository.findAllById(accountNos)) {
+            accounts.put(account.getAccountNo(), convertToDto(account));
+        }
+        return accounts;
+    }
+
+    @Transactional(readOnly = true)
     public AccountDto getAccountByNumber(String accountNo) {
         Account account = accountRepository.findById(accountNo)
                 .orElseThrow(() -> new RuntimeException("Account not found with number: " + accountNo));
@@ -54,41 +100,101 @@ public class AccountService {
         account.setCreatedDate(LocalDateTime.now());
 
         Account savedAccount = accountRepository.save(account);
+        eventPublisher.publishEvent(AccountChangeEvent.created(savedAccount));
         return convertToDto(savedAccount);
     }
 
     public AccountDto updateAccount(String accountNo, AccountDto accountDto) {
-        Account existingAccount = accountRepository.findById(accountNo)
+        // Locked, so previousBalance (the ledger delta and velocity amount) is still current at commit
+        Account existingAccount = accountRepository.findByIdForUpdate(accountNo)
                 .orElseThrow(() -> new RuntimeException("Account not found with number: " + accountNo));
+        BigDecimal previousBalance = existingAccount.getAccountBalance();
 
         // Update allowed fields (typically limited for accounts)
         if (accountDto.getAccountHolderName() != null) {
             existingAccount.setAccountHolderName(accountDto.getAccountHolderName());
         }
         if (accountDto.getAccountBalance() != null) {
+            velocityLimitService.checkAndRecord(accountNo, existingAccount.getAccountType(), previousBalance,
+                    accountDto.getAccountBalance());
             existingAccount.setAccountBalance(accountDto.getAccountBalance());
         }
         // Note: Account type and customer typically cannot be changed after creation
 
         Account updatedAccount = accountRepository.save(existingAccount);
+        eventPublisher.publishEvent(AccountChangeEvent.updated(updatedAccount, previousBalance));
         return convertToDto(updatedAccount);
     }
 
     public void deleteAccount(String accountNo) {
-        Account account = accountRepository.findById(accountNo)
+        Account account = accountRepository.findByIdForUpdate(accountNo)
                 .orElseThrow(() -> new RuntimeException("Account not found with number: " + accountNo));
 
         accountRepository.delete(account);
+        eventPublisher.publishEvent(AccountChangeEvent.deleted(account));
+    }
+
+    /**
+     * Filtered, sorted, keyset-paged account search. Fetches one row more than
+     * the page size to know whether another page follows, so no COUNT is needed.
+     */
+    @Transactional(readOnly = true)
+    public AccountPage queryAccounts(AccountQuery query) {
+        if (query.getSize() < 1 || query.getSize() > AccountQuery.MAX_SIZE) {
+            throw new IllegalArgumentException("size must be between 1 and " + AccountQuery.MAX_SIZE);
+        }
+        if (query.getMinBalance() != null && query.getMaxBalance() != null
+                && query.getMinBalance().compareTo(query.getMaxBalance()) > 0) {
+            throw new IllegalArgumentException("minBalance must not exceed maxBalance");
+        }
+        List<AccountKeyset.SortKey> sortKeys = AccountKeyset.parseSort(query.getSort());
+
+        Specification<Account> specification = Specification
+                .where(AccountSpecifications.hasType(query.getAccountType()))
+                .and(AccountSpecifications.belongsToCustomer(query.getCustomerId()))
+                .and(AccountSpecifications.balanceBetween(query.getMinBalance(), query.getMaxBalance()))
+                .and(AccountSpecifications.createdBetween(
+                        query.getCreatedFrom() != null ? query.getCreatedFrom().atStartOfDay() : null,
+                        query.getCreatedTo() != null ? query.getCreatedTo().plusDays(1).atStartOfDay() : null))
+                .and(AccountSpecifications.holderNameStartsWith(query.getHolderNamePrefix()))
+                .and(AccountKeyset.after(sortKeys, query.getCursor()));
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Account> criteria = cb.createQuery(Account.class);
+        Root<Account> root = criteria.from(Account.class);
+        Predicate predicate = specification.toPredicate(root, criteria, cb);
+        if (predicate != null) {
+            criteria.where(predicate);
+        }
+        criteria.orderBy(AccountKeyset.orders(sortKeys, root, cb));
+
+        List<Account> rows = entityManager.createQuery(criteria)
+                .setMaxResults(query.getSize() + 1)
+                .getResultList();
+        boolean hasMore = rows.size() > query.getSize();
+        if (hasMore) {
+            rows = rows.subList(0, query.getSize());
+        }
+        String nextCursor = hasMore ? AccountKeyset.encodeCursor(sortKeys, rows.get(rows.size() - 1)) : null;
+        return new AccountPage(
+                rows.stream().map(this::convertToDto).collect(Collectors.toList()),
+                nextCursor,
+                hasMore,
+                sortKeys.stream().map(AccountKeyset.SortKey::toString).collect(Collectors.toList()));
     }
 
+    // Dashboard aggregates are coalesced across concurrent callers (see SingleFlight)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public long getAccountCount() {
-        return accountRepository.countAccounts();
+        return singleFlight.execute("accounts.count", null, accountRepository::countAccounts);
     }
 
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public BigDecimal getTotalBalance() {
-        return accountRepository.getTotalBalance();
+        return singleFlight.execute("accounts.totalBalance", null, accountRepository::getTotalBalance);
     }
 
+    @Transactional(readOnly = true)
     public List<AccountDto> getAccountsByCustomerId(Long customerId) {
         return accountRepository.findByCustomer_CustomerId(customerId)
                 .stream()
@@ -96,6 +202,7 @@ public class AccountService {
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public List<AccountDto> getAccountsByType(Account.AccountType accountType) {
         return accountRepository.findByAccountType(accountType)
                 .stream()
@@ -103,10 +210,13 @@ public class AccountService {
                 .collect(Collectors.toList());
     }
 
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public BigDecimal getTotalBalanceByType(Account.AccountType accountType) {
-        return accountRepository.getTotalBalanceByType(accountType);
+        return singleFlight.execute("accounts.totalBalanceByType", accountType,
+                () -> accountRepository.getTotalBalanceByType(accountType));
     }
 
+    @Transactional(readOnly = true)
     public List<AccountDto> getAccountsWithHighBalances(BigDecimal minBalance) {
         return accountRepository.findByAccountBalanceGreaterThan(minBalance)
                 .stream()
@@ -114,10 +224,13 @@ public class AccountService {
                 .collect(Collectors.toList());
     }
 
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public long getAccountCountByType(Account.AccountType accountType) {
-        return accountRepository.countByAccountType(accountType);
+        return singleFlight.execute("accounts.countByType", accountType,
+                () -> accountRepository.countByAccountType(accountType));
     }
 
+    @Transactional(readOnly = true)
     public List<AccountDto> getRecentAccounts(int days) {
         LocalDateTime cutoffDate = LocalDateTime.now().minusDays(days);
         return accountRepository.findByCreatedDateAfter(cutoffDate)
@@ -1,13 +1,28 @@
 package com.securebank.service;
 
 import com.securebank.entity.Customer;
+import com.securebank.event.CustomerChangeEvent;
 import com.securebank.repository.CustomerRepository;
+import com.securebank.repository.IdBlockAllocator;
+import com.securebank.singleflight.SingleFlight;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import jakarta.annotation.PostConstruct;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
@@ -16,23 +31,108 @@ public class CustomerService {
     @Autowired
     private CustomerRepository customerRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private SingleFlight singleFlight;
+
+    @Autowired
+    private IdBlockAllocator idBlockAllocator;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    public void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Transactional(readOnly = true)
     public List<Customer> getAllCustomers() {
         return customerRepository.findAllOrderByCreatedDateDesc();
     }
 
+    @Transactional(readOnly = true)
     public Customer getCustomerById(Long id) {
         return customerRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Customer not found with id: " + id));
     }
 
+    /**
+     * Customers for many IDs in one IN query; IDs that do not exist are absent from the map
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, Customer> getCustomersByIds(Collection<Long> ids) {
+        Map<Long, Customer> customers = new HashMap<>();
+        for (Customer customer : customerRepository.findAllById(ids)) {
+            customers.put(customer.getCustomerId(), customer);
+        }
+        return customers;
+    }
+
+    /**
+     * The customer ID is reserved before the insert transaction starts (see IdBlockAllocator),
+     * so a request never holds one connection while waiting for a second one
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Customer createCustomer(Customer customer) {
+        return idBlockAllocator.withReservedIds(IdBlockAllocator.CUSTOMERS, 1,
+                () -> transactionTemplate.execute(status -> insertCustomer(customer)));
+    }
+
+    private Customer insertCustomer(Customer customer) {
         // Check if email already exists
         if (customerRepository.existsByEmail(customer.getEmail())) {
             throw new IllegalArgumentException("Email already exists: " + customer.getEmail());
         }
 
         customer.setCreatedDate(LocalDateTime.now());
-        return customerRepository.save(customer);
+        Customer savedCustomer = customerRepository.save(customer);
+        eventPublisher.publishEvent(new CustomerChangeEvent(CustomerChangeEvent.ChangeType.CREATED, savedCustomer));
+        return savedCustomer;
+    }
+
+    /**
+     * Creates several customers in one transaction. A block of IDs is reserved
+     * before it starts, so Hibernate sends the inserts as JDBC batches without
+     * fetching IDs on a second connection.
+     * Fails as a whole if any email is repeated or already taken.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<Customer> createCustomers(List<Customer> customers) {
+        Set<String> emails = new HashSet<>();
+        for (Customer customer : customers) {
+            if (customer == null || customer.getEmail() == null || customer.getEmail().isBlank()) {
+                throw new IllegalArgumentException("Every customer needs an email");
+            }
+            if (!emails.add(customer.getEmail().toLowerCase(Locale.ROOT))) {
+                throw new IllegalArgumentException("Email repeated in request: " + customer.getEmail());
+            }
+        }
+        return idBlockAllocator.withReservedIds(IdBlockAllocator.CUSTOMERS, customers.size(),
+                () -> transactionTemplate.execute(status -> insertCustomers(customers)));
+    }
+
+    private List<Customer> insertCustomers(List<Customer> customers) {
+        List<String> existing = customerRepository.findExistingEmails(
+                customers.stream().map(Customer::getEmail).collect(Collectors.toList()));
+        if (!existing.isEmpty()) {
+            throw new IllegalArgumentException("Email already exists: " + String.join(", ", existing));
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        for (Customer customer : customers) {
+            customer.setCustomerId(null);
+            customer.setCreatedDate(now);
+        }
+        List<Customer> savedCustomers = customerRepository.saveAll(customers);
+        for (Customer savedCustomer : savedCustomers) {
+            eventPublisher.publishEvent(new CustomerChangeEvent(CustomerChangeEvent.ChangeType.CREATED, savedCustomer));
+        }
+        return savedCustomers;
     }
 
     public Customer updateCustomer(Long id, Customer customerDetails) {
@@ -49,7 +149,9 @@ public class CustomerService {
         existingCustomer.setAddress(customerDetails.getAddress());
         existingCustomer.setUpdatedDate(LocalDateTime.now());
 
-        return customerRepository.save(existingCustomer);
+        Customer updatedCustomer = customerRepository.save(existingCustomer);
+        eventPublisher.publishEvent(new CustomerChangeEvent(CustomerChangeEvent.ChangeType.UPDATED, updatedCustomer));
+        return updatedCustomer;
     }
 
     public void deleteCustomer(Long id) {
@@ -61,33 +163,42 @@ public class CustomerService {
         }
         
         customerRepository.delete(customer);
+        eventPublisher.publishEvent(new CustomerChangeEvent(CustomerChangeEvent.ChangeType.DELETED, customer));
     }
 
+    // Coalesced across concurrent callers (see SingleFlight)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public long getCustomerCount() {
-        return customerRepository.countCustomers();
+        return singleFlight.execute("customers.count", null, customerRepository::countCustomers);
     }
 
+    @Transactional(readOnly = true)
     public List<Customer> searchCustomersByName(String name) {
         return customerRepository.findByNameContainingIgnoreCase(name);
     }
 
+    @Transactional(readOnly = true)
     public Customer getCustomerByEmail(String email) {
         return customerRepository.findByEmail(email)
                 .orElseThrow(() -> new RuntimeException("Customer not found with email: " + email));
     }
 
+    @Transactional(readOnly = true)
     public boolean existsByEmail(String email) {
         return customerRepository.existsByEmail(email);
     }
 
+    @Transactional(readOnly = true)
     public List<Customer> getCustomersWithAccounts() {
         return customerRepository.findCustomersWithAccounts();
     }
 
+    @Transactional(readOnly = true)
     public List<Customer> getCustomersWithoutAccounts() {
         return customerRepository.findCustomersWithoutAccounts();
     }
 
+    @Transactional(readOnly = true)
     public List<Customer> getRecentCustomers(int days) {
         LocalDateTime cutoffDate = LocalDateTime.now().minusDays(days);
         return customerRepository.findByCreatedDateAfter(cutoffDate);
@@ -0,0 +1,178 @@
+package com.securebank.singleflight;
+
+import com.securebank.event.AccountChangeEvent;
+import com.securebank.event.AccountsBulkChangedEvent;
+import com.securebank.event.CustomerChangeEvent;
+import com.securebank.event.CustomersBulkChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Request coalescing for hot read methods.
+ *
+ * Concurrent calls with the same name and argument share one in-flight
+ * computation: the first caller runs it, later callers wait for its result
+ * (or its exception). With a TTL the completed result is also served to
+ * callers arriving within ttl-ms afterwards. Committed account and customer
+ * changes drop everything recorded under "accounts." and "customers.", so
+ * the TTL only bounds staleness against writes that publish no event.
+ *
+ * Callers inside a transaction bypass coalescing, since they may need to
+ * see their own uncommitted writes; coalesced service methods therefore
+ * use Propagation.SUPPORTS so that a plain controller call has none.
+ */
+@Component
+public class SingleFlight {
+
+    private static final String ACCOUNTS = "accounts.";
+    private static final String CUSTOMERS = "customers.";
+
+    @Value("${banking.single-flight.enabled:true}")
+    private boolean enabled;
+
+    @Value("${banking.single-flight.ttl-ms:250}")
+    private long ttlMs;
+
+    private final ConcurrentHashMap<FlightKey, Flight> flights = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, SingleFlightStats> stats = new ConcurrentHashMap<>();
+
+    public SingleFlight() {
+    }
+
+    public SingleFlight(boolean enabled, long ttlMs) {
+        this.enabled = enabled;
+        this.ttlMs = ttlMs;
+    }
+
+    /**
+     * Runs loader, or joins an identical call already in flight
+     *
+     * @param name     method name, also the stats key, e.g. "accounts.totalBalance"
+     * @param argument distinguishes calls of the same method, null when it has none
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String name, Object argument, Supplier<T> loader) {
+        SingleFlightStats methodStats = stats.computeIfAbsent(name, key -> new SingleFlightStats());
+        if (!enabled || TransactionSynchronizationManager.isActualTransactionActive()) {
+            methodStats.recordBypassed();
+            return loader.get();
+        }
+        methodStats.recordCall();
+
+        FlightKey key = new FlightKey(name, argument);
+        while (true) {
+            Flight existing = flights.get(key);
+            if (existing != null) {
+                if (!existing.future.isDone()) {
+                    methodStats.recordCoalesced();
+                    return (T) await(existing);
+                }
+                if (System.nanoTime() - existing.expiresAtNanos < 0 && !existing.future.isCompletedExceptionally()) {
+                    methodStats.recordCacheHit();
+                    return (T) existing.future.join();
+                }
+                flights.remove(key, existing);
+                continue;
+            }
+
+            Flight flight = new Flight();
+            if (flights.putIfAbsent(key, flight) != null) {
+                continue;
+            }
+            methodStats.recordExecution();
+            try {
+                T value = loader.get();
+                flight.expiresAtNanos = System.nanoTime() + ttlMs * 1_000_000L;
+                flight.future.complete(value);
+                if (ttlMs <= 0) {
+                    flights.remove(key, flight);
+                }
+                return value;
+            } catch (RuntimeException | Error e) {
+                methodStats.recordFailure();
+                flights.remove(key, flight);
+                flight.future.completeExceptionally(e);
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Forgets cached and in-flight results under a name prefix; calls already
+     * waiting still get their result, new calls start a fresh computation
+     */
+    public void invalidate(String namePrefix) {
+        flights.keySet().removeIf(key -> key.name().startsWith(namePrefix));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAccountChange(AccountChangeEvent event) {
+        invalidate(ACCOUNTS);
+    }
+
+    // Deleting a customer also removes their accounts
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCustomerChange(CustomerChangeEvent event) {
+        invalidate(CUSTOMERS);
+        invalidate(ACCOUNTS);
+    }
+
+    @EventListener
+    public void onBulkChange(AccountsBulkChangedEvent event) {
+        invalidate(ACCOUNTS);
+    }
+
+    @EventListener
+    public void onCustomersBulkChange(CustomersBulkChangedEvent event) {
+        invalidate(CUSTOMERS);
+    }
+
+    public Map<String, SingleFlightStats> getStats() {
+        return new TreeMap<>(stats);
+    }
+
+    public long getTtlMs() {
+        return ttlMs;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    private static Object await(Flight flight) {
+        try {
+            return flight.future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    private static final class Flight {
+        private final CompletableFuture<Object> future = new CompletableFuture<>();
+        private volatile long expiresAtNanos;
+    }
+
+    private record FlightKey(String name, Object argument) {
+        FlightKey {
+            Objects.requireNonNull(name);
+        }
+    }
+}
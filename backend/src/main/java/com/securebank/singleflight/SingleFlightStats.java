@@ -0,0 +1,72 @@
+package com.securebank.singleflight;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Call counters for one coalesced method
+ */
+public class SingleFlightStats {
+
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder executions = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder bypassed = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+
+    void recordCall() {
+        calls.increment();
+    }
+
+    void recordExecution() {
+        executions.increment();
+    }
+
+    void recordCoalesced() {
+        coalesced.increment();
+    }
+
+    void recordCacheHit() {
+        cacheHits.increment();
+    }
+
+    void recordBypassed() {
+        bypassed.increment();
+    }
+
+    void recordFailure() {
+        failures.increment();
+    }
+
+    public long getCalls() {
+        return calls.sum();
+    }
+
+    public long getExecutions() {
+        return executions.sum();
+    }
+
+    public long getCoalesced() {
+        return coalesced.sum();
+    }
+
+    public long getCacheHits() {
+        return cacheHits.sum();
+    }
+
+    public Map<String, Object> metrics() {
+        long callCount = calls.sum();
+        long shared = coalesced.sum() + cacheHits.sum();
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("calls", callCount);
+        metrics.put("executions", executions.sum());
+        metrics.put("coalesced", coalesced.sum());
+        metrics.put("cacheHits", cacheHits.sum());
+        metrics.put("bypassed", bypassed.sum());
+        metrics.put("failures", failures.sum());
+        metrics.put("sharedRatio", callCount == 0 ? 0.0 : Math.round(shared * 10000.0 / callCount) / 10000.0);
+        return metrics;
+    }
+}
@@ -0,0 +1,7 @@
+package com.securebank.statement;
+
+/**
+ * Account details printed on a statement
+ */
+public record StatementAccount(String accountNo, String accountHolderName, String accountType, Long customerId) {
+}
@@ -0,0 +1,38 @@
+package com.securebank.statement;
+
+/**
+ * How statements are rendered
+ */
+public enum StatementFormat {
+    CSV("text/csv", "csv"),
+    TEXT("text/plain", "txt");
+
+    private final String contentType;
+    private final String extension;
+
+    StatementFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * "csv" or "text", case-insensitive; null means CSV
+     */
+    public static StatementFormat parse(String format) {
+        if (format == null || format.equalsIgnoreCase("csv")) {
+            return CSV;
+        }
+        if (format.equalsIgnoreCase("text") || format.equalsIgnoreCase("txt")) {
+            return TEXT;
+        }
+        throw new IllegalArgumentException("Unsupported statement format: " + format + " (expected csv or text)");
+    }
+}
@@ -0,0 +1,18 @@
+package com.securebank.statement;
+
+import java.time.YearMonth;
+
+/**
+ * One account's totals for one month, in cents. closingCents is always
+ * openingCents + creditCents - debitCents.
+ */
+public record StatementRollup(String accountNo, YearMonth period, long openingCents, long closingCents,
+                              long creditCents, long debitCents, int entryCount) {
+
+    /**
+     * Totals of a month without entries that follows this one
+     */
+    public StatementRollup carriedInto(YearMonth laterPeriod) {
+        return new StatementRollup(accountNo, laterPeriod, closingCents, closingCents, 0, 0, 0);
+    }
+}
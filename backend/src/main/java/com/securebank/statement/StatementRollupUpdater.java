@@ -0,0 +1,227 @@
+package com.securebank.statement;
+
+import com.securebank.ledger.EntryType;
+import com.securebank.ledger.LedgerEntry;
+import com.securebank.ledger.LedgerService;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Keeps statement_rollups up to date from the ledger journal, so statements
+ * never have to be computed from raw history.
+ *
+ * Every rollup-interval-ms the entries appended since the stored watermark
+ * are folded into per-account, per-month totals in memory (at most
+ * entries-per-pass at a time) and written in one transaction together with
+ * the new watermark, so each entry is counted exactly once. A REVERSAL
+ * entry, written when a transaction rolls back after its ledger write,
+ * cancels the original instead of counting as a new credit or debit.
+ * The first entry of a new month opens at the account's previous closing
+ * balance.
+ */
+@Component
+public class StatementRollupUpdater {
+
+    private static final Logger log = LoggerFactory.getLogger(StatementRollupUpdater.class);
+    private static final int CHUNK = 500;
+    private static final int CREDITS = 0;
+    private static final int DEBITS = 1;
+    private static final int ENTRIES = 2;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private LedgerService ledgerService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${banking.statements.zone:}")
+    private String zone;
+
+    @Value("${banking.statements.entries-per-pass:100000}")
+    private int entriesPerPass;
+
+    private TransactionTemplate transactionTemplate;
+    private ZoneId zoneId;
+    private final ReentrantLock passLock = new ReentrantLock();
+
+    @PostConstruct
+    public void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        zoneId = zone.isBlank() ? ZoneId.systemDefault() : ZoneId.of(zone);
+    }
+
+    @Scheduled(fixedDelayString = "${banking.statements.rollup-interval-ms:5000}",
+            initialDelayString = "${banking.statements.rollup-interval-ms:5000}")
+    public void scheduledCatchUp() {
+        if (!ledgerService.isEnabled()) {
+            return;
+        }
+        try {
+            catchUp();
+        } catch (IOException | RuntimeException e) {
+            log.warn("Statement rollup update failed, will retry", e);
+        }
+    }
+
+    /**
+     * Rolls up every journal entry appended so far
+     *
+     * @return the ledger sequence the rollups now cover
+     */
+    public long catchUp() throws IOException {
+        passLock.lock();
+        try {
+            long target = ledgerService.getJournal().getLastSequence();
+            long reached = getWatermark();
+            while (reached < target) {
+                reached = pass(reached, Math.min(target, reached + entriesPerPass));
+            }
+            return reached;
+        } finally {
+            passLock.unlock();
+        }
+    }
+
+    public long getWatermark() {
+        return jdbcTemplate.queryForObject("SELECT last_sequence FROM statement_rollup_state WHERE state_id = 1",
+                Long.class);
+    }
+
+    public YearMonth periodOf(long timestampMillis) {
+        return YearMonth.from(Instant.ofEpochMilli(timestampMillis).atZone(zoneId));
+    }
+
+    /**
+     * For each account, its rollup for the latest month up to and including upTo
+     * (any month when upTo is null); accounts without one are absent
+     */
+    public Map<String, StatementRollup> latestRollups(Collection<String> accountNos, YearMonth upTo) {
+        Map<String, StatementRollup> latest = new HashMap<>();
+        List<String> accounts = new ArrayList<>(accountNos);
+        for (int from = 0; from < accounts.size(); from += CHUNK) {
+            List<String> chunk = accounts.subList(from, Math.min(accounts.size(), from + CHUNK));
+            List<Object> args = new ArrayList<>(chunk);
+            String bound = "";
+            if (upTo != null) {
+                bound = " AND p.period <= ?";
+                args.add(upTo.toString());
+            }
+            jdbcTemplate.query("SELECT r.account_no, r.period, r.opening_balance, r.closing_balance, r.total_credits, " +
+                    "r.total_debits, r.entry_count FROM statement_rollups r WHERE r.account_no IN (" +
+                    String.join(", ", Collections.nCopies(chunk.size(), "?")) + ") AND r.period = " +
+                    "(SELECT MAX(p.period) FROM statement_rollups p WHERE p.account_no = r.account_no" + bound + ")",
+                    rs -> {
+                        StatementRollup rollup = new StatementRollup(rs.getString(1), YearMonth.parse(rs.getString(2)),
+                                LedgerService.toCents(rs.getBigDecimal(3)), LedgerService.toCents(rs.getBigDecimal(4)),
+                                LedgerService.toCents(rs.getBigDecimal(5)), LedgerService.toCents(rs.getBigDecimal(6)),
+                                rs.getInt(7));
+                        latest.put(rollup.accountNo(), rollup);
+                    }, args.toArray());
+        }
+        return latest;
+    }
+
+    /**
+     * Rolls up entries after fromSequence through toSequence
+     *
+     * @return the watermark afterwards
+     */
+    private long pass(long fromSequence, long toSequence) throws IOException {
+        Map<String, TreeMap<YearMonth, long[]>> changes = new HashMap<>();
+        ledgerService.getJournal().replay(fromSequence + 1, toSequence, entry -> fold(changes, entry));
+        Boolean applied = transactionTemplate.execute(tx -> {
+            Long watermark = jdbcTemplate.queryForObject(
+                    "SELECT last_sequence FROM statement_rollup_state WHERE state_id = 1 FOR UPDATE", Long.class);
+            if (watermark == null || watermark != fromSequence) {
+                // Another updater got there first
+                return false;
+            }
+            write(changes);
+            jdbcTemplate.update("UPDATE statement_rollup_state SET last_sequence = ?, updated_at = ? WHERE state_id = 1",
+                    toSequence, Timestamp.valueOf(LocalDateTime.now()));
+            return true;
+        });
+        return Boolean.TRUE.equals(applied) ? toSequence : getWatermark();
+    }
+
+    private void fold(Map<String, TreeMap<YearMonth, long[]>> changes, LedgerEntry entry) {
+        YearMonth period = periodOf(entry.getTimestampMillis());
+        long amount = entry.getAmountCents();
+        if (entry.getEntryType() == EntryType.REVERSAL) {
+            // The original credited what the reversal debits, and the other way round
+            add(changes, entry.getDebitAccount(), period, CREDITS, -amount);
+            add(changes, entry.getCreditAccount(), period, DEBITS, -amount);
+        } else {
+            add(changes, entry.getDebitAccount(), period, DEBITS, amount);
+            add(changes, entry.getCreditAccount(), period, CREDITS, amount);
+        }
+    }
+
+    private static void add(Map<String, TreeMap<YearMonth, long[]>> changes, String account, YearMonth period,
+                            int total, long amount) {
+        if (account.startsWith("@")) {
+            return;
+        }
+        long[] totals = changes.computeIfAbsent(account, key -> new TreeMap<>())
+                .computeIfAbsent(period, key -> new long[3]);
+        totals[total] += amount;
+        totals[ENTRIES] += amount < 0 ? -1 : 1;
+    }
+
+    private void write(Map<String, TreeMap<YearMonth, long[]>> changes) {
+        Map<String, StatementRollup> latest = latestRollups(changes.keySet(), null);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> inserts = new ArrayList<>();
+        List<Object[]> updates = new ArrayList<>();
+        changes.forEach((account, months) -> {
+            StatementRollup current = latest.get(account);
+            long balance = current != null ? current.closingCents() : 0;
+            for (Map.Entry<YearMonth, long[]> month : months.entrySet()) {
+                long[] totals = month.getValue();
+                long net = totals[CREDITS] - totals[DEBITS];
+                // A month before the latest rollup (clock moved back) is counted in the latest one
+                if (current != null && !month.getKey().isAfter(current.period())) {
+                    updates.add(new Object[]{LedgerService.fromCents(net), LedgerService.fromCents(totals[CREDITS]),
+                            LedgerService.fromCents(totals[DEBITS]), totals[ENTRIES], now,
+                            account, current.period().toString()});
+                } else {
+                    inserts.add(new Object[]{account, month.getKey().toString(), LedgerService.fromCents(balance),
+                            LedgerService.fromCents(balance + net), LedgerService.fromCents(totals[CREDITS]),
+                            LedgerService.fromCents(totals[DEBITS]), totals[ENTRIES], now});
+                }
+                balance += net;
+            }
+        });
+        jdbcTemplate.batchUpdate("INSERT INTO statement_rollups (account_no, period, opening_balance, closing_balance, " +
+                "total_credits, total_debits, entry_count, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)", inserts);
+        jdbcTemplate.batchUpdate("UPDATE statement_rollups SET closing_balance = closing_balance + ?, " +
+                "total_credits = total_credits + ?, total_debits = total_debits + ?, entry_count = entry_count + ?, " +
+                "updated_at = ? WHERE account_no = ? AND period = ?", updates);
+    }
+}
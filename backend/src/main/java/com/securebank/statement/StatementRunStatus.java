@@ -0,0 +1,116 @@
+package com.securebank.statement;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Progress of one bulk statement run, as reported by the REST API
+ */
+public class StatementRunStatus {
+
+    public enum Status {
+        RUNNING, COMPLETED, FAILED
+    }
+
+    private final String runId;
+    private final YearMonth period;
+    private final StatementFormat format;
+    private volatile Status status = Status.RUNNING;
+    private volatile String directory;
+    private volatile long accountsTotal;
+    private volatile long ledgerSequence;
+    private final AtomicLong statementsWritten = new AtomicLong();
+    private final LocalDateTime startedAt = LocalDateTime.now();
+    private final long startedNanos = System.nanoTime();
+    private volatile LocalDateTime completedAt;
+    private volatile long elapsedNanos;
+    private volatile String error;
+
+    public StatementRunStatus(String runId, YearMonth period, StatementFormat format) {
+        this.runId = runId;
+        this.period = period;
+        this.format = format;
+    }
+
+    void planned(String directory, long accountsTotal, long ledgerSequence) {
+        this.directory = directory;
+        this.accountsTotal = accountsTotal;
+        this.ledgerSequence = ledgerSequence;
+    }
+
+    void written(int statements) {
+        statementsWritten.addAndGet(statements);
+    }
+
+    void markCompleted() {
+        elapsedNanos = System.nanoTime() - startedNanos;
+        completedAt = LocalDateTime.now();
+        status = Status.COMPLETED;
+    }
+
+    void markFailed(String message) {
+        elapsedNanos = System.nanoTime() - startedNanos;
+        completedAt = LocalDateTime.now();
+        error = message;
+        status = Status.FAILED;
+    }
+
+    public String getRunId() {
+        return runId;
+    }
+
+    public YearMonth getPeriod() {
+        return period;
+    }
+
+    public StatementFormat getFormat() {
+        return format;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    /**
+     * Where the statement files are written, one per account
+     */
+    public String getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Accounts opened before the end of the period
+     */
+    public long getAccountsTotal() {
+        return accountsTotal;
+    }
+
+    /**
+     * Ledger sequence the rollups covered when rendering started
+     */
+    public long getLedgerSequence() {
+        return ledgerSequence;
+    }
+
+    public long getStatementsWritten() {
+        return statementsWritten.get();
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public double getStatementsPerSecond() {
+        long nanos = status == Status.RUNNING ? System.nanoTime() - startedNanos : elapsedNanos;
+        return nanos > 0 ? statementsWritten.get() * 1_000_000_000.0 / nanos : 0;
+    }
+}
@@ -0,0 +1,226 @@
+package com.securebank.statement;
+
+import com.securebank.ledger.LedgerService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Timestamp;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Monthly account statements rendered from statement_rollups: opening and
+ * closing balance, total credits and debits and the number of ledger
+ * entries. A month without entries carries the previous closing balance.
+ *
+ * Single statements are streamed straight to the caller. A bulk run renders
+ * every account opened before the end of a completed month to its own file
+ * under &lt;directory&gt;/&lt;period&gt;/, a page of accounts per task on
+ * banking.statements.threads threads; runs execute one at a time.
+ */
+@Service
+public class StatementService {
+
+    private static final Logger log = LoggerFactory.getLogger(StatementService.class);
+    private static final RowMapper<StatementAccount> ACCOUNT = (rs, rowNum) -> new StatementAccount(rs.getString(1),
+            rs.getString(2), rs.getString(3), rs.getLong(4));
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private LedgerService ledgerService;
+
+    @Autowired
+    private StatementRollupUpdater rollupUpdater;
+
+    @Value("${banking.statements.directory:./data/statements}")
+    private String directory;
+
+    @Value("${banking.statements.threads:4}")
+    private int threads;
+
+    @Value("${banking.statements.page-size:1000}")
+    private int pageSize;
+
+    private final Map<String, StatementRunStatus> runs = new ConcurrentHashMap<>();
+    private final ExecutorService runExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "statement-run");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @PreDestroy
+    public void shutdown() {
+        runExecutor.shutdownNow();
+    }
+
+    public StatementAccount getAccount(String accountNo) {
+        List<StatementAccount> found = jdbcTemplate.query("SELECT account_no, account_holder_name, account_type, " +
+                "customer_id FROM accounts WHERE account_no = ?", ACCOUNT, accountNo);
+        if (found.isEmpty()) {
+            throw new RuntimeException("Account not found with account number: " + accountNo);
+        }
+        return found.get(0);
+    }
+
+    public List<StatementAccount> getCustomerAccounts(Long customerId) {
+        Integer customers = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM customers WHERE customer_id = ?",
+                Integer.class, customerId);
+        if (customers == null || customers == 0) {
+            throw new RuntimeException("Customer not found with id: " + customerId);
+        }
+        return jdbcTemplate.query("SELECT account_no, account_holder_name, account_type, customer_id FROM accounts " +
+                "WHERE customer_id = ? ORDER BY account_no", ACCOUNT, customerId);
+    }
+
+    /**
+     * Throws IllegalStateException without the ledger and IllegalArgumentException for a future month
+     */
+    public void checkPeriod(YearMonth period) {
+        if (!ledgerService.isEnabled()) {
+            throw new IllegalStateException("Statements need the ledger (banking.ledger.enabled)");
+        }
+        if (period.isAfter(currentPeriod())) {
+            throw new IllegalArgumentException("No statement yet for " + period);
+        }
+    }
+
+    /**
+     * Writes the statements of the given accounts for a month, as far as the rollups have got
+     */
+    public void write(List<StatementAccount> accounts, YearMonth period, StatementFormat format, Writer out)
+            throws IOException {
+        StatementWriter writer = new StatementWriter(out, format, period.equals(currentPeriod()));
+        for (int from = 0; from < accounts.size(); from += pageSize) {
+            List<StatementAccount> page = accounts.subList(from, Math.min(accounts.size(), from + pageSize));
+            Map<String, StatementRollup> rollups = rollupUpdater.latestRollups(
+                    page.stream().map(StatementAccount::accountNo).toList(), period);
+            for (StatementAccount account : page) {
+                writer.write(account, period, rollups.get(account.accountNo()));
+            }
+            out.flush();
+        }
+    }
+
+    public StatementRunStatus start(YearMonth period, StatementFormat format) {
+        checkPeriod(period);
+        if (!period.isBefore(currentPeriod())) {
+            throw new IllegalArgumentException("Bulk statements can only be rendered for completed months");
+        }
+        String runId = "STM-" + UUID.randomUUID().toString().substring(0, 8);
+        StatementRunStatus status = new StatementRunStatus(runId, period, format);
+        runs.put(runId, status);
+        runExecutor.submit(() -> execute(status));
+        return status;
+    }
+
+    public StatementRunStatus getRun(String runId) {
+        StatementRunStatus status = runs.get(runId);
+        if (status == null) {
+            throw new RuntimeException("Statement run not found: " + runId);
+        }
+        return status;
+    }
+
+    private void execute(StatementRunStatus status) {
+        String runId = status.getRunId();
+        ExecutorService workers = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "statement-render");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            // Every entry of the month is rolled up before rendering starts
+            long sequence = rollupUpdater.catchUp();
+            Timestamp periodEnd = Timestamp.valueOf(status.getPeriod().plusMonths(1).atDay(1).atStartOfDay());
+            Path output = Paths.get(directory).resolve(status.getPeriod().toString());
+            Files.createDirectories(output);
+            Long accounts = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM accounts WHERE created_date < ?",
+                    Long.class, periodEnd);
+            status.planned(output.toString(), accounts != null ? accounts : 0, sequence);
+            log.info("Statement run {}: {} statements for {} on {} threads",
+                    runId, status.getAccountsTotal(), status.getPeriod(), threads);
+
+            Semaphore inFlight = new Semaphore(threads * 2);
+            AtomicReference<Exception> failure = new AtomicReference<>();
+            String after = "";
+            while (failure.get() == null) {
+                List<StatementAccount> page = jdbcTemplate.query("SELECT account_no, account_holder_name, " +
+                        "account_type, customer_id FROM accounts WHERE account_no > ? AND created_date < ? " +
+                        "ORDER BY account_no LIMIT " + pageSize, ACCOUNT, after, periodEnd);
+                if (page.isEmpty()) {
+                    break;
+                }
+                after = page.get(page.size() - 1).accountNo();
+                inFlight.acquire();
+                workers.submit(() -> {
+                    try {
+                        renderPage(page, status, output);
+                    } catch (RuntimeException e) {
+                        failure.compareAndSet(null, e);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+            workers.shutdown();
+            workers.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+            if (failure.get() != null) {
+                throw failure.get();
+            }
+            status.markCompleted();
+            log.info("Statement run {} complete: {} statements in {}, {} statements/s",
+                    runId, status.getStatementsWritten(), output, Math.round(status.getStatementsPerSecond()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            status.markFailed("Interrupted");
+        } catch (Exception e) {
+            log.error("Statement run {} failed", runId, e);
+            status.markFailed(e.getMessage());
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    private void renderPage(List<StatementAccount> page, StatementRunStatus status, Path output) {
+        Map<String, StatementRollup> rollups = rollupUpdater.latestRollups(
+                page.stream().map(StatementAccount::accountNo).toList(), status.getPeriod());
+        for (StatementAccount account : page) {
+            Path file = output.resolve(account.accountNo() + "." + status.getFormat().getExtension());
+            try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                new StatementWriter(out, status.getFormat(), false)
+                        .write(account, status.getPeriod(), rollups.get(account.accountNo()));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to write statement " + file, e);
+            }
+        }
+        status.written(page.size());
+    }
+
+    private YearMonth currentPeriod() {
+        return rollupUpdater.periodOf(System.currentTimeMillis());
+    }
+}
@@ -0,0 +1,73 @@
+package com.securebank.statement;
+
+import com.securebank.ledger.LedgerService;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.YearMonth;
+
+/**
+ * Renders statements one after another to a character stream: CSV with one
+ * row per statement, or plain text with one block per statement.
+ */
+public class StatementWriter {
+
+    private static final String CSV_HEADER = "account_no,account_holder_name,account_type,customer_id,period," +
+            "opening_balance,total_credits,total_debits,closing_balance,entry_count\n";
+
+    private final Writer out;
+    private final StatementFormat format;
+    private final boolean inProgress;
+    private int written;
+
+    /**
+     * @param inProgress the period is the current month, so the totals are not final
+     */
+    public StatementWriter(Writer out, StatementFormat format, boolean inProgress) {
+        this.out = out;
+        this.format = format;
+        this.inProgress = inProgress;
+    }
+
+    /**
+     * @param rollup the account's latest rollup up to the period, or null if it has none
+     */
+    public void write(StatementAccount account, YearMonth period, StatementRollup rollup) throws IOException {
+        StatementRollup totals = rollup == null
+                ? new StatementRollup(account.accountNo(), period, 0, 0, 0, 0, 0)
+                : rollup.period().equals(period) ? rollup : rollup.carriedInto(period);
+        if (format == StatementFormat.CSV) {
+            if (written == 0) {
+                out.write(CSV_HEADER);
+            }
+            out.write(account.accountNo() + "," + csv(account.accountHolderName()) + "," + account.accountType() + "," +
+                    account.customerId() + "," + period + "," + LedgerService.fromCents(totals.openingCents()) + "," +
+                    LedgerService.fromCents(totals.creditCents()) + "," + LedgerService.fromCents(totals.debitCents()) +
+                    "," + LedgerService.fromCents(totals.closingCents()) + "," + totals.entryCount() + "\n");
+        } else {
+            if (written > 0) {
+                out.write("\n");
+            }
+            out.write("Statement " + period + (inProgress ? " (in progress)" : "") + "\n");
+            out.write(String.format("Account:          %s (%s)\n", account.accountNo(), account.accountType()));
+            out.write(String.format("Holder:           %s, customer %d\n", account.accountHolderName(),
+                    account.customerId()));
+            out.write(String.format("Opening balance:  %,15.2f\n", LedgerService.fromCents(totals.openingCents())));
+            out.write(String.format("Credits:          %,15.2f\n", LedgerService.fromCents(totals.creditCents())));
+            out.write(String.format("Debits:           %,15.2f\n", LedgerService.fromCents(totals.debitCents())));
+            out.write(String.format("Closing balance:  %,15.2f\n", LedgerService.fromCents(totals.closingCents())));
+            out.write(String.format("Entries:          %d\n", totals.entryCount()));
+        }
+        written++;
+    }
+
+    private static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+            return value;
+        }
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+}
@@ -0,0 +1,46 @@
+package com.securebank.velocity;
+
+import java.math.BigDecimal;
+
+/**
+ * A balance change that would move an account by more than its velocity limit
+ */
+public class VelocityLimitExceededException extends RuntimeException {
+
+    private final String accountNo;
+    private final String window;
+    private final BigDecimal limit;
+    private final BigDecimal used;
+    private final BigDecimal amount;
+
+    public VelocityLimitExceededException(String accountNo, String window, BigDecimal limit, BigDecimal used,
+                                          BigDecimal amount) {
+        super(String.format("Velocity limit exceeded for account %s: %s limit %s, already moved %s, change of %s",
+                accountNo, window, limit, used, amount));
+        this.accountNo = accountNo;
+        this.window = window;
+        this.limit = limit;
+        this.used = used;
+        this.amount = amount;
+    }
+
+    public String getAccountNo() {
+        return accountNo;
+    }
+
+    public String getWindow() {
+        return window;
+    }
+
+    public BigDecimal getLimit() {
+        return limit;
+    }
+
+    public BigDecimal getUsed() {
+        return used;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+}
@@ -0,0 +1,195 @@
+package com.securebank.velocity;
+
+import com.securebank.entity.Account;
+import com.securebank.ledger.EntryType;
+import com.securebank.ledger.LedgerService;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Per-account caps on how much the balance may move per hour and per day,
+ * configured per account type and enforced against an in-memory
+ * {@link VelocityTracker}, so a check costs no query.
+ *
+ * Movement is the absolute size of each balance change made through
+ * AccountService (the DEPOSIT and WITHDRAWAL ledger entries); bulk jobs such
+ * as interest and balance adjustments are not limited. A change recorded by
+ * a transaction that rolls back is taken back. On startup the windows are
+ * rebuilt from the ledger journal's recent DEPOSIT and WITHDRAWAL entries.
+ */
+@Service
+public class VelocityLimitService {
+
+    private static final Logger log = LoggerFactory.getLogger(VelocityLimitService.class);
+
+    private static final String[] WINDOWS = {"hourly", "daily"};
+    private static final long HOUR_MILLIS = 3_600_000L;
+    private static final long DAY_MILLIS = 24 * HOUR_MILLIS;
+
+    @Autowired
+    private LedgerService ledgerService;
+
+    @Value("${banking.velocity.enabled:true}")
+    private boolean enabled;
+
+    @Value("${banking.velocity.stripes:64}")
+    private int stripes;
+
+    @Value("${banking.velocity.buckets:60}")
+    private int buckets;
+
+    // AccountType=amount pairs; types not listed are unlimited
+    @Value("${banking.velocity.hourly-limits:SAVINGS=50000,CURRENT=200000,CHECKING=200000,BUSINESS=2000000}")
+    private String hourlyLimits;
+
+    @Value("${banking.velocity.daily-limits:SAVINGS=200000,CURRENT=1000000,CHECKING=1000000,BUSINESS=10000000}")
+    private String dailyLimits;
+
+    @Value("${banking.velocity.rebuild-on-startup:true}")
+    private boolean rebuildOnStartup;
+
+    @Value("${banking.velocity.rebuild-max-entries:5000000}")
+    private long rebuildMaxEntries;
+
+    private VelocityTracker tracker;
+    private long startedAt;
+    private final Map<Account.AccountType, long[]> limits = new EnumMap<>(Account.AccountType.class);
+
+    @PostConstruct
+    public void init() {
+        tracker = new VelocityTracker(stripes, buckets, HOUR_MILLIS, DAY_MILLIS);
+        startedAt = System.currentTimeMillis();
+        Map<Account.AccountType, Long> hourly = parseLimits(hourlyLimits);
+        Map<Account.AccountType, Long> daily = parseLimits(dailyLimits);
+        for (Account.AccountType type : Account.AccountType.values()) {
+            limits.put(type, new long[]{hourly.getOrDefault(type, -1L), daily.getOrDefault(type, -1L)});
+        }
+    }
+
+    /**
+     * Records the change from previous to new balance, or throws if it would exceed a limit.
+     * Call within the transaction that applies the change.
+     */
+    public void checkAndRecord(String accountNo, Account.AccountType accountType, BigDecimal previousBalance,
+                               BigDecimal newBalance) {
+        long cents = Math.abs(LedgerService.toCents(newBalance) - LedgerService.toCents(previousBalance));
+        if (!enabled || cents == 0) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        long[] accountLimits = accountType != null ? limits.get(accountType) : new long[]{-1, -1};
+        int exceeded = tracker.tryRecord(accountNo, cents, now, accountLimits);
+        if (exceeded >= 0) {
+            throw new VelocityLimitExceededException(accountNo, WINDOWS[exceeded],
+                    LedgerService.fromCents(accountLimits[exceeded]),
+                    LedgerService.fromCents(tracker.totals(accountNo, now)[exceeded]),
+                    LedgerService.fromCents(cents));
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        tracker.record(accountNo, -cents, now);
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * Limits and current movement of an account per window
+     */
+    public Map<String, Object> getUsage(String accountNo, Account.AccountType accountType) {
+        long[] totals = tracker.totals(accountNo, System.currentTimeMillis());
+        long[] accountLimits = limits.get(accountType);
+        Map<String, Object> usage = new LinkedHashMap<>();
+        usage.put("accountNo", accountNo);
+        usage.put("accountType", accountType);
+        for (int w = 0; w < WINDOWS.length; w++) {
+            Map<String, Object> window = new LinkedHashMap<>();
+            window.put("used", LedgerService.fromCents(totals[w]));
+            window.put("limit", accountLimits[w] >= 0 ? LedgerService.fromCents(accountLimits[w]) : null);
+            usage.put(WINDOWS[w], window);
+        }
+        return usage;
+    }
+
+    public int getTrackedAccounts() {
+        return tracker.size();
+    }
+
+    /**
+     * Refills the windows from the last day of the ledger journal, looking back at most rebuild-max-entries entries
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(2)
+    public void rebuildFromLedger() {
+        if (!enabled || !rebuildOnStartup || !ledgerService.isEnabled()) {
+            return;
+        }
+        long started = System.nanoTime();
+        long cutoff = System.currentTimeMillis() - DAY_MILLIS;
+        long from = Math.max(1, ledgerService.getJournal().getLastSequence() - rebuildMaxEntries + 1);
+        long[] recorded = {0};
+        try {
+            ledgerService.getJournal().replay(from, entry -> {
+                // Changes made since startup were recorded as they happened
+                if (entry.getTimestampMillis() < cutoff || entry.getTimestampMillis() >= startedAt) {
+                    return;
+                }
+                if (entry.getEntryType() == EntryType.DEPOSIT) {
+                    tracker.record(entry.getCreditAccount(), entry.getAmountCents(), entry.getTimestampMillis());
+                    recorded[0]++;
+                } else if (entry.getEntryType() == EntryType.WITHDRAWAL) {
+                    tracker.record(entry.getDebitAccount(), entry.getAmountCents(), entry.getTimestampMillis());
+                    recorded[0]++;
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to rebuild velocity windows from the ledger", e);
+        }
+        log.info("Velocity limits: rebuilt {} accounts from {} ledger entries in {} ms",
+                tracker.size(), recorded[0], (System.nanoTime() - started) / 1_000_000);
+    }
+
+    @Scheduled(fixedDelayString = "${banking.velocity.evict-interval-ms:300000}")
+    public void evictIdleAccounts() {
+        if (enabled) {
+            tracker.evictIdle(System.currentTimeMillis());
+        }
+    }
+
+    private static Map<Account.AccountType, Long> parseLimits(String value) {
+        Map<Account.AccountType, Long> parsed = new EnumMap<>(Account.AccountType.class);
+        for (String pair : value.split(",")) {
+            if (pair.isBlank()) {
+                continue;
+            }
+            String[] parts = pair.split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid velocity limit, expected TYPE=amount: " + pair);
+            }
+            parsed.put(Account.AccountType.valueOf(parts[0].trim().toUpperCase()),
+                    LedgerService.toCents(new BigDecimal(parts[1].trim())));
+        }
+        return parsed;
+    }
+}
@@ -0,0 +1,238 @@
+package com.securebank.velocity;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * In-memory sliding-window totals of how much each account's balance moved.
+ *
+ * Every window (e.g. one hour, one day) is a ring of time buckets per
+ * account plus a running total, all kept in primitive arrays indexed by the
+ * account's slot. Advancing a ring clears at most its bucket count, so a
+ * check or record costs O(1) regardless of how many movements an account
+ * has. A window covers the current bucket and the buckets before it, i.e.
+ * between (buckets - 1) and buckets bucket-lengths of history.
+ *
+ * Accounts are spread over independently locked stripes; accounts with no
+ * movement in the longest window are dropped by {@link #evictIdle(long)}.
+ */
+public final class VelocityTracker {
+
+    private final long[] bucketMillis;
+    private final int buckets;
+    private final long longestWindowMillis;
+    private final Stripe[] stripes;
+    private final int stripeMask;
+
+    /**
+     * @param stripes number of lock stripes, rounded up to a power of two
+     * @param buckets buckets per window
+     * @param windowMillis window lengths, e.g. 3_600_000 and 86_400_000
+     */
+    public VelocityTracker(int stripes, int buckets, long... windowMillis) {
+        if (buckets < 1 || windowMillis.length == 0) {
+            throw new IllegalArgumentException("Need at least one window and one bucket per window");
+        }
+        this.buckets = buckets;
+        this.bucketMillis = new long[windowMillis.length];
+        long longest = 0;
+        for (int w = 0; w < windowMillis.length; w++) {
+            bucketMillis[w] = Math.max(1, windowMillis[w] / buckets);
+            longest = Math.max(longest, bucketMillis[w] * buckets);
+        }
+        this.longestWindowMillis = longest;
+        int count = Integer.highestOneBit(Math.max(1, stripes - 1)) << 1;
+        this.stripes = new Stripe[count];
+        for (int i = 0; i < count; i++) {
+            this.stripes[i] = new Stripe(windowMillis.length, buckets);
+        }
+        this.stripeMask = count - 1;
+    }
+
+    /**
+     * Records the movement if it keeps every window within its limit
+     *
+     * @param limits limit per window in cents, a negative limit means unlimited
+     * @return -1 if recorded, otherwise the index of the first window that would be exceeded
+     */
+    public int tryRecord(String accountNo, long cents, long nowMillis, long[] limits) {
+        Stripe stripe = stripe(accountNo);
+        synchronized (stripe) {
+            int slot = stripe.slotFor(accountNo, nowMillis, bucketMillis);
+            for (int w = 0; w < bucketMillis.length; w++) {
+                stripe.advance(w, slot, nowMillis / bucketMillis[w]);
+                if (limits[w] >= 0 && stripe.totals[w][slot] + cents > limits[w]) {
+                    return w;
+                }
+            }
+            for (int w = 0; w < bucketMillis.length; w++) {
+                stripe.add(w, slot, nowMillis / bucketMillis[w], cents);
+            }
+            stripe.lastActivity[slot] = Math.max(stripe.lastActivity[slot], nowMillis);
+            return -1;
+        }
+    }
+
+    /**
+     * Records the movement without checking limits; negative cents take back an earlier record.
+     * Movements older than a window are ignored by that window.
+     */
+    public void record(String accountNo, long cents, long timestampMillis) {
+        Stripe stripe = stripe(accountNo);
+        synchronized (stripe) {
+            int slot = stripe.slotFor(accountNo, timestampMillis, bucketMillis);
+            for (int w = 0; w < bucketMillis.length; w++) {
+                stripe.add(w, slot, timestampMillis / bucketMillis[w], cents);
+            }
+            stripe.lastActivity[slot] = Math.max(stripe.lastActivity[slot], timestampMillis);
+        }
+    }
+
+    /**
+     * Current total per window in cents; zeros for accounts that are not tracked
+     */
+    public long[] totals(String accountNo, long nowMillis) {
+        long[] totals = new long[bucketMillis.length];
+        Stripe stripe = stripe(accountNo);
+        synchronized (stripe) {
+            Integer slot = stripe.slots.get(accountNo);
+            if (slot != null) {
+                for (int w = 0; w < bucketMillis.length; w++) {
+                    stripe.advance(w, slot, nowMillis / bucketMillis[w]);
+                    totals[w] = stripe.totals[w][slot];
+                }
+            }
+        }
+        return totals;
+    }
+
+    /**
+     * Drops accounts without movement during the longest window
+     *
+     * @return number of accounts dropped
+     */
+    public int evictIdle(long nowMillis) {
+        int evicted = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                Iterator<Map.Entry<String, Integer>> entries = stripe.slots.entrySet().iterator();
+                while (entries.hasNext()) {
+                    int slot = entries.next().getValue();
+                    if (nowMillis - stripe.lastActivity[slot] >= longestWindowMillis) {
+                        entries.remove();
+                        stripe.release(slot);
+                        evicted++;
+                    }
+                }
+            }
+        }
+        return evicted;
+    }
+
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.slots.size();
+            }
+        }
+        return size;
+    }
+
+    private Stripe stripe(String accountNo) {
+        int hash = accountNo.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & stripeMask];
+    }
+
+    private static final class Stripe {
+
+        private static final int INITIAL_CAPACITY = 64;
+
+        private final int buckets;
+        private final Map<String, Integer> slots = new HashMap<>();
+        // Per window: amounts[w][slot * buckets + bucket % buckets], newest bucket number and running total per slot
+        private final long[][] amounts;
+        private final long[][] heads;
+        private final long[][] totals;
+        private long[] lastActivity = new long[INITIAL_CAPACITY];
+        private int[] free = new int[INITIAL_CAPACITY];
+        private int freeCount;
+        private int used;
+
+        private Stripe(int windows, int buckets) {
+            this.buckets = buckets;
+            this.amounts = new long[windows][INITIAL_CAPACITY * buckets];
+            this.heads = new long[windows][INITIAL_CAPACITY];
+            this.totals = new long[windows][INITIAL_CAPACITY];
+        }
+
+        private int slotFor(String accountNo, long nowMillis, long[] bucketMillis) {
+            Integer existing = slots.get(accountNo);
+            if (existing != null) {
+                return existing;
+            }
+            int slot;
+            if (freeCount > 0) {
+                slot = free[--freeCount];
+            } else {
+                if (used == lastActivity.length) {
+                    grow(used * 2);
+                }
+                slot = used++;
+            }
+            for (int w = 0; w < amounts.length; w++) {
+                Arrays.fill(amounts[w], slot * buckets, (slot + 1) * buckets, 0L);
+                heads[w][slot] = nowMillis / bucketMillis[w];
+                totals[w][slot] = 0;
+            }
+            lastActivity[slot] = nowMillis;
+            slots.put(accountNo, slot);
+            return slot;
+        }
+
+        private void release(int slot) {
+            if (freeCount == free.length) {
+                free = Arrays.copyOf(free, free.length * 2);
+            }
+            free[freeCount++] = slot;
+        }
+
+        /**
+         * Moves the ring forward to the bucket, clearing the buckets that fall out of the window
+         */
+        private void advance(int w, int slot, long bucket) {
+            long head = heads[w][slot];
+            if (bucket <= head) {
+                return;
+            }
+            long steps = Math.min(bucket - head, buckets);
+            int base = slot * buckets;
+            for (long i = 1; i <= steps; i++) {
+                int index = base + (int) ((head + i) % buckets);
+                totals[w][slot] -= amounts[w][index];
+                amounts[w][index] = 0;
+            }
+            heads[w][slot] = bucket;
+        }
+
+        private void add(int w, int slot, long bucket, long cents) {
+            advance(w, slot, bucket);
+            if (heads[w][slot] - bucket >= buckets) {
+                return;
+            }
+            amounts[w][slot * buckets + (int) (bucket % buckets)] += cents;
+            totals[w][slot] += cents;
+        }
+
+        private void grow(int capacity) {
+            for (int w = 0; w < amounts.length; w++) {
+                amounts[w] = Arrays.copyOf(amounts[w], capacity * buckets);
+                heads[w] = Arrays.copyOf(heads[w], capacity);
+                totals[w] = Arrays.copyOf(totals[w], capacity);
+            }
+            lastActivity = Arrays.copyOf(lastActivity, capacity);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+-- SyntheticDataGenerator runs: chunk numbers only name the same customers while the chunk size
+-- stays the same, so a run records its chunk size and refuses to resume with a different one
+CREATE TABLE datagen_runs (
+    run_name VARCHAR(50) NOT NULL,
+    chunk_size INT NOT NULL,
+    started_at DATETIME NOT NULL,
+    PRIMARY KEY (run_name)
+);
+
+-- Runs checkpointed before this migration: every chunk but the last holds exactly chunk_size customers
+INSERT INTO datagen_runs (run_name, chunk_size, started_at)
+SELECT run_name, MAX(customers), MIN(completed_at) FROM datagen_chunks GROUP BY run_name;
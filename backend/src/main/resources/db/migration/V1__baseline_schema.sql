@@ -0,0 +1,37 @@
+-- Baseline: the schema the JPA entities map to (previously created by ddl-auto: update).
+-- Existing databases are baselined at version 1 and start from V2.
+
+CREATE TABLE users (
+    user_id BIGINT NOT NULL AUTO_INCREMENT,
+    username VARCHAR(50) NOT NULL,
+    password_hash VARCHAR(255) NOT NULL,
+    role VARCHAR(20) NOT NULL,
+    created_date DATETIME(6) NOT NULL,
+    is_active BIT NOT NULL,
+    PRIMARY KEY (user_id),
+    CONSTRAINT uk_users_username UNIQUE (username)
+);
+
+CREATE TABLE customers (
+    customer_id BIGINT NOT NULL AUTO_INCREMENT,
+    name VARCHAR(100) NOT NULL,
+    email VARCHAR(150) NOT NULL,
+    mobile_number VARCHAR(20) NOT NULL,
+    address VARCHAR(500) NOT NULL,
+    created_date DATETIME(6) NOT NULL,
+    updated_date DATETIME(6),
+    PRIMARY KEY (customer_id),
+    CONSTRAINT uk_customers_email UNIQUE (email)
+);
+
+CREATE TABLE accounts (
+    account_no VARCHAR(20) NOT NULL,
+    account_holder_name VARCHAR(100) NOT NULL,
+    account_balance DECIMAL(15,2) NOT NULL,
+    account_type ENUM('SAVINGS', 'CURRENT', 'CHECKING', 'BUSINESS') NOT NULL,
+    created_date DATETIME(6) NOT NULL,
+    updated_date DATETIME(6),
+    customer_id BIGINT NOT NULL,
+    PRIMARY KEY (account_no),
+    CONSTRAINT fk_accounts_customer FOREIGN KEY (customer_id) REFERENCES customers (customer_id)
+);
@@ -0,0 +1,25 @@
+-- Indexes for the filters and sort orders used by AccountRepository, CustomerRepository
+-- and GET /api/accounts/query. Composite indexes put the equality column first, then the
+-- range/sort column, then account_no so keyset paging on (column, account_no) stays in the index.
+-- QueryPlanVerifier checks at startup that each repository query uses them.
+
+-- findByAccountType, countByAccountType, getTotalBalanceByType; query by type + balance
+CREATE INDEX idx_accounts_type_balance ON accounts (account_type, account_balance, account_no);
+
+-- query by type + created date
+CREATE INDEX idx_accounts_type_created ON accounts (account_type, created_date, account_no);
+
+-- findByCustomer_CustomerId, customers with/without accounts; also serves the customer foreign key
+CREATE INDEX idx_accounts_customer_created ON accounts (customer_id, created_date, account_no);
+
+-- findByAccountBalanceGreaterThan, findByAccountBalanceBetween, findTopAccountsByBalance
+CREATE INDEX idx_accounts_balance ON accounts (account_balance, account_no);
+
+-- findByCreatedDateAfter, findAllOrderByCreatedDateDesc
+CREATE INDEX idx_accounts_created ON accounts (created_date, account_no);
+
+-- holder name prefix search
+CREATE INDEX idx_accounts_holder_name ON accounts (account_holder_name, account_no);
+
+-- CustomerRepository.findByCreatedDateAfter, findAllOrderByCreatedDateDesc
+CREATE INDEX idx_customers_created ON customers (created_date, customer_id);
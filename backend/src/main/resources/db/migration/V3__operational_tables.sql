@@ -0,0 +1,52 @@
+-- Tables owned by JDBC-based components, previously created on startup with CREATE TABLE IF NOT EXISTS
+-- (kept here so databases that already have them migrate cleanly).
+
+-- SyntheticDataGenerator checkpoints (datagen profile)
+CREATE TABLE IF NOT EXISTS datagen_chunks (
+    run_name VARCHAR(50) NOT NULL,
+    chunk_no INT NOT NULL,
+    customers INT NOT NULL,
+    accounts INT NOT NULL,
+    completed_at DATETIME NOT NULL,
+    PRIMARY KEY (run_name, chunk_no)
+);
+
+-- InterestAccrualService runs and their account-range chunks
+CREATE TABLE IF NOT EXISTS interest_runs (
+    run_id VARCHAR(40) NOT NULL,
+    period_start DATE NOT NULL,
+    period_end DATE NOT NULL,
+    annual_rate DECIMAL(9,6) NOT NULL,
+    chunks INT NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    error VARCHAR(500),
+    created_at DATETIME NOT NULL,
+    completed_at DATETIME,
+    PRIMARY KEY (run_id)
+);
+
+CREATE TABLE IF NOT EXISTS interest_run_chunks (
+    run_id VARCHAR(40) NOT NULL,
+    chunk_no INT NOT NULL,
+    from_account_no VARCHAR(20),
+    to_account_no VARCHAR(20),
+    accounts INT,
+    interest DECIMAL(17,2),
+    completed_at DATETIME,
+    PRIMARY KEY (run_id, chunk_no)
+);
+
+-- IdempotencyStore durable tier
+CREATE TABLE IF NOT EXISTS idempotency_keys (
+    idempotency_key VARCHAR(100) NOT NULL,
+    request_hash CHAR(64) NOT NULL,
+    status INT NOT NULL,
+    content_type VARCHAR(100),
+    response_body MEDIUMBLOB,
+    created_at DATETIME NOT NULL,
+    expires_at DATETIME NOT NULL,
+    PRIMARY KEY (idempotency_key)
+);
+
+-- IdempotencyStore.purgeExpired
+CREATE INDEX idx_idempotency_keys_expires ON idempotency_keys (expires_at);
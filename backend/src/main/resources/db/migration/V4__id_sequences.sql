@@ -0,0 +1,23 @@
+-- Table-backed ID allocation for customers and users, replacing per-row AUTO_INCREMENT
+-- round trips. next_val is the last ID handed out by each sequence (Hibernate's
+-- hibernate.id.generator.stored_last_used convention): a block of n IDs is
+-- [next_val + 1, next_val + n]. Hibernate (@TableGenerator) and IdBlockAllocator reserve
+-- blocks by bumping it under a row lock, so every node gets disjoint ranges and inserts
+-- can be JDBC-batched.
+
+CREATE TABLE id_sequences (
+    sequence_name VARCHAR(64) NOT NULL,
+    next_val BIGINT NOT NULL,
+    PRIMARY KEY (sequence_name)
+);
+
+-- The highest existing IDs count as used, so new IDs continue after them
+INSERT INTO id_sequences (sequence_name, next_val)
+SELECT 'customers', COALESCE(MAX(customer_id), 0) FROM customers;
+
+INSERT INTO id_sequences (sequence_name, next_val)
+SELECT 'users', COALESCE(MAX(user_id), 0) FROM users;
+
+-- The AUTO_INCREMENT attribute stays on both columns (dropping it from a column that a
+-- foreign key references is refused by MySQL), but application inserts no longer rely on it:
+-- they must take their IDs from id_sequences.
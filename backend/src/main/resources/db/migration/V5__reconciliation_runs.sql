@@ -0,0 +1,20 @@
+-- ReconciliationService runs; the newest COMPLETED run without discrepancies is the
+-- watermark incremental runs check changes from
+CREATE TABLE reconciliation_runs (
+    run_id VARCHAR(40) NOT NULL,
+    mode VARCHAR(20) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    ledger_sequence BIGINT NOT NULL,
+    accounts_checked BIGINT,
+    discrepancies BIGINT,
+    report_file VARCHAR(500),
+    error VARCHAR(500),
+    started_at DATETIME(6) NOT NULL,
+    completed_at DATETIME(6),
+    PRIMARY KEY (run_id)
+);
+
+CREATE INDEX idx_reconciliation_runs_clean ON reconciliation_runs (status, discrepancies, started_at);
+
+-- Incremental reconciliation: accounts changed since the watermark
+CREATE INDEX idx_accounts_updated ON accounts (updated_date, account_no);
@@ -0,0 +1,16 @@
+-- Field-level history of Customer and Account changes, written in batches by AuditTrail
+CREATE TABLE audit_log (
+    audit_id BIGINT NOT NULL AUTO_INCREMENT,
+    entity_type VARCHAR(30) NOT NULL,
+    entity_id VARCHAR(40) NOT NULL,
+    action VARCHAR(10) NOT NULL,
+    field_name VARCHAR(64),
+    old_value VARCHAR(500),
+    new_value VARCHAR(500),
+    actor VARCHAR(100) NOT NULL,
+    changed_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (audit_id)
+);
+
+-- GET /api/audit/{entityType}/{entityId}
+CREATE INDEX idx_audit_log_entity ON audit_log (entity_type, entity_id, changed_at);
@@ -0,0 +1,21 @@
+-- Transactional outbox: change events written in the same transaction as the change, relayed by OutboxRelay
+CREATE TABLE outbox_events (
+    event_id BIGINT NOT NULL AUTO_INCREMENT,
+    partition_no INT NOT NULL,
+    aggregate_type VARCHAR(30) NOT NULL,
+    aggregate_id VARCHAR(100) NOT NULL,
+    event_type VARCHAR(50) NOT NULL,
+    payload TEXT NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (event_id)
+);
+
+-- Oldest events of the claimed partitions
+CREATE INDEX idx_outbox_events_partition ON outbox_events (partition_no, event_id);
+
+-- One row per partition; a relay holds the row lock (FOR UPDATE SKIP LOCKED) while it relays the partition
+CREATE TABLE outbox_partitions (
+    partition_no INT NOT NULL,
+    relayed_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (partition_no)
+);
@@ -0,0 +1,22 @@
+-- Per-account monthly totals for statements, maintained from the ledger journal by StatementRollupUpdater
+CREATE TABLE statement_rollups (
+    account_no VARCHAR(20) NOT NULL,
+    period CHAR(7) NOT NULL,
+    opening_balance DECIMAL(15,2) NOT NULL,
+    closing_balance DECIMAL(15,2) NOT NULL,
+    total_credits DECIMAL(15,2) NOT NULL,
+    total_debits DECIMAL(15,2) NOT NULL,
+    entry_count INT NOT NULL,
+    updated_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (account_no, period)
+);
+
+-- Ledger sequence rolled up so far; the row lock serializes updaters
+CREATE TABLE statement_rollup_state (
+    state_id INT NOT NULL,
+    last_sequence BIGINT NOT NULL,
+    updated_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (state_id)
+);
+
+INSERT INTO statement_rollup_state (state_id, last_sequence, updated_at) VALUES (1, 0, CURRENT_TIMESTAMP(6));
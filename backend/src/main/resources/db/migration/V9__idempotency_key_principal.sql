@@ -0,0 +1,7 @@
+-- Idempotency keys are scoped to the caller: the same key sent by two users names two requests.
+-- Rows recorded before this migration belong to no principal and simply expire.
+ALTER TABLE idempotency_keys ADD COLUMN principal VARCHAR(100) NOT NULL DEFAULT '';
+
+ALTER TABLE idempotency_keys DROP PRIMARY KEY;
+
+ALTER TABLE idempotency_keys ADD PRIMARY KEY (principal, idempotency_key);
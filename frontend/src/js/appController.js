@@ -19,6 +19,39 @@ function(ko, Router, moduleUtils, KnockoutTemplateUtils, ArrayDataProvider, $) {
     // Base API URL
     self.apiBaseUrl = 'http://localhost:8080/api';
 
+    // Shared server-sent change feed (one connection for all views).
+    // The browser reconnects on its own and resumes with Last-Event-ID; a
+    // 'resync' event means changes were missed and views must reload.
+    self.changeFeedConnected = ko.observable(false);
+    var changeListeners = [];
+    var changeEventNames = ['account.created', 'account.updated', 'account.deleted',
+                            'customer.created', 'customer.updated', 'customer.deleted', 'resync'];
+
+    self.connectChangeFeed = function() {
+      if (self.changeFeed || typeof EventSource === 'undefined') return;
+      self.changeFeed = new EventSource(self.apiBaseUrl + '/events/stream');
+      self.changeFeed.onopen = function() { self.changeFeedConnected(true); };
+      self.changeFeed.onerror = function() { self.changeFeedConnected(false); };
+      changeEventNames.forEach(function(name) {
+        self.changeFeed.addEventListener(name, function(event) {
+          var data = event.data ? JSON.parse(event.data) : {};
+          changeListeners.slice().forEach(function(listener) { listener(name, data); });
+        });
+      });
+    };
+
+    // Register a listener(eventName, data); returns an object with dispose()
+    self.onChange = function(listener) {
+      changeListeners.push(listener);
+      self.connectChangeFeed();
+      return {
+        dispose: function() {
+          var index = changeListeners.indexOf(listener);
+          if (index >= 0) changeListeners.splice(index, 1);
+        }
+      };
+    };
+
     // Navigation data
     self.navDataSource = ko.observableArray([
       {name: 'Dashboard', id: 'dashboard', iconClass: 'oj-navigationlist-item-icon oj-ux-ico-bar-chart'},
@@ -69,6 +102,7 @@ function(ko, Router, moduleUtils, KnockoutTemplateUtils, ArrayDataProvider, $) {
     self.logout = function() {
       localStorage.removeItem('authToken');
       localStorage.removeItem('username');
+      if (self.changeFeed) { self.changeFeed.close(); self.changeFeed = null; self.changeFeedConnected(false); }
       self.isAuthenticated(false);
       self.currentUser('');
       console.log('User logged out');
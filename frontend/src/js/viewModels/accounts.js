@@ -82,6 +82,12 @@ function(ko, $, app, ArrayDataProvider) {
       });
     };
 
+    var pendingSave = null;
+    function newIdempotencyKey() {
+      if (window.crypto && window.crypto.randomUUID) return window.crypto.randomUUID();
+      return Date.now().toString(36) + '-' + Math.random().toString(36).substring(2, 12);
+    }
+
     self.openAddDialog = function() { self.resetForm(); self.showDialog(true); };
 
     self.saveAccount = function() {
@@ -98,13 +104,20 @@ function(ko, $, app, ArrayDataProvider) {
       var method = 'POST';
       if (self.accountNo()) { url += '/' + self.accountNo(); method = 'PUT'; accountData.accountNo = self.accountNo(); }
 
+      // Retrying the same submission reuses its Idempotency-Key so a timed-out save is never applied twice
+      var payload = JSON.stringify(accountData);
+      if (!pendingSave || pendingSave.url !== url || pendingSave.payload !== payload) {
+        pendingSave = { url: url, payload: payload, key: newIdempotencyKey() };
+      }
+
       $.ajax({
         url: url,
         type: method,
         contentType: 'application/json',
-        data: JSON.stringify(accountData),
+        headers: { 'Idempotency-Key': pendingSave.key },
+        data: payload,
         timeout: 10000,
-        success: function() { self.loadAccounts(); self.closeDialog(); console.log('Account saved'); },
+        success: function() { if (!app.changeFeedConnected()) self.loadAccounts(); self.closeDialog(); console.log('Account saved'); },
         error: function(xhr, status, error) { alert('Failed to save account: ' + (xhr.responseJSON?.message || error)); }
       });
     };
@@ -115,7 +128,7 @@ function(ko, $, app, ArrayDataProvider) {
           url: app.apiBaseUrl + '/accounts/' + account.accountNo,
           type: 'DELETE',
           timeout: 10000,
-          success: function() { self.loadAccounts(); console.log('Account deleted'); },
+          success: function() { if (!app.changeFeedConnected()) self.loadAccounts(); console.log('Account deleted'); },
           error: function(xhr, status, error) { alert('Failed to delete account: ' + (xhr.responseJSON?.message || error)); }
         });
       }
@@ -126,7 +139,7 @@ function(ko, $, app, ArrayDataProvider) {
     self.getCustomerName = function(customerId) { var customer = self.customers().find(c => c.customerId === customerId); return customer ? customer.name : 'Unknown'; };
 
     self.closeDialog = function() { self.showDialog(false); self.resetForm(); };
-    self.resetForm = function() { self.accountNo(null); self.accountHolderName(''); self.accountType(''); self.accountBalance(0); self.customerId(null); };
+    self.resetForm = function() { pendingSave = null; self.accountNo(null); self.accountHolderName(''); self.accountType(''); self.accountBalance(0); self.customerId(null); };
     self.refreshAccounts = function() { self.loadAccounts(); self.loadCustomers(); };
 
     self.onCustomerChange = function() {
@@ -138,6 +151,38 @@ function(ko, $, app, ArrayDataProvider) {
     };
     self.customerId.subscribe(self.onCustomerChange);
 
+    // Keep the table current from the change feed instead of re-fetching the list
+    self.applyChange = function(name, data) {
+      if (name === 'resync') { self.loadAccounts(); self.loadCustomers(); return; }
+      if (name.indexOf('customer.') === 0) {
+        var customers = self.customers().filter(c => c.customerId !== data.customerId);
+        if (name !== 'customer.deleted') customers.unshift(data);
+        self.customers(customers);
+        return;
+      }
+      var index = self.accounts().findIndex(a => a.accountNo === data.accountNo);
+      if (name === 'account.deleted') {
+        if (index >= 0) self.accounts.splice(index, 1);
+      } else if (index >= 0) {
+        self.accounts.splice(index, 1, Object.assign({}, self.accounts()[index], {
+          accountHolderName: data.accountHolderName,
+          accountBalance: data.accountBalance,
+          updatedDate: data.occurredAt
+        }));
+      } else if (name === 'account.created') {
+        self.accounts.unshift({
+          accountNo: data.accountNo,
+          accountHolderName: data.accountHolderName,
+          accountType: data.accountType,
+          accountBalance: data.accountBalance,
+          customerId: data.customerId,
+          createdDate: data.occurredAt
+        });
+      }
+    };
+    self.changeSubscription = app.onChange(self.applyChange);
+    self.disconnected = function() { self.changeSubscription.dispose(); };
+
     self.loadAccounts();
     self.loadCustomers();
   }
@@ -124,7 +124,7 @@ function(ko, $, app, ArrayDataProvider) {
         contentType: 'application/json',
         data: JSON.stringify(customerData),
         timeout: 10000,
-        success: function() { self.loadCustomers(); self.closeDialog(); console.log(self.isEditing() ? 'Customer updated' : 'Customer created'); },
+        success: function() { if (!app.changeFeedConnected()) self.loadCustomers(); self.closeDialog(); console.log(self.isEditing() ? 'Customer updated' : 'Customer created'); },
         error: function(xhr, status, error) { alert('Failed to save customer: ' + (xhr.responseJSON?.message || error)); }
       });
     };
@@ -136,13 +136,37 @@ function(ko, $, app, ArrayDataProvider) {
           url: app.apiBaseUrl + '/customers/' + customer.customerId,
           type: 'DELETE',
           timeout: 10000,
-          success: function() { self.loadCustomers(); console.log('Customer deleted'); },
+          success: function() { if (!app.changeFeedConnected()) self.loadCustomers(); console.log('Customer deleted'); },
           error: function(xhr, status, error) { alert('Failed to delete customer: ' + (xhr.responseJSON?.message || error)); }
         });
       }
     };
 
     self.refreshCustomers = function() { self.loadCustomers(); };
+
+    // Keep the table current from the change feed instead of re-fetching the list
+    self.applyChange = function(name, data) {
+      if (name === 'resync') { self.loadCustomers(); return; }
+      if (name.indexOf('customer.') !== 0) return;
+      var index = self.customers().findIndex(c => c.customerId === data.customerId);
+      var row = {
+        customerId: data.customerId,
+        name: data.name,
+        email: data.email,
+        mobileNumber: data.mobileNumber,
+        address: data.address
+      };
+      if (name === 'customer.deleted') {
+        if (index >= 0) self.customers.splice(index, 1);
+      } else if (index >= 0) {
+        self.customers.splice(index, 1, Object.assign({}, self.customers()[index], row));
+      } else if (name === 'customer.created') {
+        self.customers.unshift(row);
+      }
+    };
+    self.changeSubscription = app.onChange(self.applyChange);
+    self.disconnected = function() { self.changeSubscription.dispose(); };
+
     self.loadCustomers(); // Initialize
   }
 
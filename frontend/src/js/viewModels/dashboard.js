@@ -6,7 +6,7 @@ define(['knockout', 'jquery', 'appController'], function(ko, $, app) {
     self.totalCustomers = ko.observable(0);
     self.totalAccounts = ko.observable(0);
     self.totalBalance = ko.observable(0);
-    self.monthlyGrowth = ko.observable(12.5);
+    self.monthStartBalance = ko.observable(null);
     self.isLoading = ko.observable(true);
     self.errorMessage = ko.observable('');
 
@@ -21,8 +21,16 @@ define(['knockout', 'jquery', 'appController'], function(ko, $, app) {
       });
     });
 
+    // Growth of the total balance since the first recorded sample of this month
+    self.monthlyGrowth = ko.computed(function() {
+      var baseline = self.monthStartBalance();
+      if (!baseline) return 0;
+      return (parseFloat(self.totalBalance()) - baseline) / baseline * 100;
+    });
+
     self.formattedGrowth = ko.computed(function() {
-      return '+' + self.monthlyGrowth().toFixed(1) + '%';
+      var growth = self.monthlyGrowth();
+      return (growth >= 0 ? '+' : '') + growth.toFixed(1) + '%';
     });
 
     // Load dashboard statistics
@@ -57,7 +65,8 @@ define(['knockout', 'jquery', 'appController'], function(ko, $, app) {
           self.totalCustomers(customersResult[0] || 0);
           self.totalAccounts(accountsResult[0] || 0);
           self.totalBalance(balanceResult[0] || 0);
-          
+          self.loadMonthStartBalance();
+
           // Load recent activities after stats
           self.loadRecentActivities();
         })
@@ -70,6 +79,25 @@ define(['knockout', 'jquery', 'appController'], function(ko, $, app) {
         });
     };
 
+    // Baseline for monthly growth from the recorded totals history (UTC month)
+    self.loadMonthStartBalance = function() {
+      var now = new Date();
+      var monthStart = new Date(Date.UTC(now.getUTCFullYear(), now.getUTCMonth(), 1));
+      $.ajax({
+        url: app.apiBaseUrl + '/metrics/history',
+        type: 'GET',
+        data: { from: monthStart.toISOString(), to: now.toISOString(), resolution: 'auto' },
+        timeout: 5000
+      })
+        .done(function(history) {
+          var first = history.points && history.points[0];
+          self.monthStartBalance(first ? parseFloat(first.totalBalance) : null);
+        })
+        .fail(function() {
+          self.monthStartBalance(null);
+        });
+    };
+
     // Load recent activities (mock data for now)
     self.loadRecentActivities = function() {
       // In a real application, this would be an API call
@@ -122,6 +150,21 @@ define(['knockout', 'jquery', 'appController'], function(ko, $, app) {
       self.loadStats();
     };
 
+    // Apply aggregate deltas pushed by the change feed instead of re-fetching
+    self.applyChange = function(name, data) {
+      if (name === 'resync') { self.loadStats(); return; }
+      var delta = data.delta || {};
+      if (delta.customers) self.totalCustomers(self.totalCustomers() + delta.customers);
+      if (delta.accounts) self.totalAccounts(self.totalAccounts() + delta.accounts);
+      if (delta.totalBalance) self.totalBalance(parseFloat(self.totalBalance()) + parseFloat(delta.totalBalance));
+    };
+    self.changeSubscription = app.onChange(self.applyChange);
+
+    // Stop listening when the module is removed
+    self.disconnected = function() {
+      self.changeSubscription.dispose();
+    };
+
     // Navigation helpers
     self.goToCustomers = function() {
       app.router.go('customers');